@@ -139,6 +139,10 @@ public class ConnectorDetailsPanel extends WizardStep {
                 "connRequestTimeout", "connRequestTimeout", Integer.class,
                 new PropertyModel<Integer>(connInstanceTO, "connRequestTimeout")));
 
+        add(new AjaxSpinnerFieldPanel.Builder<Integer>().min(1).max(Integer.MAX_VALUE).build(
+                "maxConcurrentRequests", "maxConcurrentRequests", Integer.class,
+                new PropertyModel<Integer>(connInstanceTO, "maxConcurrentRequests")));
+
         add(new AjaxSpinnerFieldPanel.Builder<Integer>().min(0).max(Integer.MAX_VALUE).build(
                 "poolMaxObjects", "poolMaxObjects", Integer.class,
                 new PropertyModel<Integer>(connInstanceTO.getPoolConf(), "maxObjects")));
@@ -59,6 +59,8 @@ public class ConnInstanceTO implements EntityTO {
 
     private Integer connRequestTimeout;
 
+    private Integer maxConcurrentRequests;
+
     private ConnPoolConfTO poolConf;
 
     @Override
@@ -159,6 +161,26 @@ public class ConnInstanceTO implements EntityTO {
         this.connRequestTimeout = connRequestTimeout;
     }
 
+    /**
+     * Get the maximum number of requests concurrently sent to the connector; no limit if not set.
+     * It is not applied in case of sync, full reconciliation and search.
+     *
+     * @return maximum number of concurrent requests
+     */
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Set the maximum number of requests concurrently sent to the connector; no limit if not set.
+     * It is not applied in case of sync, full reconciliation and search.
+     *
+     * @param maxConcurrentRequests maximum number of concurrent requests
+     */
+    public void setMaxConcurrentRequests(final Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
     public ConnPoolConfTO getPoolConf() {
         return poolConf;
     }
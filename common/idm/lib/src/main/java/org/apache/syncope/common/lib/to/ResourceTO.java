@@ -58,6 +58,16 @@ public class ResourceTO implements EntityTO {
 
     private Integer propagationPriority;
 
+    private Integer pushMaxInFlight;
+
+    private Integer pushRateLimit;
+
+    private Integer propagationMaxConcurrency;
+
+    private Integer propagationQueueCapacity;
+
+    private boolean leanPropagation;
+
     private boolean randomPwdIfNotProvided;
 
     private boolean enforceMandatoryCondition;
@@ -129,6 +139,46 @@ public class ResourceTO implements EntityTO {
         this.propagationPriority = propagationPriority;
     }
 
+    public Integer getPushMaxInFlight() {
+        return pushMaxInFlight;
+    }
+
+    public void setPushMaxInFlight(final Integer pushMaxInFlight) {
+        this.pushMaxInFlight = pushMaxInFlight;
+    }
+
+    public Integer getPushRateLimit() {
+        return pushRateLimit;
+    }
+
+    public void setPushRateLimit(final Integer pushRateLimit) {
+        this.pushRateLimit = pushRateLimit;
+    }
+
+    public Integer getPropagationMaxConcurrency() {
+        return propagationMaxConcurrency;
+    }
+
+    public void setPropagationMaxConcurrency(final Integer propagationMaxConcurrency) {
+        this.propagationMaxConcurrency = propagationMaxConcurrency;
+    }
+
+    public Integer getPropagationQueueCapacity() {
+        return propagationQueueCapacity;
+    }
+
+    public void setPropagationQueueCapacity(final Integer propagationQueueCapacity) {
+        this.propagationQueueCapacity = propagationQueueCapacity;
+    }
+
+    public boolean isLeanPropagation() {
+        return leanPropagation;
+    }
+
+    public void setLeanPropagation(final boolean leanPropagation) {
+        this.leanPropagation = leanPropagation;
+    }
+
     public boolean isRandomPwdIfNotProvided() {
         return randomPwdIfNotProvided;
     }
@@ -20,12 +20,16 @@ package org.apache.syncope.common.lib.info;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
+import java.util.Map;
 import java.util.Queue;
+import java.util.TreeMap;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import org.apache.syncope.common.lib.collections.CircularFifoQueue;
+import org.apache.syncope.common.lib.jaxb.XmlGenericMapAdapter;
 
 @XmlRootElement(name = "systemInfo")
 @XmlType
@@ -45,6 +49,9 @@ public class SystemInfo implements Serializable {
 
     private final CircularFifoQueue<LoadInstant> load = new CircularFifoQueue<>(10);
 
+    @XmlJavaTypeAdapter(XmlGenericMapAdapter.class)
+    private final Map<String, Number> metrics = new TreeMap<>();
+
     public String getHostname() {
         return hostname;
     }
@@ -92,6 +99,11 @@ public class SystemInfo implements Serializable {
         return load;
     }
 
+    @JsonProperty
+    public Map<String, Number> getMetrics() {
+        return metrics;
+    }
+
     @XmlRootElement(name = "loadInstant")
     @XmlType
     public static class LoadInstant implements Serializable {
@@ -54,6 +54,10 @@ public class PullTaskTO extends ProvisioningTaskTO implements TemplatableTO {
 
     private boolean remediation;
 
+    private Integer concurrentWorkers;
+
+    private Integer concurrentQueueSize;
+
     @XmlTransient
     @JsonProperty("@class")
     @Schema(name = "@class", required = true, example = "org.apache.syncope.common.lib.to.PullTaskTO")
@@ -103,6 +107,22 @@ public class PullTaskTO extends ProvisioningTaskTO implements TemplatableTO {
         this.remediation = remediation;
     }
 
+    public Integer getConcurrentWorkers() {
+        return concurrentWorkers;
+    }
+
+    public void setConcurrentWorkers(final Integer concurrentWorkers) {
+        this.concurrentWorkers = concurrentWorkers;
+    }
+
+    public Integer getConcurrentQueueSize() {
+        return concurrentQueueSize;
+    }
+
+    public void setConcurrentQueueSize(final Integer concurrentQueueSize) {
+        this.concurrentQueueSize = concurrentQueueSize;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
@@ -111,6 +131,8 @@ public class PullTaskTO extends ProvisioningTaskTO implements TemplatableTO {
                 append(reconFilterBuilder).
                 append(destinationRealm).
                 append(remediation).
+                append(concurrentWorkers).
+                append(concurrentQueueSize).
                 build();
     }
 
@@ -132,6 +154,8 @@ public class PullTaskTO extends ProvisioningTaskTO implements TemplatableTO {
                 append(reconFilterBuilder, other.reconFilterBuilder).
                 append(destinationRealm, other.destinationRealm).
                 append(remediation, other.remediation).
+                append(concurrentWorkers, other.concurrentWorkers).
+                append(concurrentQueueSize, other.concurrentQueueSize).
                 build();
     }
 }
@@ -48,6 +48,8 @@ public class PushTaskTO extends ProvisioningTaskTO {
     @XmlJavaTypeAdapter(XmlGenericMapAdapter.class)
     private final Map<String, String> filters = new HashMap<>();
 
+    private Integer concurrentWorkers;
+
     @XmlTransient
     @JsonProperty("@class")
     @Schema(name = "@class", required = true, example = "org.apache.syncope.common.lib.to.PushTaskTO")
@@ -69,12 +71,21 @@ public class PushTaskTO extends ProvisioningTaskTO {
         return filters;
     }
 
+    public Integer getConcurrentWorkers() {
+        return concurrentWorkers;
+    }
+
+    public void setConcurrentWorkers(final Integer concurrentWorkers) {
+        this.concurrentWorkers = concurrentWorkers;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
                 appendSuper(super.hashCode()).
                 append(sourceRealm).
                 append(filters).
+                append(concurrentWorkers).
                 build();
     }
 
@@ -94,6 +105,7 @@ public class PushTaskTO extends ProvisioningTaskTO {
                 appendSuper(super.equals(obj)).
                 append(sourceRealm, other.sourceRealm).
                 append(filters, other.filters).
+                append(concurrentWorkers, other.concurrentWorkers).
                 build();
     }
 }
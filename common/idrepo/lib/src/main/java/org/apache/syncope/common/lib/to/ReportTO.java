@@ -58,6 +58,8 @@ public class ReportTO extends AbstractStartEndBean implements NamedEntityTO {
 
     private String template;
 
+    private Integer compressionLevel;
+
     @Override
     public String getKey() {
         return key;
@@ -141,6 +143,14 @@ public class ReportTO extends AbstractStartEndBean implements NamedEntityTO {
         this.template = template;
     }
 
+    public Integer getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(final Integer compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
@@ -155,6 +165,7 @@ public class ReportTO extends AbstractStartEndBean implements NamedEntityTO {
                 append(nextExec).
                 append(active).
                 append(template).
+                append(compressionLevel).
                 build();
     }
 
@@ -182,6 +193,7 @@ public class ReportTO extends AbstractStartEndBean implements NamedEntityTO {
                 append(nextExec, other.nextExec).
                 append(active, other.active).
                 append(template, other.template).
+                append(compressionLevel, other.compressionLevel).
                 build();
     }
 }
@@ -214,6 +214,8 @@ public final class IdRepoEntitlement {
 
     public static final String AUDIT_DISABLE = "AUDIT_DISABLE";
 
+    public static final String AUDIT_DELETE = "AUDIT_DELETE";
+
     public static final String SECURITY_QUESTION_CREATE = "SECURITY_QUESTION_CREATE";
 
     public static final String SECURITY_QUESTION_READ = "SECURITY_QUESTION_READ";
@@ -40,6 +40,11 @@ public final class RESTHeaders {
      */
     public static final String NULL_PRIORITY_ASYNC = "X-Syncope-Null-Priority-Async";
 
+    /**
+     * Asks for batch items to be processed concurrently, up to the given number at a time.
+     */
+    public static final String BATCH_PARALLELISM = "X-Syncope-Batch-Parallelism";
+
     /**
      * Declares the type of exception being raised.
      *
@@ -30,43 +30,65 @@ public final class BatchPayloadGenerator {
     public static <T extends BatchItem> String generate(final List<T> items, final String boundary) {
         StringBuilder payload = new StringBuilder();
 
-        items.forEach(item -> {
-            payload.append(boundary).append(SyncopeConstants.CRLF);
-            payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
-            payload.append("Content-Transfer-Encoding: binary").append('\n');
-            payload.append(SyncopeConstants.CRLF);
+        items.forEach(item -> generate(item, boundary, payload));
 
-            if (item instanceof BatchRequestItem) {
-                BatchRequestItem bri = BatchRequestItem.class.cast(item);
-                payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
-                if (bri.getQueryString() != null) {
-                    payload.append('?').append(bri.getQueryString());
-                }
-                payload.append(' ').append(HTTP_1_1).append('\n');
-            }
+        end(boundary, payload);
 
-            if (item instanceof BatchResponseItem) {
-                BatchResponseItem bri = BatchResponseItem.class.cast(item);
-                payload.append(HTTP_1_1).append(' ').
-                        append(bri.getStatus()).append(' ').
-                        append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
-                        append('\n');
-            }
+        return payload.toString();
+    }
 
-            if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
-                item.getHeaders().forEach((key, values) -> values.forEach(
-                        value -> payload.append(key).append(": ").append(value).append('\n')));
-                payload.append(SyncopeConstants.CRLF);
-            }
+    /**
+     * Appends the multipart part for the given item to the given payload.
+     *
+     * @param <T> batch item type
+     * @param item batch item
+     * @param boundary multipart boundary
+     * @param payload payload being generated
+     */
+    public static <T extends BatchItem> void generate(
+            final T item, final String boundary, final StringBuilder payload) {
+
+        payload.append(boundary).append(SyncopeConstants.CRLF);
+        payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
+        payload.append("Content-Transfer-Encoding: binary").append('\n');
+        payload.append(SyncopeConstants.CRLF);
 
-            if (item.getContent() != null) {
-                payload.append(item.getContent()).append('\n');
+        if (item instanceof BatchRequestItem) {
+            BatchRequestItem bri = BatchRequestItem.class.cast(item);
+            payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
+            if (bri.getQueryString() != null) {
+                payload.append('?').append(bri.getQueryString());
             }
-        });
+            payload.append(' ').append(HTTP_1_1).append('\n');
+        }
 
-        payload.append(boundary).append(SyncopeConstants.DOUBLE_DASH).append('\n');
+        if (item instanceof BatchResponseItem) {
+            BatchResponseItem bri = BatchResponseItem.class.cast(item);
+            payload.append(HTTP_1_1).append(' ').
+                    append(bri.getStatus()).append(' ').
+                    append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
+                    append('\n');
+        }
 
-        return payload.toString();
+        if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
+            item.getHeaders().forEach((key, values) -> values.forEach(
+                    value -> payload.append(key).append(": ").append(value).append('\n')));
+            payload.append(SyncopeConstants.CRLF);
+        }
+
+        if (item.getContent() != null) {
+            payload.append(item.getContent()).append('\n');
+        }
+    }
+
+    /**
+     * Appends the multipart closing boundary to the given payload.
+     *
+     * @param boundary multipart boundary
+     * @param payload payload being generated
+     */
+    public static void end(final String boundary, final StringBuilder payload) {
+        payload.append(boundary).append(SyncopeConstants.DOUBLE_DASH).append('\n');
     }
 
     private BatchPayloadGenerator() {
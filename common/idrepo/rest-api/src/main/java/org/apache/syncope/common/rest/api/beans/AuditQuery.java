@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.rest.api.beans;
+
+import java.io.Serializable;
+import java.util.Date;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.QueryParam;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.rest.api.service.JAXRSService;
+
+public class AuditQuery implements Serializable {
+
+    private static final long serialVersionUID = -2863334226169614417L;
+
+    public static class Builder {
+
+        private final AuditQuery instance = new AuditQuery();
+
+        public Builder who(final String who) {
+            instance.setWho(who);
+            return this;
+        }
+
+        public Builder entityKey(final String entityKey) {
+            instance.setEntityKey(entityKey);
+            return this;
+        }
+
+        public Builder type(final AuditElements.EventCategoryType type) {
+            instance.setType(type);
+            return this;
+        }
+
+        public Builder category(final String category) {
+            instance.setCategory(category);
+            return this;
+        }
+
+        public Builder subcategory(final String subcategory) {
+            instance.setSubcategory(subcategory);
+            return this;
+        }
+
+        public Builder event(final String event) {
+            instance.setEvent(event);
+            return this;
+        }
+
+        public Builder result(final AuditElements.Result result) {
+            instance.setResult(result);
+            return this;
+        }
+
+        public Builder after(final Date after) {
+            instance.setAfter(after);
+            return this;
+        }
+
+        public Builder before(final Date before) {
+            instance.setBefore(before);
+            return this;
+        }
+
+        public Builder beforeKey(final String beforeKey) {
+            instance.setBeforeKey(beforeKey);
+            return this;
+        }
+
+        public Builder size(final Integer size) {
+            instance.setSize(size);
+            return this;
+        }
+
+        public AuditQuery build() {
+            return instance;
+        }
+    }
+
+    private String who;
+
+    private String entityKey;
+
+    private AuditElements.EventCategoryType type;
+
+    private String category;
+
+    private String subcategory;
+
+    private String event;
+
+    private AuditElements.Result result;
+
+    private Date after;
+
+    private Date before;
+
+    private String beforeKey;
+
+    private Integer size;
+
+    public String getWho() {
+        return who;
+    }
+
+    @QueryParam("who")
+    public void setWho(final String who) {
+        this.who = who;
+    }
+
+    public String getEntityKey() {
+        return entityKey;
+    }
+
+    @QueryParam("entityKey")
+    public void setEntityKey(final String entityKey) {
+        this.entityKey = entityKey;
+    }
+
+    public AuditElements.EventCategoryType getType() {
+        return type;
+    }
+
+    @QueryParam("type")
+    public void setType(final AuditElements.EventCategoryType type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    @QueryParam("category")
+    public void setCategory(final String category) {
+        this.category = category;
+    }
+
+    public String getSubcategory() {
+        return subcategory;
+    }
+
+    @QueryParam("subcategory")
+    public void setSubcategory(final String subcategory) {
+        this.subcategory = subcategory;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    @QueryParam("event")
+    public void setEvent(final String event) {
+        this.event = event;
+    }
+
+    public AuditElements.Result getResult() {
+        return result;
+    }
+
+    @QueryParam("result")
+    public void setResult(final AuditElements.Result result) {
+        this.result = result;
+    }
+
+    public Date getAfter() {
+        if (after != null) {
+            return new Date(after.getTime());
+        }
+        return null;
+    }
+
+    @QueryParam("after")
+    public void setAfter(final Date after) {
+        if (after != null) {
+            this.after = new Date(after.getTime());
+        } else {
+            this.after = null;
+        }
+    }
+
+    public Date getBefore() {
+        if (before != null) {
+            return new Date(before.getTime());
+        }
+        return null;
+    }
+
+    @QueryParam("before")
+    public void setBefore(final Date before) {
+        if (before != null) {
+            this.before = new Date(before.getTime());
+        } else {
+            this.before = null;
+        }
+    }
+
+    public String getBeforeKey() {
+        return beforeKey;
+    }
+
+    @QueryParam("beforeKey")
+    public void setBeforeKey(final String beforeKey) {
+        this.beforeKey = beforeKey;
+    }
+
+    public Integer getSize() {
+        return size == null
+                ? 25
+                : size;
+    }
+
+    @Min(1)
+    @Max(1000)
+    @QueryParam(JAXRSService.PARAM_SIZE)
+    @DefaultValue("25")
+    public void setSize(final Integer size) {
+        this.size = size;
+    }
+}
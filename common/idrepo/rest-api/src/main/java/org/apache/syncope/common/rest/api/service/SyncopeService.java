@@ -72,9 +72,9 @@ public interface SyncopeService extends JAXRSService {
     PlatformInfo platform();
 
     /**
-     * Provides information about the underlying system (Operating System, CPU / memory usage, ...).
+     * Provides information about the underlying system (Operating System, CPU / memory usage, metrics, ...).
      *
-     * @return information about the underlying system (Operating System, CPU / memory usage, ...)
+     * @return information about the underlying system (Operating System, CPU / memory usage, metrics, ...)
      */
     @GET
     @Path("/system")
@@ -101,6 +101,11 @@ public interface SyncopeService extends JAXRSService {
             description = "Allows client to specify a preference to process the batch request asynchronously",
             allowEmptyValue = true, schema =
             @Schema(defaultValue = "", allowableValues = { "respond-async" }))
+    @Parameter(name = RESTHeaders.BATCH_PARALLELISM, in = ParameterIn.HEADER,
+            description = "If greater than 1, batch items are processed concurrently up to the given number at a time;"
+            + " results are returned in request order anyway, but items must not depend on each other",
+            allowEmptyValue = true, schema =
+            @Schema(type = "integer", defaultValue = "1"))
     @ApiResponses({
         @ApiResponse(responseCode = "200",
                 description = "Batch request processed, results returned as Response entity, "
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.api;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorates a {@link ConfParamOps} by keeping an in-memory snapshot of the values read for each domain, so that
+ * most lookups are served locally.
+ *
+ * Each domain snapshot is discarded after the configured max staleness, or earlier when
+ * {@link #invalidate(String)} is invoked - either because of a local update or because a change was observed by
+ * some watcher; a max staleness not greater than zero disables caching altogether.
+ */
+public class CachingConfParamOps implements ConfParamOps {
+
+    protected static class Snapshot {
+
+        protected final long loadedAt = System.nanoTime();
+
+        protected final Map<String, Optional<Object>> values = new ConcurrentHashMap<>();
+    }
+
+    protected final ConfParamOps delegate;
+
+    protected final long maxStalenessNanos;
+
+    protected final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public CachingConfParamOps(final ConfParamOps delegate, final long maxStalenessSeconds) {
+        this.delegate = delegate;
+        this.maxStalenessNanos = TimeUnit.SECONDS.toNanos(maxStalenessSeconds);
+    }
+
+    protected Snapshot snapshot(final String domain) {
+        return snapshots.compute(domain, (d, snapshot) -> snapshot == null
+                || System.nanoTime() - snapshot.loadedAt > maxStalenessNanos ? new Snapshot() : snapshot);
+    }
+
+    @Override
+    public Map<String, Object> list(final String domain) {
+        return delegate.list(domain);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+        if (maxStalenessNanos <= 0) {
+            return delegate.get(domain, key, defaultValue, reference);
+        }
+
+        Optional<Object> value = snapshot(domain).values.computeIfAbsent(
+                key + '/' + reference.getName(),
+                k -> Optional.ofNullable(delegate.get(domain, key, null, reference)));
+        return value.map(v -> (T) v).orElse(defaultValue);
+    }
+
+    @Override
+    public <T> void set(final String domain, final String key, final T value) {
+        try {
+            delegate.set(domain, key, value);
+        } finally {
+            invalidate(domain);
+        }
+    }
+
+    @Override
+    public void remove(final String domain, final String key) {
+        try {
+            delegate.remove(domain, key);
+        } finally {
+            invalidate(domain);
+        }
+    }
+
+    /**
+     * Discards the snapshot for the given domain, so that the next lookups are served by the delegate.
+     *
+     * @param domain domain
+     */
+    public void invalidate(final String domain) {
+        snapshots.remove(domain);
+    }
+
+    /**
+     * Discards the snapshots for all domains.
+     */
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.zookeper;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Caches {@link ZookeeperConfParamOps} lookups, watching the configuration nodes via {@link TreeCache} in order to
+ * discard the snapshot of any domain as soon as one of its parameters is changed, from any node.
+ *
+ * All snapshots are discarded as well whenever the connection is suspended or re-established, as changes might have
+ * been missed meanwhile; the configured max staleness still applies, as safety net.
+ */
+public class ZookeeperCachingConfParamOps extends CachingConfParamOps implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfParamOps.class);
+
+    private final CuratorFramework client;
+
+    private TreeCache treeCache;
+
+    public ZookeeperCachingConfParamOps(final CuratorFramework client, final long maxStalenessSeconds) {
+        super(new ZookeeperConfParamOps(client), maxStalenessSeconds);
+        this.client = client;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (maxStalenessNanos <= 0) {
+            return;
+        }
+
+        if (client.checkExists().forPath(ZookeeperConfParamOps.CONF_PATH) == null) {
+            client.create().creatingParentContainersIfNeeded().forPath(ZookeeperConfParamOps.CONF_PATH);
+        }
+
+        treeCache = new TreeCache(client, ZookeeperConfParamOps.CONF_PATH);
+        treeCache.getListenable().addListener((cf, event) -> {
+            switch (event.getType()) {
+                case NODE_ADDED:
+                case NODE_UPDATED:
+                case NODE_REMOVED:
+                    String path = event.getData().getPath();
+                    String domain = StringUtils.substringBefore(
+                            StringUtils.substringAfter(path, ZookeeperConfParamOps.CONF_PATH + '/'), "/");
+                    if (StringUtils.isNotBlank(domain)) {
+                        LOG.debug("Conf param {} changed, invalidating domain {}", path, domain);
+                        invalidate(domain);
+                    }
+                    break;
+
+                case CONNECTION_SUSPENDED:
+                case CONNECTION_LOST:
+                case CONNECTION_RECONNECTED:
+                    LOG.debug("Event {} received, invalidating all domains", event.getType());
+                    invalidateAll();
+                    break;
+
+                default:
+                    LOG.debug("Event {} received", event);
+            }
+        });
+        treeCache.start();
+    }
+
+    @Override
+    public void destroy() {
+        if (treeCache != null) {
+            treeCache.close();
+        }
+    }
+}
@@ -59,6 +59,9 @@ public class ZookeeperKeymasterClientContext {
     @Value("${keymaster.maxRetries:3}")
     private Integer maxRetries;
 
+    @Value("${keymaster.confParamMaxStalenessSeconds:60}")
+    private Long confParamMaxStalenessSeconds;
+
     @ConditionalOnExpression("#{'${keymaster.address}' "
             + "matches '^((\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})|[a-z\\.]+):[0-9]+$'}")
     @Bean
@@ -110,8 +113,8 @@ public class ZookeeperKeymasterClientContext {
     @ConditionalOnExpression("#{'${keymaster.address}' "
             + "matches '^((\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})|[a-z\\.]+):[0-9]+$'}")
     @Bean
-    public ConfParamOps selfConfParamOps() {
-        return new ZookeeperConfParamOps();
+    public ConfParamOps selfConfParamOps() throws InterruptedException {
+        return new ZookeeperCachingConfParamOps(curatorFramework(), confParamMaxStalenessSeconds);
     }
 
     @ConditionalOnExpression("#{'${keymaster.address}' "
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ArrayUtils;
@@ -42,6 +43,7 @@ import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.data.ConnInstanceDataBinder;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.provisioning.java.ConnectorInvoker;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.identityconnectors.common.l10n.CurrentLocale;
@@ -73,6 +75,9 @@ public class ConnectorLogic extends AbstractTransactionalLogic<ConnInstanceTO> {
     @Autowired
     private ConnectorFactory connFactory;
 
+    @Autowired
+    private ConnectorInvoker invoker;
+
     protected static void securityChecks(final Set<String> effectiveRealms, final String realm, final String key) {
         boolean authorized = effectiveRealms.stream().anyMatch(realm::startsWith);
         if (!authorized) {
@@ -131,9 +136,21 @@ public class ConnectorLogic extends AbstractTransactionalLogic<ConnInstanceTO> {
 
         ConnInstanceTO deleted = binder.getConnInstanceTO(connInstance);
         connInstanceDAO.delete(key);
+        invoker.discard(key);
         return deleted;
     }
 
+    @PreAuthorize("hasRole('" + IdMEntitlement.CONNECTOR_READ + "')")
+    @Transactional(readOnly = true)
+    public Optional<ConnectorInvoker.Latency> latency(final String key) {
+        ConnInstance connInstance = connInstanceDAO.authFind(key);
+        if (connInstance == null) {
+            throw new NotFoundException("Connector '" + key + '\'');
+        }
+
+        return invoker.getLatency(key);
+    }
+
     @PreAuthorize("hasRole('" + IdMEntitlement.CONNECTOR_LIST + "')")
     @Transactional(readOnly = true)
     public List<ConnInstanceTO> list(final String lang) {
@@ -48,6 +48,7 @@ import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.provisioning.api.LogicActions;
+import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.spring.ImplementationManager;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -73,6 +74,9 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U exte
     @Autowired
     private TemplateUtils templateUtils;
 
+    @Autowired
+    protected VirAttrHandler virAttrHandler;
+
     private static List<LogicActions> getActions(final Realm realm) {
         List<LogicActions> actions = new ArrayList<>();
 
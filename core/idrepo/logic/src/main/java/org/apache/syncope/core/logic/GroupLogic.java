@@ -167,6 +167,9 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
                 RealmUtils.getEffective(SyncopeConstants.FULL_ADMIN_REALMS, realm),
             Optional.ofNullable(searchCond).orElseGet(() -> groupDAO.getAllMatchingCond()),
                 page, size, orderBy, AnyTypeKind.GROUP);
+        if (details) {
+            virAttrHandler.prefetch(matching);
+        }
         List<GroupTO> result = matching.stream().
                 map(group -> binder.getGroupTO(group, details)).collect(Collectors.toList());
 
@@ -21,6 +21,7 @@ package org.apache.syncope.core.logic;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -32,6 +33,7 @@ import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.log.AuditEntryTO;
 import org.apache.syncope.common.lib.log.EventCategory;
 import org.apache.syncope.common.lib.log.LogAppender;
 import org.apache.syncope.common.lib.log.LogStatement;
@@ -56,6 +58,7 @@ import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.Logger;
+import org.apache.syncope.core.provisioning.java.EventRoutingTable;
 import org.apache.syncope.core.provisioning.java.pushpull.PushJobDelegate;
 import org.apache.syncope.core.provisioning.java.pushpull.PullJobDelegate;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -91,6 +94,9 @@ public class LoggerLogic extends AbstractTransactionalLogic<EntityTO> {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private EventRoutingTable eventRoutingTable;
+
     @PreAuthorize("hasRole('" + IdRepoEntitlement.LOG_LIST + "') and authentication.details.domain == "
             + "T(org.apache.syncope.common.lib.SyncopeConstants).MASTER_DOMAIN")
     @Transactional(readOnly = true)
@@ -248,6 +254,7 @@ public class LoggerLogic extends AbstractTransactionalLogic<EntityTO> {
     public void enableAudit(final AuditLoggerName auditLoggerName) {
         try {
             setLevel(auditLoggerName.toLoggerName(), Level.DEBUG, LoggerType.AUDIT);
+            eventRoutingTable.invalidate();
         } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
             SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidLogger);
             sce.getElements().add(e.getMessage());
@@ -298,6 +305,7 @@ public class LoggerLogic extends AbstractTransactionalLogic<EntityTO> {
     public void disableAudit(final AuditLoggerName auditLoggerName) {
         try {
             delete(auditLoggerName.toLoggerName(), LoggerType.AUDIT);
+            eventRoutingTable.invalidate();
         } catch (NotFoundException e) {
             LOG.debug("Ignoring disable of non existing logger {}", auditLoggerName.toLoggerName());
         } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
@@ -307,6 +315,32 @@ public class LoggerLogic extends AbstractTransactionalLogic<EntityTO> {
         }
     }
 
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.AUDIT_LIST + "')")
+    @Transactional(readOnly = true)
+    public List<AuditEntryTO> searchAudit(
+            final String who,
+            final String entityKey,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final String event,
+            final AuditElements.Result result,
+            final Date after,
+            final Date before,
+            final String beforeKey,
+            final int size) {
+
+        return loggerDAO.findAuditEntries(
+                who, entityKey, type, category, subcategory, event, result, after, before, beforeKey, size);
+    }
+
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.AUDIT_DELETE + "')")
+    public int purgeAudit(final Date before) {
+        int deleted = loggerDAO.deleteAuditEntries(before);
+        LOG.debug("Purged {} audit entries before {}", deleted, before);
+        return deleted;
+    }
+
     @PreAuthorize("hasRole('" + IdRepoEntitlement.AUDIT_LIST + "') "
             + "or hasRole('" + IdRepoEntitlement.NOTIFICATION_LIST + "')")
     public List<EventCategory> listAuditEvents() {
@@ -23,7 +23,7 @@ import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
-import org.apache.syncope.core.provisioning.java.job.AfterHandlingJob;
+import org.apache.syncope.core.provisioning.java.job.AfterHandlingDispatcher;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -32,11 +32,8 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 
 @Aspect
 public class LogicInvocationHandler {
@@ -50,7 +47,7 @@ public class LogicInvocationHandler {
     private AuditManager auditManager;
 
     @Autowired
-    private SchedulerFactoryBean scheduler;
+    private AfterHandlingDispatcher afterHandlingDispatcher;
 
     @Around("execution(* org.apache.syncope.core.logic.AbstractLogic+.*(..))")
     public Object around(final ProceedingJoinPoint joinPoint) throws Throwable {
@@ -99,8 +96,7 @@ public class LogicInvocationHandler {
             throw t;
         } finally {
             if (notificationsAvailable || auditRequested) {
-                Map<String, Object> jobMap = new HashMap<>();
-                jobMap.put(AfterHandlingEvent.JOBMAP_KEY, new AfterHandlingEvent(
+                afterHandlingDispatcher.dispatch(new AfterHandlingEvent(
                     AuthContextUtils.getUsername(),
                     AuditElements.EventCategoryType.LOGIC,
                     category,
@@ -110,7 +106,6 @@ public class LogicInvocationHandler {
                     before,
                     output,
                     input));
-                AfterHandlingJob.schedule(scheduler, jobMap);
             }
         }
     }
@@ -33,6 +33,7 @@ import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.entity.Notification;
 import org.apache.syncope.core.provisioning.api.data.NotificationDataBinder;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.java.EventRoutingTable;
 import org.apache.syncope.core.provisioning.java.job.notification.NotificationJob;
 import org.quartz.JobKey;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +50,9 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
     @Autowired
     private NotificationDataBinder binder;
 
+    @Autowired
+    private EventRoutingTable eventRoutingTable;
+
     @PreAuthorize("hasRole('" + IdRepoEntitlement.NOTIFICATION_READ + "')")
     @Transactional(readOnly = true)
     public NotificationTO read(final String key) {
@@ -70,7 +74,9 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.NOTIFICATION_CREATE + "')")
     public NotificationTO create(final NotificationTO notificationTO) {
-        return binder.getNotificationTO(notificationDAO.save(binder.create(notificationTO)));
+        Notification notification = notificationDAO.save(binder.create(notificationTO));
+        eventRoutingTable.invalidate();
+        return binder.getNotificationTO(notification);
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.NOTIFICATION_UPDATE + "')")
@@ -83,6 +89,7 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
         binder.update(notification, notificationTO);
         notification = notificationDAO.save(notification);
+        eventRoutingTable.invalidate();
 
         return binder.getNotificationTO(notification);
     }
@@ -98,6 +105,7 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
         NotificationTO deleted = binder.getNotificationTO(notification);
         notificationDAO.delete(key);
+        eventRoutingTable.invalidate();
         return deleted;
     }
 
@@ -18,7 +18,8 @@
  */
 package org.apache.syncope.core.logic;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
@@ -66,6 +67,7 @@ import org.apache.syncope.core.persistence.api.entity.Report;
 import org.apache.syncope.core.persistence.api.entity.ReportExec;
 import org.apache.syncope.core.provisioning.api.data.ReportDataBinder;
 import org.apache.syncope.core.provisioning.api.job.JobNamer;
+import org.apache.syncope.core.provisioning.api.job.report.ReportStore;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.xmlgraphics.util.MimeConstants;
@@ -74,6 +76,7 @@ import org.quartz.SchedulerException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
@@ -94,6 +97,9 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private ReportStore reportStore;
+
     @PreAuthorize("hasRole('" + IdRepoEntitlement.REPORT_CREATE + "')")
     public ReportTO create(final ReportTO reportTO) {
         Report report = entityFactory.newEntity(Report.class);
@@ -204,9 +210,10 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
         if (reportExec == null) {
             throw new NotFoundException("Report execution " + executionKey);
         }
-        if (!ReportExecStatus.SUCCESS.name().equals(reportExec.getStatus()) || reportExec.getExecResult() == null) {
+        boolean resultAvailable = reportStore.exists(reportExec);
+        if (!ReportExecStatus.SUCCESS.name().equals(reportExec.getStatus()) || !resultAvailable) {
             SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidReportExec);
-            sce.getElements().add(reportExec.getExecResult() == null
+            sce.getElements().add(!resultAvailable
                     ? "No report data produced"
                     : "Report did not run successfully");
             throw sce;
@@ -215,12 +222,13 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.REPORT_READ + "')")
-    public static void exportExecutionResult(final OutputStream os, final ReportExec reportExec,
-                                             final ReportExecExportFormat format) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportExecutionResult(
+            final OutputStream os, final ReportExec reportExec, final ReportExecExportFormat format) {
 
-        // streaming SAX handler from a compressed byte array stream
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(reportExec.getExecResult());
-                ZipInputStream zis = new ZipInputStream(bais)) {
+        // streaming SAX handler from a compressed stream, read from the report store
+        try (InputStream is = new BufferedInputStream(reportStore.openForRead(reportExec));
+                ZipInputStream zis = new ZipInputStream(is)) {
 
             // a single ZipEntry in the ZipInputStream (see ReportJob)
             zis.getNextEntry();
@@ -294,6 +302,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
 
         ReportTO deletedReport = binder.getReportTO(report);
         jobManager.unregister(report);
+        report.getExecs().forEach(reportStore::delete);
         reportDAO.delete(report);
         return deletedReport;
     }
@@ -333,6 +342,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
 
         ExecTO reportExecToDelete = binder.getExecTO(reportExec);
         reportExecDAO.delete(reportExec);
+        reportStore.delete(reportExec);
         return reportExecToDelete;
     }
 
@@ -356,6 +366,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
 
             try {
                 reportExecDAO.delete(exec);
+                reportStore.delete(exec);
                 item.setStatus(Response.Status.OK.getStatusCode());
             } catch (Exception e) {
                 LOG.error("Error deleting execution {} of report {}", exec.getKey(), key, e);
@@ -45,6 +45,7 @@ import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.provisioning.api.data.SchemaDataBinder;
+import org.apache.syncope.core.provisioning.java.MappingPlans;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
@@ -68,6 +69,9 @@ public class SchemaLogic extends AbstractTransactionalLogic<SchemaTO> {
     @Autowired
     private SchemaDataBinder binder;
 
+    @Autowired
+    private MappingPlans mappingPlans;
+
     private boolean doesSchemaExist(final SchemaType schemaType, final String name) {
         boolean found;
 
@@ -121,6 +125,7 @@ public class SchemaLogic extends AbstractTransactionalLogic<SchemaTO> {
                 PlainSchema plainSchema = plainSchemaDAO.save(binder.create((PlainSchemaTO) schemaTO));
                 created = (T) binder.getPlainSchemaTO(plainSchema.getKey());
         }
+        mappingPlans.invalidate();
         return created;
     }
 
@@ -143,6 +148,7 @@ public class SchemaLogic extends AbstractTransactionalLogic<SchemaTO> {
             default:
                 plainSchemaDAO.delete(schemaKey);
         }
+        mappingPlans.invalidate();
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -253,6 +259,7 @@ public class SchemaLogic extends AbstractTransactionalLogic<SchemaTO> {
 
                 plainSchemaDAO.save(binder.update((PlainSchemaTO) schemaTO, plainSchema));
         }
+        mappingPlans.invalidate();
     }
 
     @Override
@@ -26,6 +26,7 @@ import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,9 @@ import java.util.stream.Collectors;
 import javax.annotation.Resource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.ServiceOps;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -51,6 +55,7 @@ import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.common.lib.types.ImplementationTypesHolder;
 import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.spring.security.PasswordGenerator;
+import org.apache.syncope.core.logic.audit.JdbcBatchAuditAppender;
 import org.apache.syncope.core.persistence.api.ImplementationLookup;
 import org.apache.syncope.core.persistence.api.content.ContentExporter;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -91,10 +96,14 @@ import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.cache.ConcurrentVirAttrCache;
+import org.apache.syncope.core.provisioning.java.job.AfterHandlingDispatcher;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.JWTAuthCache;
 import org.apache.syncope.core.workflow.api.AnyObjectWorkflowAdapter;
 import org.apache.syncope.core.workflow.api.GroupWorkflowAdapter;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
+import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.PayloadApplicationEvent;
@@ -197,6 +206,12 @@ public class SyncopeLogic extends AbstractLogic<EntityTO> {
     @Autowired
     private VirAttrCache virAttrCache;
 
+    @Autowired
+    private JWTAuthCache jwtAuthCache;
+
+    @Autowired
+    private AfterHandlingDispatcher afterHandlingDispatcher;
+
     @Autowired
     private NotificationManager notificationManager;
 
@@ -369,13 +384,75 @@ public class SyncopeLogic extends AbstractLogic<EntityTO> {
         }
     }
 
+    /**
+     * Collects the metrics of this node: those tracked per domain are only reported for the current domain.
+     *
+     * @return metrics, by name
+     */
+    protected Map<String, Number> metrics() {
+        Map<String, Number> metrics = new HashMap<>();
+
+        metrics.put("jwtAuthCache.size", jwtAuthCache.size());
+        metrics.put("jwtAuthCache.hits", jwtAuthCache.getHits());
+        metrics.put("jwtAuthCache.misses", jwtAuthCache.getMisses());
+        metrics.put("jwtAuthCache.evictions", jwtAuthCache.getEvictions());
+        metrics.put("jwtAuthCache.hitRatio", jwtAuthCache.getHitRatio());
+
+        Object cache = Optional.ofNullable(AopProxyUtils.getSingletonTarget(virAttrCache)).orElse(virAttrCache);
+        if (cache instanceof ConcurrentVirAttrCache) {
+            ConcurrentVirAttrCache concurrentVirAttrCache = (ConcurrentVirAttrCache) cache;
+            metrics.put("virAttrCache.size", concurrentVirAttrCache.size());
+            metrics.put("virAttrCache.hits", concurrentVirAttrCache.getHits());
+            metrics.put("virAttrCache.misses", concurrentVirAttrCache.getMisses());
+            metrics.put("virAttrCache.evictions", concurrentVirAttrCache.getEvictions());
+        }
+
+        metrics.put("afterHandlingDispatcher.queueSize", afterHandlingDispatcher.getQueueSize());
+        metrics.put("afterHandlingDispatcher.queued", afterHandlingDispatcher.getQueued());
+        metrics.put("afterHandlingDispatcher.spilled", afterHandlingDispatcher.getSpilled());
+        metrics.put("afterHandlingDispatcher.dropped", afterHandlingDispatcher.getDropped());
+        metrics.put("afterHandlingDispatcher.processed", afterHandlingDispatcher.getProcessed());
+        metrics.put("afterHandlingDispatcher.failed", afterHandlingDispatcher.getFailed());
+        metrics.put("afterHandlingDispatcher.avgLatencyMillis", afterHandlingDispatcher.getAvgLatencyMillis());
+        metrics.put("afterHandlingDispatcher.maxLatencyMillis", afterHandlingDispatcher.getMaxLatencyMillis());
+
+        Appender auditAppender = ((LoggerContext) LogManager.getContext(false)).getConfiguration().
+                getAppender("audit_for_" + AuthContextUtils.getDomain());
+        if (auditAppender instanceof JdbcBatchAuditAppender) {
+            JdbcBatchAuditAppender jdbcBatchAuditAppender = (JdbcBatchAuditAppender) auditAppender;
+            metrics.put("auditAppender.queueDepth", jdbcBatchAuditAppender.getQueueDepth());
+            metrics.put("auditAppender.written", jdbcBatchAuditAppender.getWritten());
+            metrics.put("auditAppender.failed", jdbcBatchAuditAppender.getFailed());
+            metrics.put("auditAppender.lastFlushMillis", jdbcBatchAuditAppender.getLastFlushMillis());
+            metrics.put("auditAppender.avgFlushMillis", jdbcBatchAuditAppender.getAvgFlushMillis());
+        }
+
+        String domainPrefix = AuthContextUtils.getDomain() + '/';
+        propagationTaskExecutor.getAvoidedRemoteReads().entrySet().stream().
+                filter(entry -> entry.getKey().startsWith(domainPrefix)).
+                forEach(entry -> metrics.put(
+                        "propagation.avoidedRemoteReads." + entry.getKey().substring(domainPrefix.length()),
+                        entry.getValue()));
+
+        return metrics;
+    }
+
     @PreAuthorize("isAuthenticated()")
-    public static SystemInfo system() {
+    public SystemInfo system() {
+        SystemInfo systemInfo = new SystemInfo();
         synchronized (MONITOR) {
             initSystemInfo();
+
+            systemInfo.setHostname(SYSTEM_INFO.getHostname());
+            systemInfo.setOs(SYSTEM_INFO.getOs());
+            systemInfo.setJvm(SYSTEM_INFO.getJvm());
+            systemInfo.setAvailableProcessors(SYSTEM_INFO.getAvailableProcessors());
+            systemInfo.setStartTime(SYSTEM_INFO.getStartTime());
+            systemInfo.getLoad().addAll(SYSTEM_INFO.getLoad());
         }
 
-        return SYSTEM_INFO;
+        systemInfo.getMetrics().putAll(metrics());
+        return systemInfo;
     }
 
     @PreAuthorize("isAuthenticated()")
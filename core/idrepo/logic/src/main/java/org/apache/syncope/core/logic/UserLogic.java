@@ -119,6 +119,9 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
                 AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.USER_SEARCH), realm),
             Optional.ofNullable(searchCond).orElseGet(() -> userDAO.getAllMatchingCond()),
                 page, size, orderBy, AnyTypeKind.USER);
+        if (details) {
+            virAttrHandler.prefetch(matching);
+        }
         List<UserTO> result = matching.stream().
                 map(user -> binder.returnUserTO(binder.getUserTO(user, details))).
                 collect(Collectors.toList());
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.audit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.syncope.core.provisioning.java.AuditEntry;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Writes audit events to the {@code SYNCOPEAUDIT} table of a domain.
+ *
+ * Events are buffered in a bounded queue and written by a background thread via JDBC batch inserts, as soon as
+ * {@code flushSize} events are available or {@code flushIntervalMillis} after the first buffered event; callers only
+ * block when the queue is full. All buffered events are written when the appender is stopped.
+ *
+ * A failed batch is retried up to {@code maxRetries} times, with growing backoff; events are then written one by one,
+ * each within its own transaction, so that only those actually failing are dropped.
+ *
+ * Besides the formatted message, the main audit entry dimensions - as found in the context data under the
+ * {@code AuditEntry.MDC_*} keys - are written to dedicated, indexed columns; each entry also gets a random key, used
+ * to break ties between entries sharing the same event date when paging.
+ */
+public class JdbcBatchAuditAppender extends AbstractAppender {
+
+    protected static final String INSERT = "INSERT INTO SYNCOPEAUDIT("
+            + "ID, EVENT_DATE, LOGGER_LEVEL, LOGGER, MESSAGE, THROWABLE, WHO, EVENT_TYPE, EVENT_CATEGORY, "
+            + "EVENT_SUBCATEGORY, EVENT_NAME, EVENT_RESULT, ENTITY_KEY) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    protected static final long RUNNING_CHECK_MILLIS = 100;
+
+    protected static class Row {
+
+        protected final String id;
+
+        protected final long timestamp;
+
+        protected final String level;
+
+        protected final String logger;
+
+        protected final String message;
+
+        protected final String throwable;
+
+        protected final String who;
+
+        protected final String type;
+
+        protected final String category;
+
+        protected final String subcategory;
+
+        protected final String eventName;
+
+        protected final String result;
+
+        protected final String entityKey;
+
+        protected Row(final LogEvent event) {
+            this.id = SecureRandomUtils.generateRandomUUID().toString();
+            this.timestamp = event.getTimeMillis();
+            this.level = event.getLevel().name();
+            this.logger = event.getLoggerName();
+            this.message = event.getMessage().getFormattedMessage();
+            this.throwable = event.getThrown() == null ? null : ExceptionUtils.getStackTrace(event.getThrown());
+
+            ReadOnlyStringMap context = event.getContextData();
+            this.who = context.getValue(AuditEntry.MDC_WHO);
+            this.type = context.getValue(AuditEntry.MDC_TYPE);
+            this.category = context.getValue(AuditEntry.MDC_CATEGORY);
+            this.subcategory = context.getValue(AuditEntry.MDC_SUBCATEGORY);
+            this.eventName = context.getValue(AuditEntry.MDC_EVENT);
+            this.result = context.getValue(AuditEntry.MDC_RESULT);
+            this.entityKey = context.getValue(AuditEntry.MDC_ENTITY_KEY);
+        }
+    }
+
+    protected final DataSource dataSource;
+
+    protected final int flushSize;
+
+    protected final long flushIntervalMillis;
+
+    protected final int maxRetries;
+
+    protected final long retryBackoffMillis;
+
+    protected final BlockingQueue<Row> queue;
+
+    protected final Thread flusher;
+
+    protected volatile boolean running;
+
+    protected final LongAdder written = new LongAdder();
+
+    protected final LongAdder failed = new LongAdder();
+
+    protected final LongAdder flushes = new LongAdder();
+
+    protected final LongAdder flushNanos = new LongAdder();
+
+    protected volatile long lastFlushNanos;
+
+    public JdbcBatchAuditAppender(
+            final String name,
+            final DataSource dataSource,
+            final int queueCapacity,
+            final int flushSize,
+            final long flushIntervalMillis,
+            final int maxRetries,
+            final long retryBackoffMillis) {
+
+        super(name, null, null, false, Property.EMPTY_ARRAY);
+
+        this.dataSource = dataSource;
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalMillis = Math.max(0, flushIntervalMillis);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        this.flusher = new Thread(this::flushLoop, name + "-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher.start();
+        super.start();
+    }
+
+    @Override
+    public void append(final LogEvent event) {
+        Row row = new Row(event);
+        if (!running) {
+            write(List.of(row));
+            return;
+        }
+
+        try {
+            queue.put(row);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(List.of(row));
+        }
+    }
+
+    protected void flushLoop() {
+        List<Row> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Row first = queue.poll(RUNNING_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    // wake up periodically, to flush without waiting for the deadline once stopped
+                    Row next = queue.poll(
+                            Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(RUNNING_CHECK_MILLIS)),
+                            TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                LOGGER.debug("{} flusher interrupted", getName(), e);
+                queue.drainTo(batch);
+                running = false;
+            }
+
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    protected void write(final List<Row> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            for (int attempt = 0;; attempt++) {
+                try {
+                    insert(batch);
+                    written.add(batch.size());
+                    return;
+                } catch (SQLException | RuntimeException e) {
+                    if (attempt >= maxRetries || !backoff(attempt)) {
+                        LOGGER.error("While writing {} audit events via {}, writing one by one",
+                                batch.size(), getName(), e);
+                        break;
+                    }
+                    LOGGER.warn("While writing {} audit events via {}, retrying", batch.size(), getName(), e);
+                }
+            }
+
+            batch.forEach(row -> {
+                try {
+                    insert(List.of(row));
+                    written.increment();
+                } catch (SQLException | RuntimeException e) {
+                    LOGGER.error("While writing audit event {} via {}, dropping", row.message, getName(), e);
+                    failed.increment();
+                }
+            });
+        } finally {
+            lastFlushNanos = System.nanoTime() - start;
+            flushNanos.add(lastFlushNanos);
+            flushes.increment();
+        }
+    }
+
+    /**
+     * Waits before the next attempt to write a failed batch.
+     *
+     * @param attempt number of the failed attempt, starting from 0
+     * @return false if interrupted while waiting, true otherwise
+     */
+    protected boolean backoff(final int attempt) {
+        try {
+            Thread.sleep(retryBackoffMillis << Math.min(attempt, 10));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    protected void insert(final List<Row> rows) throws SQLException {
+        Connection conn = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT)) {
+                for (Row row : rows) {
+                    stmt.setString(1, row.id);
+                    stmt.setTimestamp(2, new Timestamp(row.timestamp));
+                    stmt.setString(3, row.level);
+                    stmt.setString(4, row.logger);
+                    stmt.setString(5, row.message);
+                    stmt.setString(6, row.throwable);
+                    stmt.setString(7, row.who);
+                    stmt.setString(8, row.type);
+                    stmt.setString(9, row.category);
+                    stmt.setString(10, row.subcategory);
+                    stmt.setString(11, row.eventName);
+                    stmt.setString(12, row.result);
+                    stmt.setString(13, row.entityKey);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(conn, dataSource);
+        }
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+
+        running = false;
+        try {
+            flusher.join(timeUnit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // whatever was not written by the flusher in time
+        List<Row> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+
+        setStopped();
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getLastFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastFlushNanos);
+    }
+
+    public double getAvgFlushMillis() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : flushNanos.sum() / 1_000_000D / count;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + "[queueDepth=" + getQueueDepth()
+                + ", written=" + getWritten()
+                + ", failed=" + getFailed()
+                + ", lastFlushMillis=" + getLastFlushMillis()
+                + ", avgFlushMillis=" + getAvgFlushMillis() + ']';
+    }
+}
@@ -18,38 +18,35 @@
  */
 package org.apache.syncope.core.logic.init;
 
-import java.sql.Connection;
-import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
-import org.apache.logging.log4j.core.appender.db.ColumnMapping;
-import org.apache.logging.log4j.core.appender.db.jdbc.AbstractConnectionSource;
-import org.apache.logging.log4j.core.appender.db.jdbc.ColumnConfig;
-import org.apache.logging.log4j.core.appender.db.jdbc.JdbcAppender;
 import org.apache.logging.log4j.core.appender.rewrite.RewriteAppender;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.syncope.common.lib.types.AuditLoggerName;
 import org.apache.syncope.core.logic.audit.AuditAppender;
+import org.apache.syncope.core.logic.audit.JdbcBatchAuditAppender;
 import org.apache.syncope.core.logic.MemoryAppender;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.persistence.api.ImplementationLookup;
 import org.apache.syncope.core.persistence.api.SyncopeCoreLoader;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
-import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 @Component
-public class LoggerLoader implements SyncopeCoreLoader {
+public class LoggerLoader implements SyncopeCoreLoader, DisposableBean {
 
     @Autowired
     private LoggerAccessor loggerAccessor;
@@ -57,6 +54,9 @@ public class LoggerLoader implements SyncopeCoreLoader {
     @Autowired
     private ImplementationLookup implementationLookup;
 
+    @Autowired
+    private Environment env;
+
     private final Map<String, MemoryAppender> memoryAppenders = new HashMap<>();
 
     @Override
@@ -64,23 +64,6 @@ public class LoggerLoader implements SyncopeCoreLoader {
         return 300;
     }
 
-    private static ColumnConfig[] buildColumnConfigs(final LoggerContext ctx) {
-        ColumnConfig[] columnConfigs = {
-            ColumnConfig.newBuilder().
-            setConfiguration(ctx.getConfiguration()).setName("EVENT_DATE").setEventTimestamp(true).build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("LOGGER_LEVEL").setPattern("%level").build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("LOGGER").setPattern("%logger").build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("MESSAGE").setPattern("%message").build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("THROWABLE").setPattern("%ex{full}").build()
-        };
-
-        return columnConfigs;
-    }
-
     @Override
     public void load(final String domain, final DataSource datasource) {
         LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
@@ -92,15 +75,14 @@ public class LoggerLoader implements SyncopeCoreLoader {
         // Audit table and DataSource for the given domain
         Appender appender = ctx.getConfiguration().getAppender("audit_for_" + domain);
         if (appender == null) {
-            appender = JdbcAppender.newBuilder().
-                    setName("audit_for_" + domain).
-                    setIgnoreExceptions(false).
-                    setConnectionSource(new DataSourceConnectionSource(domain, datasource)).
-                    setBufferSize(0).
-                    setTableName("SYNCOPEAUDIT").
-                    setColumnConfigs(buildColumnConfigs(ctx)).
-                    setColumnMappings(new ColumnMapping[0]).
-                    build();
+            appender = new JdbcBatchAuditAppender(
+                    "audit_for_" + domain,
+                    datasource,
+                    env.getProperty("auditAppender.queueCapacity", Integer.class, 10000),
+                    env.getProperty("auditAppender.flushSize", Integer.class, 100),
+                    env.getProperty("auditAppender.flushIntervalMillis", Long.class, 1000L),
+                    env.getProperty("auditAppender.maxRetries", Integer.class, 3),
+                    env.getProperty("auditAppender.retryBackoffMillis", Long.class, 500L));
             appender.start();
             ctx.getConfiguration().addAppender(appender);
 
@@ -134,6 +116,20 @@ public class LoggerLoader implements SyncopeCoreLoader {
         ctx.updateLoggers();
     }
 
+    /**
+     * Makes sure that all buffered audit events are written before shutdown.
+     */
+    @Override
+    public void destroy() {
+        LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+
+        ctx.getConfiguration().getAppenders().values().stream().
+                filter(JdbcBatchAuditAppender.class::isInstance).
+                map(JdbcBatchAuditAppender.class::cast).
+                filter(JdbcBatchAuditAppender::isStarted).
+                forEach(appender -> appender.stop(30, TimeUnit.SECONDS));
+    }
+
     public Map<String, MemoryAppender> getMemoryAppenders() {
         return memoryAppenders;
     }
@@ -178,26 +174,4 @@ public class LoggerLoader implements SyncopeCoreLoader {
             eventLogConf.addAppender(targetAppender, Level.DEBUG, null);
         }
     }
-
-    private static class DataSourceConnectionSource extends AbstractConnectionSource {
-
-        private final String description;
-
-        private final DataSource dataSource;
-
-        DataSourceConnectionSource(final String domain, final DataSource dataSource) {
-            this.description = "dataSource{ domain=" + domain + ", value=" + dataSource + " }";
-            this.dataSource = dataSource;
-        }
-
-        @Override
-        public Connection getConnection() throws SQLException {
-            return DataSourceUtils.getConnection(dataSource);
-        }
-
-        @Override
-        public String toString() {
-            return this.description;
-        }
-    }
 }
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+public class JdbcBatchAuditAppenderTest {
+
+    private static final String POISON = "poison";
+
+    /**
+     * Records the messages of committed batches; fails the given number of batches, and all batches containing
+     * {@link #POISON}.
+     */
+    private static class StubDataSource {
+
+        private final List<List<String>> committed = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private final AtomicInteger executions = new AtomicInteger();
+
+        private static Object common(final Object proxy, final String method, final Object[] args) {
+            switch (method) {
+                case "toString":
+                    return "stub";
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "equals":
+                    return proxy == args[0];
+
+                default:
+                    return null;
+            }
+        }
+
+        private PreparedStatement statement(final List<String> executed) {
+            List<String> batch = new ArrayList<>();
+            String[] message = new String[1];
+
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setString":
+                                if ((int) args[0] == 5) {
+                                    message[0] = (String) args[1];
+                                }
+                                return null;
+
+                            case "addBatch":
+                                batch.add(message[0]);
+                                return null;
+
+                            case "executeBatch":
+                                executions.incrementAndGet();
+                                if (batch.contains(POISON) || failures.getAndUpdate(f -> Math.max(0, f - 1)) > 0) {
+                                    throw new SQLException("boom");
+                                }
+                                executed.addAll(batch);
+                                return new int[batch.size()];
+
+                            default:
+                                return common(proxy, method.getName(), args);
+                        }
+                    });
+        }
+
+        private Connection connection() {
+            List<String> executed = new ArrayList<>();
+
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getAutoCommit":
+                                return true;
+
+                            case "prepareStatement":
+                                return statement(executed);
+
+                            case "commit":
+                                committed.add(new ArrayList<>(executed));
+                                executed.clear();
+                                return null;
+
+                            case "rollback":
+                                executed.clear();
+                                return null;
+
+                            default:
+                                return common(proxy, method.getName(), args);
+                        }
+                    });
+        }
+
+        private DataSource dataSource() {
+            return (DataSource) Proxy.newProxyInstance(
+                    DataSource.class.getClassLoader(),
+                    new Class<?>[] { DataSource.class },
+                    (proxy, method, args) -> "getConnection".equals(method.getName())
+                    ? connection()
+                    : common(proxy, method.getName(), args));
+        }
+    }
+
+    private static LogEvent event(final String message) {
+        return Log4jLogEvent.newBuilder().
+                setLoggerName("syncope.audit.[LOGIC]:[UserLogic]:[]:[create]:[SUCCESS]").
+                setLevel(Level.DEBUG).
+                setMessage(new SimpleMessage(message)).
+                setContextData(ContextDataFactory.createContextData()).
+                setTimeMillis(System.currentTimeMillis()).
+                build();
+    }
+
+    private static List<JdbcBatchAuditAppender.Row> rows(final String... messages) {
+        return Stream.of(messages).
+                map(message -> new JdbcBatchAuditAppender.Row(event(message))).
+                collect(Collectors.toList());
+    }
+
+    private final StubDataSource stub = new StubDataSource();
+
+    private JdbcBatchAuditAppender appender(final int flushSize, final long flushIntervalMillis) {
+        return new JdbcBatchAuditAppender("audit_for_Master", stub.dataSource(), 10, flushSize, flushIntervalMillis,
+                2, 1);
+    }
+
+    private void awaitCommitted(final int batches) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (stub.committed.size() < batches && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void batch() throws InterruptedException {
+        JdbcBatchAuditAppender appender = appender(3, TimeUnit.MINUTES.toMillis(1));
+        appender.start();
+        try {
+            for (int i = 0; i < 6; i++) {
+                appender.append(event("event" + i));
+            }
+            awaitCommitted(2);
+
+            assertEquals(List.of(
+                    List.of("event0", "event1", "event2"),
+                    List.of("event3", "event4", "event5")), stub.committed);
+            assertEquals(6, appender.getWritten());
+            assertEquals(0, appender.getFailed());
+            assertEquals(0, appender.getQueueDepth());
+        } finally {
+            appender.stop(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void flushOnStop() {
+        JdbcBatchAuditAppender appender = appender(100, TimeUnit.MINUTES.toMillis(1));
+        appender.start();
+        for (int i = 0; i < 5; i++) {
+            appender.append(event("event" + i));
+        }
+
+        // neither flush size nor flush interval were reached
+        long start = System.nanoTime();
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(appender.isStopped());
+
+        assertEquals(List.of(List.of("event0", "event1", "event2", "event3", "event4")), stub.committed);
+        assertEquals(5, appender.getWritten());
+
+        // once stopped, events are written synchronously
+        appender.append(event("late"));
+        assertEquals(List.of("late"), stub.committed.get(1));
+        assertEquals(6, appender.getWritten());
+    }
+
+    @Test
+    public void retryFailedBatch() {
+        JdbcBatchAuditAppender appender = appender(100, 0);
+        stub.failures.set(2);
+
+        appender.write(rows("event0", "event1", "event2"));
+
+        assertEquals(3, stub.executions.get());
+        assertEquals(List.of(List.of("event0", "event1", "event2")), stub.committed);
+        assertEquals(3, appender.getWritten());
+        assertEquals(0, appender.getFailed());
+    }
+
+    @Test
+    public void writeOneByOneAfterRetries() {
+        JdbcBatchAuditAppender appender = appender(100, 0);
+
+        appender.write(rows("event0", POISON, "event1"));
+
+        // the batch and its 2 retries, then one by one
+        assertEquals(6, stub.executions.get());
+        assertEquals(List.of(List.of("event0"), List.of("event1")), stub.committed);
+        assertEquals(2, appender.getWritten());
+        assertEquals(1, appender.getFailed());
+    }
+}
@@ -78,6 +78,22 @@ public class RESTCXFContext {
         return batchExecutor;
     }
 
+    /**
+     * Runs the items of batch requests asking for parallel processing; kept separated from {@link #batchExecutor()}
+     * as batch processes running there wait for their items to complete.
+     *
+     * @return executor for batch items
+     */
+    @Bean
+    public Executor batchItemExecutor() {
+        ThreadPoolTaskExecutor batchItemExecutor = new ThreadPoolTaskExecutor();
+        batchItemExecutor.setCorePoolSize(10);
+        batchItemExecutor.setMaxPoolSize(10);
+        batchItemExecutor.setThreadNamePrefix("BatchItem-");
+        batchItemExecutor.initialize();
+        return batchItemExecutor;
+    }
+
     @Bean
     public DateParamConverterProvider dateParamConverterProvider() {
         return new DateParamConverterProvider();
@@ -26,13 +26,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletRequestWrapper;
 import javax.ws.rs.core.HttpHeaders;
 import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
 import org.springframework.http.MediaType;
 
-public class BatchItemRequest extends HttpServletRequestWrapper {
+public class BatchItemRequest extends BatchServletRequest {
 
     private final String basePath;
 
@@ -42,7 +40,7 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
 
     public BatchItemRequest(
             final String basePath,
-            final HttpServletRequest request,
+            final BatchServletRequest request,
             final BatchRequestItem batchItem) {
 
         super(request);
@@ -21,6 +21,13 @@ package org.apache.syncope.core.rest.cxf.batch;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 import javax.servlet.ServletConfig;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
@@ -54,10 +61,14 @@ public class BatchProcess implements Runnable {
 
     private ServletConfig servletConfig;
 
-    private HttpServletRequest servletRequest;
+    private BatchServletRequest servletRequest;
 
     private Authentication authentication;
 
+    private int parallelism = 1;
+
+    private Executor itemExecutor;
+
     public void setBoundary(final String boundary) {
         this.boundary = boundary;
     }
@@ -78,60 +89,163 @@ public class BatchProcess implements Runnable {
         this.servletConfig = servletConfig;
     }
 
+    /**
+     * Copies headers and attributes of the given batch request, as items might be processed after such request has
+     * completed, or concurrently; to be invoked by the thread serving the batch request.
+     *
+     * @param servletRequest batch request
+     */
     public void setServletRequest(final HttpServletRequest servletRequest) {
-        this.servletRequest = servletRequest;
+        this.servletRequest = new BatchServletRequest(servletRequest);
     }
 
     public void setAuthentication(final Authentication authentication) {
         this.authentication = authentication;
     }
 
-    @Override
-    public void run() {
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setItemExecutor(final Executor itemExecutor) {
+        this.itemExecutor = itemExecutor;
+    }
+
+    protected BatchResponseItem process(final BatchRequestItem reqItem) {
+        LOG.debug("Batch item:\n{}", reqItem);
+
+        AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
+        if (dest == null) {
+            dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
+        }
+        LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
+
+        BatchResponseItem resItem = new BatchResponseItem();
+        if (dest == null) {
+            resItem.setStatus(404);
+        } else {
+            BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
+            BatchItemResponse response = new BatchItemResponse();
+            try {
+                dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
+                LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}", response.getStatus(),
+                        response.getHeaders(), new String(response.getUnderlyingOutputStream().toByteArray()));
+
+                resItem.setStatus(response.getStatus());
+                resItem.setHeaders(response.getHeaders());
+                String output = new String(response.getUnderlyingOutputStream().toByteArray());
+                if (output.length() > 0) {
+                    resItem.setContent(output);
+                }
+            } catch (IOException e) {
+                LOG.error("Invocation of {} failed", dest.getPath(), e);
+
+                resItem.setStatus(404);
+            }
+        }
+
+        return resItem;
+    }
+
+    protected BatchResponseItem get(final Future<BatchResponseItem> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException | CancellationException e) {
+            LOG.error("Unexpected error while processing batch item", e);
+        } catch (InterruptedException e) {
+            LOG.error("Interrupted while waiting for batch item", e);
+            Thread.currentThread().interrupt();
+        }
 
-        List<BatchResponseItem> batchResponseItems = new ArrayList<>(batchRequestItems.size());
+        BatchResponseItem resItem = new BatchResponseItem();
+        resItem.setStatus(500);
+        return resItem;
+    }
 
-        batchRequestItems.forEach((BatchRequestItem reqItem) -> {
-            LOG.debug("Batch item:\n{}", reqItem);
+    /**
+     * Processes items concurrently on {@link #itemExecutor}, up to {@link #parallelism} at a time; each result is
+     * appended to the payload as soon as all the preceding ones were, so that only the responses of items being
+     * processed or waiting for their predecessors are kept in memory.
+     * If interrupted while dispatching, the items not dispatched yet are reported with status 503, while those
+     * already dispatched are waited for.
+     *
+     * @param payload payload being generated
+     * @param partBoundary multipart boundary
+     */
+    protected void runParallel(final StringBuilder payload, final String partBoundary) {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<BatchResponseItem>> futures = new ArrayList<>(batchRequestItems.size());
+        int next = 0;
+        boolean interrupted = false;
 
-            AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
-            if (dest == null) {
-                dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
+        for (BatchRequestItem reqItem : batchRequestItems) {
+            if (!interrupted) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    LOG.error("Interrupted while dispatching batch items, skipping the remaining ones", e);
+                    interrupted = true;
+                }
             }
-            LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
 
-            if (dest == null) {
+            if (interrupted) {
+                LOG.debug("Skipping batch item {}", reqItem);
+
                 BatchResponseItem resItem = new BatchResponseItem();
-                resItem.setStatus(404);
-                batchResponseItems.add(resItem);
+                resItem.setStatus(503);
+                futures.add(CompletableFuture.completedFuture(resItem));
             } else {
-                BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
-                BatchItemResponse response = new BatchItemResponse();
-                try {
-                    dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
-                    LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}", response.getStatus(),
-                            response.getHeaders(), new String(response.getUnderlyingOutputStream().toByteArray()));
-
-                    BatchResponseItem resItem = new BatchResponseItem();
-                    resItem.setStatus(response.getStatus());
-                    resItem.setHeaders(response.getHeaders());
-                    String output = new String(response.getUnderlyingOutputStream().toByteArray());
-                    if (output.length() > 0) {
-                        resItem.setContent(output);
+                FutureTask<BatchResponseItem> future = new FutureTask<>(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    try {
+                        return process(reqItem);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                        permits.release();
                     }
-                    batchResponseItems.add(resItem);
-                } catch (IOException e) {
-                    LOG.error("Invocation of {} failed", dest.getPath(), e);
-
-                    BatchResponseItem resItem = new BatchResponseItem();
-                    resItem.setStatus(404);
-                    batchResponseItems.add(resItem);
+                });
+                futures.add(future);
+                try {
+                    itemExecutor.execute(future);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    future.cancel(false);
+                    LOG.error("Could not dispatch batch item {}", reqItem, e);
                 }
             }
-        });
 
-        String results = BatchPayloadGenerator.generate(batchResponseItems, SyncopeConstants.DOUBLE_DASH + boundary);
+            for (; next < futures.size() && futures.get(next).isDone(); next++) {
+                BatchPayloadGenerator.generate(get(futures.get(next)), partBoundary, payload);
+                futures.set(next, null);
+            }
+        }
+
+        // items already dispatched are waited for, before restoring the interrupted status
+        for (; next < futures.size(); next++) {
+            BatchPayloadGenerator.generate(get(futures.get(next)), partBoundary, payload);
+            futures.set(next, null);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        String partBoundary = SyncopeConstants.DOUBLE_DASH + boundary;
+        StringBuilder payload = new StringBuilder();
+
+        if (parallelism > 1 && itemExecutor != null) {
+            runParallel(payload, partBoundary);
+        } else {
+            batchRequestItems.forEach(reqItem -> BatchPayloadGenerator.generate(
+                    process(reqItem), partBoundary, payload));
+        }
+
+        BatchPayloadGenerator.end(partBoundary, payload);
+        String results = payload.toString();
 
         Batch batch = batchDAO.find(boundary);
         if (batch == null) {
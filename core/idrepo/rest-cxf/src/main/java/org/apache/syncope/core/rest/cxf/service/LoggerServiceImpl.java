@@ -19,8 +19,10 @@
 package org.apache.syncope.core.rest.cxf.service;
 
 import java.text.ParseException;
+import java.util.Date;
 import java.util.List;
 import javax.ws.rs.BadRequestException;
+import org.apache.syncope.common.lib.log.AuditEntryTO;
 import org.apache.syncope.common.lib.log.EventCategory;
 import org.apache.syncope.common.lib.log.LogAppender;
 import org.apache.syncope.common.lib.log.LogStatement;
@@ -28,6 +30,7 @@ import org.apache.syncope.common.lib.log.LoggerTO;
 import org.apache.syncope.common.lib.types.AuditLoggerName;
 import org.apache.syncope.common.lib.types.LoggerType;
 import org.apache.syncope.common.rest.api.LoggerWrapper;
+import org.apache.syncope.common.rest.api.beans.AuditQuery;
 import org.apache.syncope.common.rest.api.service.LoggerService;
 import org.apache.syncope.core.logic.LoggerLogic;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -122,4 +125,25 @@ public class LoggerServiceImpl extends AbstractServiceImpl implements LoggerServ
     public List<EventCategory> events() {
         return logic.listAuditEvents();
     }
+
+    @Override
+    public List<AuditEntryTO> searchAudit(final AuditQuery query) {
+        return logic.searchAudit(
+                query.getWho(),
+                query.getEntityKey(),
+                query.getType(),
+                query.getCategory(),
+                query.getSubcategory(),
+                query.getEvent(),
+                query.getResult(),
+                query.getAfter(),
+                query.getBefore(),
+                query.getBeforeKey(),
+                query.getSize());
+    }
+
+    @Override
+    public void purgeAudit(final Date before) {
+        logic.purgeAudit(before);
+    }
 }
@@ -30,6 +30,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.cxf.Bus;
 import org.apache.cxf.transport.DestinationFactoryManager;
@@ -69,6 +70,9 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
     @Resource(name = "batchExecutor")
     private ThreadPoolTaskExecutor batchExecutor;
 
+    @Resource(name = "batchItemExecutor")
+    private ThreadPoolTaskExecutor batchItemExecutor;
+
     @Autowired
     private SyncopeLogic logic;
 
@@ -88,7 +92,7 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
 
     @Override
     public SystemInfo system() {
-        return SyncopeLogic.system();
+        return logic.system();
     }
 
     @Override
@@ -121,6 +125,12 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
         }
     }
 
+    private int getBatchParallelism() {
+        int parallelism = NumberUtils.toInt(
+                messageContext.getHttpServletRequest().getHeader(RESTHeaders.BATCH_PARALLELISM), 1);
+        return Math.max(1, Math.min(parallelism, batchItemExecutor.getMaxPoolSize()));
+    }
+
     @Override
     public Response batch(final InputStream input) {
         // parse Content-Type, expect appropriate boundary
@@ -159,6 +169,8 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
         batchProcess.setServletConfig(messageContext.getServletConfig());
         batchProcess.setServletRequest(messageContext.getHttpServletRequest());
         batchProcess.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        batchProcess.setItemExecutor(batchItemExecutor);
+        batchProcess.setParallelism(getBatchParallelism());
 
         // manage synchronous Vs asynchronous batch processing
         if (getPreference() == Preference.RESPOND_ASYNC) {
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.rest.cxf.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.rest.api.RESTHeaders;
+import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
+import org.apache.syncope.common.rest.api.batch.BatchResponseItem;
+import org.apache.syncope.core.persistence.api.dao.BatchDAO;
+import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class BatchProcessTest {
+
+    private static final String BASE_PATH = "http://localhost:9080/syncope/rest";
+
+    private static BatchRequestItem item(final String requestURI) {
+        BatchRequestItem item = new BatchRequestItem();
+        item.setMethod("GET");
+        item.setRequestURI(requestURI);
+        item.setContent("");
+        return item;
+    }
+
+    private static MockHttpServletRequest servletRequest() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("POST", "/syncope/rest/batch");
+        servletRequest.addHeader(RESTHeaders.DOMAIN, "Two");
+        servletRequest.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "it");
+        servletRequest.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "en");
+        servletRequest.setAttribute("original", "value");
+        return servletRequest;
+    }
+
+    private static BatchDAO batchDAO(final AtomicReference<String> results) {
+        Batch batch = (Batch) Proxy.newProxyInstance(
+                Batch.class.getClassLoader(),
+                new Class<?>[] { Batch.class },
+                (proxy, method, args) -> {
+                    if ("setResults".equals(method.getName())) {
+                        results.set((String) args[0]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        return (BatchDAO) Proxy.newProxyInstance(
+                BatchDAO.class.getClassLoader(),
+                new Class<?>[] { BatchDAO.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "find":
+                            return batch;
+
+                        case "save":
+                            return args[0];
+
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Test
+    public void copyHeadersAndAttributes() {
+        MockHttpServletRequest original = servletRequest();
+        BatchServletRequest batchRequest = new BatchServletRequest(original);
+
+        // the original request is recycled once the batch request has been served
+        original.removeHeader(RESTHeaders.DOMAIN);
+        original.removeHeader(HttpHeaders.ACCEPT_LANGUAGE);
+        original.clearAttributes();
+
+        BatchRequestItem reqItem = item("/users");
+        reqItem.getHeaders().put(HttpHeaders.ACCEPT, List.<Object>of(MediaType.APPLICATION_JSON));
+
+        BatchItemRequest item1 = new BatchItemRequest(BASE_PATH, batchRequest, reqItem);
+        BatchItemRequest item2 = new BatchItemRequest(BASE_PATH, batchRequest, item("/groups"));
+
+        assertEquals("Two", item1.getHeader(RESTHeaders.DOMAIN));
+        assertEquals("Two", item2.getHeader(RESTHeaders.DOMAIN.toLowerCase()));
+        assertEquals(List.of("it", "en"), Collections.list(item1.getHeaders(HttpHeaders.ACCEPT_LANGUAGE)));
+        assertEquals(MediaType.APPLICATION_JSON, item1.getHeader(HttpHeaders.ACCEPT));
+        assertEquals(MediaType.WILDCARD, item2.getHeader(HttpHeaders.ACCEPT));
+        assertEquals(BASE_PATH + "/users", item1.getRequestURL().toString());
+
+        // each item gets its own copy of the attributes
+        assertEquals("value", item1.getAttribute("original"));
+        item1.setAttribute("item", "1");
+        item1.removeAttribute("original");
+        assertNull(item2.getAttribute("item"));
+        assertEquals("value", item2.getAttribute("original"));
+        assertEquals("value", batchRequest.getAttribute("original"));
+        assertTrue(Collections.list(item1.getAttributeNames()).contains("item"));
+    }
+
+    @Test
+    public void resultsInOrderWhenConcurrent() {
+        int size = 12;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> domains = Collections.synchronizedList(new ArrayList<>());
+
+        BatchProcess batchProcess = new BatchProcess() {
+
+            private final BatchServletRequest batchRequest = new BatchServletRequest(servletRequest());
+
+            @Override
+            protected BatchResponseItem process(final BatchRequestItem reqItem) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    BatchItemRequest request = new BatchItemRequest(BASE_PATH, batchRequest, reqItem);
+                    request.setAttribute("item", reqItem.getRequestURI());
+                    domains.add(request.getHeader(RESTHeaders.DOMAIN));
+
+                    // later items complete first
+                    int index = Integer.parseInt(reqItem.getRequestURI().substring("/item".length()));
+                    Thread.sleep((size - index) * 5L);
+
+                    BatchResponseItem resItem = new BatchResponseItem();
+                    resItem.setStatus(200);
+                    resItem.setContent("result of " + request.getAttribute("item"));
+                    return resItem;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        };
+
+        AtomicReference<String> results = new AtomicReference<>();
+        ReflectionTestUtils.setField(batchProcess, "batchDAO", batchDAO(results));
+
+        List<BatchRequestItem> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(item("/item" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            batchProcess.setBoundary("batch_" + System.currentTimeMillis());
+            batchProcess.setBasePath(BASE_PATH);
+            batchProcess.setBatchRequestItems(items);
+            batchProcess.setItemExecutor(executor);
+            batchProcess.setParallelism(4);
+            batchProcess.run();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(maxRunning.get() > 1);
+        assertEquals(Collections.nCopies(size, "Two"), domains);
+
+        assertNotNull(results.get());
+        int previous = -1;
+        for (int i = 0; i < size; i++) {
+            int position = results.get().indexOf("result of /item" + i + '\n');
+            assertTrue(position > previous, "result of item " + i + " out of order");
+            previous = position;
+        }
+    }
+
+    @Test
+    public void reportSkippedOnInterrupt() throws InterruptedException {
+        int size = 6;
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        BatchProcess batchProcess = new BatchProcess() {
+
+            @Override
+            protected BatchResponseItem process(final BatchRequestItem reqItem) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                BatchResponseItem resItem = new BatchResponseItem();
+                resItem.setStatus(200);
+                resItem.setContent("result of " + reqItem.getRequestURI());
+                return resItem;
+            }
+        };
+
+        AtomicReference<String> results = new AtomicReference<>();
+        ReflectionTestUtils.setField(batchProcess, "batchDAO", batchDAO(results));
+
+        List<BatchRequestItem> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(item("/item" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            batchProcess.setBoundary("batch_" + System.currentTimeMillis());
+            batchProcess.setBasePath(BASE_PATH);
+            batchProcess.setBatchRequestItems(items);
+            batchProcess.setItemExecutor(executor);
+            batchProcess.setParallelism(2);
+
+            Thread runner = new Thread(batchProcess);
+            runner.start();
+
+            // interrupt while waiting to dispatch the third item
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            runner.interrupt();
+            release.countDown();
+
+            runner.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(runner.isAlive());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // items already dispatched completed, all others were reported as skipped
+        assertNotNull(results.get());
+        assertTrue(results.get().contains("result of /item0\n"));
+        assertTrue(results.get().contains("result of /item1\n"));
+        for (int i = 2; i < size; i++) {
+            assertFalse(results.get().contains("result of /item" + i + '\n'));
+        }
+        assertEquals(2, StringUtils.countMatches(results.get(), "HTTP/1.1 200 "));
+        assertEquals(size - 2, StringUtils.countMatches(results.get(), "HTTP/1.1 503 "));
+    }
+}
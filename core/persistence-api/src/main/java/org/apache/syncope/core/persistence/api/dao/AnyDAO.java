@@ -43,6 +43,15 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     A find(String key);
 
+    /**
+     * Find all any objects matching the given keys at once, rather than invoking {@link #find(String)} for each;
+     * plain attributes, memberships, relationships and resources are loaded along with the returned any objects.
+     *
+     * @param keys any object keys
+     * @return any objects found for the given keys, without duplicates and in the order of the given keys
+     */
+    List<A> findByKeys(Collection<String> keys);
+
     List<A> findByPlainAttrValue(PlainSchema schema, PlainAttrValue attrValue, boolean ignoreCaseMatch);
 
     Optional<A> findByPlainAttrUniqueValue(
@@ -91,6 +100,17 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      */
     List<String> findAllKeys(int page, int itemsPerPage);
 
+    /**
+     * Find any objects' keys without any limitation, following the given key: this is to be preferred over
+     * {@link #findAllKeys(int, int)} when iterating over all any objects, as the cost of each invocation does not
+     * depend on the number of keys already returned.
+     *
+     * @param lastKey last key returned by the previous invocation, or {@code null} to start
+     * @param itemsPerPage max number of keys to return
+     * @return any objects' keys following the given key, in ascending order
+     */
+    List<String> findAllKeys(String lastKey, int itemsPerPage);
+
     <S extends Schema> AllowedSchemas<S> findAllowedSchemas(A any, Class<S> reference);
 
     A save(A any);
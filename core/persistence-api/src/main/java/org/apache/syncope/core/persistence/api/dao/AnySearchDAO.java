@@ -65,4 +65,35 @@ public interface AnySearchDAO extends DAO<Any<?>> {
     <T extends Any<?>> List<T> search(
             Set<String> adminRealms, SearchCond searchCondition, int page, int itemsPerPage,
             List<OrderByClause> orderBy, AnyTypeKind kind);
+
+    /**
+     * Keyset-paginated search: unlike {@link #search(Set, SearchCond, int, int, List, AnyTypeKind)}, the cost of
+     * fetching each page does not depend on how many pages were fetched before, hence this method is suitable for
+     * iterating over large result sets.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param lastKey key of the last any object returned by the previous invocation, or {@code null} to start
+     * @param itemsPerPage number of results per page
+     * @param kind any object
+     * @param <T> any
+     * @return the list of any objects matching the given search condition, ordered by key and whose key follows
+     * the provided one
+     */
+    <T extends Any<?>> List<T> searchAfter(
+            Set<String> adminRealms, SearchCond searchCondition, String lastKey, int itemsPerPage, AnyTypeKind kind);
+
+    /**
+     * Same as {@link #searchAfter(Set, SearchCond, String, int, AnyTypeKind)}, but only returning keys, thus
+     * avoiding to load the matching any objects.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param lastKey key returned last by the previous invocation, or {@code null} to start
+     * @param itemsPerPage number of results per page
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition, ordered and following the provided one
+     */
+    List<String> searchKeysAfter(
+            Set<String> adminRealms, SearchCond searchCondition, String lastKey, int itemsPerPage, AnyTypeKind kind);
 }
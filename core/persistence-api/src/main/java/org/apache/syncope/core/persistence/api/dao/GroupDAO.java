@@ -90,6 +90,17 @@ public interface GroupDAO extends AnyDAO<Group> {
      */
     Pair<Set<String>, Set<String>> refreshDynMemberships(User user);
 
+    /**
+     * Evaluates the dynamic group membership conditions against the given user (invoked during save), restricted to
+     * the conditions which might be affected by the given changes.
+     *
+     * @param user user being saved
+     * @param changed names of the fields and plain schemas changed on the given user, or {@code null} to evaluate
+     * all conditions
+     * @return pair of groups dynamically assigned before and after refresh
+     */
+    Pair<Set<String>, Set<String>> refreshDynMemberships(User user, Set<String> changed);
+
     /**
      * Removes the dynamic group memberships of the given anyObject (invoked during delete).
      *
@@ -18,7 +18,10 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Date;
 import java.util.List;
+import org.apache.syncope.common.lib.log.AuditEntryTO;
+import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.LoggerType;
 import org.apache.syncope.core.persistence.api.entity.Logger;
 
@@ -33,4 +36,45 @@ public interface LoggerDAO extends DAO<Logger> {
     void delete(String key);
 
     void delete(Logger logger);
+
+    /**
+     * Find audit entries matching the given conditions, most recent first and then by descending key; all conditions
+     * are optional.
+     * Pages are expected to be requested by setting {@code before} and {@code beforeKey} to the date and key of the
+     * last entry previously returned.
+     *
+     * @param who user who triggered the audited event
+     * @param entityKey key of the entity the audited event is about
+     * @param type event category type
+     * @param category event category
+     * @param subcategory event subcategory, e.g. external resource key
+     * @param event event
+     * @param result event result
+     * @param after only return entries with event date equal or after this
+     * @param before only return entries with event date strictly before this
+     * @param beforeKey when {@code before} is set, also return entries with event date equal to {@code before} and
+     * key strictly lower than this
+     * @param size max number of entries to return
+     * @return audit entries matching the given conditions
+     */
+    List<AuditEntryTO> findAuditEntries(
+            String who,
+            String entityKey,
+            AuditElements.EventCategoryType type,
+            String category,
+            String subcategory,
+            String event,
+            AuditElements.Result result,
+            Date after,
+            Date before,
+            String beforeKey,
+            int size);
+
+    /**
+     * Delete all audit entries with event date before the given one.
+     *
+     * @param before event date limit
+     * @return number of deleted audit entries
+     */
+    int deleteAuditEntries(Date before);
 }
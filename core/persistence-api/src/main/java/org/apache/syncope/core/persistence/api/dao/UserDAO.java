@@ -70,5 +70,13 @@ public interface UserDAO extends AnyDAO<User> {
 
     Pair<Boolean, Boolean> enforcePolicies(User user);
 
-    Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(User user);
+    /**
+     * Saves the given user, then refreshes its dynamic memberships.
+     *
+     * @param user user to save
+     * @param changed names of the fields and plain schemas changed on the given user, used to restrict the dynamic
+     * group membership conditions to evaluate, or {@code null} to evaluate all conditions
+     * @return pair of groups dynamically assigned before and after save
+     */
+    Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(User user, Set<String> changed);
 }
@@ -69,4 +69,8 @@ public interface ConnInstance extends Entity {
 
     Integer getConnRequestTimeout();
 
+    void setMaxConcurrentRequests(Integer maxConcurrentRequests);
+
+    Integer getMaxConcurrentRequests();
+
 }
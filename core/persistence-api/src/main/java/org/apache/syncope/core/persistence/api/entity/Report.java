@@ -45,4 +45,12 @@ public interface Report extends Entity {
     ReportTemplate getTemplate();
 
     void setTemplate(ReportTemplate template);
+
+    /**
+     * @return compression level to apply to execution results, or null for the default
+     * @see java.util.zip.Deflater
+     */
+    Integer getCompressionLevel();
+
+    void setCompressionLevel(Integer compressionLevel);
 }
@@ -90,6 +90,26 @@ public interface ExternalResource extends ProvidedKeyEntity {
 
     void setPropagationPriority(Integer priority);
 
+    Integer getPushMaxInFlight();
+
+    void setPushMaxInFlight(Integer pushMaxInFlight);
+
+    Integer getPushRateLimit();
+
+    void setPushRateLimit(Integer pushRateLimit);
+
+    Integer getPropagationMaxConcurrency();
+
+    void setPropagationMaxConcurrency(Integer propagationMaxConcurrency);
+
+    Integer getPropagationQueueCapacity();
+
+    void setPropagationQueueCapacity(Integer propagationQueueCapacity);
+
+    boolean isLeanPropagation();
+
+    void setLeanPropagation(boolean leanPropagation);
+
     boolean isEnforceMandatoryCondition();
 
     void setEnforceMandatoryCondition(boolean enforce);
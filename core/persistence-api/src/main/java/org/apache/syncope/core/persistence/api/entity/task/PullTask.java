@@ -49,4 +49,12 @@ public interface PullTask extends ProvisioningTask {
 
     boolean isRemediation();
 
+    Integer getConcurrentWorkers();
+
+    void setConcurrentWorkers(Integer concurrentWorkers);
+
+    Integer getConcurrentQueueSize();
+
+    void setConcurrentQueueSize(Integer concurrentQueueSize);
+
 }
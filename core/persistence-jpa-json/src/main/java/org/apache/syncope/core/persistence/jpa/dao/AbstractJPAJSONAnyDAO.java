@@ -23,11 +23,13 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.persistence.Query;
 import org.apache.commons.jexl3.parser.Parser;
 import org.apache.commons.jexl3.parser.ParserConstants;
@@ -97,15 +99,14 @@ abstract class AbstractJPAJSONAnyDAO extends AbstractDAO<AbstractEntity> impleme
     }
 
     protected <A extends Any<?>> List<A> buildResult(final AnyUtils anyUtils, final List<Object> queryResult) {
-        List<A> result = new ArrayList<>();
-        queryResult.forEach(anyKey -> {
-            A any = anyUtils.<A>dao().find(anyKey.toString());
-            if (any == null) {
-                LOG.error("Could not find any for key {}", anyKey);
-            } else {
-                result.add(any);
-            }
-        });
+        Set<String> keys = queryResult.stream().map(Object::toString).
+                collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<A> result = anyUtils.<A>dao().findByKeys(keys);
+        if (result.size() < keys.size()) {
+            result.forEach(any -> keys.remove(any.getKey()));
+            LOG.error("Could not find any for keys {}", keys);
+        }
         return result;
     }
 
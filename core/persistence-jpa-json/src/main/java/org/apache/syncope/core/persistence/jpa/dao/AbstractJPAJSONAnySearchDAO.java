@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.Optional;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
@@ -33,6 +34,14 @@ abstract class AbstractJPAJSONAnySearchDAO extends JPAAnySearchDAO {
         return new SearchSupport(kind);
     }
 
+    /**
+     * Search projections are filled from the plain attribute tables, not used by JSON layouts.
+     */
+    @Override
+    protected Optional<SearchProjection> getProjection(final AnyTypeKind kind) {
+        return Optional.empty();
+    }
+
     protected void appendOp(final StringBuilder query, final AttributeCond.Type condType, final boolean not) {
         switch (condType) {
             case LIKE:
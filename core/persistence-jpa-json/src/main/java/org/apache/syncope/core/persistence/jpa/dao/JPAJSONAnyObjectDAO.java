@@ -22,8 +22,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.FetchPlan;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAJSONAnyObject;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.dao.JPAJSONAnyDAO;
@@ -44,6 +46,13 @@ public class JPAJSONAnyObjectDAO extends JPAAnyObjectDAO {
         return anyDAO;
     }
 
+    @Override
+    protected void addDetailsFields(final FetchPlan fetchPlan) {
+        // plain attributes are stored as JSON in the owner's row
+        fetchPlan.addFields(JPAAnyObject.class, "resources", "relationships", "memberships");
+        fetchPlan.addFields(JPAJSONAnyObject.class, "plainAttrs");
+    }
+
     @Override
     public List<AnyObject> findByPlainAttrValue(
             final PlainSchema schema,
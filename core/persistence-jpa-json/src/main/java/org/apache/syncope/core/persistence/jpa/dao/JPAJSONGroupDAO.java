@@ -20,9 +20,11 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.List;
 import java.util.Optional;
+import org.apache.openjpa.persistence.FetchPlan;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAJSONGroup;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.dao.JPAJSONAnyDAO;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
@@ -40,6 +42,13 @@ public class JPAJSONGroupDAO extends JPAGroupDAO {
         return anyDAO;
     }
 
+    @Override
+    protected void addDetailsFields(final FetchPlan fetchPlan) {
+        // plain attributes are stored as JSON in the owner's row
+        fetchPlan.addFields(JPAGroup.class, "resources");
+        fetchPlan.addFields(JPAJSONGroup.class, "plainAttrs");
+    }
+
     @Override
     public List<Group> findByPlainAttrValue(
             final PlainSchema schema,
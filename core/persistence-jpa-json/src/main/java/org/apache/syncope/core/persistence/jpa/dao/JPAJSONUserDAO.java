@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.FetchPlan;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.user.User;
@@ -46,6 +47,13 @@ public class JPAJSONUserDAO extends JPAUserDAO {
         return anyDAO;
     }
 
+    @Override
+    protected void addDetailsFields(final FetchPlan fetchPlan) {
+        // plain attributes are stored as JSON in the owner's row
+        fetchPlan.addFields(JPAUser.class, "resources", "relationships", "memberships");
+        fetchPlan.addFields(JPAJSONUser.class, "plainAttrs", "linkedAccounts");
+    }
+
     @Override
     public List<User> findByPlainAttrValue(
             final PlainSchema schema,
@@ -76,7 +84,7 @@ public class JPAJSONUserDAO extends JPAUserDAO {
     }
 
     @Override
-    protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user) {
+    protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user, final Set<String> changed) {
         // 1. save clear password value before save
         String clearPwd = user.getClearPassword();
 
@@ -100,7 +108,7 @@ public class JPAJSONUserDAO extends JPAUserDAO {
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
 
         roleDAO.refreshDynMemberships(merged);
-        Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged);
+        Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged, changed);
         dynRealmDAO.refreshDynMemberships(merged);
 
         return Pair.of(merged, dynGroupMembs);
@@ -113,8 +121,8 @@ public class JPAJSONUserDAO extends JPAUserDAO {
     }
 
     @Override
-    public Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(final User user) {
+    public Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(final User user, final Set<String> changed) {
         anyDAO().checkBeforeSave(JPAJSONUser.TABLE, anyUtils(), user);
-        return super.saveAndGetDynGroupMembs(user);
+        return super.saveAndGetDynGroupMembs(user, changed);
     }
 }
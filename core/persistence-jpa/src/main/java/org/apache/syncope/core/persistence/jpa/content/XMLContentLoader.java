@@ -20,13 +20,20 @@ package org.apache.syncope.core.persistence.jpa.content;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.stream.Collectors;
 import javax.annotation.Resource;
 import javax.sql.DataSource;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.core.persistence.api.content.ContentLoader;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -104,6 +111,45 @@ public class XMLContentLoader implements ContentLoader {
                 LOG.error("[{}] While loading default content", domain, e);
             }
         }
+
+        try {
+            alignRealmFullPaths(domain, jdbcTemplate);
+        } catch (DataAccessException e) {
+            LOG.error("[{}] While aligning realm full paths", domain, e);
+        }
+    }
+
+    private static String fullPath(final Map<String, Map<String, Object>> realms, final Map<String, Object> realm) {
+        Object parent = realm.get("parent_id");
+        return parent == null || !realms.containsKey(parent.toString())
+                ? SyncopeConstants.ROOT_REALM
+                : StringUtils.appendIfMissing(fullPath(realms, realms.get(parent.toString())), "/")
+                + realm.get("name");
+    }
+
+    /**
+     * Fills the full path stored by each realm, as required by indexed realm lookups, when missing or not aligned
+     * with name and parent - e.g. for content loaded via SQL or upgraded from previous releases.
+     *
+     * @param domain domain
+     * @param jdbcTemplate JDBC template for the given domain
+     */
+    public static void alignRealmFullPaths(final String domain, final JdbcTemplate jdbcTemplate) {
+        Map<String, Map<String, Object>> realms = new HashMap<>();
+        jdbcTemplate.queryForList("SELECT id, name, parent_id, fullPath FROM " + JPARealm.TABLE).
+                forEach(row -> realms.put(row.get("id").toString(), row));
+
+        List<Object[]> updates = realms.entrySet().stream().map(entry -> {
+            String fullPath = fullPath(realms, entry.getValue());
+            return Objects.equals(fullPath, entry.getValue().get("fullPath"))
+                    ? null
+                    : new Object[] { fullPath, entry.getKey() };
+        }).filter(Objects::nonNull).collect(Collectors.toList());
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE " + JPARealm.TABLE + " SET fullPath=? WHERE id=?", updates);
+            LOG.info("[{}] Aligned full path of {} realms", domain, updates.size());
+        }
     }
 
     private void loadDefaultContent(
@@ -23,18 +23,22 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
 import org.apache.commons.jexl3.parser.Parser;
 import org.apache.commons.jexl3.parser.ParserConstants;
 import org.apache.commons.jexl3.parser.Token;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.openjpa.persistence.FetchPlan;
+import org.apache.openjpa.persistence.OpenJPAQuery;
 import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
@@ -130,6 +134,23 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return result;
     }
 
+    @SuppressWarnings("unchecked")
+    protected List<String> findAllKeys(final String table, final String lastKey, final int itemsPerPage) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT id FROM " + table + (lastKey == null ? "" : " WHERE id>?") + " ORDER BY id", String.class);
+        if (lastKey != null) {
+            query.setParameter(1, lastKey);
+        }
+        query.setMaxResults(itemsPerPage);
+
+        List<String> result = new ArrayList<>();
+        query.getResultList().stream().map(resultKey -> resultKey instanceof Object[]
+                ? (String) ((Object[]) resultKey)[0]
+                : ((String) resultKey)).
+                forEach(actualKey -> result.add(actualKey.toString()));
+        return result;
+    }
+
     protected Date findLastChange(final String key, final String table) {
         Query query = entityManager().createNativeQuery(
                 "SELECT creationDate, lastChangeDate FROM " + table + " WHERE id=?");
@@ -175,6 +196,35 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return (A) entityManager().find(anyUtils().anyClass(), key);
     }
 
+    /**
+     * Adds to the given fetch plan the fields to be loaded along with the any objects returned by
+     * {@link #findByKeys(Collection)}.
+     *
+     * @param fetchPlan fetch plan
+     */
+    protected abstract void addDetailsFields(FetchPlan fetchPlan);
+
+    @Transactional(readOnly = true)
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<A> findByKeys(final Collection<String> keys) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+
+        Map<String, A> found = new HashMap<>(distinct.size());
+        for (int i = 0; i < distinct.size(); i += DEFAULT_PAGE_SIZE) {
+            Query query = entityManager().createQuery(
+                    "SELECT e FROM " + anyUtils().anyClass().getSimpleName() + " e WHERE e.id IN :keys");
+            query.setParameter("keys", distinct.subList(i, Math.min(i + DEFAULT_PAGE_SIZE, distinct.size())));
+            // load each detail field with one query for all results, rather than with one query per result
+            query.setHint("openjpa.FetchPlan.EagerFetchMode", "parallel");
+            addDetailsFields(query.unwrap(OpenJPAQuery.class).getFetchPlan());
+
+            ((List<A>) query.getResultList()).forEach(any -> found.put(any.getKey(), any));
+        }
+
+        return distinct.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     private Query findByPlainAttrValueQuery(final String entityName, final boolean ignoreCaseMatch) {
         String query = "SELECT e FROM " + entityName + " e"
                 + " WHERE e.attribute.schema.id = :schemaKey AND (e.stringValue IS NOT NULL"
@@ -20,7 +20,7 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -34,6 +34,7 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
@@ -144,6 +145,30 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             List<OrderByClause> orderBy,
             AnyTypeKind kind);
 
+    /**
+     * Same as {@link #doSearch(Set, SearchCond, int, int, List, AnyTypeKind)}, but only returning keys; subclasses
+     * are expected to override in order to avoid loading the matching any objects.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition
+     */
+    protected List<String> doSearchKeys(
+            final Set<String> adminRealms,
+            final SearchCond searchCondition,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
+        return doSearch(adminRealms, searchCondition, page, itemsPerPage, orderBy, kind).stream().
+                map(Any::getKey).collect(Collectors.toList());
+    }
+
     protected Pair<PlainSchema, PlainAttrValue> check(final AttributeCond cond, final AnyTypeKind kind) {
         AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
 
@@ -297,25 +322,24 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return memberKey;
     }
 
+    @SuppressWarnings("unchecked")
     protected <T extends Any<?>> List<T> buildResult(final List<Object> raw, final AnyTypeKind kind) {
-        List<T> result = new ArrayList<>();
-
-        raw.stream().map(anyKey -> anyKey instanceof Object[]
+        Set<String> keys = new LinkedHashSet<>(raw.size());
+        raw.forEach(anyKey -> keys.add(anyKey instanceof Object[]
                 ? (String) ((Object[]) anyKey)[0]
-                : ((String) anyKey)).
-                forEachOrdered(actualKey -> {
-                    @SuppressWarnings("unchecked")
-                    T any = kind == AnyTypeKind.USER
-                            ? (T) userDAO.find(actualKey)
-                            : kind == AnyTypeKind.GROUP
-                                    ? (T) groupDAO.find(actualKey)
-                                    : (T) anyObjectDAO.find(actualKey);
-                    if (any == null) {
-                        LOG.error("Could not find {} with id {}, even if returned by native query", kind, actualKey);
-                    } else if (!result.contains(any)) {
-                        result.add(any);
-                    }
-                });
+                : ((String) anyKey)));
+
+        AnyDAO<?> anyDAO = kind == AnyTypeKind.USER
+                ? userDAO
+                : kind == AnyTypeKind.GROUP
+                        ? groupDAO
+                        : anyObjectDAO;
+        // results follow the ordering from the search query
+        List<T> result = (List<T>) anyDAO.findByKeys(keys);
+        if (result.size() < keys.size()) {
+            result.forEach(any -> keys.remove(any.getKey()));
+            LOG.error("Could not find {} with ids {}, even if returned by native query", kind, keys);
+        }
 
         return result;
     }
@@ -354,4 +378,55 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
 
         return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
     }
+
+    protected static SearchCond buildKeysetCond(final SearchCond cond, final String lastKey) {
+        if (lastKey == null) {
+            return cond;
+        }
+
+        AnyCond keyCond = new AnyCond(AttributeCond.Type.GT);
+        keyCond.setSchema("key");
+        keyCond.setExpression(lastKey);
+        return SearchCond.getAndCond(cond, SearchCond.getLeafCond(keyCond));
+    }
+
+    protected static List<OrderByClause> buildKeysetOrderBy() {
+        OrderByClause keyClause = new OrderByClause();
+        keyClause.setField("key");
+        keyClause.setDirection(OrderByClause.Direction.ASC);
+        return List.of(keyClause);
+    }
+
+    @Override
+    public <T extends Any<?>> List<T> searchAfter(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final String lastKey,
+            final int itemsPerPage,
+            final AnyTypeKind kind) {
+
+        return search(adminRealms, buildKeysetCond(cond, lastKey), 1, itemsPerPage, buildKeysetOrderBy(), kind);
+    }
+
+    @Override
+    public List<String> searchKeysAfter(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final String lastKey,
+            final int itemsPerPage,
+            final AnyTypeKind kind) {
+
+        if (adminRealms == null || adminRealms.isEmpty()) {
+            LOG.error("No realms provided");
+            return List.of();
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return List.of();
+        }
+
+        return doSearchKeys(adminRealms, buildKeysetCond(cond, lastKey), 1, itemsPerPage, buildKeysetOrderBy(), kind);
+    }
 }
@@ -32,6 +32,7 @@ import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.FetchPlan;
 import org.apache.syncope.common.lib.types.AnyEntitlement;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.entity.Entity;
@@ -52,6 +53,7 @@ import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.user.URelationship;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAARelationship;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAURelationship;
@@ -74,6 +76,12 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return anyUtilsFactory.getInstance(AnyTypeKind.ANY_OBJECT);
     }
 
+    @Override
+    protected void addDetailsFields(final FetchPlan fetchPlan) {
+        fetchPlan.addFields(JPAAnyObject.class, "plainAttrs", "resources", "relationships", "memberships");
+        fetchPlan.addFields(JPAAPlainAttr.class, "values", "uniqueValue");
+    }
+
     @Transactional(readOnly = true)
     @Override
     public String findKey(final String name) {
@@ -201,6 +209,11 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return findAllKeys(JPAAnyObject.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAAnyObject.TABLE, lastKey, itemsPerPage);
+    }
+
     protected Pair<AnyObject, Pair<Set<String>, Set<String>>> doSave(final AnyObject anyObject) {
         AnyObject merged = super.save(anyObject);
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
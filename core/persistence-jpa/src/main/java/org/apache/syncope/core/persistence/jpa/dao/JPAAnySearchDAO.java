@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
@@ -56,14 +57,19 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
- * Search engine implementation for users, groups and any objects, based on self-updating SQL views.
+ * Search engine implementation for users, groups and any objects, based on self-updating SQL views; conditions
+ * and ordering on projected plain schemas are resolved against the {@link SearchProjection} tables, when configured.
  */
 public class JPAAnySearchDAO extends AbstractAnySearchDAO {
 
     protected static final String EMPTY_QUERY = "SELECT any_id FROM user_search WHERE 1=2";
 
+    @Autowired
+    protected SearchProjectionManager searchProjectionManager;
+
     private Pair<String, Set<String>> getAdminRealmsFilter(
             final Set<String> adminRealms,
             final SearchSupport svs,
@@ -149,7 +155,6 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected <T extends Any<?>> List<T> doSearch(
             final Set<String> adminRealms,
             final SearchCond cond,
@@ -158,6 +163,20 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             final List<OrderByClause> orderBy,
             final AnyTypeKind kind) {
 
+        // prepare the result (avoiding duplicates)
+        return buildResult(new ArrayList<>(doSearchKeys(adminRealms, cond, page, itemsPerPage, orderBy, kind)), kind);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<String> doSearchKeys(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind) {
+
         try {
             List<Object> parameters = new ArrayList<>();
 
@@ -201,8 +220,13 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             // 5. populate the search query with parameter values
             fillWithParameters(query, parameters);
 
-            // 6. Prepare the result (avoiding duplicates)
-            return buildResult(query.getResultList(), kind);
+            // 6. extract the keys from the query result
+            List<String> keys = new ArrayList<>();
+            query.getResultList().stream().map(anyKey -> anyKey instanceof Object[]
+                    ? (String) ((Object[]) anyKey)[0]
+                    : ((String) anyKey)).
+                    forEachOrdered(anyKey -> keys.add((String) anyKey));
+            return keys;
         } catch (SyncopeClientException e) {
             throw e;
         } catch (Exception e) {
@@ -217,7 +241,7 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return parameters.size();
     }
 
-    private static void fillWithParameters(final Query query, final List<Object> parameters) {
+    static void fillWithParameters(final Query query, final List<Object> parameters) {
         for (int i = 0; i < parameters.size(); i++) {
             if (parameters.get(i) instanceof Date) {
                 query.setParameter(i + 1, (Date) parameters.get(i), TemporalType.TIMESTAMP);
@@ -386,6 +410,21 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         }
     }
 
+    protected static void parseOrderByForProjection(
+            final OrderBySupport obs,
+            final OrderBySupport.Item item,
+            final OrderByClause clause,
+            final SearchProjection projection,
+            final SearchProjection.Column column) {
+
+        // the projection holds a row for each entity, no need to deal with non-mandatory schemas
+        obs.views.add(projection.getView());
+
+        item.select = projection.getView().alias + '.' + column.getName() + " AS " + column.getSchema();
+        item.where = StringUtils.EMPTY;
+        item.orderBy = column.getSchema() + ' ' + clause.getDirection().name();
+    }
+
     private OrderBySupport parseOrderBy(
             final AnyTypeKind kind,
             final SearchSupport svs,
@@ -416,7 +455,13 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                                 ? orderByUniquePlainSchemas : orderByNonUniquePlainSchemas));
                         throw invalidSearch;
                     }
-                    parseOrderByForPlainSchema(svs, obs, item, clause, schema, clause.getField());
+                    Optional<SearchProjection> projection = getProjection(kind);
+                    Optional<SearchProjection.Column> column = projection.flatMap(p -> p.getColumn(schema));
+                    if (column.isPresent()) {
+                        parseOrderByForProjection(obs, item, clause, projection.get(), column.get());
+                    } else {
+                        parseOrderByForPlainSchema(svs, obs, item, clause, schema, clause.getField());
+                    }
                 }
             } else {
                 // Manage difference among external key attribute and internal JPA @Id
@@ -482,7 +527,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                 } else if (cond.getResourceCond() != null) {
                     query.append(getQuery(cond.getResourceCond(), not, parameters, svs));
                 } else if (cond.getAttributeCond() != null) {
-                    query.append(getQuery(cond.getAttributeCond(), not, parameters, svs));
+                    query.append(getProjectedQuery(cond.getAttributeCond(), not, parameters, svs).
+                            orElseGet(() -> getQuery(cond.getAttributeCond(), not, parameters, svs)));
                     try {
                         involvedPlainAttrs.add(check(cond.getAttributeCond(), svs.anyTypeKind).getLeft().getKey());
                     } catch (IllegalArgumentException e) {
@@ -973,6 +1019,55 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         }
     }
 
+    /**
+     * @param kind any type kind
+     * @return search projection to resolve conditions and ordering for the given kind, if available
+     */
+    protected Optional<SearchProjection> getProjection(final AnyTypeKind kind) {
+        return searchProjectionManager.get(kind);
+    }
+
+    /**
+     * Builds the query for the given condition over the search projection of the involved kind, if available and
+     * holding the values of the involved schema.
+     *
+     * @param cond attribute condition
+     * @param not whether the condition is negated
+     * @param parameters query parameters, only added to when the query is built
+     * @param svs search support
+     * @return query over the search projection, if available
+     */
+    protected Optional<String> getProjectedQuery(
+            final AttributeCond cond,
+            final boolean not,
+            final List<Object> parameters,
+            final SearchSupport svs) {
+
+        Optional<SearchProjection> projection = getProjection(svs.anyTypeKind);
+        if (projection.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Pair<PlainSchema, PlainAttrValue> checked;
+        try {
+            checked = check(cond, svs.anyTypeKind);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        return projection.get().getColumn(checked.getLeft()).map(column -> {
+            // projected values are held by plain columns, as fields are
+            AnyCond projected = new AnyCond(cond.getType());
+            projected.setSchema(column.getName());
+            projected.setExpression(cond.getExpression());
+
+            StringBuilder query = new StringBuilder("SELECT any_id FROM ").
+                    append(projection.get().getTable()).append(" WHERE ");
+            fillAttrQuery(query, checked.getRight(), checked.getLeft(), projected, not, parameters, svs);
+            return query.toString();
+        });
+    }
+
     protected String getQuery(
             final AttributeCond cond,
             final boolean not,
@@ -19,15 +19,27 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.jpa.entity.JPADynRealm;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +56,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
 
     public static final String DYNMEMB_TABLE = "DynRealmMembers";
 
+    private static final int IN_CHUNK_SIZE = 500;
+
     @Autowired
     private ApplicationEventPublisher publisher;
 
@@ -98,7 +112,7 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         return cleared;
     }
 
-    private void notifyDynMembershipRemoval(final List<String> anyKeys) {
+    private void notifyDynMembershipChange(final List<String> anyKeys) {
         anyKeys.forEach(key -> {
             Any<?> any = userDAO.find(key);
             if (any == null) {
@@ -113,27 +127,87 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         });
     }
 
+    @SuppressWarnings("unchecked")
+    private Set<String> findDynMembers(final DynRealm dynRealm) {
+        Query find = entityManager().createNativeQuery(
+                "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=?");
+        find.setParameter(1, dynRealm.getKey());
+
+        Set<String> result = new HashSet<>();
+        find.getResultList().stream().map(key -> key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)).
+                forEach(key -> result.add((String) key));
+        return result;
+    }
+
+    private static String table(final AnyTypeKind kind) {
+        switch (kind) {
+            case USER:
+                return JPAUser.TABLE;
+
+            case GROUP:
+                return JPAGroup.TABLE;
+
+            case ANY_OBJECT:
+            default:
+                return JPAAnyObject.TABLE;
+        }
+    }
+
     @Override
     public DynRealm saveAndRefreshDynMemberships(final DynRealm dynRealm) {
         DynRealm merged = save(dynRealm);
 
-        // refresh dynamic memberships
-        List<String> cleared = clearDynMembers(merged);
+        // refresh dynamic memberships, only applying the differences with the current state
+        Set<String> existing = findDynMembers(merged);
+        List<String> added = new ArrayList<>();
+        merged.getDynMemberships().forEach(memb -> {
+            SearchCond cond = SearchCondConverter.convert(memb.getFIQLCond());
+            AnyTypeKind kind = memb.getAnyType().getKind();
 
-        merged.getDynMemberships().stream().map(memb -> searchDAO.search(
-                SearchCondConverter.convert(memb.getFIQLCond()), memb.getAnyType().getKind())).
-                forEach(matching -> matching.forEach(any -> {
+            String lastKey = null;
+            List<String> matching;
+            do {
+                matching = searchDAO.searchKeysAfter(
+                        SyncopeConstants.FULL_ADMIN_REALMS, cond, lastKey, AnyDAO.DEFAULT_PAGE_SIZE, kind);
 
-            Query insert = entityManager().createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-            insert.setParameter(1, any.getKey());
-            insert.setParameter(2, merged.getKey());
-            insert.executeUpdate();
+                List<String> toInsert = matching.stream().
+                        filter(key -> !existing.remove(key)).
+                        collect(Collectors.toList());
+                ListUtils.partition(toInsert, IN_CHUNK_SIZE).forEach(chunk -> {
+                    Query insert = entityManager().createNativeQuery(
+                            "INSERT INTO " + DYNMEMB_TABLE + "(any_id, dynRealm_id) SELECT id, ? FROM " + table(kind)
+                            + " WHERE id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")");
+                    int idx = 1;
+                    insert.setParameter(idx++, merged.getKey());
+                    for (String key : chunk) {
+                        insert.setParameter(idx++, key);
+                    }
+                    insert.executeUpdate();
+                });
+                added.addAll(toInsert);
 
-            publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, any, AuthContextUtils.getDomain()));
-            cleared.remove(any.getKey());
-        }));
+                lastKey = matching.isEmpty() ? null : matching.get(matching.size() - 1);
+            } while (matching.size() == AnyDAO.DEFAULT_PAGE_SIZE);
+        });
+
+        // whatever was not found matching is not a member anymore
+        ListUtils.partition(new ArrayList<>(existing), IN_CHUNK_SIZE).forEach(chunk -> {
+            Query delete = entityManager().createNativeQuery(
+                    "DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=? AND any_id IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")");
+            int idx = 1;
+            delete.setParameter(idx++, merged.getKey());
+            for (String key : chunk) {
+                delete.setParameter(idx++, key);
+            }
+            delete.executeUpdate();
+        });
 
-        notifyDynMembershipRemoval(cleared);
+        // one event for each any object whose dynamic memberships actually changed
+        added.addAll(existing);
+        notifyDynMembershipChange(added);
 
         return merged;
     }
@@ -145,7 +219,7 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
             return;
         }
 
-        notifyDynMembershipRemoval(clearDynMembers(dynRealm));
+        notifyDynMembershipChange(clearDynMembers(dynRealm));
 
         entityManager().remove(dynRealm);
     }
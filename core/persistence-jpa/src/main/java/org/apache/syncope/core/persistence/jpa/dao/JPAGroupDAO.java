@@ -25,12 +25,17 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.FetchPlan;
+import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
@@ -42,9 +47,11 @@ import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AssignableCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
+import org.apache.syncope.core.persistence.api.entity.DynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.ADynGroupMembership;
@@ -57,11 +64,14 @@ import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPATypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
@@ -76,6 +86,83 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
 
     public static final String ADYNMEMB_TABLE = "ADynGroupMembers";
 
+    private static final int MAX_COMPILED_CONDS = 10000;
+
+    private static final int IN_CHUNK_SIZE = 500;
+
+    private static final Set<String> TRACKED_FIELDS = Set.of("username", "realm");
+
+    /**
+     * Dynamic membership condition, parsed once and then shared among evaluations, together with the names of the
+     * fields and plain schemas it depends on ({@code null} if these cannot be determined).
+     */
+    private static class DynMembershipCond {
+
+        private final SearchCond cond;
+
+        private final Set<String> dependencies;
+
+        DynMembershipCond(final String fiql) {
+            this.cond = SearchCondConverter.convert(fiql);
+
+            Set<String> deps = dependencies(cond);
+            if (deps != null) {
+                // evaluation always includes the realm check
+                deps.add("realm");
+            }
+            this.dependencies = deps;
+        }
+
+        private static Set<String> dependencies(final SearchCond cond) {
+            switch (cond.getType()) {
+                case AND:
+                case OR:
+                    Set<String> left = dependencies(cond.getLeftSearchCond());
+                    Set<String> right = dependencies(cond.getRightSearchCond());
+                    if (left == null || right == null) {
+                        return null;
+                    }
+                    left.addAll(right);
+                    return left;
+
+                case LEAF:
+                case NOT_LEAF:
+                default:
+                    Set<String> deps = new HashSet<>();
+                    if (cond.getAnyTypeCond() != null) {
+                        return deps;
+                    }
+                    if (cond.getAttributeCond() != null) {
+                        deps.add(cond.getAttributeCond().getSchema());
+                        return deps;
+                    }
+                    if (cond.getAnyCond() != null) {
+                        String schema = cond.getAnyCond().getSchema();
+                        if ("key".equals(schema) || "id".equals(schema)) {
+                            return deps;
+                        }
+                        if (TRACKED_FIELDS.contains(schema)) {
+                            deps.add(schema);
+                            return deps;
+                        }
+                        return null;
+                    }
+                    if (cond.getRelationshipCond() != null || cond.getRelationshipTypeCond() != null) {
+                        deps.add("relationships");
+                        return deps;
+                    }
+                    // memberships, roles, resources, dynamic realms, ...: might change as side effect, no tracking
+                    return null;
+            }
+        }
+
+        private boolean isAffectedBy(final Set<String> changed) {
+            return changed == null || dependencies == null || dependencies.stream().anyMatch(changed::contains);
+        }
+    }
+
+    private final Map<String, DynMembershipCond> compiledConds = new ConcurrentHashMap<>();
+
     @Autowired
     private AnyMatchDAO anyMatchDAO;
 
@@ -96,6 +183,12 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return anyUtilsFactory.getInstance(AnyTypeKind.GROUP);
     }
 
+    @Override
+    protected void addDetailsFields(final FetchPlan fetchPlan) {
+        fetchPlan.addFields(JPAGroup.class, "plainAttrs", "resources");
+        fetchPlan.addFields(JPAGPlainAttr.class, "values", "uniqueValue");
+    }
+
     @Transactional(readOnly = true)
     @Override
     public String findKey(final String username) {
@@ -232,6 +325,11 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return findAllKeys(JPAGroup.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAGroup.TABLE, lastKey, itemsPerPage);
+    }
+
     private static SearchCond buildDynMembershipCond(final String baseCondFIQL, final Realm groupRealm) {
         AssignableCond cond = new AssignableCond();
         cond.setRealmFullPath(groupRealm.getFullPath());
@@ -240,62 +338,116 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return SearchCond.getAndCond(SearchCond.getLeafCond(cond), SearchCondConverter.convert(baseCondFIQL));
     }
 
+    @SuppressWarnings("unchecked")
+    private Set<String> findDynMemberKeys(final String table, final Group group) {
+        Query query = entityManager().createNativeQuery("SELECT any_id FROM " + table + " WHERE group_id=?");
+        query.setParameter(1, group.getKey());
+
+        Set<String> result = new HashSet<>();
+        query.getResultList().stream().map(key -> key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)).
+                forEach(key -> result.add((String) key));
+        return result;
+    }
+
+    /**
+     * Walks through all the any objects matching the given condition, adding the dynamic memberships not already
+     * in place; any objects are recorded with their own type.
+     *
+     * @param group group
+     * @param cond dynamic membership condition
+     * @param kind any type kind
+     * @param existing current dynamic members, to be removed from as they are found matching
+     * @param changed collects the keys of the any objects which were added
+     */
+    private void addDynMembers(
+            final Group group,
+            final SearchCond cond,
+            final AnyTypeKind kind,
+            final Set<String> existing,
+            final Set<String> changed) {
+
+        String lastKey = null;
+        List<String> matching;
+        do {
+            matching = searchDAO.searchKeysAfter(
+                    Set.of(group.getRealm().getFullPath()),
+                    cond,
+                    lastKey,
+                    AnyDAO.DEFAULT_PAGE_SIZE,
+                    kind);
+
+            List<String> toInsert = matching.stream().
+                    filter(key -> !existing.remove(key)).
+                    collect(Collectors.toList());
+            ListUtils.partition(toInsert, IN_CHUNK_SIZE).forEach(chunk -> {
+                Query insert = entityManager().createNativeQuery(kind == AnyTypeKind.USER
+                        ? "INSERT INTO " + UDYNMEMB_TABLE + "(any_id, group_id) SELECT id, ? FROM " + JPAUser.TABLE
+                        + " WHERE id IN (" + placeholders(chunk.size()) + ")"
+                        : "INSERT INTO " + ADYNMEMB_TABLE + "(anyType_id, any_id, group_id) SELECT type_id, id, ? FROM "
+                        + JPAAnyObject.TABLE + " WHERE id IN (" + placeholders(chunk.size()) + ")");
+                int idx = 1;
+                insert.setParameter(idx++, group.getKey());
+                for (String key : chunk) {
+                    insert.setParameter(idx++, key);
+                }
+                insert.executeUpdate();
+            });
+            changed.addAll(toInsert);
+
+            lastKey = matching.isEmpty() ? null : matching.get(matching.size() - 1);
+        } while (matching.size() == AnyDAO.DEFAULT_PAGE_SIZE);
+    }
+
+    private void removeDynMembers(final String table, final Group group, final Set<String> toDelete) {
+        ListUtils.partition(new ArrayList<>(toDelete), IN_CHUNK_SIZE).forEach(chunk -> {
+            Query delete = entityManager().createNativeQuery(
+                    "DELETE FROM " + table + " WHERE group_id=? AND any_id IN (" + placeholders(chunk.size()) + ")");
+            int idx = 1;
+            delete.setParameter(idx++, group.getKey());
+            for (String key : chunk) {
+                delete.setParameter(idx++, key);
+            }
+            delete.executeUpdate();
+        });
+    }
+
     @Override
     public Group saveAndRefreshDynMemberships(final Group group) {
         Group merged = save(group);
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
 
-        // refresh dynamic memberships
-        clearUDynMembers(merged);
+        // refresh dynamic memberships, only applying the differences with the current state
+        Set<String> changedUsers = new HashSet<>();
+        Set<String> existingUsers = findDynMemberKeys(UDYNMEMB_TABLE, merged);
         if (merged.getUDynMembership() != null) {
-            SearchCond cond = buildDynMembershipCond(merged.getUDynMembership().getFIQLCond(), merged.getRealm());
-            int count = searchDAO.count(
-                    Collections.<String>singleton(merged.getRealm().getFullPath()), cond, AnyTypeKind.USER);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<User> matching = searchDAO.search(
-                        Collections.<String>singleton(merged.getRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.USER);
-
-                matching.forEach(user -> {
-                    Query insert = entityManager().createNativeQuery("INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                    insert.setParameter(1, user.getKey());
-                    insert.setParameter(2, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, user, AuthContextUtils.getDomain()));
-                });
-            }
+            addDynMembers(
+                    merged,
+                    buildDynMembershipCond(merged.getUDynMembership().getFIQLCond(), merged.getRealm()),
+                    AnyTypeKind.USER,
+                    existingUsers,
+                    changedUsers);
         }
-        clearADynMembers(merged);
-        merged.getADynMemberships().forEach(memb -> {
-            SearchCond cond = buildDynMembershipCond(memb.getFIQLCond(), merged.getRealm());
-            int count = searchDAO.count(
-                    Collections.<String>singleton(merged.getRealm().getFullPath()), cond, AnyTypeKind.ANY_OBJECT);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<AnyObject> matching = searchDAO.search(
-                        Collections.<String>singleton(merged.getRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.ANY_OBJECT);
-
-                matching.forEach(anyObject -> {
-                    Query insert = entityManager().createNativeQuery(
-                            "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                    insert.setParameter(1, anyObject.getType().getKey());
-                    insert.setParameter(2, anyObject.getKey());
-                    insert.setParameter(3, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, anyObject, AuthContextUtils.getDomain()));
-                });
-            }
-        });
+        removeDynMembers(UDYNMEMB_TABLE, merged, existingUsers);
+        changedUsers.addAll(existingUsers);
+
+        Set<String> changedAnyObjects = new HashSet<>();
+        Set<String> existingAnyObjects = findDynMemberKeys(ADYNMEMB_TABLE, merged);
+        merged.getADynMemberships().forEach(memb -> addDynMembers(
+                merged,
+                buildDynMembershipCond(memb.getFIQLCond(), merged.getRealm()),
+                AnyTypeKind.ANY_OBJECT,
+                existingAnyObjects,
+                changedAnyObjects));
+        removeDynMembers(ADYNMEMB_TABLE, merged, existingAnyObjects);
+        changedAnyObjects.addAll(existingAnyObjects);
+
+        // one event for each any object whose dynamic memberships actually changed
+        changedUsers.stream().map(userDAO::find).filter(Objects::nonNull).forEach(user -> publisher.publishEvent(
+                new AnyCreatedUpdatedEvent<>(this, user, AuthContextUtils.getDomain())));
+        changedAnyObjects.stream().map(anyObjectDAO::find).filter(Objects::nonNull).forEach(anyObject -> publisher.
+                publishEvent(new AnyCreatedUpdatedEvent<>(this, anyObject, AuthContextUtils.getDomain())));
 
         dynRealmDAO.refreshDynMemberships(merged);
 
@@ -434,48 +586,7 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final AnyObject anyObject) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.ADYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, anyObject.getKey());
-
-        Set<String> before = new HashSet<>();
-        Set<String> after = new HashSet<>();
-        findWithADynMemberships(anyObject.getType()).forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    anyObject,
-                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()));
-            if (matches) {
-                after.add(memb.getGroup().getKey());
-            }
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, anyObject.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                insert.setParameter(1, anyObject.getType().getKey());
-                insert.setParameter(2, anyObject.getKey());
-                insert.setParameter(3, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, anyObject.getKey());
-                delete.executeUpdate();
-            }
-
-            publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
-
-        return Pair.of(before, after);
+        return refreshDynMemberships(anyObject, findWithADynMemberships(anyObject.getType()), null, ADYNMEMB_TABLE);
     }
 
     @Override
@@ -533,47 +644,13 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final User user) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.UDYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, user.getKey());
-
-        Set<String> before = new HashSet<>();
-        Set<String> after = new HashSet<>();
-        findWithUDynMemberships().forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    user,
-                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()));
-            if (matches) {
-                after.add(memb.getGroup().getKey());
-            }
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, user.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, user.getKey());
-                delete.executeUpdate();
-            }
-
-            publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
+        return refreshDynMemberships(user, null);
+    }
 
-        return Pair.of(before, after);
+    @Transactional
+    @Override
+    public Pair<Set<String>, Set<String>> refreshDynMemberships(final User user, final Set<String> changed) {
+        return refreshDynMemberships(user, findWithUDynMemberships(), changed, UDYNMEMB_TABLE);
     }
 
     @Override
@@ -594,6 +671,97 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return before;
     }
 
+    private DynMembershipCond compile(final String fiql) {
+        if (compiledConds.size() >= MAX_COMPILED_CONDS) {
+            compiledConds.clear();
+        }
+        return compiledConds.computeIfAbsent(fiql, DynMembershipCond::new);
+    }
+
+    private static boolean isInRealm(final Any<?> any, final Realm groupRealm) {
+        String anyRealm = any.getRealm().getFullPath();
+        return SyncopeConstants.ROOT_REALM.equals(groupRealm.getFullPath())
+                || anyRealm.equals(groupRealm.getFullPath())
+                || anyRealm.startsWith(groupRealm.getFullPath() + '/');
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A extends Any<?>> Pair<Set<String>, Set<String>> refreshDynMemberships(
+            final A any,
+            final List<? extends DynGroupMembership<A>> membs,
+            final Set<String> changed,
+            final String table) {
+
+        Query query = entityManager().createNativeQuery("SELECT group_id FROM " + table + " WHERE any_id=?");
+        query.setParameter(1, any.getKey());
+
+        Set<String> before = new HashSet<>();
+        query.getResultList().stream().map(key -> key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)).
+                forEach(group -> before.add((String) group));
+
+        Set<String> after = new HashSet<>(before);
+        List<Group> refreshed = new ArrayList<>();
+        membs.forEach(memb -> {
+            DynMembershipCond cond = compile(memb.getFIQLCond());
+            if (cond.isAffectedBy(changed)) {
+                boolean matches = isInRealm(any, memb.getGroup().getRealm()) && anyMatchDAO.matches(any, cond.cond);
+                boolean existing = before.contains(memb.getGroup().getKey());
+
+                if (matches && !existing) {
+                    after.add(memb.getGroup().getKey());
+                    refreshed.add(memb.getGroup());
+                } else if (!matches && existing) {
+                    after.remove(memb.getGroup().getKey());
+                    refreshed.add(memb.getGroup());
+                }
+            }
+        });
+
+        List<String> toInsert = after.stream().filter(group -> !before.contains(group)).collect(Collectors.toList());
+        ListUtils.partition(toInsert, IN_CHUNK_SIZE).forEach(chunk -> {
+            boolean withAnyType = ADYNMEMB_TABLE.equals(table);
+
+            Query insert = entityManager().createNativeQuery(
+                    "INSERT INTO " + table
+                    + (withAnyType
+                            ? "(anyType_id, any_id, group_id) SELECT ?, ?, id"
+                            : "(any_id, group_id) SELECT ?, id")
+                    + " FROM " + JPAGroup.TABLE + " WHERE id IN (" + placeholders(chunk.size()) + ")");
+            int idx = 1;
+            if (withAnyType) {
+                insert.setParameter(idx++, any.getType().getKey());
+            }
+            insert.setParameter(idx++, any.getKey());
+            for (String group : chunk) {
+                insert.setParameter(idx++, group);
+            }
+            insert.executeUpdate();
+        });
+
+        List<String> toDelete = before.stream().filter(group -> !after.contains(group)).collect(Collectors.toList());
+        ListUtils.partition(toDelete, IN_CHUNK_SIZE).forEach(chunk -> {
+            Query delete = entityManager().createNativeQuery(
+                    "DELETE FROM " + table + " WHERE any_id=? AND group_id IN (" + placeholders(chunk.size()) + ")");
+            int idx = 1;
+            delete.setParameter(idx++, any.getKey());
+            for (String group : chunk) {
+                delete.setParameter(idx++, group);
+            }
+            delete.executeUpdate();
+        });
+
+        refreshed.forEach(group -> publisher.publishEvent(
+                new AnyCreatedUpdatedEvent<>(this, group, AuthContextUtils.getDomain())));
+
+        return Pair.of(before, after);
+    }
+
+    private static String placeholders(final int size) {
+        return String.join(",", Collections.nCopies(size, "?"));
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Collection<String> findAllResourceKeys(final String key) {
@@ -18,8 +18,17 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
 import javax.persistence.TypedQuery;
+import org.apache.syncope.common.lib.log.AuditEntryTO;
+import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.LoggerLevel;
 import org.apache.syncope.common.lib.types.LoggerType;
 import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
@@ -66,4 +75,118 @@ public class JPALoggerDAO extends AbstractDAO<Logger> implements LoggerDAO {
 
         delete(logger);
     }
+
+    private static String toString(final Object value) {
+        if (value instanceof Clob) {
+            try {
+                Clob clob = (Clob) value;
+                return clob.getSubString(1, (int) clob.length());
+            } catch (SQLException e) {
+                LOG.error("While reading CLOB", e);
+                return null;
+            }
+        }
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public List<AuditEntryTO> findAuditEntries(
+            final String who,
+            final String entityKey,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final String event,
+            final AuditElements.Result result,
+            final Date after,
+            final Date before,
+            final String beforeKey,
+            final int size) {
+
+        StringBuilder queryString = new StringBuilder("SELECT ID, EVENT_DATE, WHO, EVENT_TYPE, EVENT_CATEGORY, "
+                + "EVENT_SUBCATEGORY, EVENT_NAME, EVENT_RESULT, ENTITY_KEY, MESSAGE, THROWABLE "
+                + "FROM SYNCOPEAUDIT WHERE 1=1");
+        List<Object> parameters = new ArrayList<>();
+        if (who != null) {
+            parameters.add(who);
+            queryString.append(" AND WHO=?").append(parameters.size());
+        }
+        if (entityKey != null) {
+            parameters.add(entityKey);
+            queryString.append(" AND ENTITY_KEY=?").append(parameters.size());
+        }
+        if (type != null) {
+            parameters.add(type.name());
+            queryString.append(" AND EVENT_TYPE=?").append(parameters.size());
+        }
+        if (category != null) {
+            parameters.add(category);
+            queryString.append(" AND EVENT_CATEGORY=?").append(parameters.size());
+        }
+        if (subcategory != null) {
+            parameters.add(subcategory);
+            queryString.append(" AND EVENT_SUBCATEGORY=?").append(parameters.size());
+        }
+        if (event != null) {
+            parameters.add(event);
+            queryString.append(" AND EVENT_NAME=?").append(parameters.size());
+        }
+        if (result != null) {
+            parameters.add(result.name());
+            queryString.append(" AND EVENT_RESULT=?").append(parameters.size());
+        }
+        if (after != null) {
+            parameters.add(after);
+            queryString.append(" AND EVENT_DATE>=?").append(parameters.size());
+        }
+        if (before != null) {
+            parameters.add(before);
+            if (beforeKey == null) {
+                queryString.append(" AND EVENT_DATE<?").append(parameters.size());
+            } else {
+                // (EVENT_DATE, ID) < (?, ?), expanded as row value comparison is not supported everywhere
+                queryString.append(" AND (EVENT_DATE<?").append(parameters.size());
+                parameters.add(before);
+                queryString.append(" OR (EVENT_DATE=?").append(parameters.size());
+                parameters.add(beforeKey);
+                queryString.append(" AND ID<?").append(parameters.size()).append("))");
+            }
+        }
+        queryString.append(" ORDER BY EVENT_DATE DESC, ID DESC");
+
+        Query query = entityManager().createNativeQuery(queryString.toString());
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameters.get(i) instanceof Date) {
+                query.setParameter(i + 1, (Date) parameters.get(i), TemporalType.TIMESTAMP);
+            } else {
+                query.setParameter(i + 1, parameters.get(i));
+            }
+        }
+        query.setMaxResults(size);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(row -> {
+            AuditEntryTO entry = new AuditEntryTO();
+            entry.setKey(toString(row[0]));
+            entry.setDate(row[1] == null ? null : new Date(((Date) row[1]).getTime()));
+            entry.setWho(toString(row[2]));
+            entry.setType(row[3] == null ? null : AuditElements.EventCategoryType.valueOf(row[3].toString()));
+            entry.setCategory(toString(row[4]));
+            entry.setSubcategory(toString(row[5]));
+            entry.setEvent(toString(row[6]));
+            entry.setResult(row[7] == null ? null : AuditElements.Result.valueOf(row[7].toString()));
+            entry.setEntityKey(toString(row[8]));
+            entry.setMessage(toString(row[9]));
+            entry.setThrowable(toString(row[10]));
+            return entry;
+        }).collect(Collectors.toList());
+    }
+
+    @Override
+    public int deleteAuditEntries(final Date before) {
+        Query query = entityManager().createNativeQuery("DELETE FROM SYNCOPEAUDIT WHERE EVENT_DATE<?1");
+        query.setParameter(1, before, TemporalType.TIMESTAMP);
+        return query.executeUpdate();
+    }
 }
@@ -47,6 +47,9 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
     @Lazy
     private ExternalResourceDAO resourceDAO;
 
+    @Autowired
+    private SearchProjectionManager searchProjectionManager;
+
     @Override
     public PlainSchema find(final String key) {
         return entityManager().find(JPAPlainSchema.class, key);
@@ -127,6 +130,8 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
 
         deleteAttrs(schema);
 
+        searchProjectionManager.clear(key);
+
         resourceDAO.deleteMapping(key);
 
         if (schema.getAnyTypeClass() != null) {
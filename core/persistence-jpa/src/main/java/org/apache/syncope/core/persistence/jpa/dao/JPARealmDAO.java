@@ -21,8 +21,10 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.persistence.NoResultException;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -37,14 +39,24 @@ import org.apache.syncope.core.persistence.api.entity.policy.Policy;
 import org.apache.syncope.core.persistence.api.entity.policy.ProvisioningPolicy;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Repository
 public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
+    /**
+     * Per-domain map from realm full paths to realm keys, loaded at once on first access and used to resolve
+     * {@link #findByFullPath(java.lang.String)} without querying; entries are always verified against the actual
+     * realm, hence a stale snapshot can only cause a fallback to the indexed query.
+     */
+    private final Map<String, Map<String, String>> snapshots = new ConcurrentHashMap<>();
+
     @Autowired
     @Lazy
     private RoleDAO roleDAO;
@@ -81,22 +93,56 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
             throw new MalformedPathException(fullPath);
         }
 
-        Realm root = getRoot();
-        if (root == null) {
-            return null;
-        }
+        Map<String, String> snapshot = snapshots.computeIfAbsent(AuthContextUtils.getDomain(), domain -> {
+            Map<String, String> paths = new ConcurrentHashMap<>();
+
+            Query query = entityManager().createQuery(
+                    "SELECT e.fullPath, e.id FROM " + JPARealm.class.getSimpleName() + " e "
+                    + "WHERE e.fullPath IS NOT NULL");
+            @SuppressWarnings("unchecked")
+            List<Object[]> result = query.getResultList();
+            result.forEach(row -> paths.put(row[0].toString(), row[1].toString()));
 
-        Realm current = root;
-        for (final String pathElement : fullPath.substring(1).split("/")) {
-            Optional<Realm> first = findChildren(current).stream().
-                    filter(realm -> pathElement.equals(realm.getName())).findFirst();
-            if (first.isPresent()) {
-                current = first.get();
-            } else {
-                return null;
+            return paths;
+        });
+
+        String key = snapshot.get(fullPath);
+        if (key != null) {
+            Realm realm = find(key);
+            if (realm != null && fullPath.equals(realm.getFullPath())) {
+                return realm;
             }
+            snapshot.remove(fullPath);
+        }
+
+        TypedQuery<Realm> query = entityManager().createQuery("SELECT e FROM " + JPARealm.class.getSimpleName() + " e "
+                + "WHERE e.fullPath=:fullPath", Realm.class);
+        query.setParameter("fullPath", fullPath);
+
+        Realm result = query.getResultList().stream().findFirst().orElse(null);
+        if (result != null) {
+            snapshot.put(fullPath, result.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * Discards the snapshot of the current domain; when invoked within a transaction, the snapshot is discarded
+     * again after completion, as it might have been reloaded meanwhile with paths not yet committed.
+     */
+    private void invalidateSnapshot() {
+        String domain = AuthContextUtils.getDomain();
+        snapshots.remove(domain);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    snapshots.remove(domain);
+                }
+            });
         }
-        return current;
     }
 
     private <T extends Policy> List<Realm> findSamePolicyChildren(final Realm realm, final T policy) {
@@ -188,19 +234,22 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
         return query.getResultList();
     }
 
-    private void findDescendants(final List<Realm> result, final Realm realm) {
-        result.add(realm);
-        List<Realm> children = findChildren(realm);
-        if (children != null) {
-            children.forEach(child -> findDescendants(result, child));
+    private List<Realm> findDescendants(final String fullPath, final boolean includeSelf) {
+        TypedQuery<Realm> query = entityManager().createQuery(
+                "SELECT e FROM " + JPARealm.class.getSimpleName() + " e "
+                + "WHERE " + (includeSelf ? "e.fullPath=:fullPath OR " : "") + "e.fullPath LIKE :prefix "
+                + "ORDER BY e.fullPath", Realm.class);
+        if (includeSelf) {
+            query.setParameter("fullPath", fullPath);
         }
+        query.setParameter("prefix", StringUtils.appendIfMissing(fullPath, "/") + "%");
+
+        return query.getResultList();
     }
 
     @Override
     public List<Realm> findDescendants(final Realm realm) {
-        List<Realm> result = new ArrayList<>();
-        findDescendants(result, realm);
-        return result;
+        return findDescendants(realm.getFullPath(), true);
     }
 
     @Transactional(readOnly = true)
@@ -211,11 +260,24 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public Realm save(final Realm realm) {
-        return entityManager().merge(realm);
+        JPARealm merged = (JPARealm) entityManager().merge(realm);
+
+        String previous = merged.getStoredFullPath();
+        if (merged.refreshFullPath()) {
+            if (previous != null) {
+                // renamed or moved: descendants' stored paths are to be aligned as well
+                findDescendants(previous, false).forEach(descendant -> ((JPARealm) descendant).refreshFullPath());
+            }
+            invalidateSnapshot();
+        }
+
+        return merged;
     }
 
     @Override
     public void delete(final Realm realm) {
+        invalidateSnapshot();
+
         findDescendants(realm).stream().map(toBeDeleted -> {
             roleDAO.findByRealm(toBeDeleted).forEach(role -> role.getRealms().remove(toBeDeleted));
             return toBeDeleted;
@@ -34,6 +34,7 @@ import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.FetchPlan;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.EntityViolationType;
@@ -64,6 +65,7 @@ import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPALinkedAccount;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
@@ -105,6 +107,12 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return anyUtilsFactory.getInstance(AnyTypeKind.USER);
     }
 
+    @Override
+    protected void addDetailsFields(final FetchPlan fetchPlan) {
+        fetchPlan.addFields(JPAUser.class, "plainAttrs", "resources", "relationships", "memberships", "linkedAccounts");
+        fetchPlan.addFields(JPAUPlainAttr.class, "values", "uniqueValue");
+    }
+
     @Transactional(readOnly = true)
     @Override
     public String findKey(final String username) {
@@ -260,6 +268,11 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return findAllKeys(JPAUser.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAUser.TABLE, lastKey, itemsPerPage);
+    }
+
     protected List<AccountPolicy> getAccountPolicies(final User user) {
         List<AccountPolicy> policies = new ArrayList<>();
 
@@ -395,7 +408,7 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return Pair.of(suspend, propagateSuspension);
     }
 
-    protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user) {
+    protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user, final Set<String> changed) {
         // 1. save clear password value before save
         String clearPwd = user.getClearPassword();
 
@@ -416,7 +429,7 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
 
         roleDAO.refreshDynMemberships(merged);
-        Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged);
+        Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged, changed);
         dynRealmDAO.refreshDynMemberships(merged);
 
         return Pair.of(merged, dynGroupMembs);
@@ -424,12 +437,12 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
 
     @Override
     public User save(final User user) {
-        return doSave(user).getLeft();
+        return doSave(user, null).getLeft();
     }
 
     @Override
-    public Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(final User user) {
-        return doSave(user).getRight();
+    public Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(final User user, final Set<String> changed) {
+        return doSave(user, changed).getRight();
     }
 
     @Override
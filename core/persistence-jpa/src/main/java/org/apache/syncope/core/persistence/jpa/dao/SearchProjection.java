@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.jpa.dao.SearchSupport.SearchView;
+
+/**
+ * Denormalized search table for users, groups or any objects: one row per entity, with one typed and indexed column
+ * for each of the projected plain schemas.
+ *
+ * Only single-valued schemas of type String, Enum, Long, Double, Boolean and Date can be projected; values of
+ * membership attributes are not included.
+ */
+public class SearchProjection {
+
+    /**
+     * Column holding the values of a projected plain schema.
+     */
+    public static class Column {
+
+        protected final String schema;
+
+        protected final String name;
+
+        protected final AttrSchemaType type;
+
+        protected final boolean uniqueConstraint;
+
+        public Column(
+                final String schema,
+                final String name,
+                final AttrSchemaType type,
+                final boolean uniqueConstraint) {
+
+            this.schema = schema;
+            this.name = name;
+            this.type = type;
+            this.uniqueConstraint = uniqueConstraint;
+        }
+
+        public String getSchema() {
+            return schema;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public AttrSchemaType getType() {
+            return type;
+        }
+
+        public boolean isUniqueConstraint() {
+            return uniqueConstraint;
+        }
+    }
+
+    public static String table(final AnyTypeKind kind) {
+        switch (kind) {
+            case GROUP:
+                return "group_search_projection";
+
+            case ANY_OBJECT:
+                return "anyObject_search_projection";
+
+            case USER:
+            default:
+                return "user_search_projection";
+        }
+    }
+
+    public static String column(final String schema) {
+        return "p_" + schema.replaceAll("[^A-Za-z0-9_]", "_");
+    }
+
+    public static boolean isProjectable(final AttrSchemaType type, final boolean multivalue) {
+        return !multivalue
+                && type != AttrSchemaType.Binary
+                && type != AttrSchemaType.Encrypted;
+    }
+
+    protected final AnyTypeKind kind;
+
+    protected final SearchView view;
+
+    protected final Map<String, Column> columns = new LinkedHashMap<>();
+
+    public SearchProjection(final AnyTypeKind kind, final Collection<Column> columns) {
+        this.kind = kind;
+        this.view = new SearchView("sp", table(kind));
+        columns.forEach(column -> this.columns.put(column.getSchema(), column));
+    }
+
+    public AnyTypeKind getKind() {
+        return kind;
+    }
+
+    public String getTable() {
+        return view.name;
+    }
+
+    public SearchView getView() {
+        return view;
+    }
+
+    public Map<String, Column> getColumns() {
+        return Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * Returns the column holding the values of the given schema, unless the schema was not projected or was
+     * changed since then in a way not compatible with the projection.
+     *
+     * @param schema plain schema
+     * @return column holding the values of the given schema, if available
+     */
+    public Optional<Column> getColumn(final PlainSchema schema) {
+        return Optional.ofNullable(columns.get(schema.getKey())).
+                filter(column -> column.getType() == schema.getType()
+                && isProjectable(schema.getType(), schema.isMultivalue()));
+    }
+}
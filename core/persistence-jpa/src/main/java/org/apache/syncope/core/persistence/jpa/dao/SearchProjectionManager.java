@@ -0,0 +1,424 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.openjpa.jdbc.conf.JDBCConfiguration;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
+import org.apache.syncope.core.persistence.jpa.dao.SearchProjection.Column;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttr;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttrValue;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttr;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttrValue;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrValue;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
+import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Maintains the {@link SearchProjection} tables configured for each domain via the {@code search.projection.user},
+ * {@code search.projection.group} and {@code search.projection.anyObject} properties, as comma-separated lists of
+ * plain schema keys.
+ *
+ * Tables and columns are created and filled from the plain attribute tables when the domain is loaded; afterwards,
+ * rows are rewritten on any create / update and delete, within the same transaction.
+ */
+@Component
+public class SearchProjectionManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchProjectionManager.class);
+
+    protected static final Map<AnyTypeKind, String> PROPERTIES = Map.of(
+            AnyTypeKind.USER, "search.projection.user",
+            AnyTypeKind.GROUP, "search.projection.group",
+            AnyTypeKind.ANY_OBJECT, "search.projection.anyObject");
+
+    /**
+     * Tables storing the plain attributes of each kind, as entity, attribute, value and unique value.
+     */
+    protected static final Map<AnyTypeKind, String[]> ATTR_TABLES = Map.of(
+            AnyTypeKind.USER, new String[] {
+                JPAUser.TABLE, JPAUPlainAttr.TABLE, JPAUPlainAttrValue.TABLE, JPAUPlainAttrUniqueValue.TABLE },
+            AnyTypeKind.GROUP, new String[] {
+                JPAGroup.TABLE, JPAGPlainAttr.TABLE, JPAGPlainAttrValue.TABLE, JPAGPlainAttrUniqueValue.TABLE },
+            AnyTypeKind.ANY_OBJECT, new String[] {
+                JPAAnyObject.TABLE, JPAAPlainAttr.TABLE, JPAAPlainAttrValue.TABLE, JPAAPlainAttrUniqueValue.TABLE });
+
+    protected static boolean flag(final Object value) {
+        return value instanceof Number
+                ? ((Number) value).intValue() == 1
+                : Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    protected static String sqlType(final DBDictionary dict, final AttrSchemaType type) {
+        int jdbcType;
+        String size = StringUtils.EMPTY;
+        switch (type) {
+            case Boolean:
+                // as stored by BooleanValueHandler
+                jdbcType = Types.INTEGER;
+                break;
+
+            case Long:
+                jdbcType = Types.BIGINT;
+                break;
+
+            case Double:
+                jdbcType = Types.DOUBLE;
+                break;
+
+            case Date:
+                jdbcType = Types.TIMESTAMP;
+                break;
+
+            default:
+                jdbcType = Types.VARCHAR;
+                size = "(255)";
+        }
+
+        String typeName = dict.getTypeName(jdbcType);
+        return typeName.contains("{0}") ? typeName.replace("{0}", size) : typeName + size;
+    }
+
+    protected static Optional<Object> value(final Any<?> any, final String schema) {
+        return any.getPlainAttr(schema).map(attr -> {
+            PlainAttrValue attrValue = attr.getUniqueValue() == null
+                    ? attr.getValues().stream().findFirst().orElse(null)
+                    : attr.getUniqueValue();
+            Object value = attrValue == null ? null : attrValue.getValue();
+            return value;
+        });
+    }
+
+    protected static EntityManagerFactory entityManagerFactory(final String domain) {
+        return EntityManagerFactoryUtils.findEntityManagerFactory(ApplicationContextProvider.getBeanFactory(), domain);
+    }
+
+    protected static EntityManager entityManager(final String domain) {
+        EntityManager entityManager =
+                EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory(domain));
+        if (entityManager == null) {
+            throw new IllegalStateException("Could not find EntityManager for domain " + domain);
+        }
+
+        return entityManager;
+    }
+
+    protected final Map<String, Map<AnyTypeKind, SearchProjection>> projections = new ConcurrentHashMap<>();
+
+    @Autowired
+    private Environment env;
+
+    protected List<Column> columns(
+            final String domain,
+            final AnyTypeKind kind,
+            final Map<String, Map<String, Object>> schemas) {
+
+        Set<String> names = new HashSet<>();
+        return Stream.of(StringUtils.split(env.getProperty(PROPERTIES.get(kind), StringUtils.EMPTY), ',')).
+                map(String::trim).filter(StringUtils::isNotBlank).distinct().map(key -> {
+                    Map<String, Object> schema = schemas.get(key);
+                    if (schema == null) {
+                        LOG.warn("[{}] Schema {} not found, not projecting for {}", domain, key, kind);
+                        return null;
+                    }
+
+                    AttrSchemaType type = AttrSchemaType.valueOf(schema.get("type").toString());
+                    if (!SearchProjection.isProjectable(type, flag(schema.get("multivalue")))) {
+                        LOG.warn("[{}] Schema {} is multivalue or {}, not projecting for {}", domain, key, type, kind);
+                        return null;
+                    }
+                    if (!names.add(SearchProjection.column(key))) {
+                        LOG.warn("[{}] Column {} already used, not projecting schema {} for {}",
+                                domain, SearchProjection.column(key), key, kind);
+                        return null;
+                    }
+
+                    return new Column(key, SearchProjection.column(key), type, flag(schema.get("uniqueConstraint")));
+                }).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    protected static Set<String> columnNames(final JdbcTemplate jdbcTemplate, final String table) {
+        return jdbcTemplate.query("SELECT * FROM " + table + " WHERE 1=2", rs -> {
+            Set<String> names = new HashSet<>();
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                names.add(metaData.getColumnName(i).toLowerCase());
+            }
+            return names;
+        });
+    }
+
+    /**
+     * Creates the table for the given projection and any missing column, with its index.
+     * As other nodes might be doing the same at the same time, failed statements are only reported when what they
+     * were supposed to create is still missing afterwards.
+     *
+     * @param jdbcTemplate db access for the domain
+     * @param dict db dictionary for the domain
+     * @param projection search projection
+     */
+    protected void align(final JdbcTemplate jdbcTemplate, final DBDictionary dict, final SearchProjection projection) {
+        Set<String> existing;
+        try {
+            existing = columnNames(jdbcTemplate, projection.getTable());
+        } catch (DataAccessException e) {
+            LOG.debug("Creating table {}", projection.getTable(), e);
+
+            try {
+                jdbcTemplate.execute("CREATE TABLE " + projection.getTable() + "(any_id CHAR(36) PRIMARY KEY)");
+                existing = Set.of("any_id");
+            } catch (DataAccessException ce) {
+                LOG.debug("Table {} could not be created, checking if created meanwhile", projection.getTable(), ce);
+                existing = columnNames(jdbcTemplate, projection.getTable());
+            }
+        }
+
+        for (Column column : projection.getColumns().values()) {
+            if (!existing.contains(column.getName().toLowerCase())) {
+                LOG.debug("Adding column {} to {}", column.getName(), projection.getTable());
+
+                try {
+                    jdbcTemplate.execute("ALTER TABLE " + projection.getTable()
+                            + " ADD " + column.getName() + ' ' + sqlType(dict, column.getType()));
+                } catch (DataAccessException e) {
+                    if (!columnNames(jdbcTemplate, projection.getTable()).contains(column.getName().toLowerCase())) {
+                        throw e;
+                    }
+                    LOG.debug("Column {} of {} was added meanwhile", column.getName(), projection.getTable(), e);
+                    continue;
+                }
+
+                try {
+                    jdbcTemplate.execute("CREATE INDEX "
+                            + StringUtils.substringBefore(projection.getTable(), "_") + '_' + column.getName() + "_idx"
+                            + " ON " + projection.getTable() + '(' + column.getName() + ')');
+                } catch (DataAccessException e) {
+                    // the index is not required for correctness, and is likely being created by another node
+                    LOG.warn("Could not create index for column {} of {}",
+                            column.getName(), projection.getTable(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Aligns rows and column values of the given projection to the plain attribute tables.
+     *
+     * @param jdbcTemplate db access for the domain
+     * @param projection search projection
+     */
+    protected void rebuild(final JdbcTemplate jdbcTemplate, final SearchProjection projection) {
+        String[] tables = ATTR_TABLES.get(projection.getKind());
+        // groups do not have memberships, hence neither membership attributes
+        String membership = projection.getKind() == AnyTypeKind.GROUP
+                ? StringUtils.EMPTY
+                : " AND a.membership_id IS NULL";
+
+        jdbcTemplate.update("DELETE FROM " + projection.getTable()
+                + " WHERE any_id NOT IN (SELECT id FROM " + tables[0] + ')');
+        jdbcTemplate.update("INSERT INTO " + projection.getTable() + "(any_id) SELECT id FROM " + tables[0]
+                + " WHERE id NOT IN (SELECT any_id FROM " + projection.getTable() + ')');
+
+        projection.getColumns().values().forEach(column -> jdbcTemplate.update(
+                "UPDATE " + projection.getTable() + " SET " + column.getName() + "="
+                + "(SELECT MIN(v." + JPAAnySearchDAO.key(column.getType()) + ')'
+                + " FROM " + (column.isUniqueConstraint() ? tables[3] : tables[2]) + " v, " + tables[1] + " a"
+                + " WHERE v.attribute_id=a.id AND a.owner_id=" + projection.getTable() + ".any_id"
+                + " AND a.schema_id=?" + membership + ')',
+                column.getSchema()));
+    }
+
+    /**
+     * Search projections are filled from, and searched instead of, the plain attribute tables: they are only
+     * supported when such tables are used both for storing and searching plain attributes, not by JSON layouts
+     * (whose search DAOs do not use projections anyway).
+     *
+     * @return whether the configured persistence layout supports search projections
+     */
+    protected boolean isSupported() {
+        try {
+            return JPAPlainAttrDAO.class.isAssignableFrom(
+                    ClassUtils.resolveClassName(env.getProperty("plainAttr.dao"), null))
+                    && JPAAnySearchDAO.class.isAssignableFrom(
+                            ClassUtils.resolveClassName(env.getProperty("any.search.dao"), null));
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Could not resolve the configured DAO classes", e);
+            return false;
+        }
+    }
+
+    /**
+     * Sets up the search projections configured for the given domain; nothing is done with persistence layouts not
+     * supporting search projections, while projections which cannot be set up are disabled.
+     *
+     * @param domain domain
+     * @param datasource db access for the given domain
+     */
+    public void init(final String domain, final DataSource datasource) {
+        projections.remove(domain);
+
+        if (PROPERTIES.values().stream().allMatch(property -> StringUtils.isBlank(env.getProperty(property)))) {
+            return;
+        }
+        if (!isSupported()) {
+            LOG.warn("[{}] Search projections are not supported by the configured persistence layout, ignoring",
+                    domain);
+            return;
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
+
+        Map<String, Map<String, Object>> schemas = new HashMap<>();
+        jdbcTemplate.queryForList("SELECT id, type, multivalue, uniqueConstraint FROM " + JPAPlainSchema.TABLE).
+                forEach(row -> schemas.put(row.get("id").toString(), row));
+
+        DBDictionary dict = ((JDBCConfiguration) OpenJPAPersistence.cast(entityManagerFactory(domain)).
+                getConfiguration()).getDBDictionaryInstance();
+
+        Map<AnyTypeKind, SearchProjection> domainProjections = new EnumMap<>(AnyTypeKind.class);
+        PROPERTIES.keySet().forEach(kind -> {
+            List<Column> columns = columns(domain, kind, schemas);
+            if (!columns.isEmpty()) {
+                SearchProjection projection = new SearchProjection(kind, columns);
+                try {
+                    align(jdbcTemplate, dict, projection);
+                    rebuild(jdbcTemplate, projection);
+
+                    domainProjections.put(kind, projection);
+                    LOG.info("[{}] Search projection for {} ready with schemas {}",
+                            domain, kind, projection.getColumns().keySet());
+                } catch (DataAccessException e) {
+                    LOG.error("[{}] Could not set up search projection for {}", domain, kind, e);
+                }
+            }
+        });
+        projections.put(domain, domainProjections);
+    }
+
+    public void unload(final String domain) {
+        projections.remove(domain);
+    }
+
+    /**
+     * @param kind any type kind
+     * @return search projection for the given kind in the current domain, if available
+     */
+    public Optional<SearchProjection> get(final AnyTypeKind kind) {
+        return Optional.ofNullable(projections.getOrDefault(AuthContextUtils.getDomain(), Map.of()).get(kind));
+    }
+
+    /**
+     * Empties the column of the given schema in all projections of the current domain, as required when the schema
+     * is deleted.
+     *
+     * @param schema plain schema key
+     */
+    public void clear(final String schema) {
+        String domain = AuthContextUtils.getDomain();
+        projections.getOrDefault(domain, Map.of()).values().forEach(projection -> Optional.ofNullable(
+                projection.getColumns().get(schema)).ifPresent(column -> entityManager(domain).createNativeQuery(
+                "UPDATE " + projection.getTable() + " SET " + column.getName() + "=NULL").executeUpdate()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void after(final AnyCreatedUpdatedEvent<Any<?>> event) {
+        Optional.ofNullable(projections.getOrDefault(event.getDomain(), Map.of()).
+                get(event.getAny().getType().getKind())).ifPresent(projection -> {
+
+            LOG.debug("About to update search projection for {}", event.getAny());
+
+            EntityManager entityManager = entityManager(event.getDomain());
+            entityManager.createNativeQuery("DELETE FROM " + projection.getTable() + " WHERE any_id=?1").
+                    setParameter(1, event.getAny().getKey()).executeUpdate();
+
+            List<String> names = new ArrayList<>(List.of("any_id"));
+            List<Object> parameters = new ArrayList<>(List.of(event.getAny().getKey()));
+            projection.getColumns().values().forEach(column -> value(event.getAny(), column.getSchema()).
+                    ifPresent(value -> {
+                        names.add(column.getName());
+                        parameters.add(value);
+                    }));
+
+            Query insert = entityManager.createNativeQuery("INSERT INTO " + projection.getTable()
+                    + '(' + String.join(",", names) + ") VALUES ("
+                    + IntStream.rangeClosed(1, names.size()).mapToObj(i -> "?" + i).collect(Collectors.joining(","))
+                    + ')');
+            JPAAnySearchDAO.fillWithParameters(insert, parameters);
+            insert.executeUpdate();
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void after(final AnyDeletedEvent event) {
+        Optional.ofNullable(projections.getOrDefault(event.getDomain(), Map.of()).
+                get(event.getAnyTypeKind())).ifPresent(projection -> {
+
+            LOG.debug("About to delete search projection for {}[{}]", event.getAnyTypeKind(), event.getAnyKey());
+
+            entityManager(event.getDomain()).
+                    createNativeQuery("DELETE FROM " + projection.getTable() + " WHERE any_id=?1").
+                    setParameter(1, event.getAnyKey()).executeUpdate();
+        });
+    }
+}
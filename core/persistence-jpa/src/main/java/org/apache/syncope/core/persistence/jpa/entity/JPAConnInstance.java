@@ -37,6 +37,7 @@ import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
@@ -128,6 +129,13 @@ public class JPAConnInstance extends AbstractGeneratedKeyEntity implements ConnI
      */
     private Integer connRequestTimeout = DEFAULT_TIMEOUT;
 
+    /**
+     * Maximum number of requests concurrently sent to the connector; no limit if not set.
+     * It is not applied in case of sync, full reconciliation and search.
+     */
+    @Min(1)
+    private Integer maxConcurrentRequests;
+
     private JPAConnPoolConf poolConf;
 
     @Override
@@ -236,6 +244,16 @@ public class JPAConnInstance extends AbstractGeneratedKeyEntity implements ConnI
         this.connRequestTimeout = timeout;
     }
 
+    @Override
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @Override
+    public void setMaxConcurrentRequests(final Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
     @Override
     public ConnPoolConf getPoolConf() {
         return poolConf;
@@ -24,6 +24,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
@@ -60,12 +61,23 @@ public class JPARealm extends AbstractGeneratedKeyEntity implements Realm {
 
     public static final String TABLE = "Realm";
 
+    /**
+     * Maximum length of realm full paths, kept within the index key size limits of the supported DBMSes.
+     */
+    public static final int FULL_PATH_LENGTH = 750;
+
     @Size(min = 1)
     private String name;
 
     @ManyToOne
     private JPARealm parent;
 
+    /**
+     * Stored copy of {@link #getFullPath()}, for indexed lookups; maintained by {@code RealmDAO}.
+     */
+    @Column(length = FULL_PATH_LENGTH)
+    private String fullPath;
+
     @ManyToOne(fetch = FetchType.EAGER)
     private JPAPasswordPolicy passwordPolicy;
 
@@ -111,6 +123,25 @@ public class JPARealm extends AbstractGeneratedKeyEntity implements Realm {
                 : StringUtils.appendIfMissing(getParent().getFullPath(), "/") + getName();
     }
 
+    /**
+     * Aligns the stored full path with the current name and parent.
+     *
+     * @return whether the stored full path was changed
+     */
+    public boolean refreshFullPath() {
+        String current = getFullPath();
+        if (current.equals(fullPath)) {
+            return false;
+        }
+
+        fullPath = current;
+        return true;
+    }
+
+    public String getStoredFullPath() {
+        return fullPath;
+    }
+
     @Override
     public AccountPolicy getAccountPolicy() {
         return accountPolicy == null && getParent() != null ? getParent().getAccountPolicy() : accountPolicy;
@@ -31,6 +31,8 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import org.apache.syncope.common.lib.types.IdRepoImplementationType;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
@@ -73,6 +75,10 @@ public class JPAReport extends AbstractGeneratedKeyEntity implements Report {
     @JoinColumn(name = "template_id")
     private JPAReportTemplate template;
 
+    @Min(-1)
+    @Max(9)
+    private Integer compressionLevel;
+
     @Override
     public String getName() {
         return name;
@@ -136,4 +142,14 @@ public class JPAReport extends AbstractGeneratedKeyEntity implements Report {
         checkType(template, JPAReportTemplate.class);
         this.template = (JPAReportTemplate) template;
     }
+
+    @Override
+    public Integer getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    @Override
+    public void setCompressionLevel(final Integer compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
 }
@@ -40,6 +40,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
@@ -102,6 +103,35 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
      */
     private Integer propagationPriority;
 
+    /**
+     * Max number of push operations concurrently running against this resource.
+     */
+    @Min(1)
+    private Integer pushMaxInFlight;
+
+    /**
+     * Max number of push operations per second against this resource.
+     */
+    @Min(1)
+    private Integer pushRateLimit;
+
+    /**
+     * Max number of non-priority propagation tasks concurrently running against this resource.
+     */
+    @Min(1)
+    private Integer propagationMaxConcurrency;
+
+    /**
+     * Max number of non-priority propagation tasks waiting to run against this resource.
+     */
+    @Min(0)
+    private Integer propagationQueueCapacity;
+
+    /**
+     * Avoid reading the remote object before and after propagation, whenever possible.
+     */
+    private Boolean leanPropagation;
+
     /**
      * Generate random password, if not provided.
      */
@@ -234,6 +264,56 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
         this.propagationPriority = propagationPriority;
     }
 
+    @Override
+    public Integer getPushMaxInFlight() {
+        return pushMaxInFlight;
+    }
+
+    @Override
+    public void setPushMaxInFlight(final Integer pushMaxInFlight) {
+        this.pushMaxInFlight = pushMaxInFlight;
+    }
+
+    @Override
+    public Integer getPushRateLimit() {
+        return pushRateLimit;
+    }
+
+    @Override
+    public void setPushRateLimit(final Integer pushRateLimit) {
+        this.pushRateLimit = pushRateLimit;
+    }
+
+    @Override
+    public Integer getPropagationMaxConcurrency() {
+        return propagationMaxConcurrency;
+    }
+
+    @Override
+    public void setPropagationMaxConcurrency(final Integer propagationMaxConcurrency) {
+        this.propagationMaxConcurrency = propagationMaxConcurrency;
+    }
+
+    @Override
+    public Integer getPropagationQueueCapacity() {
+        return propagationQueueCapacity;
+    }
+
+    @Override
+    public void setPropagationQueueCapacity(final Integer propagationQueueCapacity) {
+        this.propagationQueueCapacity = propagationQueueCapacity;
+    }
+
+    @Override
+    public boolean isLeanPropagation() {
+        return Boolean.TRUE.equals(leanPropagation);
+    }
+
+    @Override
+    public void setLeanPropagation(final boolean leanPropagation) {
+        this.leanPropagation = leanPropagation;
+    }
+
     @Override
     public boolean isRandomPwdIfNotProvided() {
         return randomPwdIfNotProvided;
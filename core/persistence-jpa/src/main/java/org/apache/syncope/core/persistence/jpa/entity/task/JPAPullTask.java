@@ -34,6 +34,7 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import org.apache.syncope.common.lib.types.IdMImplementationType;
 import org.apache.syncope.common.lib.types.PullMode;
@@ -77,6 +78,12 @@ public class JPAPullTask extends AbstractProvisioningTask implements PullTask {
     @NotNull
     private Boolean remediation = false;
 
+    @Min(1)
+    private Integer concurrentWorkers;
+
+    @Min(1)
+    private Integer concurrentQueueSize;
+
     @Override
     public PullMode getPullMode() {
         return pullMode;
@@ -149,4 +156,24 @@ public class JPAPullTask extends AbstractProvisioningTask implements PullTask {
     public boolean isRemediation() {
         return remediation;
     }
+
+    @Override
+    public Integer getConcurrentWorkers() {
+        return concurrentWorkers;
+    }
+
+    @Override
+    public void setConcurrentWorkers(final Integer concurrentWorkers) {
+        this.concurrentWorkers = concurrentWorkers;
+    }
+
+    @Override
+    public Integer getConcurrentQueueSize() {
+        return concurrentQueueSize;
+    }
+
+    @Override
+    public void setConcurrentQueueSize(final Integer concurrentQueueSize) {
+        this.concurrentQueueSize = concurrentQueueSize;
+    }
 }
@@ -32,6 +32,7 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import org.apache.syncope.common.lib.types.IdMImplementationType;
 import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.Min;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -62,6 +63,9 @@ public class JPAPushTask extends AbstractProvisioningTask implements PushTask {
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER, mappedBy = "pushTask")
     private List<JPAPushTaskAnyFilter> filters = new ArrayList<>();
 
+    @Min(1)
+    private Integer concurrentWorkers;
+
     @Override
     public JPARealm getSourceRealm() {
         return sourceRealm;
@@ -100,4 +104,14 @@ public class JPAPushTask extends AbstractProvisioningTask implements PushTask {
     public List<? extends PushTaskAnyFilter> getFilters() {
         return filters;
     }
+
+    @Override
+    public Integer getConcurrentWorkers() {
+        return concurrentWorkers;
+    }
+
+    @Override
+    public void setConcurrentWorkers(final Integer concurrentWorkers) {
+        this.concurrentWorkers = concurrentWorkers;
+    }
 }
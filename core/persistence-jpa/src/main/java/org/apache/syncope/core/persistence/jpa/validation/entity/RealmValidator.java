@@ -23,6 +23,7 @@ import javax.validation.ConstraintValidatorContext;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 
 public class RealmValidator extends AbstractValidator<RealmCheck, Realm> {
 
@@ -58,6 +59,15 @@ public class RealmValidator extends AbstractValidator<RealmCheck, Realm> {
                         getTemplate(EntityViolationType.InvalidRealm, "Only alphanumeric chars allowed in realm name")).
                         addPropertyNode("name").addConstraintViolation();
             }
+
+            if (realm.getFullPath().length() > JPARealm.FULL_PATH_LENGTH) {
+                isValid = false;
+
+                context.buildConstraintViolationWithTemplate(
+                        getTemplate(EntityViolationType.InvalidRealm,
+                                "Realm full path longer than " + JPARealm.FULL_PATH_LENGTH + " chars")).
+                        addPropertyNode("name").addConstraintViolation();
+            }
         }
 
         return isValid;
@@ -16,11 +16,40 @@
 -- under the License.
 
 CREATE TABLE IF NOT EXISTS SYNCOPEAUDIT (
+  ID VARCHAR(36),
   EVENT_DATE TIMESTAMP,
   LOGGER_LEVEL VARCHAR(255) NOT NULL,
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE TEXT NOT NULL,
-  THROWABLE TEXT
+  THROWABLE TEXT,
+  WHO VARCHAR(255),
+  EVENT_TYPE VARCHAR(255),
+  EVENT_CATEGORY VARCHAR(255),
+  EVENT_SUBCATEGORY VARCHAR(255),
+  EVENT_NAME VARCHAR(255),
+  EVENT_RESULT VARCHAR(255),
+  ENTITY_KEY VARCHAR(255)
 );
 
+-- upgrade from tables created without the audit entry dimensions
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS ID VARCHAR(36);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS WHO VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_TYPE VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_CATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_SUBCATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_NAME VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_RESULT VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS ENTITY_KEY VARCHAR(255);
+
+-- fill the tie-breaker for rows written before it was introduced: only the statement supported
+-- by the underlying database (H2, PostgreSQL or MariaDB) will succeed, the others are ignored
+UPDATE SYNCOPEAUDIT SET ID=RANDOM_UUID() WHERE ID IS NULL;
+UPDATE SYNCOPEAUDIT SET ID=md5(random()::text || clock_timestamp()::text) WHERE ID IS NULL;
+UPDATE SYNCOPEAUDIT SET ID=UUID() WHERE ID IS NULL;
+
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_DATE ON SYNCOPEAUDIT(EVENT_DATE, ID);
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_WHO ON SYNCOPEAUDIT(WHO, EVENT_DATE, ID);
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_ENTITY ON SYNCOPEAUDIT(ENTITY_KEY, EVENT_DATE, ID);
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_CATEGORY ON SYNCOPEAUDIT(EVENT_CATEGORY, EVENT_SUBCATEGORY, EVENT_DATE, ID);
+
 COMMIT;
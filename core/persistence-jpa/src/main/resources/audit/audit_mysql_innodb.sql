@@ -16,9 +16,36 @@
 -- under the License.
 
 CREATE TABLE IF NOT EXISTS SYNCOPEAUDIT (
+  ID VARCHAR(36),
   EVENT_DATE TIMESTAMP,
   LOGGER_LEVEL VARCHAR(255) NOT NULL,
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE TEXT NOT NULL,
-  THROWABLE TEXT
+  THROWABLE TEXT,
+  WHO VARCHAR(255),
+  EVENT_TYPE VARCHAR(255),
+  EVENT_CATEGORY VARCHAR(255),
+  EVENT_SUBCATEGORY VARCHAR(255),
+  EVENT_NAME VARCHAR(255),
+  EVENT_RESULT VARCHAR(255),
+  ENTITY_KEY VARCHAR(255)
 ) ENGINE=InnoDB;
+
+-- upgrade from tables created without the audit entry dimensions
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN ID VARCHAR(36);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN WHO VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN EVENT_TYPE VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN EVENT_CATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN EVENT_SUBCATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN EVENT_NAME VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN EVENT_RESULT VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN ENTITY_KEY VARCHAR(255);
+
+-- fill the tie-breaker for rows written before it was introduced
+UPDATE SYNCOPEAUDIT SET ID=UUID() WHERE ID IS NULL;
+
+CREATE INDEX SYNCOPEAUDIT_DATE ON SYNCOPEAUDIT(EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_WHO ON SYNCOPEAUDIT(WHO, EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_ENTITY ON SYNCOPEAUDIT(ENTITY_KEY, EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_CATEGORY ON SYNCOPEAUDIT(EVENT_CATEGORY, EVENT_SUBCATEGORY, EVENT_DATE, ID);
+
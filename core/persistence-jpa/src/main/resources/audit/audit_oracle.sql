@@ -16,9 +16,36 @@
 -- under the License.
 
 CREATE TABLE SYNCOPEAUDIT (
+  ID VARCHAR(36),
   EVENT_DATE TIMESTAMP,
   LOGGER_LEVEL VARCHAR(255) NOT NULL,
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE CLOB NOT NULL,
-  THROWABLE CLOB
+  THROWABLE CLOB,
+  WHO VARCHAR(255),
+  EVENT_TYPE VARCHAR(255),
+  EVENT_CATEGORY VARCHAR(255),
+  EVENT_SUBCATEGORY VARCHAR(255),
+  EVENT_NAME VARCHAR(255),
+  EVENT_RESULT VARCHAR(255),
+  ENTITY_KEY VARCHAR(255)
 );
+
+-- upgrade from tables created without the audit entry dimensions
+ALTER TABLE SYNCOPEAUDIT ADD ID VARCHAR(36);
+ALTER TABLE SYNCOPEAUDIT ADD WHO VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_TYPE VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_CATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_SUBCATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_NAME VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_RESULT VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD ENTITY_KEY VARCHAR(255);
+
+-- fill the tie-breaker for rows written before it was introduced
+UPDATE SYNCOPEAUDIT SET ID=RAWTOHEX(SYS_GUID()) WHERE ID IS NULL;
+
+CREATE INDEX SYNCOPEAUDIT_DATE ON SYNCOPEAUDIT(EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_WHO ON SYNCOPEAUDIT(WHO, EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_ENTITY ON SYNCOPEAUDIT(ENTITY_KEY, EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_CATEGORY ON SYNCOPEAUDIT(EVENT_CATEGORY, EVENT_SUBCATEGORY, EVENT_DATE, ID);
+
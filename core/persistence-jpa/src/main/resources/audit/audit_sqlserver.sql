@@ -19,10 +19,37 @@ IF NOT EXISTS
 (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[SYNCOPEAUDIT]') AND type in (N'U'))
 BEGIN
 CREATE TABLE SYNCOPEAUDIT (
+  ID VARCHAR(36),
   EVENT_DATE DATETIME,
   LOGGER_LEVEL VARCHAR(255) NOT NULL,
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE TEXT NOT NULL,
-  THROWABLE TEXT
+  THROWABLE TEXT,
+  WHO VARCHAR(255),
+  EVENT_TYPE VARCHAR(255),
+  EVENT_CATEGORY VARCHAR(255),
+  EVENT_SUBCATEGORY VARCHAR(255),
+  EVENT_NAME VARCHAR(255),
+  EVENT_RESULT VARCHAR(255),
+  ENTITY_KEY VARCHAR(255)
 )
 END
+
+-- upgrade from tables created without the audit entry dimensions
+ALTER TABLE SYNCOPEAUDIT ADD ID VARCHAR(36);
+ALTER TABLE SYNCOPEAUDIT ADD WHO VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_TYPE VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_CATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_SUBCATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_NAME VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_RESULT VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD ENTITY_KEY VARCHAR(255);
+
+-- fill the tie-breaker for rows written before it was introduced
+UPDATE SYNCOPEAUDIT SET ID=CONVERT(VARCHAR(36), NEWID()) WHERE ID IS NULL;
+
+CREATE INDEX SYNCOPEAUDIT_DATE ON SYNCOPEAUDIT(EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_WHO ON SYNCOPEAUDIT(WHO, EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_ENTITY ON SYNCOPEAUDIT(ENTITY_KEY, EVENT_DATE, ID);
+CREATE INDEX SYNCOPEAUDIT_CATEGORY ON SYNCOPEAUDIT(EVENT_CATEGORY, EVENT_SUBCATEGORY, EVENT_DATE, ID);
+
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.DomainHolder;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AttributeCond;
+import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.SearchProjectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs searches with the user search projection enabled, checking results against the same searches run on the
+ * plain attribute tables.
+ */
+@Transactional("Master")
+public class AnySearchProjectionTest extends AbstractTest {
+
+    private static final String PROJECTED = "fullname,firstname,surname,ctype,cool,gender";
+
+    @Autowired
+    private AnySearchDAO searchDAO;
+
+    @Autowired
+    private SearchProjectionManager searchProjectionManager;
+
+    @Autowired
+    private DomainHolder domainHolder;
+
+    @Autowired
+    private Environment env;
+
+    @BeforeEach
+    public void enableProjection() {
+        MockEnvironment projectionEnv = new MockEnvironment().
+                withProperty("plainAttr.dao", env.getProperty("plainAttr.dao")).
+                withProperty("any.search.dao", env.getProperty("any.search.dao")).
+                withProperty("search.projection.user", PROJECTED);
+        ReflectionTestUtils.setField(searchProjectionManager, "env", projectionEnv);
+
+        searchProjectionManager.init(
+                SyncopeConstants.MASTER_DOMAIN, domainHolder.getDomains().get(SyncopeConstants.MASTER_DOMAIN));
+        assertTrue(searchProjectionManager.get(AnyTypeKind.USER).isPresent());
+    }
+
+    @AfterEach
+    public void disableProjection() {
+        searchProjectionManager.unload(SyncopeConstants.MASTER_DOMAIN);
+        ReflectionTestUtils.setField(searchProjectionManager, "env", env);
+    }
+
+    private static List<String> keys(final List<User> users) {
+        return users.stream().map(Entity::getKey).collect(Collectors.toList());
+    }
+
+    /**
+     * Runs the given search with and without projection, expecting the same results.
+     *
+     * @param search search
+     * @param ordered whether results are expected in the same order
+     * @return result keys
+     */
+    private List<String> compare(final Supplier<List<User>> search, final boolean ordered) {
+        List<String> projected = keys(search.get());
+
+        searchProjectionManager.unload(SyncopeConstants.MASTER_DOMAIN);
+        try {
+            List<String> eav = keys(search.get());
+            if (ordered) {
+                assertEquals(eav, projected);
+            } else {
+                assertEquals(new HashSet<>(eav), new HashSet<>(projected));
+                assertEquals(eav.size(), projected.size());
+            }
+        } finally {
+            enableProjection();
+        }
+
+        return projected;
+    }
+
+    private List<String> compare(final SearchCond cond) {
+        List<String> keys = compare(() -> searchDAO.search(cond, AnyTypeKind.USER), false);
+        assertEquals(
+                (int) searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER),
+                keys.size());
+        return keys;
+    }
+
+    private static AttributeCond attrCond(final AttributeCond.Type type, final String schema, final String expr) {
+        AttributeCond cond = new AttributeCond(type);
+        cond.setSchema(schema);
+        cond.setExpression(expr);
+        return cond;
+    }
+
+    @Test
+    public void conditions() {
+        assertEquals(1, compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.EQ, "fullname", "Giuseppe Verdi"))).size());
+        assertEquals(1, compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.IEQ, "fullname", "giuseppe verdi"))).size());
+        assertFalse(compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.LIKE, "surname", "%o%"))).isEmpty());
+        assertEquals(1, compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.EQ, "cool", "true"))).size());
+        compare(SearchCond.getLeafCond(attrCond(AttributeCond.Type.GE, "firstname", "N")));
+
+        // projected and non-projected schemas together
+        MembershipCond groupCond = new MembershipCond();
+        groupCond.setGroup("root");
+        compare(SearchCond.getAndCond(
+                SearchCond.getLeafCond(attrCond(AttributeCond.Type.ILIKE, "fullname", "%O%")),
+                SearchCond.getAndCond(
+                        SearchCond.getLeafCond(groupCond),
+                        SearchCond.getLeafCond(attrCond(AttributeCond.Type.EQ, "loginDate", "2009-05-26")))));
+
+        compare(SearchCond.getOrCond(
+                SearchCond.getLeafCond(attrCond(AttributeCond.Type.EQ, "surname", "Rossini")),
+                SearchCond.getLeafCond(attrCond(AttributeCond.Type.EQ, "gender", "M"))));
+    }
+
+    @Test
+    public void not() {
+        assertEquals(4, compare(SearchCond.getNotLeafCond(
+                attrCond(AttributeCond.Type.EQ, "fullname", "Giuseppe Verdi"))).size());
+        assertEquals(4, compare(SearchCond.getNotLeafCond(
+                attrCond(AttributeCond.Type.IEQ, "fullname", "giuseppe verdi"))).size());
+        compare(SearchCond.getNotLeafCond(attrCond(AttributeCond.Type.EQ, "cool", "true")));
+        compare(SearchCond.getNotLeafCond(attrCond(AttributeCond.Type.LIKE, "surname", "%o%")));
+    }
+
+    @Test
+    public void isNull() {
+        assertEquals(4, compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.ISNULL, "cool", null))).size());
+        assertEquals(1, compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.ISNOTNULL, "cool", null))).size());
+        assertEquals(5, compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.ISNOTNULL, "fullname", null))).size());
+        assertTrue(compare(SearchCond.getLeafCond(
+                attrCond(AttributeCond.Type.ISNULL, "fullname", null))).isEmpty());
+        compare(SearchCond.getAndCond(
+                SearchCond.getLeafCond(attrCond(AttributeCond.Type.ISNOTNULL, "surname", null)),
+                SearchCond.getLeafCond(attrCond(AttributeCond.Type.ISNOTNULL, "firstname", null))));
+    }
+
+    @Test
+    public void ordering() {
+        OrderByClause bySurname = new OrderByClause();
+        bySurname.setField("surname");
+        bySurname.setDirection(OrderByClause.Direction.ASC);
+        OrderByClause byUsername = new OrderByClause();
+        byUsername.setField("username");
+        byUsername.setDirection(OrderByClause.Direction.DESC);
+
+        SearchCond cond = SearchCond.getLeafCond(attrCond(AttributeCond.Type.ISNOTNULL, "surname", null));
+
+        List<String> keys = compare(
+                () -> searchDAO.search(cond, List.of(bySurname, byUsername), AnyTypeKind.USER), true);
+        assertEquals(5, keys.size());
+
+        OrderByClause byFullname = new OrderByClause();
+        byFullname.setField("fullname");
+        byFullname.setDirection(OrderByClause.Direction.DESC);
+        compare(() -> searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS,
+                SearchCond.getLeafCond(attrCond(AttributeCond.Type.LIKE, "fullname", "%o%")),
+                1, 2, List.of(byFullname), AnyTypeKind.USER), true);
+    }
+}
@@ -739,4 +739,30 @@ public class AnySearchTest extends AbstractTest {
         assertNotNull(users);
         assertEquals(4, users.size());
     }
+
+    @Test
+    public void searchAfter() {
+        AnyCond keyCond = new AnyCond(AttributeCond.Type.ISNOTNULL);
+        keyCond.setSchema("key");
+        SearchCond cond = SearchCond.getLeafCond(keyCond);
+
+        OrderByClause orderByClause = new OrderByClause();
+        orderByClause.setField("key");
+        List<String> expected = searchDAO.search(cond, List.of(orderByClause), AnyTypeKind.USER).stream().
+                map(Entity::getKey).collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+
+        List<String> actual = new ArrayList<>();
+        String lastKey = null;
+        List<User> page;
+        do {
+            page = searchDAO.searchAfter(SyncopeConstants.FULL_ADMIN_REALMS, cond, lastKey, 2, AnyTypeKind.USER);
+            assertTrue(page.size() <= 2);
+            page.forEach(user -> actual.add(user.getKey()));
+
+            lastKey = page.isEmpty() ? null : page.get(page.size() - 1).getKey();
+        } while (page.size() == 2);
+
+        assertEquals(expected, actual);
+    }
 }
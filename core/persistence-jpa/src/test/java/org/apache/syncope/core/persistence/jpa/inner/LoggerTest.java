@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import org.apache.syncope.common.lib.log.AuditEntryTO;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class LoggerTest extends AbstractTest {
+
+    private static final Date SAME = new Date(1_600_000_000_000L);
+
+    private static final Date OLDER = new Date(1_500_000_000_000L);
+
+    @Autowired
+    private LoggerDAO loggerDAO;
+
+    private void insertAuditEntry(final Date date, final String who) {
+        Query query = entityManager().createNativeQuery("INSERT INTO SYNCOPEAUDIT"
+                + "(ID, EVENT_DATE, LOGGER_LEVEL, LOGGER, MESSAGE, WHO, EVENT_TYPE, EVENT_CATEGORY, EVENT_RESULT) "
+                + "VALUES(?1, ?2, 'DEBUG', 'syncope.audit', 'message', ?3, 'LOGIC', 'UserLogic', 'SUCCESS')");
+        query.setParameter(1, UUID.randomUUID().toString());
+        query.setParameter(2, date, TemporalType.TIMESTAMP);
+        query.setParameter(3, who);
+        query.executeUpdate();
+    }
+
+    private List<AuditEntryTO> findAuditEntries(final String who, final Date before, final String beforeKey) {
+        return loggerDAO.findAuditEntries(
+                who, null, null, null, null, null, null, null, before, beforeKey, 2);
+    }
+
+    @Test
+    public void findAuditEntriesAcrossEqualDates() {
+        String who = "auditTest" + UUID.randomUUID().toString();
+        for (int i = 0; i < 5; i++) {
+            insertAuditEntry(SAME, who);
+        }
+        insertAuditEntry(OLDER, who);
+        insertAuditEntry(OLDER, "someoneElse");
+
+        List<AuditEntryTO> all = new ArrayList<>();
+        List<AuditEntryTO> page = findAuditEntries(who, null, null);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= 2);
+            all.addAll(page);
+
+            AuditEntryTO last = page.get(page.size() - 1);
+            page = findAuditEntries(who, last.getDate(), last.getKey());
+        }
+
+        assertEquals(6, all.size());
+        Set<String> keys = all.stream().map(AuditEntryTO::getKey).collect(Collectors.toSet());
+        assertEquals(6, keys.size());
+
+        assertEquals(5, all.stream().filter(entry -> SAME.equals(entry.getDate())).count());
+        assertEquals(OLDER, all.get(5).getDate());
+        all.forEach(entry -> {
+            assertEquals(who, entry.getWho());
+            assertEquals(AuditElements.EventCategoryType.LOGIC, entry.getType());
+            assertEquals(AuditElements.Result.SUCCESS, entry.getResult());
+        });
+
+        // pages are sorted by descending date, then by descending key
+        for (int i = 1; i < all.size(); i++) {
+            AuditEntryTO prev = all.get(i - 1);
+            AuditEntryTO cur = all.get(i);
+            assertTrue(prev.getDate().after(cur.getDate())
+                    || (prev.getDate().equals(cur.getDate()) && prev.getKey().compareTo(cur.getKey()) > 0));
+        }
+    }
+
+    @Test
+    public void deleteAuditEntries() {
+        String who = "auditTest" + UUID.randomUUID().toString();
+        insertAuditEntry(SAME, who);
+        insertAuditEntry(SAME, who);
+        insertAuditEntry(OLDER, who);
+
+        int deleted = loggerDAO.deleteAuditEntries(new Date(OLDER.getTime() + 1000));
+        assertTrue(deleted >= 1);
+
+        List<AuditEntryTO> remaining = loggerDAO.findAuditEntries(
+                who, null, null, null, null, null, null, null, null, null, 10);
+        assertEquals(2, remaining.size());
+        assertEquals(new HashSet<>(List.of(SAME)),
+                remaining.stream().map(AuditEntryTO::getDate).collect(Collectors.toSet()));
+    }
+}
@@ -27,6 +27,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.Resource;
+import javax.sql.DataSource;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -37,9 +41,14 @@ import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.content.XMLContentLoader;
+import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional("Master")
@@ -51,6 +60,9 @@ public class RealmTest extends AbstractTest {
     @Autowired
     private PolicyDAO policyDAO;
 
+    @Resource(name = "MasterDataSource")
+    private DataSource dataSource;
+
     @Test
     public void getRoot() {
         assertNotNull(realmDAO.getRoot());
@@ -124,6 +136,111 @@ public class RealmTest extends AbstractTest {
         assertEquals("986d1236-3ac5-4a19-810c-5ab21d79cba1", actual.getPasswordPolicy().getKey());
     }
 
+    @Test
+    public void saveSubtree() {
+        Realm parent = entityFactory.newEntity(Realm.class);
+        parent.setName("parent");
+        parent.setParent(realmDAO.getRoot());
+        parent = realmDAO.save(parent);
+
+        Realm child = entityFactory.newEntity(Realm.class);
+        child.setName("child");
+        child.setParent(parent);
+        child = realmDAO.save(child);
+
+        Realm grandchild = entityFactory.newEntity(Realm.class);
+        grandchild.setName("grandchild");
+        grandchild.setParent(child);
+        grandchild = realmDAO.save(grandchild);
+
+        assertEquals("/parent", ((JPARealm) parent).getStoredFullPath());
+        assertEquals("/parent/child", ((JPARealm) child).getStoredFullPath());
+        assertEquals("/parent/child/grandchild", ((JPARealm) grandchild).getStoredFullPath());
+
+        // rename: all descendants follow
+        parent.setName("renamed");
+        parent = realmDAO.save(parent);
+        entityManager().flush();
+
+        assertEquals("/renamed/child", ((JPARealm) realmDAO.find(child.getKey())).getStoredFullPath());
+        assertEquals("/renamed/child/grandchild",
+                ((JPARealm) realmDAO.find(grandchild.getKey())).getStoredFullPath());
+        assertNull(realmDAO.findByFullPath("/parent/child"));
+        assertEquals(grandchild, realmDAO.findByFullPath("/renamed/child/grandchild"));
+
+        // move: all descendants follow
+        child = realmDAO.find(child.getKey());
+        child.setParent(realmDAO.findByFullPath("/even/two"));
+        realmDAO.save(child);
+        entityManager().flush();
+
+        assertEquals("/even/two/child", ((JPARealm) realmDAO.find(child.getKey())).getStoredFullPath());
+        assertEquals("/even/two/child/grandchild",
+                ((JPARealm) realmDAO.find(grandchild.getKey())).getStoredFullPath());
+        assertNull(realmDAO.findByFullPath("/renamed/child/grandchild"));
+        assertEquals(grandchild, realmDAO.findByFullPath("/even/two/child/grandchild"));
+        assertEquals(List.of("/renamed"), realmDAO.findDescendants(parent).stream().
+                map(Realm::getFullPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void findDescendantsByPrefix() {
+        // same prefix as /even, but not a descendant
+        Realm sibling = entityFactory.newEntity(Realm.class);
+        sibling.setName("evenmore");
+        sibling.setParent(realmDAO.getRoot());
+        realmDAO.save(sibling);
+        entityManager().flush();
+
+        assertEquals(List.of("/even", "/even/two"), realmDAO.findDescendants(realmDAO.findByFullPath("/even")).
+                stream().map(Realm::getFullPath).collect(Collectors.toList()));
+        assertEquals(List.of("/even/two"), realmDAO.findDescendants(realmDAO.findByFullPath("/even/two")).
+                stream().map(Realm::getFullPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void findByFullPathWithStaleSnapshot() {
+        Realm two = realmDAO.findByFullPath("/even/two");
+        assertNotNull(two);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, String>> snapshots = (Map<String, Map<String, String>>) ReflectionTestUtils.
+                getField(AopTestUtils.getTargetObject(realmDAO), "snapshots");
+        Map<String, String> snapshot = snapshots.get(SyncopeConstants.MASTER_DOMAIN);
+        assertEquals(two.getKey(), snapshot.get("/even/two"));
+
+        // make the snapshot stale, as if realms were changed by another node
+        String odd = realmDAO.findByFullPath("/odd").getKey();
+        snapshot.put("/even/two", odd);
+        snapshot.put("/even/gone", odd);
+
+        assertEquals(two, realmDAO.findByFullPath("/even/two"));
+        assertEquals(two.getKey(), snapshot.get("/even/two"));
+
+        assertNull(realmDAO.findByFullPath("/even/gone"));
+        assertFalse(snapshot.containsKey("/even/gone"));
+    }
+
+    @Test
+    public void alignRealmFullPaths() {
+        entityManager().flush();
+
+        String odd = realmDAO.findByFullPath("/odd").getKey();
+        String two = realmDAO.findByFullPath("/even/two").getKey();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE " + JPARealm.TABLE + " SET fullPath=NULL WHERE id=?", two);
+        jdbcTemplate.update("UPDATE " + JPARealm.TABLE + " SET fullPath=? WHERE id=?", "/wrong", odd);
+
+        XMLContentLoader.alignRealmFullPaths(SyncopeConstants.MASTER_DOMAIN, jdbcTemplate);
+
+        String query = "SELECT fullPath FROM " + JPARealm.TABLE + " WHERE id=?";
+        assertEquals("/odd", jdbcTemplate.queryForObject(query, String.class, odd));
+        assertEquals("/even/two", jdbcTemplate.queryForObject(query, String.class, two));
+        assertEquals(SyncopeConstants.ROOT_REALM,
+                jdbcTemplate.queryForObject(query, String.class, realmDAO.getRoot().getKey()));
+    }
+
     @Test
     public void saveInvalidName() {
         Realm realm = entityFactory.newEntity(Realm.class);
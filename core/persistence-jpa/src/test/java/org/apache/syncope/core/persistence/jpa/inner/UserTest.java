@@ -25,11 +25,17 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.PersistenceUnitUtil;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
@@ -41,6 +47,7 @@ import org.apache.syncope.core.spring.policy.InvalidPasswordRuleConf;
 import org.apache.syncope.core.spring.security.PasswordGenerator;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttrUniqueValue;
 import org.junit.jupiter.api.Test;
@@ -94,6 +101,12 @@ public class UserTest extends AbstractTest {
         assertNotNull(userKeys);
 
         assertEquals(users.size(), userKeys.size());
+
+        List<String> firstKeys = userDAO.findAllKeys(null, 3);
+        assertEquals(3, firstKeys.size());
+        List<String> nextKeys = userDAO.findAllKeys(firstKeys.get(2), 100);
+        assertEquals(userKeys.size() - 3, nextKeys.size());
+        assertTrue(nextKeys.stream().noneMatch(firstKeys::contains));
     }
 
     @Test
@@ -103,6 +116,41 @@ public class UserTest extends AbstractTest {
         assertEquals(5, count);
     }
 
+    @Test
+    public void findByKeys() {
+        String rossini = "1417acbe-cbf6-4277-9372-e75e04f97000";
+        String vivaldi = "b3cbc78d-32e6-4bd4-92e0-bbe07566a2ee";
+        String puccini = "823074dc-d280-436d-a7dd-07399fae48ec";
+
+        // more keys than a single query can take, with existing keys in different chunks and repeated
+        List<String> keys = new ArrayList<>();
+        keys.add(puccini);
+        IntStream.range(0, AnyDAO.DEFAULT_PAGE_SIZE).forEach(i -> keys.add(UUID.randomUUID().toString()));
+        keys.add(rossini);
+        keys.add(puccini);
+        keys.add(vivaldi);
+        keys.add(rossini);
+
+        entityManager().clear();
+        List<User> users = userDAO.findByKeys(keys);
+        assertEquals(List.of(puccini, rossini, vivaldi),
+                users.stream().map(User::getKey).collect(Collectors.toList()));
+
+        PersistenceUnitUtil util = entityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        users.forEach(user -> {
+            assertTrue(util.isLoaded(user, "plainAttrs"));
+            assertTrue(util.isLoaded(user, "memberships"));
+            assertTrue(util.isLoaded(user, "resources"));
+        });
+
+        User user = users.get(1);
+        assertFalse(user.getPlainAttrs().isEmpty());
+        assertFalse(user.getMemberships().isEmpty());
+        assertEquals(List.of("resource-testdb2"),
+                user.getResources().stream().map(ExternalResource::getKey).collect(Collectors.toList()));
+        assertEquals(3, users.get(2).getResources().size());
+    }
+
     @Test
     public void findAllByPageAndSize() {
         // get first page
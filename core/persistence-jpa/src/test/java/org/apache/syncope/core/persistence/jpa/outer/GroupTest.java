@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -42,6 +43,7 @@ import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.anyobject.ADynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.anyobject.APlainAttr;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
@@ -52,12 +54,16 @@ import org.apache.syncope.core.persistence.api.entity.group.TypeExtension;
 import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.apache.syncope.core.persistence.jpa.dao.JPAGroupDAO;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional("Master")
@@ -267,6 +273,42 @@ public class GroupTest extends AbstractTest {
         assertTrue(dynGroupMemberships.isEmpty());
     }
 
+    @Test
+    public void udynMembershipRefreshOnlyAffected() {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("cool==true");
+        dynMembership.setGroup(group);
+
+        group.setUDynMembership(dynMembership);
+
+        group = groupDAO.saveAndRefreshDynMemberships(group);
+
+        entityManager().flush();
+
+        User user = userDAO.findByUsername("bellini");
+        assertTrue(groupDAO.findUDynMembers(group).contains(user.getKey()));
+
+        user.remove(user.getPlainAttr("cool").get());
+
+        // changes not affecting the condition: membership is not evaluated again
+        Pair<Set<String>, Set<String>> result = groupDAO.refreshDynMemberships(user, Set.of("username"));
+        assertTrue(result.getLeft().contains(group.getKey()));
+        assertTrue(result.getRight().contains(group.getKey()));
+
+        // changes affecting the condition
+        result = groupDAO.refreshDynMemberships(user, Set.of("cool"));
+        assertTrue(result.getLeft().contains(group.getKey()));
+        assertFalse(result.getRight().contains(group.getKey()));
+
+        entityManager().flush();
+
+        assertFalse(groupDAO.findUDynMembers(group).contains(user.getKey()));
+    }
+
     /**
      * Static copy of {@link org.apache.syncope.core.persistence.jpa.dao.JPAAnyObjectDAO} method with same signature:
      * required for avoiding creating of a new transaction - good for general use case but bad for the way how
@@ -371,4 +413,111 @@ public class GroupTest extends AbstractTest {
         dynGroupMemberships = findDynGroups(anyObject);
         assertTrue(dynGroupMemberships.isEmpty());
     }
+
+    @Test
+    public void udynMembershipRebuildByDifference() {
+        User bellini = userDAO.findByUsername("bellini");
+        User vivaldi = userDAO.findByUsername("vivaldi");
+
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("cool==true");
+        dynMembership.setGroup(group);
+        group.setUDynMembership(dynMembership);
+
+        group = groupDAO.saveAndRefreshDynMemberships(group);
+        entityManager().flush();
+        assertEquals(List.of(bellini.getKey()), groupDAO.findUDynMembers(group));
+
+        // record the users for which an event is published, e.g. whose dynamic memberships changed
+        Object target = AopTestUtils.getTargetObject(groupDAO);
+        ApplicationEventPublisher publisher =
+                (ApplicationEventPublisher) ReflectionTestUtils.getField(target, "publisher");
+        List<String> changed = new ArrayList<>();
+        ReflectionTestUtils.setField(target, "publisher", (ApplicationEventPublisher) event -> {
+            if (event instanceof AnyCreatedUpdatedEvent
+                    && ((AnyCreatedUpdatedEvent<?>) event).getAny() instanceof User) {
+
+                changed.add(((AnyCreatedUpdatedEvent<?>) event).getAny().getKey());
+            }
+            publisher.publishEvent(event);
+        });
+        try {
+            // one member added, the existing one untouched
+            group.getUDynMembership().setFIQLCond("cool==true,username==vivaldi");
+            group = groupDAO.saveAndRefreshDynMemberships(group);
+            entityManager().flush();
+
+            assertEquals(List.of(vivaldi.getKey()), changed);
+            assertEquals(Set.of(bellini.getKey(), vivaldi.getKey()), new HashSet<>(groupDAO.findUDynMembers(group)));
+
+            // one member removed, the other untouched
+            changed.clear();
+            group.getUDynMembership().setFIQLCond("username==vivaldi");
+            group = groupDAO.saveAndRefreshDynMemberships(group);
+            entityManager().flush();
+
+            assertEquals(List.of(bellini.getKey()), changed);
+            assertEquals(List.of(vivaldi.getKey()), groupDAO.findUDynMembers(group));
+
+            // nothing changed
+            changed.clear();
+            group = groupDAO.saveAndRefreshDynMemberships(group);
+            entityManager().flush();
+
+            assertTrue(changed.isEmpty());
+            assertEquals(List.of(vivaldi.getKey()), groupDAO.findUDynMembers(group));
+        } finally {
+            ReflectionTestUtils.setField(target, "publisher", publisher);
+        }
+    }
+
+    @Test
+    public void adynMembershipWithOwnAnyType() {
+        // another any type, sharing the printer schemas
+        AnyType location = entityFactory.newEntity(AnyType.class);
+        location.setKey("LOCATION");
+        location.setKind(AnyTypeKind.ANY_OBJECT);
+        location.add(anyTypeClassDAO.find("minimal printer"));
+        location = anyTypeDAO.save(location);
+
+        AnyObject anyObject = entityFactory.newEntity(AnyObject.class);
+        anyObject.setName("location");
+        anyObject.setType(location);
+        anyObject.setRealm(realmDAO.getRoot());
+
+        APlainAttr attr = entityFactory.newEntity(APlainAttr.class);
+        attr.setOwner(anyObject);
+        attr.setSchema(plainSchemaDAO.find("model"));
+        attr.add("Canon MFC8030", anyUtilsFactory.getInstance(AnyTypeKind.ANY_OBJECT));
+        anyObject.add(attr);
+
+        anyObject = anyObjectDAO.save(anyObject);
+
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        ADynGroupMembership dynMembership = entityFactory.newEntity(ADynGroupMembership.class);
+        dynMembership.setAnyType(anyTypeDAO.find("PRINTER"));
+        dynMembership.setFIQLCond("model==Canon MFC8030");
+        dynMembership.setGroup(group);
+        group.add(dynMembership);
+
+        group = groupDAO.saveAndRefreshDynMemberships(group);
+        entityManager().flush();
+
+        // each member is recorded with its own any type
+        Query query = entityManager().createNativeQuery(
+                "SELECT anyType_id FROM " + JPAGroupDAO.ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
+        query.setParameter(1, group.getKey());
+        query.setParameter(2, anyObject.getKey());
+        assertEquals("LOCATION", query.getSingleResult().toString());
+
+        query.setParameter(2, "fc6dbc3a-6c07-4965-8781-921e7401a4a5");
+        assertEquals("PRINTER", query.getSingleResult().toString());
+    }
 }
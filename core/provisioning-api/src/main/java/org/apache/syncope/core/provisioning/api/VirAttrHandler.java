@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -70,4 +71,13 @@ public interface VirAttrHandler {
      */
     Map<VirSchema, List<String>> getValues(Any<?> any, Membership<?> membership);
 
+    /**
+     * Query external resources associated to the given anys for values associated to all {@link VirSchema} instances
+     * available to each, either with or without membership, and store such values in cache: the subsequent calls to
+     * {@code getValues} for the given anys will then be served by the cache.
+     * A single search is issued for all anys sharing the same provision, rather than reading each remote object.
+     *
+     * @param anys any objects, typically a page of search results
+     */
+    void prefetch(Collection<? extends Any<?>> anys);
 }
@@ -18,6 +18,10 @@
  */
 package org.apache.syncope.core.provisioning.api.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Virtual Attribute Value cache.
  */
@@ -48,6 +52,23 @@ public interface VirAttrCache {
      */
     VirAttrCacheValue get(String type, String key, String schemaKey);
 
+    /**
+     * Retrieve cached values for all given keys, at once.
+     *
+     * @param keys cache keys
+     * @return cached values, for the given keys which were found in cache
+     */
+    default Map<VirAttrCacheKey, VirAttrCacheValue> getAll(final Collection<VirAttrCacheKey> keys) {
+        Map<VirAttrCacheKey, VirAttrCacheValue> result = new HashMap<>(keys.size());
+        keys.forEach(key -> {
+            VirAttrCacheValue value = get(key.getKind(), key.getKey(), key.getVirSchema());
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
     /**
      * Cache entry is valid if and only if value exist and it is not expired.
      *
@@ -36,18 +36,18 @@ public class VirAttrCacheValue {
     private final List<String> values = new ArrayList<>();
 
     /**
-     * Entry creation date.
+     * Entry creation time, in milliseconds.
      */
-    private Date creationDate;
+    private volatile long creationTime;
 
     /**
-     * Entry access date.
+     * Entry access time, in milliseconds.
      */
-    private Date lastAccessDate;
+    private volatile long lastAccessTime;
 
     public VirAttrCacheValue(final Collection<Object> values) {
-        creationDate = new Date();
-        lastAccessDate = new Date();
+        creationTime = System.currentTimeMillis();
+        lastAccessTime = creationTime;
 
         if (values != null) {
             values.forEach(value -> this.values.add(value.toString()));
@@ -55,28 +55,36 @@ public class VirAttrCacheValue {
     }
 
     public List<String> getValues() {
-        lastAccessDate = new Date();
+        lastAccessTime = System.currentTimeMillis();
         return values;
     }
 
+    public long getCreationTime() {
+        return creationTime;
+    }
+
     public Date getCreationDate() {
-        return new Date(creationDate.getTime());
+        return new Date(creationTime);
     }
 
     public void forceExpiring() {
-        creationDate = new Date(0);
+        creationTime = 0;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
     }
 
     public Date getLastAccessDate() {
-        return new Date(lastAccessDate.getTime());
+        return new Date(lastAccessTime);
     }
 
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
                 append(values).
-                append(creationDate).
-                append(lastAccessDate).
+                append(creationTime).
+                append(lastAccessTime).
                 build();
     }
 
@@ -94,15 +102,15 @@ public class VirAttrCacheValue {
         final VirAttrCacheValue other = (VirAttrCacheValue) obj;
         return new EqualsBuilder().
                 append(values, other.values).
-                append(creationDate, other.creationDate).
-                append(lastAccessDate, other.lastAccessDate).
+                append(creationTime, other.creationTime).
+                append(lastAccessTime, other.lastAccessTime).
                 build();
     }
 
     @Override
     public String toString() {
         return "VirAttrCacheValue{"
-                + "values=" + values + ", creationDate=" + creationDate + ", lastAccessDate=" + lastAccessDate
+                + "values=" + values + ", creationDate=" + getCreationDate() + ", lastAccessDate=" + getLastAccessDate()
                 + '}';
     }
 }
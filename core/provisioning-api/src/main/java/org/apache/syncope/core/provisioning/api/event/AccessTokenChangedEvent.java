@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever an access token is created, replaced or removed.
+ */
+public class AccessTokenChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -4327532385487264563L;
+
+    private final String tokenKey;
+
+    private final String owner;
+
+    private final String domain;
+
+    public AccessTokenChangedEvent(
+            final Object source,
+            final String tokenKey,
+            final String owner,
+            final String domain) {
+
+        super(source);
+        this.tokenKey = tokenKey;
+        this.owner = owner;
+        this.domain = domain;
+    }
+
+    public String getTokenKey() {
+        return tokenKey;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+}
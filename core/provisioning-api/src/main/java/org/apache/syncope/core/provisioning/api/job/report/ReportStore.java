@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.job.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+
+/**
+ * Stores the (compressed) results of report executions, allowing to write and read them as streams.
+ */
+public interface ReportStore {
+
+    /**
+     * Opens a stream for writing the result of the given execution; the result is stored when the returned stream
+     * is closed.
+     *
+     * @param execution report execution, already saved
+     * @return stream for writing the execution result
+     * @throws IOException if the stream cannot be opened
+     */
+    OutputStream openForWrite(ReportExec execution) throws IOException;
+
+    /**
+     * Tells whether a result is available for the given execution.
+     *
+     * @param execution report execution
+     * @return whether a result is available for the given execution
+     */
+    boolean exists(ReportExec execution);
+
+    /**
+     * Opens a stream for reading the result of the given execution.
+     *
+     * @param execution report execution
+     * @return stream for reading the execution result
+     * @throws IOException if no result is available or it cannot be read
+     */
+    InputStream openForRead(ReportExec execution) throws IOException;
+
+    /**
+     * Removes the result of the given execution, if any; when invoked within a transaction, the result is removed
+     * only once the transaction is committed.
+     *
+     * @param execution report execution
+     */
+    void delete(ReportExec execution);
+}
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.provisioning.api.propagation;
 
 import java.util.Collection;
+import java.util.Map;
 import org.apache.syncope.common.lib.to.PropagationTaskTO;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 
@@ -68,4 +69,11 @@ public interface PropagationTaskExecutor {
      * @return reporter to report propagation execution status
      */
     PropagationReporter execute(Collection<PropagationTaskInfo> taskInfos, boolean nullPriorityAsync);
+
+    /**
+     * Gives the number of remote object reads avoided by lean propagation.
+     *
+     * @return number of remote object reads avoided by lean propagation, per domain and resource
+     */
+    Map<String, Long> getAvoidedRemoteReads();
 }
@@ -19,12 +19,15 @@
 package org.apache.syncope.core.provisioning.java;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.syncope.common.lib.request.UserCR;
 import org.apache.syncope.common.lib.request.UserUR;
+import org.apache.syncope.common.lib.to.EntityTO;
+import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.AuditLoggerName;
 
@@ -34,6 +37,23 @@ public class AuditEntry implements Serializable {
 
     private static final String MASKED_VALUE = "<MASKED>";
 
+    /**
+     * Keys under which the main audit entry dimensions are made available to audit appenders, via MDC.
+     */
+    public static final String MDC_WHO = "audit.who";
+
+    public static final String MDC_TYPE = "audit.type";
+
+    public static final String MDC_CATEGORY = "audit.category";
+
+    public static final String MDC_SUBCATEGORY = "audit.subcategory";
+
+    public static final String MDC_EVENT = "audit.event";
+
+    public static final String MDC_RESULT = "audit.result";
+
+    public static final String MDC_ENTITY_KEY = "audit.entityKey";
+
     private final String who;
 
     private final AuditLoggerName logger;
@@ -114,4 +134,25 @@ public class AuditEntry implements Serializable {
     public Object[] getInput() {
         return input;
     }
+
+    /**
+     * Returns the key of the entity this entry is about, if any, looking at output first, then at before.
+     *
+     * @return entity key, or null if not available
+     */
+    @JsonIgnore
+    public String getEntityKey() {
+        String key = entityKey(output);
+        return key == null ? entityKey(before) : key;
+    }
+
+    private static String entityKey(final Object object) {
+        if (object instanceof ProvisioningResult && ((ProvisioningResult<?>) object).getEntity() != null) {
+            return ((ProvisioningResult<?>) object).getEntity().getKey();
+        }
+        if (object instanceof EntityTO) {
+            return ((EntityTO) object).getKey();
+        }
+        return null;
+    }
 }
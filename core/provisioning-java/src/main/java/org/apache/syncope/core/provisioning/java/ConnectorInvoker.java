@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Resource;
+import org.apache.syncope.core.persistence.api.entity.ConnInstance;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invokes connector operations on the calling thread, enforcing the request timeout and the maximum number of
+ * concurrent requests configured for the connector instance; the latency of each operation is recorded.
+ *
+ * Timeouts are enforced by interrupting the calling thread, hence no other thread is kept busy while waiting for the
+ * connector: connectors not reacting to interruption will only be reported as timed out once returned.
+ */
+@Component
+public class ConnectorInvoker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectorInvoker.class);
+
+    /**
+     * Upper bounds, in milliseconds, of the latency histogram buckets; the last bucket is unbounded.
+     */
+    public static final long[] LATENCY_BUCKETS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+
+    /**
+     * Latency histogram for the operations of a connector instance.
+     */
+    public static class Latency {
+
+        protected final LongAdder[] counts = new LongAdder[LATENCY_BUCKETS.length + 1];
+
+        protected final LongAdder total = new LongAdder();
+
+        protected final LongAdder timeouts = new LongAdder();
+
+        protected final LongAdder rejections = new LongAdder();
+
+        public Latency() {
+            Arrays.setAll(counts, i -> new LongAdder());
+        }
+
+        protected void record(final long millis) {
+            int bucket = Arrays.binarySearch(LATENCY_BUCKETS, millis);
+            counts[bucket < 0 ? -bucket - 1 : bucket].increment();
+            total.add(millis);
+        }
+
+        /**
+         * @return number of operations per bucket, as bounded by {@link ConnectorInvoker#LATENCY_BUCKETS}
+         */
+        public long[] getCounts() {
+            return Arrays.stream(counts).mapToLong(LongAdder::sum).toArray();
+        }
+
+        public long getCount() {
+            return Arrays.stream(counts).mapToLong(LongAdder::sum).sum();
+        }
+
+        public double getMean() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) total.sum() / count;
+        }
+
+        /**
+         * Estimates the given percentile as the upper bound of the bucket where it falls.
+         *
+         * @param percentile percentile, between 0 and 100
+         * @return upper bound in milliseconds, or {@link Long#MAX_VALUE} if falling in the unbounded bucket
+         */
+        public long getPercentile(final double percentile) {
+            long[] values = getCounts();
+            long threshold = (long) Math.ceil(Arrays.stream(values).sum() * percentile / 100);
+
+            long cumulated = 0;
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                cumulated += values[i];
+                if (cumulated >= threshold) {
+                    return LATENCY_BUCKETS[i];
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        public long getRejections() {
+            return rejections.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Latency{"
+                    + "count=" + getCount()
+                    + ", mean=" + getMean()
+                    + ", p50=" + getPercentile(50)
+                    + ", p99=" + getPercentile(99)
+                    + ", timeouts=" + getTimeouts()
+                    + ", rejections=" + getRejections()
+                    + '}';
+        }
+    }
+
+    /**
+     * Limits the requests concurrently sent to a connector instance and collects their latency; the same bulkhead is
+     * shared by all connectors built for the same connector instance, whatever the external resource.
+     */
+    public static class Bulkhead {
+
+        protected static class Permits extends Semaphore {
+
+            private static final long serialVersionUID = -1652440658383640463L;
+
+            protected Permits() {
+                super(0, true);
+            }
+
+            @Override
+            protected void reducePermits(final int reduction) {
+                super.reducePermits(reduction);
+            }
+        }
+
+        protected final Permits permits = new Permits();
+
+        protected final Latency latency = new Latency();
+
+        /**
+         * Current limit, {@code null} if unbounded.
+         */
+        protected volatile Integer maxConcurrentRequests;
+
+        public Bulkhead(final Integer maxConcurrentRequests) {
+            resize(maxConcurrentRequests);
+        }
+
+        /**
+         * Changes the number of available permits; requests in progress are not affected, but will release their
+         * permit when complete.
+         *
+         * @param maxConcurrentRequests new limit, {@code null} if unbounded
+         */
+        protected synchronized void resize(final Integer maxConcurrentRequests) {
+            if (Objects.equals(this.maxConcurrentRequests, maxConcurrentRequests)) {
+                return;
+            }
+
+            int current = this.maxConcurrentRequests == null ? 0 : this.maxConcurrentRequests;
+            int target = maxConcurrentRequests == null ? 0 : maxConcurrentRequests;
+            if (target > current) {
+                permits.release(target - current);
+            } else if (target < current) {
+                permits.reducePermits(current - target);
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public Integer getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public int getAvailablePermits() {
+            return permits.availablePermits();
+        }
+
+        public Latency getLatency() {
+            return latency;
+        }
+    }
+
+    /**
+     * Ongoing invocation, interrupted by the watchdog if not completed in time.
+     */
+    protected static class Invocation implements Runnable {
+
+        protected final Thread thread = Thread.currentThread();
+
+        protected boolean completed;
+
+        protected boolean timedOut;
+
+        @Override
+        public synchronized void run() {
+            if (!completed) {
+                timedOut = true;
+                thread.interrupt();
+            }
+        }
+
+        protected boolean complete() {
+            synchronized (this) {
+                completed = true;
+            }
+            if (timedOut) {
+                // clears the interrupted status set by the watchdog
+                Thread.interrupted();
+            }
+            return timedOut;
+        }
+    }
+
+    @Resource(name = "asyncConnectorFacadeExecutor")
+    private TaskScheduler watchdog;
+
+    /**
+     * Bulkheads by domain and connector instance key.
+     */
+    protected final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    protected static String bulkheadKey(final String domain, final String connInstance) {
+        return domain + '/' + connInstance;
+    }
+
+    /**
+     * Returns the bulkhead of the given connector instance in the current domain, resized according to its
+     * current maximum number of concurrent requests.
+     *
+     * @param connInstance connector instance
+     * @return bulkhead of the given connector instance
+     */
+    public Bulkhead bulkhead(final ConnInstance connInstance) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(
+                bulkheadKey(AuthContextUtils.getDomain(), connInstance.getKey()),
+                k -> new Bulkhead(connInstance.getMaxConcurrentRequests()));
+        bulkhead.resize(connInstance.getMaxConcurrentRequests());
+        return bulkhead;
+    }
+
+    /**
+     * @param connInstance connector instance key
+     * @return latency of the requests sent to the given connector instance in the current domain, if any
+     */
+    public Optional<Latency> getLatency(final String connInstance) {
+        return Optional.ofNullable(bulkheads.get(bulkheadKey(AuthContextUtils.getDomain(), connInstance))).
+                map(Bulkhead::getLatency);
+    }
+
+    /**
+     * Discards the bulkhead of the given connector instance in the current domain, if any.
+     *
+     * @param connInstance connector instance key
+     */
+    public void discard(final String connInstance) {
+        bulkheads.remove(bulkheadKey(AuthContextUtils.getDomain(), connInstance));
+    }
+
+    /**
+     * Runs the given connector operation on the calling thread.
+     *
+     * @param <T> operation result type
+     * @param bulkhead bulkhead of the invoked connector
+     * @param timeoutSeconds request timeout, in seconds
+     * @param operation connector operation
+     * @return operation result
+     * @throws TimeoutException if the operation, including the wait for a free slot, did not complete in time
+     */
+    public <T> T invoke(final Bulkhead bulkhead, final int timeoutSeconds, final Supplier<T> operation) {
+        long timeout = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        long start = System.currentTimeMillis();
+
+        boolean acquired = false;
+        if (bulkhead.getMaxConcurrentRequests() != null) {
+            try {
+                acquired = bulkhead.permits.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for connector");
+            }
+            if (!acquired) {
+                bulkhead.latency.rejections.increment();
+                throw new TimeoutException("Too many concurrent connector requests");
+            }
+        }
+
+        Invocation invocation = new Invocation();
+        ScheduledFuture<?> timer = watchdog.schedule(invocation, new Date(start + timeout));
+        try {
+            T result = operation.get();
+            if (invocation.complete()) {
+                throw new TimeoutException("Request timeout");
+            }
+            return result;
+        } catch (TimeoutException e) {
+            bulkhead.latency.timeouts.increment();
+            throw e;
+        } catch (RuntimeException e) {
+            if (invocation.complete()) {
+                LOG.debug("Connector request interrupted by timeout", e);
+                bulkhead.latency.timeouts.increment();
+                throw new TimeoutException("Request timeout");
+            }
+            LOG.error("Connector request execution failure", e);
+            throw e;
+        } finally {
+            timer.cancel(false);
+            invocation.complete();
+            if (acquired) {
+                bulkhead.permits.release();
+            }
+            bulkhead.latency.record(System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -66,6 +66,9 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory {
     @Autowired
     private ConnInstanceDataBinder connInstanceDataBinder;
 
+    @Autowired
+    private ConnectorInvoker invoker;
+
     private EntityFactory entityFactory;
 
     private static String getBeanName(final ExternalResource resource) {
@@ -105,6 +108,7 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory {
         override.setConf(connInstance.getConf());
         override.getCapabilities().addAll(connInstance.getCapabilities());
         override.setConnRequestTimeout(connInstance.getConnRequestTimeout());
+        override.setMaxConcurrentRequests(connInstance.getMaxConcurrentRequests());
 
         Map<String, ConnConfProperty> overridable = new HashMap<>();
         Set<ConnConfProperty> conf = new HashSet<>();
@@ -139,21 +143,34 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory {
         return override;
     }
 
-    @Override
-    public Connector createConnector(final ConnInstance connInstance) {
-        Connector connector = new ConnectorFacadeProxy(connInstance);
+    private static Connector createConnector(
+            final ConnInstance connInstance, final ConnectorInvoker.Bulkhead bulkhead) {
+
+        Connector connector = new ConnectorFacadeProxy(connInstance, bulkhead);
         ApplicationContextProvider.getBeanFactory().autowireBean(connector);
 
         return connector;
     }
 
+    /**
+     * Creates a connector for one-off usage, not sharing its limit on concurrent requests with any other.
+     *
+     * @param connInstance connector instance, possibly overridden
+     * @return connector
+     */
+    @Override
+    public Connector createConnector(final ConnInstance connInstance) {
+        return createConnector(connInstance, new ConnectorInvoker.Bulkhead(connInstance.getMaxConcurrentRequests()));
+    }
+
     @Override
     public void registerConnector(final ExternalResource resource) {
         ConnInstance connInstance = buildConnInstanceOverride(
                 connInstanceDataBinder.getConnInstanceTO(resource.getConnector()),
                 resource.getConfOverride(),
                 resource.isOverrideCapabilities() ? resource.getCapabilitiesOverride() : null);
-        Connector connector = createConnector(connInstance);
+        // all resources on the same connector instance share its limit on concurrent requests
+        Connector connector = createConnector(connInstance, invoker.bulkhead(resource.getConnector()));
         LOG.debug("Connector to be registered: {}", connector);
 
         String beanName = getBeanName(resource);
@@ -29,6 +29,7 @@ import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +40,9 @@ public class DefaultAuditManager implements AuditManager {
     @Autowired
     private LoggerDAO loggerDAO;
 
+    @Autowired
+    private EventRoutingTable eventRoutingTable;
+
     @Override
     public boolean auditRequested(
             final String who,
@@ -47,30 +51,7 @@ public class DefaultAuditManager implements AuditManager {
             final String subcategory,
             final String event) {
 
-        AuditEntry auditEntry = new AuditEntry(
-                who,
-                new AuditLoggerName(type, category, subcategory, event, Result.SUCCESS),
-                null,
-                null,
-                null);
-        org.apache.syncope.core.persistence.api.entity.Logger syncopeLogger =
-                loggerDAO.find(auditEntry.getLogger().toLoggerName());
-        boolean auditRequested = syncopeLogger != null && syncopeLogger.getLevel() == LoggerLevel.DEBUG;
-
-        if (auditRequested) {
-            return true;
-        }
-
-        auditEntry = new AuditEntry(
-                who,
-                new AuditLoggerName(type, category, subcategory, event, Result.FAILURE),
-                null,
-                null,
-                null);
-        syncopeLogger = loggerDAO.find(auditEntry.getLogger().toLoggerName());
-        auditRequested = syncopeLogger != null && syncopeLogger.getLevel() == LoggerLevel.DEBUG;
-
-        return auditRequested;
+        return eventRoutingTable.auditRequested(type, category, subcategory, event);
     }
 
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
@@ -122,12 +103,29 @@ public class DefaultAuditManager implements AuditManager {
                     AuditLoggerName.getAuditEventLoggerName(AuthContextUtils.getDomain(), syncopeLogger.getKey()));
             String serializedAuditEntry = POJOHelper.serialize(auditEntry);
 
-            if (throwable == null) {
-                logger.debug(serializedAuditEntry);
-                eventLogger.debug(serializedAuditEntry);
-            } else {
-                logger.debug(serializedAuditEntry, throwable);
-                eventLogger.debug(serializedAuditEntry, throwable);
+            MDC.put(AuditEntry.MDC_WHO, who);
+            MDC.put(AuditEntry.MDC_TYPE, type == null ? null : type.name());
+            MDC.put(AuditEntry.MDC_CATEGORY, category);
+            MDC.put(AuditEntry.MDC_SUBCATEGORY, subcategory);
+            MDC.put(AuditEntry.MDC_EVENT, event);
+            MDC.put(AuditEntry.MDC_RESULT, condition == null ? null : condition.name());
+            MDC.put(AuditEntry.MDC_ENTITY_KEY, auditEntry.getEntityKey());
+            try {
+                if (throwable == null) {
+                    logger.debug(serializedAuditEntry);
+                    eventLogger.debug(serializedAuditEntry);
+                } else {
+                    logger.debug(serializedAuditEntry, throwable);
+                    eventLogger.debug(serializedAuditEntry, throwable);
+                }
+            } finally {
+                MDC.remove(AuditEntry.MDC_WHO);
+                MDC.remove(AuditEntry.MDC_TYPE);
+                MDC.remove(AuditEntry.MDC_CATEGORY);
+                MDC.remove(AuditEntry.MDC_SUBCATEGORY);
+                MDC.remove(AuditEntry.MDC_EVENT);
+                MDC.remove(AuditEntry.MDC_RESULT);
+                MDC.remove(AuditEntry.MDC_ENTITY_KEY);
             }
         }
     }
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.text.ParseException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.log.EventCategory;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.common.lib.types.LoggerLevel;
+import org.apache.syncope.common.lib.types.LoggerType;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
+import org.apache.syncope.core.persistence.api.entity.Notification;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps, for each domain, the set of events for which at least one active notification is defined and the set of
+ * events for which audit is enabled, so that checking whether an event needs to be handled requires neither database
+ * access nor event string building.
+ *
+ * Tables are built on first access and discarded when {@link #invalidate()} is invoked - upon notification or audit
+ * logger changes - or after the configured max staleness, to eventually catch up with changes made by other nodes.
+ */
+public class EventRoutingTable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventRoutingTable.class);
+
+    protected static final class EventKey {
+
+        private final AuditElements.EventCategoryType type;
+
+        private final String category;
+
+        private final String subcategory;
+
+        private final String event;
+
+        private final AuditElements.Result result;
+
+        private final int hashCode;
+
+        protected EventKey(
+                final AuditElements.EventCategoryType type,
+                final String category,
+                final String subcategory,
+                final String event,
+                final AuditElements.Result result) {
+
+            this.type = type;
+            this.category = StringUtils.isBlank(category) ? null : category;
+            this.subcategory = StringUtils.isBlank(subcategory) ? null : subcategory;
+            this.event = StringUtils.isBlank(event) ? null : event;
+            this.result = result;
+            this.hashCode = Objects.hash(this.type, this.category, this.subcategory, this.event, this.result);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EventKey)) {
+                return false;
+            }
+            EventKey other = (EventKey) obj;
+            return type == other.type
+                    && result == other.result
+                    && Objects.equals(category, other.category)
+                    && Objects.equals(subcategory, other.subcategory)
+                    && Objects.equals(event, other.event);
+        }
+    }
+
+    protected static class Table {
+
+        protected final long builtAt = System.nanoTime();
+
+        protected final Set<EventKey> notified = new HashSet<>();
+
+        protected final Set<EventKey> audited = new HashSet<>();
+    }
+
+    @Autowired
+    protected NotificationDAO notificationDAO;
+
+    @Autowired
+    protected LoggerDAO loggerDAO;
+
+    protected long maxStalenessNanos = TimeUnit.SECONDS.toNanos(60);
+
+    protected final Map<String, Table> tables = new ConcurrentHashMap<>();
+
+    public void setMaxStalenessSeconds(final long maxStalenessSeconds) {
+        this.maxStalenessNanos = TimeUnit.SECONDS.toNanos(maxStalenessSeconds);
+    }
+
+    /**
+     * Builds the key matching the given event string, if it can ever be matched by
+     * {@link AuditLoggerName#buildEvent}.
+     *
+     * @param event event string
+     * @return event key, or null if not matchable
+     */
+    protected static EventKey parse(final String event) {
+        Pair<EventCategory, AuditElements.Result> parsed = AuditLoggerName.parseEventCategory(event);
+        if (parsed.getRight() == null) {
+            return null;
+        }
+
+        EventCategory category = parsed.getLeft();
+        String eventName = category.getEvents().isEmpty() ? null : category.getEvents().iterator().next();
+        if (!AuditLoggerName.buildEvent(
+                category.getType(),
+                category.getCategory(),
+                category.getSubcategory(),
+                eventName,
+                parsed.getRight()).equals(event)) {
+
+            return null;
+        }
+
+        return new EventKey(
+                category.getType(), category.getCategory(), category.getSubcategory(), eventName, parsed.getRight());
+    }
+
+    protected Table build() {
+        Table table = new Table();
+
+        notificationDAO.findAll().stream().
+                filter(Notification::isActive).
+                flatMap(notification -> notification.getEvents().stream()).
+                map(EventRoutingTable::parse).
+                filter(Objects::nonNull).
+                forEach(table.notified::add);
+
+        loggerDAO.findAll(LoggerType.AUDIT).stream().
+                filter(logger -> logger.getLevel() == LoggerLevel.DEBUG).
+                forEach(logger -> {
+                    try {
+                        AuditLoggerName name = AuditLoggerName.fromLoggerName(logger.getKey());
+                        table.audited.add(new EventKey(
+                                name.getType(),
+                                name.getCategory(),
+                                name.getSubcategory(),
+                                name.getEvent(),
+                                name.getResult()));
+                    } catch (IllegalArgumentException | ParseException e) {
+                        LOG.warn("Unexpected audit logger name: {}", logger.getKey(), e);
+                    }
+                });
+
+        return table;
+    }
+
+    protected Table table() {
+        String domain = AuthContextUtils.getDomain();
+
+        Table table = tables.get(domain);
+        if (table == null || System.nanoTime() - table.builtAt > maxStalenessNanos) {
+            table = tables.compute(domain, (d, current) -> current == null
+                    || System.nanoTime() - current.builtAt > maxStalenessNanos ? build() : current);
+        }
+        return table;
+    }
+
+    protected static boolean matches(
+            final Set<EventKey> keys,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final String event) {
+
+        return !keys.isEmpty()
+                && (keys.contains(new EventKey(type, category, subcategory, event, AuditElements.Result.SUCCESS))
+                || keys.contains(new EventKey(type, category, subcategory, event, AuditElements.Result.FAILURE)));
+    }
+
+    public boolean notificationsAvailable(
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final String event) {
+
+        return matches(table().notified, type, category, subcategory, event);
+    }
+
+    public boolean auditRequested(
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final String event) {
+
+        return matches(table().audited, type, category, subcategory, event);
+    }
+
+    /**
+     * Discards the table for the current domain; when invoked within a transaction, the table is discarded again
+     * after commit, so that concurrent lookups cannot retain what was read before the change was committed.
+     */
+    public void invalidate() {
+        String domain = AuthContextUtils.getDomain();
+        tables.remove(domain);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    tables.remove(domain);
+                }
+            });
+        }
+    }
+}
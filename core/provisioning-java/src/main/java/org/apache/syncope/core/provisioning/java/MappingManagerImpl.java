@@ -147,7 +147,7 @@ public class MappingManagerImpl implements MappingManager {
     private AnyUtilsFactory anyUtilsFactory;
 
     @Autowired
-    private IntAttrNameParser intAttrNameParser;
+    private MappingPlans mappingPlans;
 
     protected String processPreparedAttr(final Pair<String, Attribute> preparedAttr, final Set<Attribute> attributes) {
         String connObjectKey = null;
@@ -416,7 +416,7 @@ public class MappingManagerImpl implements MappingManager {
 
         IntAttrName intAttrName;
         try {
-            intAttrName = intAttrNameParser.parse(item.getIntAttrName(), provision.getAnyType().getKind());
+            intAttrName = mappingPlans.getIntAttrName(item, provision.getAnyType().getKind());
         } catch (ParseException e) {
             LOG.error("Invalid intAttrName '{}' specified, ignoring", item.getIntAttrName(), e);
             return null;
@@ -731,7 +731,7 @@ public class MappingManagerImpl implements MappingManager {
 
         Pair<AttrSchemaType, List<PlainAttrValue>> trans = Pair.of(schemaType, values);
         if (transform) {
-            for (ItemTransformer transformer : MappingUtils.getItemTransformers(mapItem)) {
+            for (ItemTransformer transformer : mappingPlans.getItemTransformers(mapItem)) {
                 trans = transformer.beforePropagation(mapItem, any, trans.getLeft(), trans.getRight());
             }
             LOG.debug("Transformed values: {}", values);
@@ -769,7 +769,7 @@ public class MappingManagerImpl implements MappingManager {
         try {
             intValues = getIntValues(provision,
                     mapItem,
-                    intAttrNameParser.parse(mapItem.getIntAttrName(), provision.getAnyType().getKind()),
+                    mappingPlans.getIntAttrName(mapItem, provision.getAnyType().getKind()),
                     AttrSchemaType.String,
                     any,
                     AccountGetter.DEFAULT,
@@ -798,7 +798,7 @@ public class MappingManagerImpl implements MappingManager {
         List<Object> values = null;
         if (attr != null) {
             values = attr.getValue();
-            for (ItemTransformer transformer : MappingUtils.getItemTransformers(mapItem)) {
+            for (ItemTransformer transformer : mappingPlans.getItemTransformers(mapItem)) {
                 values = transformer.beforePull(mapItem, anyTO, values);
             }
         }
@@ -806,7 +806,7 @@ public class MappingManagerImpl implements MappingManager {
 
         IntAttrName intAttrName;
         try {
-            intAttrName = intAttrNameParser.parse(mapItem.getIntAttrName(), AnyTypeKind.fromTOClass(anyTO.getClass()));
+            intAttrName = mappingPlans.getIntAttrName(mapItem, AnyTypeKind.fromTOClass(anyTO.getClass()));
         } catch (ParseException e) {
             LOG.error("Invalid intAttrName '{}' specified, ignoring", mapItem.getIntAttrName(), e);
             return;
@@ -955,7 +955,7 @@ public class MappingManagerImpl implements MappingManager {
         List<Object> values = null;
         if (attr != null) {
             values = attr.getValue();
-            for (ItemTransformer transformer : MappingUtils.getItemTransformers(orgUnitItem)) {
+            for (ItemTransformer transformer : mappingPlans.getItemTransformers(orgUnitItem)) {
                 values = transformer.beforePull(orgUnitItem, realmTO, values);
             }
         }
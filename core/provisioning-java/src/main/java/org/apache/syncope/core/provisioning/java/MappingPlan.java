@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.text.ParseException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.entity.Schema;
+import org.apache.syncope.core.persistence.api.entity.resource.Item;
+import org.apache.syncope.core.provisioning.api.IntAttrName;
+import org.apache.syncope.core.provisioning.api.data.JEXLItemTransformer;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+
+/**
+ * Compiled form of the mapping of a {@link org.apache.syncope.core.persistence.api.entity.resource.Provision} or
+ * {@link org.apache.syncope.core.persistence.api.entity.resource.OrgUnit}: parsed internal attribute names, JEXL
+ * transformers and the attributes to get from the connector for propagation and pull.
+ *
+ * No entity is held: schemas are referenced by key and resolved again by {@link MappingPlans} on each use.
+ */
+public class MappingPlan {
+
+    /**
+     * Compiled form of a single mapping item.
+     */
+    public static class CompiledItem {
+
+        protected final String intAttrName;
+
+        protected final String propagationJEXL;
+
+        protected final String pullJEXL;
+
+        protected final IntAttrName parsed;
+
+        protected final String schemaKey;
+
+        protected final ParseException parseError;
+
+        protected final JEXLItemTransformer jexlTransformer;
+
+        public CompiledItem(
+                final Item item,
+                final IntAttrName parsed,
+                final ParseException parseError,
+                final JEXLItemTransformer jexlTransformer) {
+
+            this.intAttrName = item.getIntAttrName();
+            this.propagationJEXL = item.getPropagationJEXLTransformer();
+            this.pullJEXL = item.getPullJEXLTransformer();
+            this.parsed = parsed;
+            this.schemaKey = Optional.ofNullable(parsed).
+                    map(IntAttrName::getSchema).map(Schema::getKey).orElse(null);
+            if (parsed != null) {
+                parsed.setSchema(null);
+            }
+            this.parseError = parseError;
+            this.jexlTransformer = jexlTransformer;
+        }
+
+        /**
+         * @param item mapping item
+         * @return whether this was compiled from the current definition of the given item
+         */
+        public boolean matches(final Item item) {
+            return Objects.equals(intAttrName, item.getIntAttrName())
+                    && Objects.equals(propagationJEXL, item.getPropagationJEXLTransformer())
+                    && Objects.equals(pullJEXL, item.getPullJEXLTransformer());
+        }
+
+        public IntAttrName getParsed() throws ParseException {
+            if (parseError != null) {
+                throw new ParseException(parseError.getMessage(), parseError.getErrorOffset());
+            }
+            return parsed;
+        }
+
+        public String getSchemaKey() {
+            return schemaKey;
+        }
+
+        public Optional<JEXLItemTransformer> getJEXLTransformer() {
+            return Optional.ofNullable(jexlTransformer);
+        }
+    }
+
+    protected final long builtAt = System.nanoTime();
+
+    protected final AnyTypeKind anyTypeKind;
+
+    protected final Map<String, CompiledItem> items = new ConcurrentHashMap<>();
+
+    protected final Map<String, String> linkingItems;
+
+    protected final OperationOptions propagationOptions;
+
+    protected final OperationOptions linkingPropagationOptions;
+
+    protected final OperationOptions pullOptions;
+
+    public MappingPlan(
+            final AnyTypeKind anyTypeKind,
+            final Map<String, String> linkingItems,
+            final OperationOptions propagationOptions,
+            final OperationOptions linkingPropagationOptions,
+            final OperationOptions pullOptions) {
+
+        this.anyTypeKind = anyTypeKind;
+        this.linkingItems = linkingItems;
+        this.propagationOptions = propagationOptions;
+        this.linkingPropagationOptions = linkingPropagationOptions;
+        this.pullOptions = pullOptions;
+    }
+
+    /**
+     * @param maxStalenessNanos maximum age, in nanoseconds
+     * @return whether this plan was built longer ago than the given maximum age
+     */
+    public boolean isStale(final long maxStalenessNanos) {
+        return System.nanoTime() - builtAt > maxStalenessNanos;
+    }
+
+    /**
+     * @return kind of the provisioned any type, or {@code null} for realms
+     */
+    public AnyTypeKind getAnyTypeKind() {
+        return anyTypeKind;
+    }
+
+    /**
+     * Returns the compiled form of the given item, compiling it if not done yet or if its definition has changed.
+     *
+     * @param item mapping item, with non-null key
+     * @param compiler compiles the given item
+     * @return compiled item
+     */
+    public CompiledItem get(final Item item, final Function<Item, CompiledItem> compiler) {
+        CompiledItem compiled = items.get(item.getKey());
+        if (compiled == null || !compiled.matches(item)) {
+            compiled = items.compute(item.getKey(), (key, current) -> current == null || !current.matches(item)
+                    ? compiler.apply(item)
+                    : current);
+        }
+        return compiled;
+    }
+
+    /**
+     * @return external attribute name to internal attribute name for linking mapping items of virtual schemas
+     */
+    public Map<String, String> getLinkingItems() {
+        return linkingItems;
+    }
+
+    /**
+     * @param linking whether linking mapping items of virtual schemas should be included
+     * @return options for requesting the connector attributes mapped for propagation
+     */
+    public OperationOptions getPropagationOptions(final boolean linking) {
+        return linking ? linkingPropagationOptions : propagationOptions;
+    }
+
+    /**
+     * @return options for requesting the connector attributes mapped for pull
+     */
+    public OperationOptions getPullOptions() {
+        return pullOptions;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.collections.IteratorChain;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
+import org.apache.syncope.core.persistence.api.entity.Schema;
+import org.apache.syncope.core.persistence.api.entity.VirSchema;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.resource.Item;
+import org.apache.syncope.core.persistence.api.entity.resource.MappingItem;
+import org.apache.syncope.core.persistence.api.entity.resource.OrgUnit;
+import org.apache.syncope.core.persistence.api.entity.resource.OrgUnitItem;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.provisioning.api.IntAttrName;
+import org.apache.syncope.core.provisioning.api.data.ItemTransformer;
+import org.apache.syncope.core.provisioning.java.MappingPlan.CompiledItem;
+import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches the {@link MappingPlan} of each {@link Provision} and {@link OrgUnit}, per domain.
+ *
+ * Plans are discarded when the owning resource is updated or when any schema changes; in addition, each compiled
+ * item is checked against the current item definition before being used.
+ * As such changes might happen on other nodes, plans are also rebuilt once older than the configured maximum
+ * staleness.
+ */
+public class MappingPlans {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappingPlans.class);
+
+    protected final Map<String, Map<String, MappingPlan>> plans = new ConcurrentHashMap<>();
+
+    protected long maxStalenessNanos = TimeUnit.SECONDS.toNanos(60);
+
+    @Autowired
+    private IntAttrNameParser intAttrNameParser;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private DerSchemaDAO derSchemaDAO;
+
+    @Autowired
+    private VirSchemaDAO virSchemaDAO;
+
+    public void setMaxStalenessSeconds(final long maxStalenessSeconds) {
+        this.maxStalenessNanos = TimeUnit.SECONDS.toNanos(maxStalenessSeconds);
+    }
+
+    protected static String key(final ExternalResource resource, final String key) {
+        return resource.getKey() + '/' + key;
+    }
+
+    protected Map<String, MappingPlan> plans() {
+        return plans.computeIfAbsent(AuthContextUtils.getDomain(), domain -> new ConcurrentHashMap<>());
+    }
+
+    protected CompiledItem compile(final Item item, final AnyTypeKind anyTypeKind) {
+        IntAttrName parsed = null;
+        ParseException parseError = null;
+        if (anyTypeKind != null) {
+            try {
+                parsed = intAttrNameParser.parse(item.getIntAttrName(), anyTypeKind);
+            } catch (ParseException e) {
+                parseError = e;
+            }
+        }
+
+        return new CompiledItem(item, parsed, parseError, MappingUtils.buildJEXLTransformer(item).orElse(null));
+    }
+
+    protected MappingPlan build(final Provision provision) {
+        LOG.debug("Building mapping plan for {}", provision);
+
+        List<VirSchema> virSchemas = virSchemaDAO.findByProvision(provision);
+        Map<String, String> linkingItems = virSchemas.stream().
+                collect(Collectors.toMap(VirSchema::getExtAttrName, VirSchema::getKey, (first, second) -> first));
+        List<MappingItem> linkingMappingItems = virSchemas.stream().
+                map(VirSchema::asLinkingMappingItem).collect(Collectors.toList());
+        List<? extends Item> propagationItems = MappingUtils.getPropagationItems(provision.getMapping().getItems());
+
+        MappingPlan plan = new MappingPlan(
+                provision.getAnyType().getKind(),
+                linkingItems,
+                MappingUtils.buildOperationOptions(propagationItems.iterator()),
+                MappingUtils.buildOperationOptions(new IteratorChain<>(
+                        propagationItems.iterator(), linkingMappingItems.iterator())),
+                MappingUtils.buildOperationOptions(new IteratorChain<>(
+                        provision.getMapping().getItems().iterator(), linkingMappingItems.iterator())));
+        provision.getMapping().getItems().stream().filter(item -> item.getKey() != null).
+                forEach(item -> plan.get(item, i -> compile(i, plan.getAnyTypeKind())));
+        return plan;
+    }
+
+    protected MappingPlan build(final OrgUnit orgUnit) {
+        LOG.debug("Building mapping plan for {}", orgUnit);
+
+        MappingPlan plan = new MappingPlan(
+                null,
+                Map.of(),
+                MappingUtils.buildOperationOptions(MappingUtils.getPropagationItems(orgUnit.getItems()).iterator()),
+                MappingUtils.buildOperationOptions(MappingUtils.getPropagationItems(orgUnit.getItems()).iterator()),
+                MappingUtils.buildOperationOptions(MappingUtils.getPullItems(orgUnit.getItems()).iterator()));
+        orgUnit.getItems().stream().filter(item -> item.getKey() != null).
+                forEach(item -> plan.get(item, i -> compile(i, null)));
+        return plan;
+    }
+
+    protected MappingPlan get(final String key, final Supplier<MappingPlan> builder) {
+        Map<String, MappingPlan> domainPlans = plans();
+
+        MappingPlan plan = domainPlans.get(key);
+        if (plan == null || plan.isStale(maxStalenessNanos)) {
+            plan = domainPlans.compute(key, (k, current) -> current == null || current.isStale(maxStalenessNanos)
+                    ? builder.get()
+                    : current);
+        }
+        return plan;
+    }
+
+    /**
+     * @param provision provision
+     * @return mapping plan for the given provision, built if not available yet or stale
+     */
+    public MappingPlan get(final Provision provision) {
+        return provision.getKey() == null
+                ? build(provision)
+                : get(key(provision.getResource(), provision.getKey()), () -> build(provision));
+    }
+
+    /**
+     * @param orgUnit orgUnit
+     * @return mapping plan for the given orgUnit, built if not available yet or stale
+     */
+    public MappingPlan get(final OrgUnit orgUnit) {
+        return orgUnit.getKey() == null
+                ? build(orgUnit)
+                : get(key(orgUnit.getResource(), orgUnit.getKey()), () -> build(orgUnit));
+    }
+
+    protected MappingPlan plan(final Item item) {
+        MappingPlan plan = null;
+        if (item.getKey() != null) {
+            if (item instanceof MappingItem && ((MappingItem) item).getMapping() != null) {
+                plan = get(((MappingItem) item).getMapping().getProvision());
+            } else if (item instanceof OrgUnitItem && ((OrgUnitItem) item).getOrgUnit() != null) {
+                plan = get(((OrgUnitItem) item).getOrgUnit());
+            }
+        }
+        return plan;
+    }
+
+    protected Schema findSchema(final IntAttrName parsed, final String schemaKey) {
+        switch (parsed.getSchemaType()) {
+            case VIRTUAL:
+                return virSchemaDAO.find(schemaKey);
+
+            case DERIVED:
+                return derSchemaDAO.find(schemaKey);
+
+            case PLAIN:
+            default:
+                return plainSchemaDAO.find(schemaKey);
+        }
+    }
+
+    /**
+     * Returns the parsed internal attribute name of the given item, as from
+     * {@link IntAttrNameParser#parse(String, AnyTypeKind)}; the pre-parsed value from the mapping plan is used
+     * whenever available.
+     *
+     * @param item mapping item
+     * @param anyTypeKind any type kind
+     * @return parsed internal attribute name
+     * @throws ParseException if the internal attribute name cannot be parsed
+     */
+    public IntAttrName getIntAttrName(final Item item, final AnyTypeKind anyTypeKind) throws ParseException {
+        MappingPlan plan = plan(item);
+        if (plan == null || plan.getAnyTypeKind() != anyTypeKind) {
+            return intAttrNameParser.parse(item.getIntAttrName(), anyTypeKind);
+        }
+
+        CompiledItem compiled = plan.get(item, i -> compile(i, anyTypeKind));
+        IntAttrName parsed = compiled.getParsed();
+
+        IntAttrName result = new IntAttrName();
+        result.setAnyTypeKind(parsed.getAnyTypeKind());
+        result.setField(parsed.getField());
+        result.setSchemaType(parsed.getSchemaType());
+        result.setEnclosingGroup(parsed.getEnclosingGroup());
+        result.setRelatedUser(parsed.getRelatedUser());
+        result.setRelatedAnyObject(parsed.getRelatedAnyObject());
+        result.setMembershipOfGroup(parsed.getMembershipOfGroup());
+        result.setPrivilegesOfApplication(parsed.getPrivilegesOfApplication());
+        result.setRelationshipType(parsed.getRelationshipType());
+        result.setRelationshipAnyType(parsed.getRelationshipAnyType());
+        if (compiled.getSchemaKey() != null) {
+            Schema schema = findSchema(parsed, compiled.getSchemaKey());
+            if (schema == null) {
+                LOG.debug("Schema {} not found, parsing '{}' again", compiled.getSchemaKey(), item.getIntAttrName());
+                return intAttrNameParser.parse(item.getIntAttrName(), anyTypeKind);
+            }
+            result.setSchema(schema);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the transformers for the given item, as from {@link MappingUtils#getItemTransformers(Item)}; the JEXL
+     * transformer from the mapping plan is used whenever available.
+     *
+     * @param item mapping item
+     * @return transformers for the given item
+     */
+    public List<ItemTransformer> getItemTransformers(final Item item) {
+        MappingPlan plan = plan(item);
+        if (plan == null) {
+            return MappingUtils.getItemTransformers(item);
+        }
+
+        return MappingUtils.getItemTransformers(
+                item, plan.get(item, i -> compile(i, plan.getAnyTypeKind())).getJEXLTransformer().orElse(null));
+    }
+
+    /**
+     * Discards the mapping plans of the given resource in the current domain; when invoked within a transaction,
+     * plans are discarded again after completion, so that concurrent lookups cannot retain what was read before the
+     * change was committed.
+     *
+     * @param resource resource
+     */
+    public void invalidate(final ExternalResource resource) {
+        String domain = AuthContextUtils.getDomain();
+        String prefix = resource.getKey() + '/';
+        Runnable discard = () -> plans.getOrDefault(domain, Map.of()).keySet().
+                removeIf(key -> key.startsWith(prefix));
+
+        discard.run();
+        afterCompletion(discard);
+    }
+
+    /**
+     * Discards all mapping plans in the current domain, as required when any schema changes; when invoked within a
+     * transaction, plans are discarded again after completion.
+     */
+    public void invalidate() {
+        String domain = AuthContextUtils.getDomain();
+        Runnable discard = () -> plans.remove(domain);
+
+        discard.run();
+        afterCompletion(discard);
+    }
+
+    protected void afterCompletion(final Runnable discard) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    discard.run();
+                }
+            });
+        }
+    }
+}
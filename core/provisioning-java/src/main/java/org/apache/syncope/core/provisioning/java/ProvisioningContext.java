@@ -32,13 +32,17 @@ import org.apache.syncope.core.provisioning.api.GroupProvisioningManager;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.job.report.ReportStore;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.job.AfterHandlingDispatcher;
 import org.apache.syncope.core.provisioning.java.job.AutowiringSpringBeanJobFactory;
 import org.apache.syncope.core.provisioning.java.job.JobManagerImpl;
 import org.apache.syncope.core.provisioning.java.job.SchedulerDBInit;
 import org.apache.syncope.core.provisioning.java.job.SchedulerShutdown;
+import org.apache.syncope.core.provisioning.java.job.report.DefaultReportStore;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationLanes;
 import org.apache.syncope.core.provisioning.java.propagation.PropagationManagerImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -94,8 +98,8 @@ public class ProvisioningContext implements EnvironmentAware, SchedulingConfigur
     }
 
     /**
-     * Used by {@link AsyncConnectorFacade}.
-     * Annotated as {@code @Primary} because it will be used by {@code @Async} in {@link AsyncConnectorFacade}.
+     * Used by {@link ConnectorInvoker} for enforcing connector request timeouts, and for scheduling.
+     * Annotated as {@code @Primary} because it will be used by {@code @Async}.
      *
      * @return executor
      */
@@ -115,7 +119,7 @@ public class ProvisioningContext implements EnvironmentAware, SchedulingConfigur
     }
 
     /**
-     * Used by {@link org.apache.syncope.core.provisioning.java.propagation.PriorityPropagationTaskExecutor}.
+     * Used by {@link PropagationLanes}.
      *
      * @return executor
      */
@@ -190,6 +194,73 @@ public class ProvisioningContext implements EnvironmentAware, SchedulingConfigur
         return jobManager;
     }
 
+    @Bean
+    public EventRoutingTable eventRoutingTable() {
+        EventRoutingTable eventRoutingTable = new EventRoutingTable();
+        eventRoutingTable.setMaxStalenessSeconds(
+                env.getProperty("eventRoutingTable.maxStalenessSeconds", Long.class, 60L));
+        return eventRoutingTable;
+    }
+
+    @Bean
+    public MappingPlans mappingPlans() {
+        MappingPlans mappingPlans = new MappingPlans();
+        mappingPlans.setMaxStalenessSeconds(env.getProperty("mappingPlans.maxStalenessSeconds", Long.class, 60L));
+        return mappingPlans;
+    }
+
+    /**
+     * Used by {@link org.apache.syncope.core.provisioning.java.job.report.DefaultReportJobDelegate}: when more than
+     * one thread is available, the reportlets of each report run concurrently.
+     *
+     * @return executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportletExecutor() {
+        ThreadPoolTaskExecutor reportletExecutor = new ThreadPoolTaskExecutor();
+        reportletExecutor.setCorePoolSize(env.getProperty("reportletExecutor.poolSize", Integer.class, 1));
+        reportletExecutor.setMaxPoolSize(env.getProperty("reportletExecutor.poolSize", Integer.class, 1));
+        reportletExecutor.setThreadNamePrefix("Reportlet-");
+        reportletExecutor.initialize();
+        return reportletExecutor;
+    }
+
+    /**
+     * Used by {@link org.apache.syncope.core.provisioning.java.job.report.ReportPageRenderer} for preparing the next
+     * page of content while reportlets write the current one.
+     *
+     * @return executor
+     */
+    @Bean
+    public Executor reportPageExecutor() {
+        ThreadPoolTaskExecutor reportPageExecutor = new ThreadPoolTaskExecutor();
+        reportPageExecutor.setCorePoolSize(env.getProperty("reportPageExecutor.poolSize", Integer.class, 4));
+        reportPageExecutor.setMaxPoolSize(env.getProperty("reportPageExecutor.poolSize", Integer.class, 4));
+        reportPageExecutor.setThreadNamePrefix("ReportPage-");
+        reportPageExecutor.initialize();
+        return reportPageExecutor;
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public ReportStore reportStore() {
+        DefaultReportStore reportStore = new DefaultReportStore();
+        reportStore.setDirectory(env.getProperty("reportStore.directory"));
+        return reportStore;
+    }
+
+    @Bean
+    public AfterHandlingDispatcher afterHandlingDispatcher() {
+        AfterHandlingDispatcher dispatcher = new AfterHandlingDispatcher();
+        dispatcher.setQueueCapacity(env.getProperty("afterHandlingDispatcher.queueCapacity", Integer.class, 10000));
+        dispatcher.setConsumers(env.getProperty("afterHandlingDispatcher.consumers", Integer.class, 2));
+        dispatcher.setBatchSize(env.getProperty("afterHandlingDispatcher.batchSize", Integer.class, 100));
+        dispatcher.setOfferTimeoutMillis(
+                env.getProperty("afterHandlingDispatcher.offerTimeoutMillis", Long.class, 100L));
+        dispatcher.setSpillOver(env.getProperty("afterHandlingDispatcher.spillOver", Boolean.class, true));
+        return dispatcher;
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public JavaMailSender mailSender() {
@@ -222,6 +293,15 @@ public class ProvisioningContext implements EnvironmentAware, SchedulingConfigur
         return new IntAttrNameParser();
     }
 
+    @Bean
+    public PropagationLanes propagationLanes() {
+        PropagationLanes propagationLanes = new PropagationLanes();
+        propagationLanes.setExecutor(propagationTaskExecutorAsyncExecutor());
+        propagationLanes.setMaxConcurrency(env.getProperty("propagationLanes.maxConcurrency", Integer.class, 5));
+        propagationLanes.setQueueCapacity(env.getProperty("propagationLanes.queueCapacity", Integer.class, 100));
+        return propagationLanes;
+    }
+
     @Bean
     public PropagationTaskExecutor propagationTaskExecutor()
             throws ClassNotFoundException, InstantiationException, IllegalAccessException, NoSuchMethodException,
@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -25,6 +27,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.Membership;
@@ -38,10 +41,16 @@ import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.apache.syncope.core.provisioning.java.cache.DisabledVirAttrCache;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.SearchResult;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+import org.identityconnectors.framework.common.objects.filter.FilterBuilder;
+import org.identityconnectors.framework.spi.SearchResultsHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +63,11 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(VirAttrHandler.class);
 
+    /**
+     * Max number of remote objects to match with a single search when prefetching.
+     */
+    private static final int PREFETCH_CHUNK_SIZE = 100;
+
     @Autowired
     private ConnectorFactory connFactory;
 
@@ -186,4 +200,111 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
                 anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, VirSchema.class).
                         getForMembership(membership.getRightEnd()));
     }
+
+    @Override
+    public void prefetch(final Collection<? extends Any<?>> anys) {
+        if (virAttrCache instanceof DisabledVirAttrCache) {
+            return;
+        }
+
+        // for each provision: schemas to read, and anys by ConnObjectKey value, each with its own allowed schemas
+        Map<Provision, Set<VirSchema>> schemasToRead = new HashMap<>();
+        Map<Provision, Map<String, Map<Any<?>, Set<VirSchema>>>> anysToRead = new HashMap<>();
+
+        anys.forEach(any -> {
+            Set<ExternalResource> ownedResources = anyUtilsFactory.getInstance(any).getAllResources(any);
+
+            AllowedSchemas<VirSchema> allowed =
+                    anyUtilsFactory.getInstance(any).dao().findAllowedSchemas(any, VirSchema.class);
+            Set<VirSchema> schemas = new HashSet<>(allowed.getForSelf());
+            allowed.getForMemberships().values().forEach(schemas::addAll);
+
+            schemas.stream().
+                    filter(schema -> ownedResources.contains(schema.getProvision().getResource())
+                    && schema.getProvision().getAnyType().equals(any.getType())
+                    && !virAttrCache.isValidEntry(
+                            virAttrCache.get(any.getType().getKey(), any.getKey(), schema.getKey()))).
+                    forEach(schema -> mappingManager.getConnObjectKeyValue(any, schema.getProvision()).
+                    ifPresent(connObjectKeyValue -> {
+                        schemasToRead.computeIfAbsent(schema.getProvision(), p -> new HashSet<>()).add(schema);
+                        anysToRead.computeIfAbsent(schema.getProvision(), p -> new HashMap<>()).
+                                computeIfAbsent(schema.getProvision().isIgnoreCaseMatch()
+                                        ? connObjectKeyValue.toLowerCase() : connObjectKeyValue,
+                                        v -> new HashMap<>()).
+                                computeIfAbsent(any, a -> new HashSet<>()).add(schema);
+                    }));
+        });
+
+        schemasToRead.forEach((provision, schemas) -> {
+            Optional<? extends MappingItem> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+            if (connObjectKeyItem.isEmpty()) {
+                LOG.error("No ConnObjectKey found for {}, ignoring...", provision);
+                return;
+            }
+            String connObjectKey = connObjectKeyItem.get().getExtAttrName();
+
+            Set<MappingItem> linkingMappingItems = new HashSet<>();
+            linkingMappingItems.add(connObjectKeyItem.get());
+            linkingMappingItems.addAll(schemas.stream().
+                    map(VirSchema::asLinkingMappingItem).collect(Collectors.toSet()));
+            OperationOptions options = MappingUtils.buildOperationOptions(linkingMappingItems.iterator());
+
+            Map<String, Map<Any<?>, Set<VirSchema>>> byConnObjectKeyValue = anysToRead.get(provision);
+            List<String> values = new ArrayList<>(byConnObjectKeyValue.keySet());
+            LOG.debug("About to read {} objects from {}: {}", values.size(), provision, schemas);
+
+            Connector connector = connFactory.getConnector(provision.getResource());
+            for (int i = 0; i < values.size(); i += PREFETCH_CHUNK_SIZE) {
+                List<Filter> filters = values.subList(i, Math.min(i + PREFETCH_CHUNK_SIZE, values.size())).stream().
+                        map(value -> AttributeBuilder.build(connObjectKey, value)).
+                        map(attr -> provision.isIgnoreCaseMatch()
+                        ? FilterBuilder.equalsIgnoreCase(attr)
+                        : FilterBuilder.equalTo(attr)).
+                        collect(Collectors.toList());
+
+                try {
+                    connector.search(
+                            provision.getObjectClass(),
+                            filters.size() == 1 ? filters.get(0) : FilterBuilder.or(filters),
+                            new SearchResultsHandler() {
+
+                        @Override
+                        public void handleResult(final SearchResult result) {
+                            // nothing to do
+                        }
+
+                        @Override
+                        public boolean handle(final ConnectorObject connectorObject) {
+                            Attribute keyAttr = connectorObject.getAttributeByName(connObjectKey);
+                            Object keyValue = keyAttr == null || keyAttr.getValue() == null
+                                    || keyAttr.getValue().isEmpty()
+                                    ? null : keyAttr.getValue().get(0);
+                            if (keyValue == null) {
+                                return true;
+                            }
+
+                            Map<Any<?>, Set<VirSchema>> matching = byConnObjectKeyValue.get(
+                                    provision.isIgnoreCaseMatch()
+                                    ? keyValue.toString().toLowerCase() : keyValue.toString());
+                            if (matching != null) {
+                                matching.forEach((any, anySchemas) -> anySchemas.forEach(schema -> {
+                                    Attribute attr = connectorObject.getAttributeByName(schema.getExtAttrName());
+                                    if (attr != null) {
+                                        virAttrCache.put(
+                                                any.getType().getKey(),
+                                                any.getKey(),
+                                                schema.getKey(),
+                                                new VirAttrCacheValue(attr.getValue()));
+                                    }
+                                }));
+                            }
+                            return true;
+                        }
+                    }, options);
+                } catch (Exception e) {
+                    LOG.error("Error reading from {}", provision, e);
+                }
+            }
+        });
+    }
 }
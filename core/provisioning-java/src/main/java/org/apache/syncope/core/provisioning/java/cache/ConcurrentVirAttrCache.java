@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+
+/**
+ * In-memory virtual attribute value cache implementation, striped in a fixed number of segments, each evicting its
+ * least recently used entry in constant time when full; concurrent operations only contend when hitting the same
+ * segment.
+ */
+public class ConcurrentVirAttrCache implements VirAttrCache {
+
+    protected static final int SEGMENTS = 16;
+
+    protected static class Segment extends LinkedHashMap<VirAttrCacheKey, VirAttrCacheValue> {
+
+        private static final long serialVersionUID = -3464097364573125437L;
+
+        protected final transient ConcurrentVirAttrCache cache;
+
+        protected Segment(final ConcurrentVirAttrCache cache) {
+            super(16, 0.75f, true);
+            this.cache = cache;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<VirAttrCacheKey, VirAttrCacheValue> eldest) {
+            boolean remove = size() > cache.segmentSize;
+            if (remove) {
+                cache.evictions.increment();
+            }
+            return remove;
+        }
+    }
+
+    /**
+     * Time to live, in milliseconds.
+     */
+    protected volatile long ttlMillis = 60 * 1000L;
+
+    /**
+     * Max entries per segment.
+     */
+    protected volatile int segmentSize = 5000 / SEGMENTS;
+
+    protected final List<Segment> segments = new ArrayList<>(SEGMENTS);
+
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder misses = new LongAdder();
+
+    protected final LongAdder evictions = new LongAdder();
+
+    public ConcurrentVirAttrCache() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.add(new Segment(this));
+        }
+    }
+
+    @Override
+    public void setTtl(final int ttl) {
+        this.ttlMillis = ttl * 1000L;
+    }
+
+    @Override
+    public void setMaxCacheSize(final int maxCacheSize) {
+        this.segmentSize = Math.max(1, (maxCacheSize + SEGMENTS - 1) / SEGMENTS);
+    }
+
+    protected Segment segment(final VirAttrCacheKey key) {
+        int hash = key.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & (SEGMENTS - 1));
+    }
+
+    @Override
+    public void put(
+            final String type,
+            final String key,
+            final String schemaKey,
+            final VirAttrCacheValue value) {
+
+        VirAttrCacheKey cacheKey = new VirAttrCacheKey(type, key, schemaKey);
+        Segment segment = segment(cacheKey);
+        synchronized (segment) {
+            segment.put(cacheKey, value);
+        }
+    }
+
+    protected VirAttrCacheValue get(final VirAttrCacheKey key, final long now) {
+        Segment segment = segment(key);
+        VirAttrCacheValue value;
+        synchronized (segment) {
+            value = segment.get(key);
+            if (value != null && !isValidEntry(value, now)) {
+                segment.remove(key);
+                value = null;
+            }
+        }
+
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public VirAttrCacheValue get(final String type, final String key, final String schemaKey) {
+        return get(new VirAttrCacheKey(type, key, schemaKey), System.currentTimeMillis());
+    }
+
+    @Override
+    public Map<VirAttrCacheKey, VirAttrCacheValue> getAll(final Collection<VirAttrCacheKey> keys) {
+        long now = System.currentTimeMillis();
+
+        Map<VirAttrCacheKey, VirAttrCacheValue> result = new HashMap<>(keys.size());
+        keys.forEach(key -> {
+            VirAttrCacheValue value = get(key, now);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void expire(final String type, final String key, final String schemaKey) {
+        VirAttrCacheKey cacheKey = new VirAttrCacheKey(type, key, schemaKey);
+        Segment segment = segment(cacheKey);
+        synchronized (segment) {
+            segment.remove(cacheKey);
+        }
+    }
+
+    protected boolean isValidEntry(final VirAttrCacheValue value, final long now) {
+        return value != null && value.getCreationTime() + ttlMillis > now;
+    }
+
+    @Override
+    public boolean isValidEntry(final VirAttrCacheValue value) {
+        return isValidEntry(value, System.currentTimeMillis());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size()
+                + ", hits=" + getHits()
+                + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + ']';
+    }
+}
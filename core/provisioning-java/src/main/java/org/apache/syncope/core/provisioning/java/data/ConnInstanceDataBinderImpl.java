@@ -104,6 +104,7 @@ public class ConnInstanceDataBinderImpl implements ConnInstanceDataBinder {
         connInstance.setVersion(connInstanceTO.getVersion());
         connInstance.setDisplayName(connInstanceTO.getDisplayName());
         connInstance.setConnRequestTimeout(connInstanceTO.getConnRequestTimeout());
+        connInstance.setMaxConcurrentRequests(connInstanceTO.getMaxConcurrentRequests());
         connInstance.getCapabilities().addAll(connInstanceTO.getCapabilities());
 
         if (connInstanceTO.getAdminRealm() != null) {
@@ -200,6 +201,8 @@ public class ConnInstanceDataBinderImpl implements ConnInstanceDataBinder {
             connInstance.setConnRequestTimeout(connInstanceTO.getConnRequestTimeout());
         }
 
+        connInstance.setMaxConcurrentRequests(connInstanceTO.getMaxConcurrentRequests());
+
         if (connInstanceTO.getPoolConf() == null) {
             connInstance.setPoolConf(null);
         } else {
@@ -254,6 +257,7 @@ public class ConnInstanceDataBinderImpl implements ConnInstanceDataBinder {
         connInstanceTO.setVersion(connInstance.getVersion());
         connInstanceTO.setDisplayName(connInstance.getDisplayName());
         connInstanceTO.setConnRequestTimeout(connInstance.getConnRequestTimeout());
+        connInstanceTO.setMaxConcurrentRequests(connInstance.getMaxConcurrentRequests());
         connInstanceTO.setAdminRealm(connInstance.getAdminRealm().getFullPath());
         connInstanceTO.setLocation(info.getLeft().toASCIIString());
         connInstanceTO.getCapabilities().addAll(connInstance.getCapabilities());
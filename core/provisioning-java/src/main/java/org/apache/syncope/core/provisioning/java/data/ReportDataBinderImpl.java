@@ -67,6 +67,7 @@ public class ReportDataBinderImpl implements ReportDataBinder {
         report.setName(reportTO.getName());
         report.setCronExpression(reportTO.getCronExpression());
         report.setActive(reportTO.isActive());
+        report.setCompressionLevel(reportTO.getCompressionLevel());
 
         ReportTemplate template = reportTemplateDAO.find(reportTO.getTemplate());
         if (template == null) {
@@ -96,6 +97,7 @@ public class ReportDataBinderImpl implements ReportDataBinder {
         reportTO.setName(report.getName());
         reportTO.setCronExpression(report.getCronExpression());
         reportTO.setActive(report.isActive());
+        reportTO.setCompressionLevel(report.getCompressionLevel());
 
         reportTO.getReportlets().addAll(
                 report.getReportlets().stream().map(Entity::getKey).collect(Collectors.toList()));
@@ -72,6 +72,7 @@ import org.apache.syncope.core.persistence.api.entity.resource.OrgUnit;
 import org.apache.syncope.core.persistence.api.entity.resource.OrgUnitItem;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.provisioning.java.IntAttrNameParser;
+import org.apache.syncope.core.provisioning.java.MappingPlans;
 import org.apache.syncope.core.provisioning.api.IntAttrName;
 import org.apache.syncope.core.provisioning.api.data.ResourceDataBinder;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -119,6 +120,9 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
     @Autowired
     private IntAttrNameParser intAttrNameParser;
 
+    @Autowired
+    private MappingPlans mappingPlans;
+
     @Override
     public ExternalResource create(final ResourceTO resourceTO) {
         return update(entityFactory.newEntity(ExternalResource.class), resourceTO);
@@ -127,6 +131,8 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
     @Override
     public ExternalResource update(final ExternalResource resource, final ResourceTO resourceTO) {
         if (resource.getKey() != null) {
+            mappingPlans.invalidate(resource);
+
             ResourceTO current = getResourceTO(resource);
             if (!current.equals(resourceTO)) {
                 // 1. save the current configuration, before update
@@ -165,6 +171,11 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         resource.setEnforceMandatoryCondition(resourceTO.isEnforceMandatoryCondition());
 
         resource.setPropagationPriority(resourceTO.getPropagationPriority());
+        resource.setPushMaxInFlight(resourceTO.getPushMaxInFlight());
+        resource.setPushRateLimit(resourceTO.getPushRateLimit());
+        resource.setPropagationMaxConcurrency(resourceTO.getPropagationMaxConcurrency());
+        resource.setPropagationQueueCapacity(resourceTO.getPropagationQueueCapacity());
+        resource.setLeanPropagation(resourceTO.isLeanPropagation());
 
         resource.setRandomPwdIfNotProvided(resourceTO.isRandomPwdIfNotProvided());
 
@@ -689,6 +700,11 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         resourceTO.setEnforceMandatoryCondition(resource.isEnforceMandatoryCondition());
 
         resourceTO.setPropagationPriority(resource.getPropagationPriority());
+        resourceTO.setPushMaxInFlight(resource.getPushMaxInFlight());
+        resourceTO.setPushRateLimit(resource.getPushRateLimit());
+        resourceTO.setPropagationMaxConcurrency(resource.getPropagationMaxConcurrency());
+        resourceTO.setPropagationQueueCapacity(resource.getPropagationQueueCapacity());
+        resourceTO.setLeanPropagation(resource.isLeanPropagation());
 
         resourceTO.setRandomPwdIfNotProvided(resource.isRandomPwdIfNotProvided());
 
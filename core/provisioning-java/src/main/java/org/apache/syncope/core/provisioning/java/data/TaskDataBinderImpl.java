@@ -152,6 +152,8 @@ public class TaskDataBinderImpl implements TaskDataBinder {
             // remove all filters not contained in the TO
             pushTask.getFilters().
                     removeIf(anyFilter -> !pushTaskTO.getFilters().containsKey(anyFilter.getAnyType().getKey()));
+
+            pushTask.setConcurrentWorkers(pushTaskTO.getConcurrentWorkers());
         } else if (provisioningTask instanceof PullTask && provisioningTaskTO instanceof PullTaskTO) {
             PullTask pullTask = (PullTask) provisioningTask;
             PullTaskTO pullTaskTO = (PullTaskTO) provisioningTaskTO;
@@ -215,6 +217,8 @@ public class TaskDataBinderImpl implements TaskDataBinder {
                     removeIf(anyTemplate -> !pullTaskTO.getTemplates().containsKey(anyTemplate.getAnyType().getKey()));
 
             pullTask.setRemediation(pullTaskTO.isRemediation());
+            pullTask.setConcurrentWorkers(pullTaskTO.getConcurrentWorkers());
+            pullTask.setConcurrentQueueSize(pullTaskTO.getConcurrentQueueSize());
         }
 
         // 3. fill the remaining fields
@@ -428,6 +432,8 @@ public class TaskDataBinderImpl implements TaskDataBinder {
                         put(template.getAnyType().getKey(), template.get()));
 
                 pullTaskTO.setRemediation(pullTask.isRemediation());
+                pullTaskTO.setConcurrentWorkers(pullTask.getConcurrentWorkers());
+                pullTaskTO.setConcurrentQueueSize(pullTask.getConcurrentQueueSize());
                 break;
 
             case PUSH:
@@ -445,6 +451,8 @@ public class TaskDataBinderImpl implements TaskDataBinder {
                 pushTask.getFilters().
                         forEach(filter -> pushTaskTO.getFilters().
                         put(filter.getAnyType().getKey(), filter.getFIQLCond()));
+
+                pushTaskTO.setConcurrentWorkers(pushTask.getConcurrentWorkers());
                 break;
 
             case NOTIFICATION:
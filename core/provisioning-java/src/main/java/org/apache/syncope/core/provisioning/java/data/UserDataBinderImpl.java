@@ -346,6 +346,35 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
                 orElse(false);
     }
 
+    /**
+     * Collects the names of the fields and plain schemas which might be changed by the given request, so that only
+     * the affected dynamic group membership conditions are evaluated.
+     *
+     * @param userUR user update request
+     * @return names of the changed fields and plain schemas, or {@code null} if these cannot be determined
+     */
+    private static Set<String> getChanged(final UserUR userUR) {
+        // adding or removing auxiliary classes might drop attributes
+        if (!userUR.getAuxClasses().isEmpty()) {
+            return null;
+        }
+
+        Set<String> changed = new HashSet<>();
+        if (userUR.getUsername() != null) {
+            changed.add("username");
+        }
+        if (userUR.getRealm() != null) {
+            changed.add("realm");
+        }
+        if (!userUR.getRelationships().isEmpty()) {
+            changed.add("relationships");
+        }
+        userUR.getPlainAttrs().stream().
+                filter(patch -> patch.getAttr() != null).
+                forEach(patch -> changed.add(patch.getAttr().getSchema()));
+        return changed;
+    }
+
     @Override
     public Pair<PropagationByResource<String>, PropagationByResource<Pair<String, String>>> update(
             final User toBeUpdated, final UserUR userUR) {
@@ -650,7 +679,7 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
                     propByRes.add(ResourceOperation.UPDATE, entry.getKey());
                 });
 
-        Pair<Set<String>, Set<String>> dynGroupMembs = userDAO.saveAndGetDynGroupMembs(user);
+        Pair<Set<String>, Set<String>> dynGroupMembs = userDAO.saveAndGetDynGroupMembs(user, getChanged(userUR));
 
         // finally check if any resource assignment is to be processed due to dynamic group membership change
         dynGroupMembs.getLeft().stream().
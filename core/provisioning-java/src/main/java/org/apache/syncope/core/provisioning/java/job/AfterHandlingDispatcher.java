@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+/**
+ * In-process pipeline for asynchronous handling of notification / audit events.
+ *
+ * Events are put in a bounded queue, from which a fixed number of consumers take them in batches: notification tasks
+ * are created for all events of the same domain within a single transaction, then events are audited.
+ * When the queue is full, callers wait up to the configured offer timeout; if still full, events are either spilled
+ * over to {@link AfterHandlingJob} - so that they are persisted by the Quartz job store - or dropped.
+ */
+public class AfterHandlingDispatcher implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AfterHandlingDispatcher.class);
+
+    protected static class Entry {
+
+        protected final String domain;
+
+        protected final AfterHandlingEvent event;
+
+        protected final long enqueuedNanos = System.nanoTime();
+
+        protected Entry(final String domain, final AfterHandlingEvent event) {
+            this.domain = domain;
+            this.event = event;
+        }
+    }
+
+    @Autowired
+    protected AfterHandlingBatchHandler batchHandler;
+
+    @Autowired
+    protected AuditManager auditManager;
+
+    @Autowired
+    protected SchedulerFactoryBean scheduler;
+
+    protected int queueCapacity = 10000;
+
+    protected int consumers = 2;
+
+    protected int batchSize = 100;
+
+    protected long offerTimeoutMillis = 100;
+
+    protected boolean spillOver = true;
+
+    protected BlockingQueue<Entry> queue;
+
+    protected ThreadPoolTaskExecutor tpte;
+
+    protected volatile boolean running;
+
+    protected final LongAdder queued = new LongAdder();
+
+    protected final LongAdder spilled = new LongAdder();
+
+    protected final LongAdder dropped = new LongAdder();
+
+    protected final LongAdder processed = new LongAdder();
+
+    protected final LongAdder failed = new LongAdder();
+
+    protected final LongAdder taken = new LongAdder();
+
+    protected final LongAdder latencyNanos = new LongAdder();
+
+    protected final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public void setConsumers(final int consumers) {
+        this.consumers = consumers;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setOfferTimeoutMillis(final long offerTimeoutMillis) {
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    public void setSpillOver(final boolean spillOver) {
+        this.spillOver = spillOver;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        tpte = new ThreadPoolTaskExecutor();
+        tpte.setCorePoolSize(Math.max(1, consumers));
+        tpte.setMaxPoolSize(Math.max(1, consumers));
+        tpte.setThreadNamePrefix("AfterHandling-");
+        tpte.initialize();
+
+        running = true;
+        for (int i = 0; i < Math.max(1, consumers); i++) {
+            tpte.execute(this::consume);
+        }
+    }
+
+    /**
+     * Signals consumers to stop once the queue is drained, then waits for them.
+     */
+    @Override
+    public void destroy() {
+        running = false;
+        tpte.setWaitForTasksToCompleteOnShutdown(true);
+        tpte.setAwaitTerminationSeconds(30);
+        tpte.shutdown();
+    }
+
+    /**
+     * Enqueues the given event for asynchronous handling, in the domain of the current authentication.
+     *
+     * @param event event to handle
+     */
+    public void dispatch(final AfterHandlingEvent event) {
+        boolean accepted = false;
+        if (running) {
+            try {
+                accepted = queue.offer(
+                        new Entry(AuthContextUtils.getDomain(), event), offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while enqueuing {}", event, e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (accepted) {
+            queued.increment();
+        } else if (spillOver) {
+            LOG.debug("Queue full, spilling over {}", event);
+
+            Map<String, Object> jobMap = new HashMap<>();
+            jobMap.put(AfterHandlingEvent.JOBMAP_KEY, event);
+            AfterHandlingJob.schedule(scheduler, jobMap);
+            spilled.increment();
+        } else {
+            LOG.warn("Queue full, dropping {}", event);
+            dropped.increment();
+        }
+    }
+
+    protected void consume() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                LOG.debug("Consumer interrupted", e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            batch.stream().collect(Collectors.groupingBy(
+                    entry -> entry.domain,
+                    LinkedHashMap::new,
+                    Collectors.mapping(entry -> entry.event, Collectors.toList()))).
+                    forEach((domain, events) -> {
+                        try {
+                            handle(domain, events);
+                        } catch (RuntimeException e) {
+                            LOG.error("While handling {} events for domain {}", events.size(), domain, e);
+                            failed.add(events.size());
+                        }
+                    });
+
+            // time spent by each event from enqueuing until handled, failures included
+            long now = System.nanoTime();
+            taken.add(batch.size());
+            batch.forEach(entry -> {
+                latencyNanos.add(now - entry.enqueuedNanos);
+                maxLatencyNanos.accumulate(now - entry.enqueuedNanos);
+            });
+            batch.clear();
+        }
+    }
+
+    protected void handle(final String domain, final List<AfterHandlingEvent> events) {
+        AuthContextUtils.callAsAdmin(domain, () -> {
+            try {
+                batchHandler.createTasks(events);
+            } catch (Exception e) {
+                LOG.error("While creating notification tasks for {} events, retrying one by one", events.size(), e);
+
+                // the whole batch was rolled back: isolate the failing event(s)
+                events.forEach(event -> {
+                    try {
+                        batchHandler.createTasks(List.of(event));
+                    } catch (Exception ex) {
+                        LOG.error("While creating notification tasks for {}", event, ex);
+                        failed.increment();
+                    }
+                });
+            }
+
+            events.forEach(event -> {
+                try {
+                    auditManager.audit(event);
+                } catch (Exception e) {
+                    LOG.error("While auditing {}", event, e);
+                    failed.increment();
+                }
+            });
+
+            processed.add(events.size());
+            return null;
+        });
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getQueued() {
+        return queued.sum();
+    }
+
+    public long getSpilled() {
+        return spilled.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return average time, in milliseconds, from enqueuing until handled, over all events taken from the queue
+     */
+    public double getAvgLatencyMillis() {
+        long count = taken.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * @return maximum time, in milliseconds, from enqueuing until handled
+     */
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[queueSize=" + getQueueSize()
+                + ", queued=" + getQueued()
+                + ", spilled=" + getSpilled()
+                + ", dropped=" + getDropped()
+                + ", processed=" + getProcessed()
+                + ", failed=" + getFailed()
+                + ", avgLatencyMillis=" + getAvgLatencyMillis()
+                + ", maxLatencyMillis=" + getMaxLatencyMillis() + ']';
+    }
+}
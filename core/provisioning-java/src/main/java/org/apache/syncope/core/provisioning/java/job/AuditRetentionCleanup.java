@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Deletes audit entries older than the number of days set by the {@code audit.retention.days} configuration
+ * parameter; nothing is deleted when such parameter is missing or not positive.
+ */
+public class AuditRetentionCleanup extends AbstractSchedTaskJobDelegate {
+
+    @Autowired
+    private ConfParamOps confParamOps;
+
+    @Autowired
+    private LoggerDAO loggerDAO;
+
+    @Override
+    protected String doExecute(final boolean dryRun) throws JobExecutionException {
+        long retentionDays = confParamOps.get(AuthContextUtils.getDomain(), "audit.retention.days", 0L, Long.class);
+        if (retentionDays <= 0) {
+            LOG.debug("No audit retention configured, nothing to delete");
+            return "SUCCESS";
+        }
+
+        Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+        if (!dryRun) {
+            int deleted = loggerDAO.deleteAuditEntries(before);
+            LOG.debug("Successfully deleted {} audit entries before {}", deleted, before);
+        }
+
+        return "SUCCESS";
+    }
+}
@@ -18,11 +18,16 @@
  */
 package org.apache.syncope.core.provisioning.java.job.report;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 import org.apache.syncope.core.persistence.api.dao.Reportlet;
 import org.apache.syncope.common.lib.report.ReportletConf;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
@@ -34,11 +39,74 @@ public abstract class AbstractReportlet implements Reportlet {
 
     protected ReportletConf conf;
 
+    @Autowired
+    protected ReportPageRenderer pageRenderer;
+
     @Override
     public void setConf(final ReportletConf conf) {
         this.conf = conf;
     }
 
+    protected CompletableFuture<SAXBuffer> render(
+            final String domain, final ReportPageRenderer.PageExtractor extractor, final int page) {
+
+        return CompletableFuture.supplyAsync(
+                () -> AuthContextUtils.callAsAdmin(domain, () -> pageRenderer.render(extractor, page)),
+                pageRenderer.getExecutor());
+    }
+
+    /**
+     * Sends the content of the given number of pages to the handler, in order: while a page is being sent, the next
+     * one is rendered in memory by another thread, so that loading data and writing output can overlap.
+     *
+     * @param handler SAX content handler
+     * @param pages number of pages, starting from 1
+     * @param extractor generates the content of a single page
+     * @param onPage invoked before the content of each page is sent
+     * @throws SAXException if the handler raises any error
+     */
+    protected void extractPages(
+            final ContentHandler handler,
+            final int pages,
+            final ReportPageRenderer.PageExtractor extractor,
+            final IntConsumer onPage)
+            throws SAXException {
+
+        if (pages <= 0) {
+            return;
+        }
+
+        String domain = AuthContextUtils.getDomain();
+        CompletableFuture<SAXBuffer> next = render(domain, extractor, 1);
+        for (int page = 1; page <= pages; page++) {
+            SAXBuffer current;
+            try {
+                current = next.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReportException(e);
+            } catch (ExecutionException e) {
+                // AuthContextUtils wraps checked exceptions into plain RuntimeException
+                Throwable cause = e.getCause().getClass() == RuntimeException.class
+                        && e.getCause().getCause() instanceof Exception
+                        && !(e.getCause().getCause() instanceof RuntimeException)
+                        ? e.getCause().getCause()
+                        : e.getCause();
+                if (cause instanceof SAXException) {
+                    throw (SAXException) cause;
+                }
+                throw new ReportException(cause);
+            }
+
+            if (page < pages) {
+                next = render(domain, extractor, page + 1);
+            }
+
+            onPage.accept(page);
+            current.replay(handler);
+        }
+    }
+
     protected abstract void doExtract(ReportletConf conf, ContentHandler handler, AtomicReference<String> status)
             throws SAXException;
 
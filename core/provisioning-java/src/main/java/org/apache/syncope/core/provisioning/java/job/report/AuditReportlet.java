@@ -19,21 +19,19 @@
 package org.apache.syncope.core.provisioning.java.job.report;
 
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
-import javax.sql.DataSource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apache.syncope.common.lib.log.AuditEntryTO;
 import org.apache.syncope.common.lib.report.AuditReportletConf;
 import org.apache.syncope.common.lib.report.ReportletConf;
-import org.apache.syncope.core.persistence.api.DomainHolder;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
 import org.apache.syncope.core.provisioning.java.AuditEntry;
-import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.AttributesImpl;
@@ -42,24 +40,14 @@ import org.xml.sax.helpers.AttributesImpl;
 public class AuditReportlet extends AbstractReportlet {
 
     @Autowired
-    private DomainHolder domainHolder;
+    private LoggerDAO loggerDAO;
 
     private AuditReportletConf conf;
 
-    private DataSource datasource;
-
-    private void doExtractConf(final ContentHandler handler, final AtomicReference<String> status) throws SAXException {
-        status.set("Fetching " + conf.getSize() + " rows from the SYNCOPEAUDIT table");
-
-        JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
-        jdbcTemplate.setMaxRows(conf.getSize());
-        List<Map<String, Object>> rows = jdbcTemplate.
-                queryForList("SELECT * FROM SYNCOPEAUDIT ORDER BY EVENT_DATE DESC");
-
-        handler.startElement("", "", "events", null);
+    private void doExtract(final ContentHandler handler, final List<AuditEntryTO> entries) throws SAXException {
         AttributesImpl atts = new AttributesImpl();
-        for (Map<String, Object> row : rows) {
-            AuditEntry auditEntry = POJOHelper.deserialize(row.get("MESSAGE").toString(), AuditEntry.class);
+        for (AuditEntryTO entry : entries) {
+            AuditEntry auditEntry = POJOHelper.deserialize(entry.getMessage(), AuditEntry.class);
 
             atts.clear();
             if (StringUtils.isNotBlank(auditEntry.getWho())) {
@@ -116,15 +104,42 @@ public class AuditReportlet extends AbstractReportlet {
             }
 
             handler.startElement("", "", "throwable", null);
-            char[] throwable = row.get("THROWABLE").toString().toCharArray();
+            char[] throwable = StringUtils.defaultString(entry.getThrowable()).toCharArray();
             handler.characters(throwable, 0, throwable.length);
             handler.endElement("", "", "throwable");
 
             handler.endElement("", "", "event");
         }
-        handler.endElement("", "", "events");
+    }
+
+    private void doExtractConf(final ContentHandler handler, final AtomicReference<String> status) throws SAXException {
+        status.set("Fetching " + conf.getSize() + " audit entries");
+
+        handler.startElement("", "", "events", null);
+
+        // keyset paging, most recent first: each page starts right after the last entry of the previous one
+        int fetched = 0;
+        AuditEntryTO last = null;
+        List<AuditEntryTO> entries;
+        do {
+            int size = Math.min(AnyDAO.DEFAULT_PAGE_SIZE, conf.getSize() - fetched);
+            entries = size <= 0
+                    ? List.of()
+                    : loggerDAO.findAuditEntries(
+                            null, null, null, null, null, null, null, null,
+                            last == null ? null : last.getDate(),
+                            last == null ? null : last.getKey(),
+                            size);
+            doExtract(handler, entries);
+
+            fetched += entries.size();
+            if (!entries.isEmpty()) {
+                last = entries.get(entries.size() - 1);
+            }
+            status.set("Fetched " + fetched + " audit entries");
+        } while (entries.size() == AnyDAO.DEFAULT_PAGE_SIZE);
 
-        status.set("Fetched " + conf.getSize() + " rows from the SYNCOPEAUDIT table");
+        handler.endElement("", "", "events");
     }
 
     @Override
@@ -140,11 +155,6 @@ public class AuditReportlet extends AbstractReportlet {
             throw new ReportException(new IllegalArgumentException("Invalid configuration provided"));
         }
 
-        datasource = domainHolder.getDomains().get(AuthContextUtils.getDomain());
-        if (datasource == null) {
-            throw new ReportException(new IllegalArgumentException("Could not get to DataSource"));
-        }
-
         doExtractConf(handler, status);
     }
 
@@ -18,16 +18,29 @@
  */
 package org.apache.syncope.core.provisioning.java.job.report;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
+import javax.annotation.Resource;
 import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
@@ -35,23 +48,34 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
+import org.apache.syncope.common.lib.report.ReportletConf;
+import org.apache.syncope.common.lib.types.ImplementationEngine;
 import org.apache.syncope.common.lib.types.ReportExecStatus;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
 import org.apache.syncope.core.persistence.api.dao.ReportDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportExecDAO;
 import org.apache.syncope.core.persistence.api.dao.Reportlet;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Report;
 import org.apache.syncope.core.persistence.api.entity.ReportExec;
 import org.apache.syncope.core.spring.ImplementationManager;
 import org.apache.syncope.core.provisioning.api.job.report.ReportJobDelegate;
+import org.apache.syncope.core.provisioning.api.job.report.ReportStore;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
 import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
 
 @Component
 public class DefaultReportJobDelegate implements ReportJobDelegate {
@@ -85,11 +109,17 @@ public class DefaultReportJobDelegate implements ReportJobDelegate {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private ReportStore reportStore;
+
+    @Resource(name = "reportletExecutor")
+    private ThreadPoolTaskExecutor reportletExecutor;
+
     private final AtomicReference<String> status = new AtomicReference<>();
 
-    private boolean interrupt;
+    private volatile boolean interrupt;
 
-    private boolean interrupted;
+    private volatile boolean interrupted;
 
     @Override
     public String currentStatus() {
@@ -106,6 +136,162 @@ public class DefaultReportJobDelegate implements ReportJobDelegate {
         return interrupted;
     }
 
+    private static void failed(
+            final ReportExec execution, final StringBuilder reportExecutionMessage, final Throwable t) {
+
+        execution.setStatus(ReportExecStatus.FAILURE);
+
+        Throwable effective = t instanceof ReportException
+                ? t.getCause()
+                : t;
+        reportExecutionMessage.
+                append(ExceptionUtils2.getFullStackTrace(effective)).
+                append("\n==================\n");
+    }
+
+    /**
+     * Reportlets built from the same configuration class share the same singleton instance, hence they must not
+     * run concurrently.
+     *
+     * @param reportlet reportlet implementation
+     * @return key grouping the reportlets to run one after the other
+     */
+    private static String lane(final Implementation reportlet) {
+        return reportlet.getEngine() == ImplementationEngine.JAVA
+                ? POJOHelper.deserialize(reportlet.getBody(), ReportletConf.class).getClass().getName()
+                : reportlet.getKey();
+    }
+
+    /**
+     * Writes the output of the given reportlet to a temporary section.
+     *
+     * @param implementation reportlet implementation
+     * @return temporary section, or {@code null} if the reportlet could not be built
+     * @throws Exception if the reportlet raises any error
+     */
+    protected Path writeSection(final Implementation implementation) throws Exception {
+        Optional<Reportlet> reportlet = ImplementationManager.buildReportlet(implementation);
+        if (!reportlet.isPresent()) {
+            return null;
+        }
+
+        Path section = Files.createTempFile("reportlet-" + implementation.getKey(), ".xml");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(section))) {
+            TransformerHandler handler = TRANSFORMER_FACTORY.newTransformerHandler();
+            handler.getTransformer().setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+            handler.setResult(new StreamResult(out));
+
+            status.set("Invoking reportlet " + implementation.getKey());
+            handler.startDocument();
+            reportlet.get().extract(handler, status);
+            handler.endDocument();
+        } catch (Exception e) {
+            Files.deleteIfExists(section);
+            throw e;
+        }
+        return section;
+    }
+
+    private static void sendSection(final Path section, final ContentHandler handler) throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, Boolean.TRUE);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(section))) {
+            factory.newSAXParser().parse(in, new DefaultHandler() {
+
+                @Override
+                public void startElement(
+                        final String uri, final String localName, final String qName, final Attributes atts)
+                        throws SAXException {
+
+                    handler.startElement(uri, localName, qName, atts);
+                }
+
+                @Override
+                public void endElement(final String uri, final String localName, final String qName)
+                        throws SAXException {
+
+                    handler.endElement(uri, localName, qName);
+                }
+
+                @Override
+                public void characters(final char[] ch, final int start, final int length) throws SAXException {
+                    handler.characters(ch, start, length);
+                }
+
+                @Override
+                public void ignorableWhitespace(final char[] ch, final int start, final int length)
+                        throws SAXException {
+
+                    handler.ignorableWhitespace(ch, start, length);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs reportlets concurrently on {@code reportletExecutor}, each writing to its own temporary section; sections
+     * are then sent to the handler in the order in which reportlets are defined, as soon as each is available.
+     * The sections of failed reportlets are discarded.
+     */
+    protected void extractConcurrently(
+            final Report report,
+            final ContentHandler handler,
+            final ReportExec execution,
+            final StringBuilder reportExecutionMessage) throws Exception {
+
+        String domain = AuthContextUtils.getDomain();
+        List<? extends Implementation> reportlets = report.getReportlets();
+
+        List<CompletableFuture<Path>> sections = new ArrayList<>(reportlets.size());
+        Map<String, List<Integer>> lanes = new LinkedHashMap<>();
+        for (int i = 0; i < reportlets.size(); i++) {
+            sections.add(new CompletableFuture<>());
+            lanes.computeIfAbsent(lane(reportlets.get(i)), k -> new ArrayList<>()).add(i);
+        }
+
+        lanes.values().forEach(lane -> reportletExecutor.execute(() -> AuthContextUtils.callAsAdmin(domain, () -> {
+            for (int i : lane) {
+                try {
+                    sections.get(i).complete(interrupt ? null : writeSection(reportlets.get(i)));
+                } catch (Throwable t) {
+                    sections.get(i).completeExceptionally(t);
+                }
+            }
+            return null;
+        })));
+
+        try {
+            for (int i = 0; i < reportlets.size(); i++) {
+                Path section = null;
+                try {
+                    section = sections.get(i).get();
+                    if (section != null) {
+                        sendSection(section, handler);
+                    }
+                } catch (ExecutionException e) {
+                    LOG.error("While executing reportlet {} for report {}",
+                            reportlets.get(i).getKey(), report.getKey(), e.getCause());
+                    failed(execution, reportExecutionMessage, e.getCause());
+                } finally {
+                    if (section != null) {
+                        Files.deleteIfExists(section);
+                    }
+                }
+            }
+        } finally {
+            // cleanup whatever was not sent, in case of errors
+            sections.forEach(section -> section.thenAccept(path -> {
+                if (path != null) {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        LOG.error("While deleting {}", path, e);
+                    }
+                }
+            }));
+        }
+    }
+
     @Transactional
     @Override
     public void execute(final String reportKey) throws JobExecutionException {
@@ -132,9 +318,13 @@ public class DefaultReportJobDelegate implements ReportJobDelegate {
         // 2. define a SAX handler for generating result as XML
         TransformerHandler handler;
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ZipOutputStream zos = new ZipOutputStream(baos);
-        zos.setLevel(Deflater.BEST_COMPRESSION);
+        ZipOutputStream zos;
+        try {
+            zos = new ZipOutputStream(new BufferedOutputStream(reportStore.openForWrite(execution)));
+        } catch (IOException e) {
+            throw new JobExecutionException("While opening report store for writing", e, true);
+        }
+        zos.setLevel(Optional.ofNullable(report.getCompressionLevel()).orElse(Deflater.BEST_COMPRESSION));
         try {
             handler = TRANSFORMER_FACTORY.newTransformerHandler();
             Transformer serializer = handler.getTransformer();
@@ -144,9 +334,14 @@ public class DefaultReportJobDelegate implements ReportJobDelegate {
             // a single ZipEntry in the ZipOutputStream
             zos.putNextEntry(new ZipEntry(report.getName()));
 
-            // streaming SAX handler in a compressed byte array stream
+            // streaming SAX handler in a compressed stream
             handler.setResult(new StreamResult(zos));
         } catch (Exception e) {
+            try {
+                zos.close();
+            } catch (IOException ioe) {
+                LOG.error("While closing StreamResult's backend", ioe);
+            }
             throw new JobExecutionException("While configuring for SAX generation", e, true);
         }
 
@@ -166,24 +361,21 @@ public class DefaultReportJobDelegate implements ReportJobDelegate {
 
             status.set("Generating report header");
 
-            // iterate over reportlet instances defined for this report
-            for (int i = 0; i < report.getReportlets().size() && !interrupt; i++) {
-                Optional<Reportlet> reportlet = ImplementationManager.buildReportlet(report.getReportlets().get(i));
-                if (reportlet.isPresent()) {
-                    try {
-                        status.set("Invoking reportlet " + report.getReportlets().get(i).getKey());
-                        reportlet.get().extract(handler, status);
-                    } catch (Throwable t) {
-                        LOG.error("While executing reportlet {} for report {}", reportlet, reportKey, t);
-
-                        execution.setStatus(ReportExecStatus.FAILURE);
-
-                        Throwable effective = t instanceof ReportException
-                                ? t.getCause()
-                                : t;
-                        reportExecutionMessage.
-                                append(ExceptionUtils2.getFullStackTrace(effective)).
-                                append("\n==================\n");
+            if (reportletExecutor.getMaxPoolSize() > 1 && report.getReportlets().size() > 1) {
+                extractConcurrently(report, handler, execution, reportExecutionMessage);
+            } else {
+                // iterate over reportlet instances defined for this report
+                for (int i = 0; i < report.getReportlets().size() && !interrupt; i++) {
+                    Optional<Reportlet> reportlet =
+                            ImplementationManager.buildReportlet(report.getReportlets().get(i));
+                    if (reportlet.isPresent()) {
+                        try {
+                            status.set("Invoking reportlet " + report.getReportlets().get(i).getKey());
+                            reportlet.get().extract(handler, status);
+                        } catch (Throwable t) {
+                            LOG.error("While executing reportlet {} for report {}", reportlet, reportKey, t);
+                            failed(execution, reportExecutionMessage, t);
+                        }
                     }
                 }
             }
@@ -212,12 +404,10 @@ public class DefaultReportJobDelegate implements ReportJobDelegate {
             try {
                 zos.closeEntry();
                 zos.close();
-                baos.close();
             } catch (IOException e) {
                 LOG.error("While closing StreamResult's backend", e);
             }
 
-            execution.setExecResult(baos.toByteArray());
             execution.setMessage(reportExecutionMessage.toString());
             execution.setEnd(new Date());
             reportExecDAO.save(execution);
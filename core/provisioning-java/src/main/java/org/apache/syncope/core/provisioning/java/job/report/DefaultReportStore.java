@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.apache.syncope.core.provisioning.api.job.report.ReportStore;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link ReportStore} keeping execution results as files under the configured directory - one sub-directory per
+ * domain; results are written to a temporary file first, then atomically moved into place. Results of executions
+ * stored before a directory was configured are still read from the {@code ReportExec} table.
+ *
+ * When no directory is configured, results are spooled to a temporary file while being generated and then copied
+ * into the {@code ReportExec} table: in such case, each complete result is loaded in memory when stored and read.
+ */
+public class DefaultReportStore implements ReportStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultReportStore.class);
+
+    protected Path directory;
+
+    public void setDirectory(final String directory) {
+        this.directory = StringUtils.isBlank(directory) ? null : Paths.get(directory);
+    }
+
+    protected Path path(final ReportExec execution) {
+        return directory.resolve(AuthContextUtils.getDomain()).resolve(execution.getKey() + ".zip");
+    }
+
+    protected boolean isFileBased(final ReportExec execution) {
+        return directory != null && Files.exists(path(execution));
+    }
+
+    @Override
+    public OutputStream openForWrite(final ReportExec execution) throws IOException {
+        Path target;
+        Path tmp;
+        if (directory == null) {
+            target = null;
+            tmp = Files.createTempFile("report-" + execution.getKey(), ".zip");
+        } else {
+            target = path(execution);
+            Files.createDirectories(target.getParent());
+            tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        }
+
+        return new FilterOutputStream(Files.newOutputStream(tmp)) {
+
+            private boolean closed;
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+
+                try {
+                    super.close();
+                    if (target == null) {
+                        execution.setExecResult(Files.readAllBytes(tmp));
+                    } else {
+                        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean exists(final ReportExec execution) {
+        return isFileBased(execution) || execution.getExecResult() != null;
+    }
+
+    @Override
+    public InputStream openForRead(final ReportExec execution) throws IOException {
+        if (isFileBased(execution)) {
+            return Files.newInputStream(path(execution));
+        }
+
+        byte[] execResult = execution.getExecResult();
+        if (execResult == null) {
+            throw new FileNotFoundException("No result available for report execution " + execution.getKey());
+        }
+        return new ByteArrayInputStream(execResult);
+    }
+
+    @Override
+    public void delete(final ReportExec execution) {
+        if (directory == null) {
+            return;
+        }
+
+        Path path = path(execution);
+        Runnable delete = () -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOG.error("While deleting result of report execution {}", execution.getKey(), e);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    delete.run();
+                }
+            });
+        } else {
+            delete.run();
+        }
+    }
+}
@@ -307,9 +307,7 @@ public class GroupReportlet extends AbstractReportlet {
 
         status.set("Processing " + total + " groups in " + pages + " pages");
 
-        for (int page = 1; page <= pages; page++) {
-            status.set("Processing " + total + " groups: page " + page + " of " + pages);
-
+        extractPages(handler, pages, (pageHandler, page) -> {
             List<Group> groups;
             if (StringUtils.isBlank(this.conf.getMatchingCond())) {
                 groups = groupDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE);
@@ -323,9 +321,7 @@ public class GroupReportlet extends AbstractReportlet {
                         AnyTypeKind.USER);
             }
 
-            doExtract(handler, groups);
-
-            status.set("Processed " + total + " groups: page " + page + " of " + pages);
-        }
+            doExtract(pageHandler, groups);
+        }, page -> status.set("Processing " + total + " groups: page " + page + " of " + pages));
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import java.util.concurrent.Executor;
+import javax.annotation.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Renders single pages of reportlet content in memory, within a read-only transaction; used by reportlets for
+ * preparing the next page on {@link #getExecutor()} while the current one is being written.
+ */
+@Component
+public class ReportPageRenderer {
+
+    @FunctionalInterface
+    public interface PageExtractor {
+
+        void extract(ContentHandler handler, int page) throws SAXException;
+    }
+
+    @Resource(name = "reportPageExecutor")
+    private Executor executor;
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Transactional(readOnly = true)
+    public SAXBuffer render(final PageExtractor extractor, final int page) throws SAXException {
+        SAXBuffer buffer = new SAXBuffer();
+        extractor.extract(buffer, page);
+        return buffer;
+    }
+}
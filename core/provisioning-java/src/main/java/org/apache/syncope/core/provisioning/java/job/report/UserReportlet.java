@@ -368,9 +368,7 @@ public class UserReportlet extends AbstractReportlet {
 
         status.set("Processing " + total + " users in " + pages + " pages");
 
-        for (int page = 1; page <= pages; page++) {
-            status.set("Processing " + total + " users: page " + page + " of " + pages);
-
+        extractPages(handler, pages, (pageHandler, page) -> {
             List<User> users;
             if (StringUtils.isBlank(this.conf.getMatchingCond())) {
                 users = userDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE);
@@ -384,7 +382,7 @@ public class UserReportlet extends AbstractReportlet {
                         AnyTypeKind.USER);
             }
 
-            doExtract(handler, users);
-        }
+            doExtract(pageHandler, users);
+        }, page -> status.set("Processing " + total + " users: page " + page + " of " + pages));
     }
 }
@@ -72,6 +72,7 @@ import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.notification.RecipientsProvider;
+import org.apache.syncope.core.provisioning.java.EventRoutingTable;
 import org.apache.syncope.core.provisioning.java.IntAttrNameParser;
 import org.apache.syncope.core.provisioning.java.jexl.JexlUtils;
 import org.apache.syncope.core.spring.ImplementationManager;
@@ -154,6 +155,9 @@ public class DefaultNotificationManager implements NotificationManager {
     @Autowired
     private IntAttrNameParser intAttrNameParser;
 
+    @Autowired
+    private EventRoutingTable eventRoutingTable;
+
     @Transactional(readOnly = true)
     @Override
     public long getMaxRetries() {
@@ -250,6 +254,7 @@ public class DefaultNotificationManager implements NotificationManager {
         return writer.toString();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public boolean notificationsAvailable(
             final AuditElements.EventCategoryType type,
@@ -257,12 +262,7 @@ public class DefaultNotificationManager implements NotificationManager {
             final String subcategory,
             final String event) {
 
-        final String successEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, Result.SUCCESS);
-        final String failureEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, Result.FAILURE);
-        return notificationDAO.findAll().stream().
-                anyMatch(notification -> notification.isActive()
-                && (notification.getEvents().contains(successEvent)
-                || notification.getEvents().contains(failureEvent)));
+        return eventRoutingTable.notificationsAvailable(type, category, subcategory, event);
     }
 
     @Override
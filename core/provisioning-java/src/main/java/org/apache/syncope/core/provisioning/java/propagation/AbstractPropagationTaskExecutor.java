@@ -26,15 +26,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.syncope.common.lib.collections.IteratorChain;
 import org.apache.syncope.common.lib.to.ExecTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditElements.Result;
+import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.common.lib.types.ExecStatus;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.TraceLevel;
@@ -42,7 +44,6 @@ import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
-import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.Connector;
@@ -51,6 +52,8 @@ import org.apache.syncope.core.provisioning.api.TimeoutException;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationActions;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.MappingPlan;
+import org.apache.syncope.core.provisioning.java.MappingPlans;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -74,7 +77,9 @@ import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.ImplementationManager;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.exceptions.AlreadyExistsException;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.AttributeUtil;
@@ -165,6 +170,14 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
     @Autowired
     protected VirAttrCache virAttrCache;
 
+    @Autowired
+    protected MappingPlans mappingPlans;
+
+    /**
+     * Number of remote object reads avoided by lean propagation, per domain and resource.
+     */
+    protected final Map<String, LongAdder> avoidedRemoteReads = new ConcurrentHashMap<>();
+
     protected List<PropagationActions> getPropagationActions(final ExternalResource resource) {
         List<PropagationActions> result = new ArrayList<>();
 
@@ -179,13 +192,15 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         return result;
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
-    protected Uid createOrUpdate(
-            final PropagationTask task,
-            final ConnectorObject beforeObj,
-            final Connector connector,
-            final AtomicReference<Boolean> propagationAttempted) {
-
+    /**
+     * Gets the attributes to be propagated, checking that no mandatory attribute is missing, null or empty.
+     *
+     * @param task propagation task
+     * @param create whether the remote object is going to be created
+     * @return attributes to be propagated
+     * @throws IllegalArgumentException if any mandatory attribute is without value(s)
+     */
+    protected Set<Attribute> attributesToPropagate(final PropagationTask task, final boolean create) {
         // set of attributes to be propagated
         Set<Attribute> attributes = new HashSet<>(task.getAttributes());
 
@@ -195,7 +210,7 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         if (mandatoryMissing != null) {
             attributes.remove(mandatoryMissing);
 
-            if (beforeObj == null) {
+            if (create) {
                 mandatoryAttrNames.addAll(mandatoryMissing.getValue());
             }
         }
@@ -210,6 +225,18 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                     "Not attempted because there are mandatory attributes without value(s): " + mandatoryAttrNames);
         }
 
+        return attributes;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected Uid createOrUpdate(
+            final PropagationTask task,
+            final ConnectorObject beforeObj,
+            final Connector connector,
+            final AtomicReference<Boolean> propagationAttempted) {
+
+        Set<Attribute> attributes = attributesToPropagate(task, beforeObj == null);
+
         Uid result;
         if (beforeObj == null) {
             LOG.debug("Create {} on {}", attributes, task.getResource().getKey());
@@ -273,6 +300,118 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         return result;
     }
 
+    /**
+     * Whether the remote object can be left unread before the operation: this happens with lean propagation, when no
+     * propagation actions are configured and either a new object is being created or the connector object key is
+     * the Uid and is not changing, so that the remote object can be updated with no need to find it first.
+     *
+     * @param task propagation task
+     * @param connector connector
+     * @param provision provision
+     * @param actions propagation actions
+     * @return whether the remote object can be left unread before the operation
+     */
+    protected boolean isLeanBefore(
+            final PropagationTask task,
+            final Connector connector,
+            final Provision provision,
+            final List<PropagationActions> actions) {
+
+        if (!task.getResource().isLeanPropagation() || provision == null || !actions.isEmpty()) {
+            return false;
+        }
+
+        switch (task.getOperation()) {
+            case CREATE:
+                return true;
+
+            case UPDATE:
+                return (task.getOldConnObjectKey() == null
+                        || task.getOldConnObjectKey().equals(task.getConnObjectKey()))
+                        && connector.getConnInstance().getCapabilities().contains(ConnectorCapability.UPDATE)
+                        && MappingUtils.getConnObjectKeyItem(provision).
+                                filter(item -> Uid.NAME.equals(item.getExtAttrName())).isPresent();
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Whether the remote object can be left unread after the operation: this happens with lean propagation, when no
+     * propagation actions are configured and no virtual attribute values need to be cached.
+     *
+     * @param task propagation task
+     * @param provision provision
+     * @param actions propagation actions
+     * @return whether the remote object can be left unread after the operation
+     */
+    protected boolean isLeanAfter(
+            final PropagationTask task,
+            final Provision provision,
+            final List<PropagationActions> actions) {
+
+        return task.getResource().isLeanPropagation() && provision != null && actions.isEmpty()
+                && mappingPlans.get(provision).getLinkingItems().isEmpty();
+    }
+
+    protected void avoidedRemoteRead(final PropagationTask task) {
+        avoidedRemoteReads.computeIfAbsent(
+                AuthContextUtils.getDomain() + '/' + task.getResource().getKey(), k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public Map<String, Long> getAvoidedRemoteReads() {
+        return avoidedRemoteReads.entrySet().stream().
+                collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    /**
+     * Creates or updates the remote object without reading it first; the remote object is read only if the
+     * assumption about its existence turns out to be wrong, and then {@link #createOrUpdate} is invoked.
+     *
+     * @param task propagation task
+     * @param connector connector
+     * @param provision provision
+     * @param propagationAttempted flag to state whether any propagation has been attempted
+     * @return Uid of the created or updated remote object
+     */
+    protected Uid leanCreateOrUpdate(
+            final PropagationTask task,
+            final Connector connector,
+            final Provision provision,
+            final AtomicReference<Boolean> propagationAttempted) {
+
+        try {
+            if (task.getOperation() == ResourceOperation.CREATE) {
+                return createOrUpdate(task, null, connector, propagationAttempted);
+            }
+
+            Set<Attribute> attributes = attributesToPropagate(task, false);
+
+            // the remote object is found by Uid, which is not changing
+            Uid uid = new Uid(task.getConnObjectKey());
+            attributes.removeIf(attr -> Uid.NAME.equals(attr.getName()));
+
+            // Name is only propagated when not simply following the unchanged Uid
+            Name name = AttributeUtil.getNameFromAttributes(attributes);
+            if (name != null && name.getNameValue().equals(uid.getUidValue())) {
+                LOG.debug("Remote object name unchanged");
+                attributes.remove(name);
+            }
+
+            LOG.debug("Update {} with {} on {}", attributes, uid, task.getResource().getKey());
+            return connector.update(
+                    new ObjectClass(task.getObjectClassName()), uid, attributes, null, propagationAttempted);
+        } catch (AlreadyExistsException | UnknownUidException e) {
+            LOG.debug("Lean {} failed for {} on {}, reading remote object",
+                    task.getOperation(), task.getConnObjectKey(), task.getResource().getKey(), e);
+
+            return createOrUpdate(
+                    task, getRemoteObject(task, connector, provision, false), connector, propagationAttempted);
+        }
+    }
+
     protected Uid delete(
             final PropagationTask task,
             final ConnectorObject beforeObj,
@@ -390,13 +529,18 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         OrgUnit orgUnit = null;
         Uid uid = null;
         Connector connector = null;
+        boolean leanBefore = false;
         Result result;
         try {
             provision = task.getResource().getProvision(new ObjectClass(task.getObjectClassName())).orElse(null);
             orgUnit = task.getResource().getOrgUnit();
             connector = connFactory.getConnector(task.getResource());
 
-            if (taskInfo.getBeforeObj() == null) {
+            if (taskInfo.getBeforeObj() == null && isLeanBefore(task, connector, provision, actions)) {
+                LOG.debug("Lean propagation, not reading {} before {}", task.getConnObjectKey(), task.getOperation());
+                leanBefore = true;
+                avoidedRemoteRead(task);
+            } else if (taskInfo.getBeforeObj() == null) {
                 // Try to read remote object BEFORE any actual operation
                 beforeObj = provision == null && orgUnit == null
                         ? null
@@ -414,7 +558,9 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             switch (task.getOperation()) {
                 case CREATE:
                 case UPDATE:
-                    uid = createOrUpdate(task, beforeObj, connector, propagationAttempted);
+                    uid = leanBefore
+                            ? leanCreateOrUpdate(task, connector, provision, propagationAttempted)
+                            : createOrUpdate(task, beforeObj, connector, propagationAttempted);
                     break;
 
                 case DELETE:
@@ -461,10 +607,13 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             actions.forEach(action -> action.onError(task, execution, e));
         } finally {
             // Try to read remote object AFTER any actual operation
-            if (connector != null) {
-                if (uid != null) {
-                    task.setConnObjectKey(uid.getUidValue());
-                }
+            if (connector != null && uid != null) {
+                task.setConnObjectKey(uid.getUidValue());
+            }
+            if (connector != null && isLeanAfter(task, provision, actions)) {
+                LOG.debug("Lean propagation, not reading {} after {}", task.getConnObjectKey(), task.getOperation());
+                avoidedRemoteRead(task);
+            } else if (connector != null) {
                 try {
                     afterObj = provision == null && orgUnit == null
                             ? null
@@ -629,10 +778,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         boolean isLinkedAccount = task.getAnyTypeKind() == AnyTypeKind.USER
                 && userDAO.linkedAccountExists(task.getEntityKey(), connObjectKey);
 
-        Set<MappingItem> linkingMappingItems = isLinkedAccount
-                ? Set.of()
-                : virSchemaDAO.findByProvision(provision).stream().
-                        map(VirSchema::asLinkingMappingItem).collect(Collectors.toSet());
+        MappingPlan plan = mappingPlans.get(provision);
+        Map<String, String> linkingItems = isLinkedAccount ? Map.of() : plan.getLinkingItems();
 
         Optional<? extends MappingItem> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
         String connObjectKeyName = connObjectKeyItem.isPresent()
@@ -645,19 +792,17 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                     new ObjectClass(task.getObjectClassName()),
                     AttributeBuilder.build(connObjectKeyName, connObjectKey),
                     provision.isIgnoreCaseMatch(),
-                    MappingUtils.buildOperationOptions(new IteratorChain<>(
-                            MappingUtils.getPropagationItems(provision.getMapping().getItems()).iterator(),
-                            linkingMappingItems.iterator())));
+                    plan.getPropagationOptions(!isLinkedAccount));
 
-            for (MappingItem item : linkingMappingItems) {
-                Attribute attr = obj.getAttributeByName(item.getExtAttrName());
+            for (Map.Entry<String, String> item : linkingItems.entrySet()) {
+                Attribute attr = obj.getAttributeByName(item.getKey());
                 if (attr == null) {
-                    virAttrCache.expire(task.getAnyType(), task.getEntityKey(), item.getIntAttrName());
+                    virAttrCache.expire(task.getAnyType(), task.getEntityKey(), item.getValue());
                 } else {
                     virAttrCache.put(
                             task.getAnyType(),
                             task.getEntityKey(),
-                            item.getIntAttrName(),
+                            item.getValue(),
                             new VirAttrCacheValue(attr.getValue()));
                 }
             }
@@ -697,8 +842,7 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                 obj = connector.getObject(new ObjectClass(task.getObjectClassName()),
                         AttributeBuilder.build(connObjectKeyItem.get().getExtAttrName(), connObjectKey),
                         orgUnit.isIgnoreCaseMatch(),
-                        MappingUtils.buildOperationOptions(
-                                MappingUtils.getPropagationItems(orgUnit.getItems()).iterator()));
+                        mappingPlans.get(orgUnit).getPropagationOptions(false));
             } catch (TimeoutException toe) {
                 LOG.debug("Request timeout", toe);
                 throw toe;
@@ -59,6 +59,26 @@ public class DefaultPropagationTaskCallable implements PropagationTaskCallable {
         authorities = ctx.getAuthentication().getAuthorities();
     }
 
+    /**
+     * Builds a callable not managed by Spring, with the given security context.
+     *
+     * @param taskExecutor propagation task executor
+     * @param domain domain
+     * @param username user to run the task as
+     * @param authorities authorities to run the task with
+     */
+    public DefaultPropagationTaskCallable(
+            final PropagationTaskExecutor taskExecutor,
+            final String domain,
+            final String username,
+            final Collection<? extends GrantedAuthority> authorities) {
+
+        this.taskExecutor = taskExecutor;
+        this.domain = domain;
+        this.username = username;
+        this.authorities = authorities;
+    }
+
     @Override
     public void setTaskInfo(final PropagationTaskInfo taskInfo) {
         this.taskInfo = taskInfo;
@@ -75,14 +95,22 @@ public class DefaultPropagationTaskCallable implements PropagationTaskCallable {
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                 new User(username, "FAKE_PASSWORD", authorities), "FAKE_PASSWORD", authorities);
         auth.setDetails(new SyncopeAuthenticationDetails(domain));
-        SecurityContextHolder.getContext().setAuthentication(auth);
 
-        LOG.debug("Execution started for {}", taskInfo);
+        // the current thread might be a request thread: restore its own security context afterwards
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext ctx = SecurityContextHolder.createEmptyContext();
+        ctx.setAuthentication(auth);
+        SecurityContextHolder.setContext(ctx);
+        try {
+            LOG.debug("Execution started for {}", taskInfo);
 
-        TaskExec execution = taskExecutor.execute(taskInfo, reporter);
+            TaskExec execution = taskExecutor.execute(taskInfo, reporter);
 
-        LOG.debug("Execution completed for {}, {}", taskInfo, execution);
+            LOG.debug("Execution completed for {}, {}", taskInfo, execution);
 
-        return execution;
+            return execution;
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
     }
 }
@@ -23,17 +23,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import javax.annotation.Resource;
 import org.apache.syncope.common.lib.types.ExecStatus;
 import org.apache.syncope.core.persistence.api.entity.Exec;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
@@ -42,39 +38,65 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationException;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskCallable;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
-import org.springframework.beans.factory.support.AbstractBeanDefinition;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * Sorts the tasks to be executed according to related
  * {@link org.apache.syncope.core.persistence.api.entity.resource.ExternalResource}'s priority, then execute.
- * Tasks related to resources with NULL priority are executed after other tasks, concurrently.
+ * Tasks related to resources with NULL priority are executed after other tasks, concurrently, via
+ * {@link PropagationLanes}.
  * Failure during execution of a task related to resource with non-NULL priority are treated as fatal and will interrupt
  * the whole process, resulting in a global failure.
  */
 public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExecutor {
 
-    @Resource(name = "propagationTaskExecutorAsyncExecutor")
-    protected ThreadPoolTaskExecutor executor;
+    @Autowired
+    protected PropagationLanes lanes;
 
     /**
-     * Creates new instances of {@link PropagationTaskCallable} for usage with
-     * {@link java.util.concurrent.CompletionService}.
+     * This executor as Spring bean, so that tasks run by callables are executed within transactions.
+     */
+    protected volatile PropagationTaskExecutor taskExecutorBean;
+
+    protected PropagationTaskExecutor taskExecutorBean() {
+        if (taskExecutorBean == null) {
+            taskExecutorBean = ApplicationContextProvider.getBeanFactory().getBean(PropagationTaskExecutor.class);
+        }
+        return taskExecutorBean;
+    }
+
+    /**
+     * Returns a factory of {@link PropagationTaskCallable} instances running with the security context of the
+     * calling thread; being cheap to build, callables are built only when actually needed, as tasks might be merged
+     * into queued ones.
      *
-     * @param taskInfo to be executed
-     * @param reporter to report propagation execution status
-     * @return new {@link PropagationTaskCallable} instance for usage with
-     * {@link java.util.concurrent.CompletionService}
+     * @return factory of {@link PropagationTaskCallable} instances
      */
+    protected Supplier<PropagationTaskCallable> newPropagationTaskCallables() {
+        PropagationTaskExecutor taskExecutor = taskExecutorBean();
+        String domain = AuthContextUtils.getDomain();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+        Collection<? extends GrantedAuthority> authorities = auth.getAuthorities();
+
+        return () -> new DefaultPropagationTaskCallable(taskExecutor, domain, username, authorities);
+    }
+
     protected static PropagationTaskCallable newPropagationTaskCallable(
-            final PropagationTaskInfo taskInfo, final PropagationReporter reporter) {
+            final Supplier<PropagationTaskCallable> callables,
+            final PropagationTaskInfo taskInfo,
+            final PropagationReporter reporter) {
 
-        PropagationTaskCallable callable = (PropagationTaskCallable) ApplicationContextProvider.getBeanFactory().
-                createBean(DefaultPropagationTaskCallable.class, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
+        PropagationTaskCallable callable = callables.get();
         callable.setTaskInfo(taskInfo);
         callable.setReporter(reporter);
-
         return callable;
     }
 
@@ -104,6 +126,8 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             }
         });
 
+        Supplier<PropagationTaskCallable> callables = newPropagationTaskCallables();
+
         prioritizedTasks.sort(new PriorityComparator(taskToResource));
         LOG.debug("Propagation tasks sorted by priority, for serial execution: {}", prioritizedTasks);
 
@@ -117,7 +141,7 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             ExecStatus execStatus;
             String errorMessage = null;
             try {
-                execution = newPropagationTaskCallable(task, reporter).call();
+                execution = newPropagationTaskCallable(callables, task, reporter).call();
                 execStatus = ExecStatus.valueOf(execution.getStatus());
             } catch (Exception e) {
                 LOG.error("Unexpected exception", e);
@@ -131,41 +155,34 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             }
         });
 
-        // then process non-priority resources concurrently...
-        CompletionService<TaskExec> completionService = new ExecutorCompletionService<>(executor);
-        Map<PropagationTaskInfo, Future<TaskExec>> nullPriority = new HashMap<>(concurrentTasks.size());
+        // then submit non-priority resources to their lanes...
+        Map<PropagationTaskInfo, CompletableFuture<TaskExec>> nullPriority = new HashMap<>(concurrentTasks.size());
         concurrentTasks.forEach(taskInfo -> {
             try {
-                nullPriority.put(
-                        taskInfo,
-                        completionService.submit(newPropagationTaskCallable(taskInfo, reporter)));
+                nullPriority.put(taskInfo, lanes.submit(taskToResource.get(taskInfo), taskInfo, reporter, callables));
+            } catch (TaskRejectedException e) {
+                LOG.debug("{} was not queued, running in the current thread", taskInfo, e);
+                try {
+                    nullPriority.put(taskInfo, CompletableFuture.completedFuture(
+                            newPropagationTaskCallable(callables, taskInfo, reporter).call()));
+                } catch (Exception ex) {
+                    LOG.error("Unexpected exception", ex);
+                }
             } catch (Exception e) {
                 LOG.error("Unexpected exception", e);
             }
         });
-        // ...waiting for all callables to complete, if async processing was not required
+        // ...waiting for all of them to complete, if async processing was not required
         if (!nullPriority.isEmpty()) {
             if (nullPriorityAsync) {
                 nullPriority.forEach((task, exec)
                         -> reporter.onSuccessOrNonPriorityResourceFailures(task, ExecStatus.CREATED, null, null, null));
             } else {
-                final Set<Future<TaskExec>> nullPriorityFutures = new HashSet<>(nullPriority.values());
                 try {
-                    executor.submit(() -> {
-                        while (!nullPriorityFutures.isEmpty()) {
-                            try {
-                                nullPriorityFutures.remove(completionService.take());
-                            } catch (Exception e) {
-                                LOG.error("Unexpected exception", e);
-                            }
-                        }
-                    }).get(connRequestTimeout[0], TimeUnit.SECONDS);
+                    CompletableFuture.allOf(nullPriority.values().toArray(CompletableFuture[]::new)).
+                            get(connRequestTimeout[0], TimeUnit.SECONDS);
                 } catch (Exception e) {
                     LOG.error("Unexpected exception", e);
-                } finally {
-                    nullPriorityFutures.forEach(future -> future.cancel(true));
-                    nullPriorityFutures.clear();
-                    nullPriority.clear();
                 }
             }
         }
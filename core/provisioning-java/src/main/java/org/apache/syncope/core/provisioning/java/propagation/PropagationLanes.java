@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskCallable;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Runs propagation tasks in per-{@link ExternalResource} lanes, each with its own concurrency cap and queue bound, so
+ * that a slow resource cannot hold all the threads of the shared executor.
+ *
+ * While waiting in the queue, tasks for the same connector object are merged into a single task: the latest
+ * attribute values win, and the resulting execution is reported to all the merged submissions.
+ * When a lane queue is full, or the shared executor rejects work, the task being submitted is handed back to the
+ * caller by means of {@link TaskRejectedException}; queued tasks are never run by the submitting thread.
+ */
+public class PropagationLanes {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropagationLanes.class);
+
+    /**
+     * Queued propagation task, possibly resulting from the merge of several submissions.
+     */
+    protected static class Pending {
+
+        protected final Supplier<PropagationTaskCallable> callables;
+
+        protected final PropagationReporter reporter;
+
+        protected PropagationTaskInfo taskInfo;
+
+        protected final CompletableFuture<TaskExec> future = new CompletableFuture<>();
+
+        protected final List<Pair<PropagationTaskInfo, PropagationReporter>> merged = new ArrayList<>();
+
+        protected Pending(
+                final PropagationTaskInfo taskInfo,
+                final PropagationReporter reporter,
+                final Supplier<PropagationTaskCallable> callables) {
+
+            this.taskInfo = taskInfo;
+            this.reporter = reporter;
+            this.callables = callables;
+        }
+
+        protected void run() {
+            TaskExec execution = null;
+            try {
+                PropagationTaskCallable callable = callables.get();
+                callable.setTaskInfo(taskInfo);
+                callable.setReporter(reporter);
+
+                execution = callable.call();
+                future.complete(execution);
+            } catch (Throwable t) {
+                LOG.error("While executing {}", taskInfo, t);
+                future.completeExceptionally(t);
+            }
+
+            ExecStatus status = Optional.ofNullable(execution).
+                    map(exec -> ExecStatus.valueOf(exec.getStatus())).orElse(ExecStatus.FAILURE);
+            String failureReason = status == ExecStatus.SUCCESS
+                    ? null
+                    : Optional.ofNullable(execution).map(TaskExec::getMessage).orElse(null);
+            merged.forEach(submission -> submission.getRight().onSuccessOrNonPriorityResourceFailures(
+                    submission.getLeft(), status, failureReason, null, null));
+        }
+    }
+
+    protected static String key(final String objectClassName, final String connObjectKey) {
+        return objectClassName + '|' + connObjectKey;
+    }
+
+    protected static Attribute[] attributes(final PropagationTaskInfo taskInfo) {
+        return StringUtils.isBlank(taskInfo.getAttributes())
+                ? new Attribute[0]
+                : POJOHelper.deserialize(taskInfo.getAttributes(), Attribute[].class);
+    }
+
+    /**
+     * Merges the given task into the queued one, if they refer to the same connector object and the result is
+     * equivalent to running both in sequence.
+     *
+     * @param queued queued task
+     * @param next task being submitted
+     * @return whether the given task was merged
+     */
+    protected static boolean merge(final PropagationTaskInfo queued, final PropagationTaskInfo next) {
+        if (queued.getKey() != null || next.getKey() != null
+                || queued.getOperation() == ResourceOperation.DELETE
+                || !Objects.equals(queued.getEntityKey(), next.getEntityKey())
+                || !Objects.equals(queued.getAnyTypeKind(), next.getAnyTypeKind())) {
+
+            return false;
+        }
+
+        if (next.getOperation() == ResourceOperation.DELETE) {
+            queued.setOperation(ResourceOperation.DELETE);
+            queued.setAttributes(next.getAttributes());
+        } else {
+            if (queued.getOperation() != ResourceOperation.CREATE) {
+                queued.setOperation(next.getOperation());
+            }
+
+            Map<String, Attribute> attrs = new LinkedHashMap<>();
+            Stream.of(attributes(queued)).forEach(attr -> attrs.put(attr.getName(), attr));
+            Stream.of(attributes(next)).forEach(attr -> attrs.put(attr.getName(), attr));
+            queued.setAttributes(POJOHelper.serialize(attrs.values()));
+        }
+
+        // the connector object was not yet renamed on the resource, if queued was renaming it
+        if (queued.getOldConnObjectKey() == null
+                && !Objects.equals(queued.getConnObjectKey(), next.getConnObjectKey())) {
+            queued.setOldConnObjectKey(queued.getConnObjectKey());
+        }
+        queued.setConnObjectKey(next.getConnObjectKey());
+        if (queued.getBeforeObj() == null) {
+            queued.setBeforeObj(next.getBeforeObj());
+        }
+
+        return true;
+    }
+
+    /**
+     * Propagation lane for a single resource.
+     */
+    protected class Lane {
+
+        protected final int maxConcurrency;
+
+        protected final int queueCapacity;
+
+        protected final Deque<Pending> queue = new ArrayDeque<>();
+
+        /**
+         * Latest queued task for each connector object, where further tasks can be merged.
+         */
+        protected final Map<String, Pending> mergeable = new HashMap<>();
+
+        protected int running;
+
+        protected Lane(final int maxConcurrency, final int queueCapacity) {
+            this.maxConcurrency = maxConcurrency;
+            this.queueCapacity = queueCapacity;
+        }
+
+        protected boolean matches(final int maxConcurrency, final int queueCapacity) {
+            return this.maxConcurrency == maxConcurrency && this.queueCapacity == queueCapacity;
+        }
+
+        protected CompletableFuture<TaskExec> submit(
+                final PropagationTaskInfo taskInfo,
+                final PropagationReporter reporter,
+                final Supplier<PropagationTaskCallable> callables) {
+
+            Pending pending;
+            synchronized (this) {
+                String lookup = key(taskInfo.getObjectClassName(),
+                        Optional.ofNullable(taskInfo.getOldConnObjectKey()).orElse(taskInfo.getConnObjectKey()));
+                Pending previous = mergeable.get(lookup);
+                if (previous != null && merge(previous.taskInfo, taskInfo)) {
+                    LOG.debug("Merged {} into queued {}", taskInfo, previous.taskInfo);
+
+                    previous.merged.add(Pair.of(taskInfo, reporter));
+                    String key = key(previous.taskInfo.getObjectClassName(), previous.taskInfo.getConnObjectKey());
+                    if (!key.equals(lookup)) {
+                        mergeable.remove(lookup);
+                        mergeable.put(key, previous);
+                    }
+                    return previous.future;
+                }
+
+                if (queue.size() >= queueCapacity) {
+                    throw new TaskRejectedException("Propagation queue for " + taskInfo.getResource() + " is full");
+                }
+
+                pending = new Pending(taskInfo, reporter, callables);
+                queue.add(pending);
+                mergeable.put(key(taskInfo.getObjectClassName(), taskInfo.getConnObjectKey()), pending);
+            }
+
+            if (!dispatch()) {
+                synchronized (this) {
+                    // hand the task back, unless other submissions were merged into it meanwhile
+                    if (pending.merged.isEmpty() && queue.remove(pending)) {
+                        mergeable.remove(key(taskInfo.getObjectClassName(), taskInfo.getConnObjectKey()), pending);
+                        throw new TaskRejectedException("Propagation executor is saturated");
+                    }
+                }
+            }
+            return pending.future;
+        }
+
+        /**
+         * Starts draining the queue on the shared executor, unless the lane is already running at its concurrency
+         * cap; if the executor rejects work, the lane is stalled until any lane completes draining.
+         *
+         * @return false if the executor rejected work, true otherwise
+         */
+        protected boolean dispatch() {
+            synchronized (this) {
+                if (running >= maxConcurrency || queue.isEmpty()) {
+                    return true;
+                }
+                running++;
+            }
+
+            try {
+                executor.execute(this::drain);
+                return true;
+            } catch (TaskRejectedException e) {
+                LOG.debug("Propagation executor is saturated, stalling lane", e);
+                synchronized (this) {
+                    running--;
+                }
+                stalled.add(this);
+                return false;
+            }
+        }
+
+        protected Pending poll() {
+            synchronized (this) {
+                Pending next = queue.poll();
+                if (next == null) {
+                    running--;
+                } else {
+                    mergeable.remove(key(next.taskInfo.getObjectClassName(), next.taskInfo.getConnObjectKey()), next);
+                }
+                return next;
+            }
+        }
+
+        protected void drain() {
+            Pending next;
+            while ((next = poll()) != null) {
+                next.run();
+            }
+
+            // executor threads are available again: resume stalled lanes
+            new ArrayList<>(stalled).forEach(lane -> {
+                if (stalled.remove(lane)) {
+                    lane.dispatch();
+                }
+            });
+        }
+    }
+
+    protected final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Lanes with queued tasks, whose dispatch was rejected by the shared executor.
+     */
+    protected final Set<Lane> stalled = ConcurrentHashMap.newKeySet();
+
+    protected Executor executor;
+
+    protected int maxConcurrency = 5;
+
+    protected int queueCapacity = 100;
+
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    public void setMaxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    protected Lane lane(final ExternalResource resource) {
+        int laneConcurrency = Optional.ofNullable(resource.getPropagationMaxConcurrency()).orElse(maxConcurrency);
+        int laneCapacity = Optional.ofNullable(resource.getPropagationQueueCapacity()).orElse(queueCapacity);
+
+        return lanes.compute(
+                AuthContextUtils.getDomain() + '/' + resource.getKey(),
+                (key, lane) -> lane == null || !lane.matches(laneConcurrency, laneCapacity)
+                ? new Lane(laneConcurrency, laneCapacity)
+                : lane);
+    }
+
+    /**
+     * Submits the given task to the lane of the given resource.
+     *
+     * @param resource resource
+     * @param taskInfo task to execute
+     * @param reporter to report propagation execution status
+     * @param callables builds the callable for running the task, only invoked when the task is run: not if the task
+     * is merged into a queued one
+     * @return future completed once the task - or the one it was merged into - was executed
+     * @throws TaskRejectedException if the lane queue is full or the shared executor is saturated: the task was not
+     * queued, and it is up to the caller to run it
+     */
+    public CompletableFuture<TaskExec> submit(
+            final ExternalResource resource,
+            final PropagationTaskInfo taskInfo,
+            final PropagationReporter reporter,
+            final Supplier<PropagationTaskCallable> callables) {
+
+        return lane(resource).submit(taskInfo, reporter, callables);
+    }
+
+    public Map<String, Integer> getQueueSizes() {
+        return lanes.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> {
+            synchronized (entry.getValue()) {
+                return entry.getValue().queue.size();
+            }
+        }));
+    }
+}
@@ -19,9 +19,7 @@
 package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.BooleanUtils;
@@ -52,13 +50,12 @@ import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
 import org.apache.syncope.core.provisioning.api.pushpull.IgnoreProvisionException;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
-import org.apache.syncope.core.provisioning.java.job.AfterHandlingJob;
+import org.apache.syncope.core.provisioning.java.job.AfterHandlingDispatcher;
 import org.apache.syncope.core.provisioning.java.propagation.DefaultPropagationReporter;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -84,7 +81,7 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
     protected MappingManager mappingManager;
 
     @Autowired
-    protected SchedulerFactoryBean scheduler;
+    protected AfterHandlingDispatcher afterHandlingDispatcher;
 
     protected abstract String getName(Any<?> any);
 
@@ -226,16 +223,20 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
             doHandle(any, provision);
             return true;
         } catch (IgnoreProvisionException e) {
-            ProvisioningReport ignoreResult = profile.getResults().stream().
-                    filter(report -> anyKey.equalsIgnoreCase(report.getKey())).
-                    findFirst().
-                    orElse(null);
-            if (ignoreResult == null) {
-                ignoreResult = new ProvisioningReport();
-                ignoreResult.setKey(anyKey);
-                ignoreResult.setAnyType(Optional.ofNullable(any).map(any1 -> any1.getType().getKey()).orElse(null));
-
-                profile.getResults().add(ignoreResult);
+            ProvisioningReport ignoreResult;
+            synchronized (profile.getResults()) {
+                ignoreResult = profile.getResults().stream().
+                        filter(report -> anyKey.equalsIgnoreCase(report.getKey())).
+                        findFirst().
+                        orElse(null);
+                if (ignoreResult == null) {
+                    ignoreResult = new ProvisioningReport();
+                    ignoreResult.setKey(anyKey);
+                    ignoreResult.setAnyType(
+                            Optional.ofNullable(any).map(any1 -> any1.getType().getKey()).orElse(null));
+
+                    profile.getResults().add(ignoreResult);
+                }
             }
 
             ignoreResult.setOperation(ResourceOperation.NONE);
@@ -477,8 +478,7 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
                 throw new JobExecutionException(e);
             } finally {
                 if (notificationsAvailable || auditRequested) {
-                    Map<String, Object> jobMap = new HashMap<>();
-                    jobMap.put(AfterHandlingEvent.JOBMAP_KEY, new AfterHandlingEvent(
+                    afterHandlingDispatcher.dispatch(new AfterHandlingEvent(
                             AuthContextUtils.getUsername(),
                             AuditElements.EventCategoryType.PUSH,
                             any.getType().getKind().name().toLowerCase(),
@@ -488,7 +488,6 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
                             beforeObj,
                             output,
                             any));
-                    AfterHandlingJob.schedule(scheduler, jobMap);
                 }
             }
         }
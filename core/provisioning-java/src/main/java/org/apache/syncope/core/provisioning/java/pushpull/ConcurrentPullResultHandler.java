@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Dispatches the {@link SyncDelta} instances received from the connector to a pool of workers, each owning its
+ * own {@link SyncopePullResultHandler} and bounded queue.
+ *
+ * Deltas are routed to workers by {@link org.identityconnectors.framework.common.objects.Uid} value, so that all
+ * deltas about the same remote object are handled in the order they were received; as each handler invocation runs
+ * in its own transaction, the latest sync token is only advanced past deltas which were successfully committed,
+ * together with all the deltas received before them.
+ */
+public class ConcurrentPullResultHandler implements SyncResultsHandler {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ConcurrentPullResultHandler.class);
+
+    protected static final Item END = new Item(-1, null);
+
+    protected static class Item {
+
+        protected final long seq;
+
+        protected final SyncDelta delta;
+
+        protected Item(final long seq, final SyncDelta delta) {
+            this.seq = seq;
+            this.delta = delta;
+        }
+    }
+
+    protected final SyncopePullExecutor executor;
+
+    protected final ObjectClass objectClass;
+
+    protected final List<Worker> workers = new ArrayList<>();
+
+    protected final ThreadPoolTaskExecutor tpte;
+
+    protected final List<Future<?>> futures = new ArrayList<>();
+
+    protected final Map<Long, SyncToken> completed = new TreeMap<>();
+
+    protected long dispatched = 0;
+
+    protected long nextToCommit = 0;
+
+    protected volatile boolean stopped = false;
+
+    public ConcurrentPullResultHandler(
+            final SyncopePullExecutor executor,
+            final ObjectClass objectClass,
+            final List<? extends SyncopePullResultHandler> handlers,
+            final int queueSize,
+            final String threadNamePrefix) {
+
+        this.executor = executor;
+        this.objectClass = objectClass;
+
+        int workerQueueSize = Math.max(1, queueSize / handlers.size());
+        handlers.forEach(handler -> workers.add(new Worker(handler, workerQueueSize)));
+
+        tpte = new ThreadPoolTaskExecutor();
+        tpte.setCorePoolSize(handlers.size());
+        tpte.setMaxPoolSize(handlers.size());
+        tpte.setThreadNamePrefix(threadNamePrefix);
+        tpte.initialize();
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        workers.forEach(worker -> futures.add(tpte.submit(() -> {
+            SecurityContextHolder.getContext().setAuthentication(auth);
+            try {
+                worker.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        })));
+    }
+
+    @Override
+    public boolean handle(final SyncDelta delta) {
+        if (executor.wasInterruptRequested()) {
+            LOG.debug("Pull interrupted");
+            executor.setInterrupted();
+            return false;
+        }
+        if (stopped) {
+            return false;
+        }
+
+        Worker worker = workers.get(Math.floorMod(delta.getUid().getUidValue().hashCode(), workers.size()));
+        try {
+            worker.queue.put(new Item(dispatched++, delta));
+        } catch (InterruptedException e) {
+            LOG.error("While dispatching {}", delta, e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Signals all workers that no more deltas will be dispatched, then waits for all queued deltas to be handled.
+     */
+    public void shutdown() {
+        workers.forEach(worker -> {
+            try {
+                worker.queue.put(END);
+            } catch (InterruptedException e) {
+                LOG.error("While shutting down {}", worker, e);
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        futures.forEach(future -> {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOG.error("Unexpected error from pull worker", e);
+            } catch (InterruptedException e) {
+                LOG.error("While waiting for pull workers", e);
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        tpte.shutdown();
+    }
+
+    protected void complete(final long seq, final SyncToken token) {
+        synchronized (completed) {
+            completed.put(seq, token);
+
+            while (completed.containsKey(nextToCommit)) {
+                SyncToken committed = completed.remove(nextToCommit++);
+                if (committed != null) {
+                    executor.setLatestSyncToken(objectClass, committed);
+                }
+            }
+        }
+    }
+
+    protected class Worker implements SyncopePullExecutor, Runnable {
+
+        protected final SyncopePullResultHandler handler;
+
+        protected final BlockingQueue<Item> queue;
+
+        protected SyncToken latestSyncToken;
+
+        protected Worker(final SyncopePullResultHandler handler, final int queueSize) {
+            this.handler = handler;
+            this.handler.setPullExecutor(this);
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        @Override
+        public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+            this.latestSyncToken = latestSyncToken;
+        }
+
+        @Override
+        public void reportHandled(final ObjectClass objectClass, final Name name) {
+            executor.reportHandled(objectClass, name);
+        }
+
+        @Override
+        public boolean wasInterruptRequested() {
+            return executor.wasInterruptRequested();
+        }
+
+        @Override
+        public void setInterrupted() {
+            executor.setInterrupted();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Item item;
+                try {
+                    item = queue.take();
+                } catch (InterruptedException e) {
+                    LOG.error("Pull worker interrupted", e);
+                    stopped = true;
+                    return;
+                }
+
+                if (item == END) {
+                    return;
+                }
+                // once stopped, just drain the queue so that the dispatcher is never blocked
+                if (stopped) {
+                    continue;
+                }
+
+                latestSyncToken = null;
+                boolean success;
+                try {
+                    success = handler.handle(item.delta);
+                } catch (Throwable t) {
+                    LOG.error("While handling {}", item.delta, t);
+                    success = false;
+                }
+
+                if (success) {
+                    complete(item.seq, latestSyncToken);
+                } else {
+                    stopped = true;
+                }
+            }
+        }
+    }
+}
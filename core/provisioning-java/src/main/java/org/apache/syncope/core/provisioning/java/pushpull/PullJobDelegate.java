@@ -20,17 +20,14 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
-import org.apache.syncope.common.lib.collections.IteratorChain;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.common.lib.types.PullMode;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
@@ -38,9 +35,7 @@ import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
-import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
-import org.apache.syncope.core.persistence.api.entity.resource.MappingItem;
 import org.apache.syncope.core.persistence.api.entity.resource.OrgUnit;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
@@ -54,12 +49,13 @@ import org.apache.syncope.core.provisioning.api.pushpull.ReconFilterBuilder;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.UserPullResultHandler;
-import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
+import org.apache.syncope.core.provisioning.java.MappingPlans;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.ImplementationManager;
 import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
 import org.identityconnectors.framework.common.objects.SyncToken;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -83,6 +79,9 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Autowired
     protected PullUtils pullUtils;
 
+    @Autowired
+    protected MappingPlans mappingPlans;
+
     @Autowired
     protected AnyUtilsFactory anyUtilsFactory;
 
@@ -95,13 +94,15 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
 
     @Override
     public void reportHandled(final ObjectClass objectClass, final Name name) {
-        MutablePair<Integer, String> pair = handled.get(objectClass);
-        if (pair == null) {
-            pair = MutablePair.of(0, null);
-            handled.put(objectClass, pair);
+        synchronized (handled) {
+            MutablePair<Integer, String> pair = handled.get(objectClass);
+            if (pair == null) {
+                pair = MutablePair.of(0, null);
+                handled.put(objectClass, pair);
+            }
+            pair.setLeft(pair.getLeft() + 1);
+            pair.setRight(name.getNameValue());
         }
-        pair.setLeft(pair.getLeft() + 1);
-        pair.setRight(name.getNameValue());
     }
 
     @Override
@@ -116,7 +117,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
 
     @Override
     public String currentStatus() {
-        synchronized (status) {
+        synchronized (handled) {
             if (!handled.isEmpty()) {
                 StringBuilder builder = new StringBuilder("Processed:\n");
                 handled.forEach((key, value) -> builder.append(' ').append(value.getLeft()).append('\t').
@@ -189,6 +190,52 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         return handler;
     }
 
+    protected boolean isConcurrent(final PullTask pullTask) {
+        return pullTask.getConcurrentWorkers() != null && pullTask.getConcurrentWorkers() > 1;
+    }
+
+    /**
+     * Builds a {@link ConcurrentPullResultHandler} which will dispatch the pulled objects to
+     * {@link PullTask#getConcurrentWorkers()} handlers of the same kind of the given one; as handlers are not
+     * thread-safe, each worker gets its own instance. Any {@link PullActions} configured on the task must be able to
+     * cope with concurrent invocations.
+     *
+     * @param pullTask pull task
+     * @param objectClass object class being pulled
+     * @param handler sequential handler
+     * @param ghandlers group handlers, for later group owners' resolution
+     * @return concurrent handler
+     */
+    protected ConcurrentPullResultHandler buildConcurrentHandler(
+            final PullTask pullTask,
+            final ObjectClass objectClass,
+            final SyncopePullResultHandler handler,
+            final List<GroupPullResultHandler> ghandlers) {
+
+        List<SyncopePullResultHandler> handlers = new ArrayList<>(pullTask.getConcurrentWorkers());
+        handlers.add(handler);
+        for (int i = 1; i < pullTask.getConcurrentWorkers(); i++) {
+            SyncopePullResultHandler worker;
+            if (handler instanceof UserPullResultHandler) {
+                worker = buildUserHandler();
+            } else if (handler instanceof GroupPullResultHandler) {
+                worker = buildGroupHandler();
+                ghandlers.add((GroupPullResultHandler) worker);
+            } else {
+                worker = buildAnyObjectHandler();
+            }
+            worker.setProfile(profile);
+            handlers.add(worker);
+        }
+
+        return new ConcurrentPullResultHandler(
+                this,
+                objectClass,
+                handlers,
+                Optional.ofNullable(pullTask.getConcurrentQueueSize()).orElse(pullTask.getConcurrentWorkers()),
+                "PullJobDelegate-" + pullTask.getKey() + "-");
+    }
+
     @Override
     protected String doExecuteProvisioning(
             final PullTask pullTask,
@@ -228,8 +275,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
             status.set("Pulling " + pullTask.getResource().getOrgUnit().getObjectClass().getObjectClassValue());
 
             OrgUnit orgUnit = pullTask.getResource().getOrgUnit();
-            OperationOptions options = MappingUtils.buildOperationOptions(
-                    MappingUtils.getPullItems(orgUnit.getItems()).iterator());
+            OperationOptions options = mappingPlans.get(orgUnit).getPullOptions();
 
             RealmPullResultHandler handler = buildRealmHandler();
             handler.setProfile(profile);
@@ -278,6 +324,8 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         // ...then provisions for any types
         SyncopePullResultHandler handler;
         GroupPullResultHandler ghandler = buildGroupHandler();
+        List<GroupPullResultHandler> ghandlers = new ArrayList<>();
+        ghandlers.add(ghandler);
         boolean userIgnoreCaseMatch = false;
         boolean groupIgnoreCaseMatch = false;
         for (Provision provision : pullTask.getResource().getProvisions()) {
@@ -306,13 +354,13 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                 handler.setProfile(profile);
                 handler.setPullExecutor(this);
 
+                ConcurrentPullResultHandler concurrentHandler = isConcurrent(pullTask)
+                        ? buildConcurrentHandler(pullTask, provision.getObjectClass(), handler, ghandlers)
+                        : null;
+                SyncResultsHandler resultsHandler = concurrentHandler == null ? handler : concurrentHandler;
+
                 try {
-                    Set<MappingItem> linkingMappingItems = virSchemaDAO.findByProvision(provision).stream().
-                            map(VirSchema::asLinkingMappingItem).collect(Collectors.toSet());
-                    Iterator<MappingItem> mapItems = new IteratorChain<>(
-                            provision.getMapping().getItems().iterator(),
-                            linkingMappingItems.iterator());
-                    OperationOptions options = MappingUtils.buildOperationOptions(mapItems);
+                    OperationOptions options = mappingPlans.get(provision).getPullOptions();
 
                     switch (pullTask.getPullMode()) {
                         case INCREMENTAL:
@@ -323,13 +371,8 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                             connector.sync(
                                     provision.getObjectClass(),
                                     provision.getSyncToken(),
-                                    handler,
+                                    resultsHandler,
                                     options);
-
-                            if (!dryRun) {
-                                provision.setSyncToken(latestSyncTokens.get(provision.getObjectClass()));
-                                resourceDAO.save(provision.getResource());
-                            }
                             break;
 
                         case FILTERED_RECONCILIATION:
@@ -337,18 +380,29 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                                     ImplementationManager.build(pullTask.getReconFilterBuilder());
                             connector.filteredReconciliation(provision.getObjectClass(),
                                     filterBuilder,
-                                    handler,
+                                    resultsHandler,
                                     options);
                             break;
 
                         case FULL_RECONCILIATION:
                         default:
                             connector.fullReconciliation(provision.getObjectClass(),
-                                    handler,
+                                    resultsHandler,
                                     options);
                             break;
                     }
 
+                    // wait for all pulled objects to be handled before moving the sync token forward
+                    if (concurrentHandler != null) {
+                        concurrentHandler.shutdown();
+                        concurrentHandler = null;
+                    }
+
+                    if (pullTask.getPullMode() == PullMode.INCREMENTAL && !dryRun) {
+                        provision.setSyncToken(latestSyncTokens.get(provision.getObjectClass()));
+                        resourceDAO.save(provision.getResource());
+                    }
+
                     if (provision.getUidOnCreate() != null) {
                         AnyUtils anyUtils = anyUtilsFactory.getInstance(provision.getAnyType().getKind());
                         profile.getResults().stream()
@@ -359,11 +413,17 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                     }
                 } catch (Throwable t) {
                     throw new JobExecutionException("While pulling from connector", t);
+                } finally {
+                    if (concurrentHandler != null) {
+                        concurrentHandler.shutdown();
+                    }
                 }
             }
         }
         try {
-            setGroupOwners(ghandler, userIgnoreCaseMatch, groupIgnoreCaseMatch);
+            for (GroupPullResultHandler gh : ghandlers) {
+                setGroupOwners(gh, userIgnoreCaseMatch, groupIgnoreCaseMatch);
+            }
         } catch (Exception e) {
             LOG.error("While setting group owners", e);
         }
@@ -57,7 +57,7 @@ import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.IntAttrName;
 import org.apache.syncope.core.provisioning.api.data.ItemTransformer;
 import org.apache.syncope.core.persistence.api.dao.PullMatch;
-import org.apache.syncope.core.provisioning.java.IntAttrNameParser;
+import org.apache.syncope.core.provisioning.java.MappingPlans;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.ImplementationManager;
 import org.identityconnectors.framework.common.objects.Attribute;
@@ -114,7 +114,7 @@ public class PullUtils {
     private AnyUtilsFactory anyUtilsFactory;
 
     @Autowired
-    private IntAttrNameParser intAttrNameParser;
+    private MappingPlans mappingPlans;
 
     public Optional<String> match(
             final AnyType anyType,
@@ -203,7 +203,7 @@ public class PullUtils {
             return noMatchResult;
         }
 
-        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem.get())) {
+        for (ItemTransformer transformer : mappingPlans.getItemTransformers(connObjectKeyItem.get())) {
             List<Object> output = transformer.beforePull(
                     connObjectKeyItem.get(),
                     null,
@@ -215,9 +215,7 @@ public class PullUtils {
 
         IntAttrName intAttrName;
         try {
-            intAttrName = intAttrNameParser.parse(
-                    connObjectKeyItem.get().getIntAttrName(),
-                    provision.getAnyType().getKind());
+            intAttrName = mappingPlans.getIntAttrName(connObjectKeyItem.get(), provision.getAnyType().getKind());
         } catch (ParseException e) {
             LOG.error("Invalid intAttrName '{}' specified, ignoring", connObjectKeyItem.get().getIntAttrName(), e);
             return noMatchResult;
@@ -401,7 +399,7 @@ public class PullUtils {
             return List.of();
         }
 
-        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem.get())) {
+        for (ItemTransformer transformer : mappingPlans.getItemTransformers(connObjectKeyItem.get())) {
             List<Object> output = transformer.beforePull(
                     connObjectKeyItem.get(),
                     null,
@@ -24,11 +24,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
@@ -49,6 +54,7 @@ import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.pushpull.AnyObjectPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.GroupPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
 import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
 import org.apache.syncope.core.provisioning.api.pushpull.RealmPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
@@ -57,6 +63,9 @@ import org.apache.syncope.core.spring.ImplementationManager;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
 
@@ -72,23 +81,28 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
     @Autowired
     protected AnyUtilsFactory anyUtilsFactory;
 
+    @Autowired
+    protected ResourceThrottles resourceThrottles;
+
     protected ProvisioningProfile<PushTask, PushActions> profile;
 
     protected final Map<String, MutablePair<Integer, String>> handled = new HashMap<>();
 
     protected void reportHandled(final String anyType, final String key) {
-        MutablePair<Integer, String> pair = handled.get(anyType);
-        if (pair == null) {
-            pair = MutablePair.of(0, null);
-            handled.put(anyType, pair);
+        synchronized (handled) {
+            MutablePair<Integer, String> pair = handled.get(anyType);
+            if (pair == null) {
+                pair = MutablePair.of(0, null);
+                handled.put(anyType, pair);
+            }
+            pair.setLeft(pair.getLeft() + 1);
+            pair.setRight(key);
         }
-        pair.setLeft(pair.getLeft() + 1);
-        pair.setRight(key);
     }
 
     @Override
     public String currentStatus() {
-        synchronized (status) {
+        synchronized (handled) {
             if (!handled.isEmpty()) {
                 StringBuilder builder = new StringBuilder("Processed:\n");
                 handled.forEach((key, value) -> builder.append(' ').append(value.getLeft()).append('\t').
@@ -110,13 +124,7 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         for (int i = 0; i < anys.size() && !interrupt; i++) {
             try {
                 handler.handle(anys.get(i).getKey());
-                reportHandled(
-                        anys.get(i).getType().getKey(),
-                        (anys.get(i) instanceof User
-                        ? ((User) anys.get(i)).getUsername()
-                        : anys.get(i) instanceof Group
-                        ? ((Group) anys.get(i)).getName()
-                        : ((AnyObject) anys.get(i)).getName()));
+                reportHandled(anys.get(i).getType().getKey(), getName(anys.get(i)));
             } catch (Exception e) {
                 LOG.warn("Failure pushing '{}' on '{}'", anys.get(i), resource, e);
                 throw new JobExecutionException("While pushing " + anys.get(i) + " on " + resource, e);
@@ -124,6 +132,108 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         }
     }
 
+    /**
+     * Dispatches the given any objects to the provided executor, while honoring the limits configured on the
+     * resource for push; differently from {@link #doHandle(List, SyncopePushResultHandler, ExternalResource)},
+     * failures are reported rather than aborting the whole execution.
+     *
+     * @param anys any objects to push
+     * @param handler push handler
+     * @param resource resource to push to
+     * @param tpte executor
+     */
+    protected void doHandle(
+            final List<? extends Any<?>> anys,
+            final SyncopePushResultHandler handler,
+            final ExternalResource resource,
+            final ThreadPoolTaskExecutor tpte) {
+
+        ResourceThrottles.Throttle throttle = resourceThrottles.get(resource);
+        String resourceKey = resource.getKey();
+
+        List<Future<?>> futures = new ArrayList<>(anys.size());
+        for (int i = 0; i < anys.size() && !interrupt; i++) {
+            String key = anys.get(i).getKey();
+            String anyType = anys.get(i).getType().getKey();
+            String name = getName(anys.get(i));
+
+            boolean acquired = false;
+            try {
+                while (!acquired && !interrupt) {
+                    acquired = throttle.tryAcquire(1, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                LOG.error("While waiting to push '{}' on '{}'", key, resourceKey, e);
+                Thread.currentThread().interrupt();
+            }
+            if (!acquired) {
+                break;
+            }
+
+            futures.add(tpte.submit(() -> {
+                try {
+                    if (!interrupt) {
+                        handler.handle(key);
+                        reportHandled(anyType, name);
+                    }
+                } catch (Exception e) {
+                    LOG.warn("Failure pushing '{}' on '{}'", key, resourceKey, e);
+
+                    ProvisioningReport result = new ProvisioningReport();
+                    result.setOperation(ResourceOperation.NONE);
+                    result.setAnyType(anyType);
+                    result.setStatus(ProvisioningReport.Status.FAILURE);
+                    result.setKey(key);
+                    result.setName(name);
+                    result.setMessage(ExceptionUtils.getRootCauseMessage(e));
+                    profile.getResults().add(result);
+                } finally {
+                    throttle.release();
+                }
+            }));
+        }
+
+        futures.forEach(future -> {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOG.error("Unexpected error while pushing on '{}'", resourceKey, e);
+            } catch (InterruptedException e) {
+                LOG.error("While waiting for push on '{}' to complete", resourceKey, e);
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    protected static String getName(final Any<?> any) {
+        return any instanceof User
+                ? ((User) any).getUsername()
+                : any instanceof Group
+                        ? ((Group) any).getName()
+                        : ((AnyObject) any).getName();
+    }
+
+    protected ThreadPoolTaskExecutor buildExecutor(final PushTask pushTask) {
+        ThreadPoolTaskExecutor tpte = new ThreadPoolTaskExecutor();
+        tpte.setCorePoolSize(pushTask.getConcurrentWorkers());
+        tpte.setMaxPoolSize(pushTask.getConcurrentWorkers());
+        tpte.setThreadNamePrefix("PushJobDelegate-" + pushTask.getKey() + "-");
+        tpte.setTaskDecorator(runnable -> {
+            // workers run with the same security context of the caller thread
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            return () -> {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                try {
+                    runnable.run();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            };
+        });
+        tpte.initialize();
+        return tpte;
+    }
+
     protected static RealmPushResultHandler buildRealmHandler() {
         return (RealmPushResultHandler) ApplicationContextProvider.getBeanFactory().
                 createBean(DefaultRealmPushResultHandler.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
@@ -198,48 +308,60 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         }
 
         // ...then provisions for any types
-        for (Provision provision : pushTask.getResource().getProvisions()) {
-            if (provision.getMapping() != null) {
-                status.set("Pushing " + provision.getAnyType().getKey());
-
-                AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(provision.getAnyType().getKind()).dao();
-
-                SyncopePushResultHandler handler;
-                switch (provision.getAnyType().getKind()) {
-                    case USER:
-                        handler = buildUserHandler();
-                        break;
-
-                    case GROUP:
-                        handler = buildGroupHandler();
-                        break;
-
-                    case ANY_OBJECT:
-                    default:
-                        handler = buildAnyObjectHandler();
-                }
-                handler.setProfile(profile);
-
-                Optional<? extends PushTaskAnyFilter> anyFilter = pushTask.getFilter(provision.getAnyType());
-                String filter = anyFilter.map(PushTaskAnyFilter::getFIQLCond).orElse(null);
-                SearchCond cond = StringUtils.isBlank(filter)
-                        ? anyDAO.getAllMatchingCond()
-                        : SearchCondConverter.convert(filter);
-                int count = searchDAO.count(
-                        Set.of(profile.getTask().getSourceRealm().getFullPath()),
-                        cond,
-                        provision.getAnyType().getKind());
-                for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1 && !interrupt; page++) {
-                    List<? extends Any<?>> anys = searchDAO.search(
-                            Set.of(profile.getTask().getSourceRealm().getFullPath()),
-                            cond,
-                            page,
-                            AnyDAO.DEFAULT_PAGE_SIZE,
-                            List.of(),
-                            provision.getAnyType().getKind());
-                    doHandle(anys, handler, pushTask.getResource());
+        ThreadPoolTaskExecutor tpte = pushTask.getConcurrentWorkers() != null && pushTask.getConcurrentWorkers() > 1
+                ? buildExecutor(pushTask)
+                : null;
+        try {
+            for (Provision provision : pushTask.getResource().getProvisions()) {
+                if (provision.getMapping() != null) {
+                    status.set("Pushing " + provision.getAnyType().getKey());
+
+                    AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(provision.getAnyType().getKind()).dao();
+
+                    SyncopePushResultHandler handler;
+                    switch (provision.getAnyType().getKind()) {
+                        case USER:
+                            handler = buildUserHandler();
+                            break;
+
+                        case GROUP:
+                            handler = buildGroupHandler();
+                            break;
+
+                        case ANY_OBJECT:
+                        default:
+                            handler = buildAnyObjectHandler();
+                    }
+                    handler.setProfile(profile);
+
+                    Optional<? extends PushTaskAnyFilter> anyFilter = pushTask.getFilter(provision.getAnyType());
+                    String filter = anyFilter.map(PushTaskAnyFilter::getFIQLCond).orElse(null);
+                    SearchCond cond = StringUtils.isBlank(filter)
+                            ? anyDAO.getAllMatchingCond()
+                            : SearchCondConverter.convert(filter);
+                    String lastKey = null;
+                    List<? extends Any<?>> anys;
+                    do {
+                        anys = searchDAO.searchAfter(
+                                Set.of(profile.getTask().getSourceRealm().getFullPath()),
+                                cond,
+                                lastKey,
+                                AnyDAO.DEFAULT_PAGE_SIZE,
+                                provision.getAnyType().getKind());
+                        if (tpte == null) {
+                            doHandle(anys, handler, pushTask.getResource());
+                        } else {
+                            doHandle(anys, handler, pushTask.getResource(), tpte);
+                        }
+
+                        lastKey = anys.isEmpty() ? null : anys.get(anys.size() - 1).getKey();
+                    } while (anys.size() == AnyDAO.DEFAULT_PAGE_SIZE && !interrupt);
                 }
             }
+        } finally {
+            if (tpte != null) {
+                tpte.shutdown();
+            }
         }
 
         if (!profile.isDryRun() && !interrupt) {
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps track of the push limits configured on each {@link ExternalResource}, shared among all push tasks
+ * concurrently running against the same resource.
+ */
+@Component
+public class ResourceThrottles {
+
+    public static class Throttle {
+
+        private final Integer maxInFlight;
+
+        private final Integer rateLimit;
+
+        private final Semaphore inFlight;
+
+        private final long intervalNanos;
+
+        private long next = System.nanoTime();
+
+        public Throttle(final Integer maxInFlight, final Integer rateLimit) {
+            this.maxInFlight = maxInFlight;
+            this.rateLimit = rateLimit;
+            this.inFlight = maxInFlight == null ? null : new Semaphore(maxInFlight, true);
+            this.intervalNanos = rateLimit == null ? 0 : TimeUnit.SECONDS.toNanos(1) / rateLimit;
+        }
+
+        protected boolean matches(final Integer maxInFlight, final Integer rateLimit) {
+            return Objects.equals(this.maxInFlight, maxInFlight) && Objects.equals(this.rateLimit, rateLimit);
+        }
+
+        /**
+         * Waits up to the given timeout for a slot to become available.
+         *
+         * @param timeout max time to wait
+         * @param unit time unit
+         * @return whether a slot was acquired, and {@link #release()} must be invoked
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public boolean tryAcquire(final long timeout, final TimeUnit unit) throws InterruptedException {
+            if (inFlight != null && !inFlight.tryAcquire(timeout, unit)) {
+                return false;
+            }
+
+            if (intervalNanos > 0) {
+                long wait;
+                synchronized (this) {
+                    long now = System.nanoTime();
+                    wait = next - now;
+                    next = Math.max(now, next) + intervalNanos;
+                }
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        release();
+                        throw e;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        public void release() {
+            if (inFlight != null) {
+                inFlight.release();
+            }
+        }
+    }
+
+    private final Map<String, Throttle> throttles = new ConcurrentHashMap<>();
+
+    public Throttle get(final ExternalResource resource) {
+        return throttles.compute(
+                AuthContextUtils.getDomain() + '/' + resource.getKey(),
+                (key, throttle) -> throttle == null
+                || !throttle.matches(resource.getPushMaxInFlight(), resource.getPushRateLimit())
+                ? new Throttle(resource.getPushMaxInFlight(), resource.getPushRateLimit())
+                : throttle);
+    }
+}
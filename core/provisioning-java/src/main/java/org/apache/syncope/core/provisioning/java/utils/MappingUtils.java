@@ -158,17 +158,45 @@ public final class MappingUtils {
     }
 
     public static List<ItemTransformer> getItemTransformers(final Item item) {
-        List<ItemTransformer> result = new ArrayList<>();
+        return getItemTransformers(item, buildJEXLTransformer(item).orElse(null));
+    }
 
-        // First consider the JEXL transformation expressions
-        if (StringUtils.isNotBlank(item.getPropagationJEXLTransformer())
-                || StringUtils.isNotBlank(item.getPullJEXLTransformer())) {
+    /**
+     * Build the JEXL transformer for the given item, if any JEXL transformation expression is defined.
+     *
+     * @param item mapping item
+     * @return JEXL transformer, if needed
+     */
+    public static Optional<JEXLItemTransformer> buildJEXLTransformer(final Item item) {
+        if (StringUtils.isBlank(item.getPropagationJEXLTransformer())
+                && StringUtils.isBlank(item.getPullJEXLTransformer())) {
+
+            return Optional.empty();
+        }
 
-            JEXLItemTransformer jexlTransformer = (JEXLItemTransformer) ApplicationContextProvider.getBeanFactory().
-                    createBean(JEXLItemTransformerImpl.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+        JEXLItemTransformer jexlTransformer = (JEXLItemTransformer) ApplicationContextProvider.getBeanFactory().
+                createBean(JEXLItemTransformerImpl.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
 
-            jexlTransformer.setPropagationJEXL(item.getPropagationJEXLTransformer());
-            jexlTransformer.setPullJEXL(item.getPullJEXLTransformer());
+        jexlTransformer.setPropagationJEXL(item.getPropagationJEXLTransformer());
+        jexlTransformer.setPullJEXL(item.getPullJEXLTransformer());
+        return Optional.of(jexlTransformer);
+    }
+
+    /**
+     * Build the transformers for the given item, starting with the given JEXL transformer - as previously built by
+     * {@link #buildJEXLTransformer(Item)} - and followed by custom transformers.
+     *
+     * @param item mapping item
+     * @param jexlTransformer JEXL transformer, possibly null
+     * @return transformers for the given item
+     */
+    public static List<ItemTransformer> getItemTransformers(
+            final Item item, final JEXLItemTransformer jexlTransformer) {
+
+        List<ItemTransformer> result = new ArrayList<>();
+
+        // First consider the JEXL transformation expressions
+        if (jexlTransformer != null) {
             result.add(jexlTransformer);
         }
 
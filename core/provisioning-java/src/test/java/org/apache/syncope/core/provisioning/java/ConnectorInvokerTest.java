@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class ConnectorInvokerTest extends AbstractTest {
+
+    @Autowired
+    private ConnectorInvoker invoker;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @AfterEach
+    public void discard() {
+        invoker.discard(resourceDAO.find("resource-db-pull").getConnector().getKey());
+    }
+
+    @Test
+    public void resourcesOnSameConnectorSharePermits() throws Exception {
+        ExternalResource pull = resourceDAO.find("resource-db-pull");
+        ExternalResource virattr = resourceDAO.find("resource-db-virattr");
+        assertEquals(pull.getConnector().getKey(), virattr.getConnector().getKey());
+
+        pull.getConnector().setMaxConcurrentRequests(1);
+
+        ConnectorInvoker.Bulkhead bulkhead = invoker.bulkhead(pull.getConnector());
+        assertSame(bulkhead, invoker.bulkhead(virattr.getConnector()));
+        assertEquals(1, bulkhead.getAvailablePermits());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> invoker.invoke(bulkhead, 10, () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "first";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // the only permit is held by the request sent via the other resource
+            assertThrows(TimeoutException.class,
+                    () -> invoker.invoke(invoker.bulkhead(virattr.getConnector()), 1, () -> "second"));
+            assertEquals(1, bulkhead.getLatency().getRejections());
+
+            // raising the limit on the connector instance also affects the bulkhead in use
+            virattr.getConnector().setMaxConcurrentRequests(2);
+            assertEquals("second", invoker.invoke(invoker.bulkhead(virattr.getConnector()), 1, () -> "second"));
+
+            release.countDown();
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, bulkhead.getAvailablePermits());
+        assertEquals(2, invoker.getLatency(pull.getConnector().getKey()).get().getCount());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditElements.EventCategoryType;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.junit.jupiter.api.Test;
+
+public class EventRoutingTableTest {
+
+    @Test
+    public void matchesBuiltEvents() {
+        Set<EventRoutingTable.EventKey> keys = Set.of(
+                EventRoutingTable.parse(AuditLoggerName.buildEvent(
+                        EventCategoryType.LOGIC, "UserLogic", null, "create", AuditElements.Result.FAILURE)),
+                EventRoutingTable.parse("[CUSTOM]:[]:[]:[requestPasswordReset]:[SUCCESS]"));
+
+        assertTrue(EventRoutingTable.matches(keys, EventCategoryType.LOGIC, "UserLogic", null, "create"));
+        assertTrue(EventRoutingTable.matches(keys, EventCategoryType.LOGIC, "UserLogic", "", "create"));
+        assertTrue(EventRoutingTable.matches(keys, EventCategoryType.CUSTOM, null, null, "requestPasswordReset"));
+
+        assertFalse(EventRoutingTable.matches(keys, EventCategoryType.LOGIC, "UserLogic", null, "update"));
+        assertFalse(EventRoutingTable.matches(keys, EventCategoryType.LOGIC, "GroupLogic", null, "create"));
+        assertFalse(EventRoutingTable.matches(Set.of(), EventCategoryType.LOGIC, "UserLogic", null, "create"));
+    }
+
+    @Test
+    public void unmatchableEvents() {
+        assertNull(EventRoutingTable.parse("[LOGIC]:[UserLogic]:[]:[create]"));
+        assertNull(EventRoutingTable.parse("[requestPasswordReset]"));
+    }
+}
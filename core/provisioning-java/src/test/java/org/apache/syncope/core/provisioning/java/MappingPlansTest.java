@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class MappingPlansTest extends AbstractTest {
+
+    @Autowired
+    private MappingPlans mappingPlans;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private AnyTypeDAO anyTypeDAO;
+
+    @AfterEach
+    public void reset() {
+        mappingPlans.setMaxStalenessSeconds(60);
+        mappingPlans.invalidate();
+    }
+
+    private Provision provision() {
+        return resourceDAO.find("resource-testdb").getProvision(anyTypeDAO.findUser()).get();
+    }
+
+    @Test
+    public void invalidate() {
+        Provision provision = provision();
+
+        MappingPlan plan = mappingPlans.get(provision);
+        assertSame(plan, mappingPlans.get(provision));
+
+        mappingPlans.invalidate(provision.getResource());
+        MappingPlan rebuilt = mappingPlans.get(provision);
+        assertNotSame(plan, rebuilt);
+        assertSame(rebuilt, mappingPlans.get(provision));
+
+        // plans of other resources are not affected
+        mappingPlans.invalidate(resourceDAO.find("resource-csv"));
+        assertSame(rebuilt, mappingPlans.get(provision));
+
+        mappingPlans.invalidate();
+        assertNotSame(rebuilt, mappingPlans.get(provision));
+    }
+
+    @Test
+    public void maxStaleness() throws InterruptedException {
+        Provision provision = provision();
+
+        MappingPlan plan = mappingPlans.get(provision);
+        assertSame(plan, mappingPlans.get(provision));
+
+        mappingPlans.setMaxStalenessSeconds(0);
+        Thread.sleep(10);
+        MappingPlan rebuilt = mappingPlans.get(provision);
+        assertNotSame(plan, rebuilt);
+
+        mappingPlans.setMaxStalenessSeconds(60);
+        assertSame(rebuilt, mappingPlans.get(provision));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeClassDAO;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.VirSchema;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.ConnectorFactory;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.apache.syncope.core.provisioning.java.cache.ConcurrentVirAttrCache;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.filter.CompositeFilter;
+import org.identityconnectors.framework.common.objects.filter.EqualsFilter;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+import org.identityconnectors.framework.common.objects.filter.OrFilter;
+import org.identityconnectors.framework.spi.SearchResultsHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class VirAttrHandlerTest extends AbstractTest {
+
+    private static final String RESOURCE = "resource-db-virattr";
+
+    private static final String EXTRA_SCHEMA = "virtualextra";
+
+    private static final List<String> USERS = List.of(
+            "1417acbe-cbf6-4277-9372-e75e04f97000",
+            "74cd8ece-715a-44a4-a736-e17b46c4e7e6",
+            "b3cbc78d-32e6-4bd4-92e0-bbe07566a2ee",
+            "c9b2dec2-00a7-4855-97c0-d854842b4b24");
+
+    private static void equalsValues(final Filter filter, final Set<String> values) {
+        if (filter instanceof CompositeFilter) {
+            equalsValues(((CompositeFilter) filter).getLeft(), values);
+            equalsValues(((CompositeFilter) filter).getRight(), values);
+        } else if (filter instanceof EqualsFilter) {
+            values.add(((EqualsFilter) filter).getAttribute().getValue().get(0).toString());
+        }
+    }
+
+    @Autowired
+    private ConfigurableApplicationContext ctx;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private AnyTypeClassDAO anyTypeClassDAO;
+
+    @Autowired
+    private VirSchemaDAO virSchemaDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    private final ConcurrentVirAttrCache virAttrCache = new ConcurrentVirAttrCache();
+
+    private final List<Filter> searches = new ArrayList<>();
+
+    private VirAttrHandlerImpl virAttrHandler;
+
+    private List<User> users;
+
+    private static ConnectorObject remote(final String key) {
+        return new ConnectorObjectBuilder().
+                setObjectClass(ObjectClass.ACCOUNT).
+                setUid(key).
+                setName(key).
+                addAttribute("ID", key).
+                addAttribute("USERNAME", "username-" + key).
+                addAttribute("EXTRA", "extra-" + key).
+                build();
+    }
+
+    @BeforeEach
+    public void setup() {
+        ExternalResource resource = resourceDAO.find(RESOURCE);
+
+        // an additional virtual schema on the same provision, only allowed for the first user
+        VirSchema extra = entityFactory.newEntity(VirSchema.class);
+        extra.setKey(EXTRA_SCHEMA);
+        extra.setProvision(resource.getProvision(ObjectClass.ACCOUNT).get());
+        extra.setExtAttrName("EXTRA");
+        extra = virSchemaDAO.save(extra);
+
+        AnyTypeClass extraClass = entityFactory.newEntity(AnyTypeClass.class);
+        extraClass.setKey("virtual extra");
+        extraClass.add(extra);
+        extraClass = anyTypeClassDAO.save(extraClass);
+
+        users = USERS.stream().map(userDAO::find).collect(Collectors.toList());
+        users.get(0).add(extraClass);
+        // all but the last user own the resource
+        users.subList(0, 3).forEach(user -> user.add(resource));
+
+        Connector connector = (Connector) Proxy.newProxyInstance(
+                Connector.class.getClassLoader(),
+                new Class<?>[] { Connector.class },
+                (proxy, method, args) -> {
+                    if ("search".equals(method.getName()) && args.length == 4) {
+                        searches.add((Filter) args[1]);
+                        // return all remote objects, as matching is up to the handler
+                        USERS.forEach(key -> ((SearchResultsHandler) args[2]).handle(remote(key)));
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ConnectorFactory connFactory = (ConnectorFactory) Proxy.newProxyInstance(
+                ConnectorFactory.class.getClassLoader(),
+                new Class<?>[] { ConnectorFactory.class },
+                (proxy, method, args) -> {
+                    if ("getConnector".equals(method.getName())) {
+                        return connector;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        virAttrHandler = new VirAttrHandlerImpl();
+        ctx.getAutowireCapableBeanFactory().autowireBean(virAttrHandler);
+        ReflectionTestUtils.setField(virAttrHandler, "virAttrCache", virAttrCache);
+        ReflectionTestUtils.setField(virAttrHandler, "connFactory", connFactory);
+    }
+
+    private VirAttrCacheValue cached(final User user, final String schema) {
+        return virAttrCache.get(user.getType().getKey(), user.getKey(), schema);
+    }
+
+    @Test
+    public void prefetch() {
+        // values already cached for the third user are not read again
+        virAttrCache.put(users.get(2).getType().getKey(), users.get(2).getKey(), "virtualdata",
+                new VirAttrCacheValue(List.of("cached")));
+
+        virAttrHandler.prefetch(users);
+
+        // a single search, matching all users owning the resource and with values to read
+        assertEquals(1, searches.size());
+        assertTrue(searches.get(0) instanceof OrFilter);
+        Set<String> values = new HashSet<>();
+        equalsValues(searches.get(0), values);
+        assertEquals(Set.of(users.get(0).getKey(), users.get(1).getKey()), values);
+
+        // each user only gets values for its own allowed schemas
+        assertEquals(List.of("username-" + users.get(0).getKey()), cached(users.get(0), "virtualdata").getValues());
+        assertEquals(List.of("extra-" + users.get(0).getKey()), cached(users.get(0), EXTRA_SCHEMA).getValues());
+
+        assertEquals(List.of("username-" + users.get(1).getKey()), cached(users.get(1), "virtualdata").getValues());
+        assertNull(cached(users.get(1), EXTRA_SCHEMA));
+
+        assertEquals(List.of("cached"), cached(users.get(2), "virtualdata").getValues());
+        assertNull(cached(users.get(2), EXTRA_SCHEMA));
+
+        Stream.of("virtualdata", EXTRA_SCHEMA).forEach(schema -> assertNull(cached(users.get(3), schema)));
+    }
+
+    @Test
+    public void prefetchNothingToRead() {
+        virAttrHandler.prefetch(users.subList(3, 4));
+
+        assertTrue(searches.isEmpty());
+        assertEquals(0, virAttrCache.size());
+    }
+}
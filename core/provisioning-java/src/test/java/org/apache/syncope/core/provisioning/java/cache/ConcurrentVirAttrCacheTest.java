@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentVirAttrCacheTest {
+
+    private static final String TYPE = "USER";
+
+    private static final String SCHEMA = "virtualdata";
+
+    private static VirAttrCacheValue value(final String value) {
+        return new VirAttrCacheValue(List.<Object>of(value));
+    }
+
+    /**
+     * Returns the given number of keys falling into the same segment.
+     */
+    private static List<String> sameSegment(final ConcurrentVirAttrCache cache, final int count) {
+        ConcurrentVirAttrCache.Segment segment = cache.segment(new VirAttrCacheKey(TYPE, "key0", SCHEMA));
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            if (cache.segment(new VirAttrCacheKey(TYPE, "key" + i, SCHEMA)) == segment) {
+                keys.add("key" + i);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        ConcurrentVirAttrCache cache = new ConcurrentVirAttrCache();
+        // two entries per segment
+        cache.setMaxCacheSize(2 * ConcurrentVirAttrCache.SEGMENTS);
+
+        List<String> keys = sameSegment(cache, 3);
+        cache.put(TYPE, keys.get(0), SCHEMA, value("0"));
+        cache.put(TYPE, keys.get(1), SCHEMA, value("1"));
+
+        // makes the first entry the most recently used
+        assertNotNull(cache.get(TYPE, keys.get(0), SCHEMA));
+
+        cache.put(TYPE, keys.get(2), SCHEMA, value("2"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.size());
+
+        assertNotNull(cache.get(TYPE, keys.get(0), SCHEMA));
+        assertNull(cache.get(TYPE, keys.get(1), SCHEMA));
+        assertNotNull(cache.get(TYPE, keys.get(2), SCHEMA));
+    }
+
+    @Test
+    public void expire() {
+        ConcurrentVirAttrCache cache = new ConcurrentVirAttrCache();
+        cache.setTtl(60);
+
+        VirAttrCacheValue value = value("value");
+        cache.put(TYPE, "key", SCHEMA, value);
+        VirAttrCacheKey key = new VirAttrCacheKey(TYPE, "key", SCHEMA);
+
+        assertTrue(cache.isValidEntry(value));
+        assertSame(value, cache.get(key, value.getCreationTime() + 59 * 1000L));
+
+        // expired entries are removed when read
+        assertFalse(cache.isValidEntry(value, value.getCreationTime() + 60 * 1000L));
+        assertNull(cache.get(key, value.getCreationTime() + 60 * 1000L));
+        assertEquals(0, cache.size());
+
+        cache.put(TYPE, "key", SCHEMA, value);
+        value.forceExpiring();
+        assertNull(cache.get(TYPE, "key", SCHEMA));
+
+        cache.put(TYPE, "key", SCHEMA, value("value"));
+        cache.expire(TYPE, "key", SCHEMA);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void getAllAndStats() {
+        ConcurrentVirAttrCache cache = new ConcurrentVirAttrCache();
+
+        VirAttrCacheValue value1 = value("1");
+        VirAttrCacheValue value2 = value("2");
+        VirAttrCacheValue expired = value("3");
+        cache.put(TYPE, "key1", SCHEMA, value1);
+        cache.put(TYPE, "key2", SCHEMA, value2);
+        cache.put(TYPE, "key3", SCHEMA, expired);
+        expired.forceExpiring();
+
+        Map<VirAttrCacheKey, VirAttrCacheValue> result = cache.getAll(List.of(
+                new VirAttrCacheKey(TYPE, "key1", SCHEMA),
+                new VirAttrCacheKey(TYPE, "key2", SCHEMA),
+                new VirAttrCacheKey(TYPE, "key3", SCHEMA),
+                new VirAttrCacheKey(TYPE, "missing", SCHEMA)));
+
+        assertEquals(2, result.size());
+        assertSame(value1, result.get(new VirAttrCacheKey(TYPE, "key1", SCHEMA)));
+        assertSame(value2, result.get(new VirAttrCacheKey(TYPE, "key2", SCHEMA)));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+
+        assertNotNull(cache.get(TYPE, "key1", SCHEMA));
+        assertNull(cache.get("GROUP", "key1", SCHEMA));
+        assertEquals(3, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(0, cache.getEvictions());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
+import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDetail;
+import org.quartz.Scheduler;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AfterHandlingDispatcherTest {
+
+    private static final String FAILING = "failing";
+
+    /**
+     * Records the handled batches, blocking on the first one until released.
+     */
+    private static class TestBatchHandler extends AfterHandlingBatchHandler {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final List<String> batches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void createTasks(final List<AfterHandlingEvent> events) {
+            if (started.getCount() > 0) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (events.stream().anyMatch(event -> FAILING.equals(event.getEvent()))) {
+                throw new IllegalStateException("boom");
+            }
+            batches.add(AuthContextUtils.getDomain() + ' '
+                    + events.stream().map(AfterHandlingEvent::getEvent).collect(Collectors.toList()));
+        }
+    }
+
+    private static AfterHandlingEvent event(final String name) {
+        return new AfterHandlingEvent(
+                "admin",
+                AuditElements.EventCategoryType.LOGIC,
+                "UserLogic",
+                null,
+                name,
+                AuditElements.Result.SUCCESS,
+                null,
+                null);
+    }
+
+    private final TestBatchHandler batchHandler = new TestBatchHandler();
+
+    private final List<AfterHandlingEvent> audited = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<JobDetail> scheduled = Collections.synchronizedList(new ArrayList<>());
+
+    private AfterHandlingDispatcher dispatcher;
+
+    @BeforeEach
+    public void setup() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("adminUser", "admin");
+        ApplicationContextProvider.setBeanFactory(beanFactory);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        batchHandler.release.countDown();
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+        ApplicationContextProvider.setBeanFactory(null);
+    }
+
+    private AfterHandlingDispatcher dispatcher(final int queueCapacity, final boolean spillOver) {
+        AuditManager auditManager = (AuditManager) Proxy.newProxyInstance(
+                AuditManager.class.getClassLoader(),
+                new Class<?>[] { AuditManager.class },
+                (proxy, method, args) -> {
+                    if ("audit".equals(method.getName()) && args.length == 1) {
+                        audited.add((AfterHandlingEvent) args[0]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        Scheduler quartz = (Scheduler) Proxy.newProxyInstance(
+                Scheduler.class.getClassLoader(),
+                new Class<?>[] { Scheduler.class },
+                (proxy, method, args) -> {
+                    if ("scheduleJob".equals(method.getName()) && args.length == 2) {
+                        scheduled.add((JobDetail) args[0]);
+                        return new Date();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        SchedulerFactoryBean scheduler = new SchedulerFactoryBean() {
+
+            @Override
+            public Scheduler getScheduler() {
+                return quartz;
+            }
+        };
+
+        dispatcher = new AfterHandlingDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "batchHandler", batchHandler);
+        ReflectionTestUtils.setField(dispatcher, "auditManager", auditManager);
+        ReflectionTestUtils.setField(dispatcher, "scheduler", scheduler);
+        dispatcher.setQueueCapacity(queueCapacity);
+        dispatcher.setConsumers(1);
+        dispatcher.setOfferTimeoutMillis(10);
+        dispatcher.setSpillOver(spillOver);
+        dispatcher.afterPropertiesSet();
+        return dispatcher;
+    }
+
+    private void dispatch(final String domain, final AfterHandlingEvent event) {
+        AuthContextUtils.callAsAdmin(domain, () -> {
+            dispatcher.dispatch(event);
+            return null;
+        });
+    }
+
+    private void blockConsumer() throws InterruptedException {
+        dispatch(SyncopeConstants.MASTER_DOMAIN, event("first"));
+        assertTrue(batchHandler.started.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void batchByDomain() throws InterruptedException {
+        dispatcher(10, true);
+        blockConsumer();
+
+        dispatch("Two", event("event1"));
+        dispatch(SyncopeConstants.MASTER_DOMAIN, event("event2"));
+        dispatch("Two", event("event3"));
+        assertEquals(3, dispatcher.getQueueSize());
+
+        batchHandler.release.countDown();
+        dispatcher.destroy();
+
+        assertEquals(List.of(
+                "Master [first]",
+                "Two [event1, event3]",
+                "Master [event2]"), batchHandler.batches);
+        assertEquals(4, audited.size());
+        assertEquals(4, dispatcher.getQueued());
+        assertEquals(4, dispatcher.getProcessed());
+        assertEquals(0, dispatcher.getSpilled());
+        assertEquals(0, dispatcher.getDropped());
+        assertEquals(0, dispatcher.getFailed());
+
+        // events waited in queue until the consumer was released
+        assertTrue(dispatcher.getAvgLatencyMillis() > 0);
+        assertTrue(dispatcher.getMaxLatencyMillis() >= (long) dispatcher.getAvgLatencyMillis());
+    }
+
+    @Test
+    public void spillOverWhenFull() throws InterruptedException {
+        dispatcher(1, true);
+        blockConsumer();
+
+        dispatch("Two", event("queued"));
+        AfterHandlingEvent overflow = event("overflow");
+        dispatch("Two", overflow);
+
+        assertEquals(1, dispatcher.getQueueSize());
+        assertEquals(2, dispatcher.getQueued());
+        assertEquals(1, dispatcher.getSpilled());
+
+        assertEquals(1, scheduled.size());
+        JobDetail job = scheduled.get(0);
+        assertEquals(AfterHandlingJob.class, job.getJobClass());
+        assertSame(overflow, job.getJobDataMap().get(AfterHandlingEvent.JOBMAP_KEY));
+        assertEquals("Two", job.getJobDataMap().get(JobManager.DOMAIN_KEY));
+
+        batchHandler.release.countDown();
+        dispatcher.destroy();
+
+        assertEquals(List.of("Master [first]", "Two [queued]"), batchHandler.batches);
+        assertEquals(2, dispatcher.getProcessed());
+        assertEquals(0, dispatcher.getDropped());
+        assertEquals(0, dispatcher.getFailed());
+    }
+
+    @Test
+    public void dropWhenFull() throws InterruptedException {
+        dispatcher(1, false);
+        blockConsumer();
+
+        dispatch(SyncopeConstants.MASTER_DOMAIN, event(FAILING));
+        dispatch(SyncopeConstants.MASTER_DOMAIN, event("dropped"));
+
+        assertEquals(2, dispatcher.getQueued());
+        assertEquals(1, dispatcher.getDropped());
+        assertEquals(0, dispatcher.getSpilled());
+        assertTrue(scheduled.isEmpty());
+
+        batchHandler.release.countDown();
+        dispatcher.destroy();
+
+        // notification tasks could not be created for the failing event, which was audited anyway
+        assertEquals(List.of("Master [first]"), batchHandler.batches);
+        assertEquals(2, audited.size());
+        assertEquals(2, dispatcher.getProcessed());
+        assertEquals(1, dispatcher.getFailed());
+    }
+}
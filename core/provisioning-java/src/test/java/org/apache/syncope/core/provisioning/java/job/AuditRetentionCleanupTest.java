@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.provisioning.java.DummyConfParamOps;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AuditRetentionCleanupTest {
+
+    private static AuditRetentionCleanup cleanup(final Long retentionDays, final List<Date> deletes) {
+        LoggerDAO loggerDAO = (LoggerDAO) Proxy.newProxyInstance(
+                LoggerDAO.class.getClassLoader(),
+                new Class<?>[] { LoggerDAO.class },
+                (proxy, method, args) -> {
+                    if ("deleteAuditEntries".equals(method.getName())) {
+                        deletes.add((Date) args[0]);
+                        return 1;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        AuditRetentionCleanup cleanup = new AuditRetentionCleanup();
+        ReflectionTestUtils.setField(cleanup, "loggerDAO", loggerDAO);
+        ReflectionTestUtils.setField(cleanup, "confParamOps", new DummyConfParamOps() {
+
+            @Override
+            public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+                return "audit.retention.days".equals(key) && retentionDays != null
+                        ? reference.cast(retentionDays)
+                        : defaultValue;
+            }
+        });
+        return cleanup;
+    }
+
+    @Test
+    public void noRetention() throws Exception {
+        List<Date> deletes = new ArrayList<>();
+        assertEquals("SUCCESS", cleanup(null, deletes).doExecute(false));
+        assertEquals("SUCCESS", cleanup(0L, deletes).doExecute(false));
+        assertTrue(deletes.isEmpty());
+    }
+
+    @Test
+    public void deleteBeforeRetention() throws Exception {
+        List<Date> deletes = new ArrayList<>();
+
+        assertEquals("SUCCESS", cleanup(30L, deletes).doExecute(true));
+        assertTrue(deletes.isEmpty());
+
+        long before = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+        assertEquals("SUCCESS", cleanup(30L, deletes).doExecute(false));
+        long after = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+
+        assertEquals(1, deletes.size());
+        assertTrue(deletes.get(0).getTime() >= before);
+        assertTrue(deletes.get(0).getTime() <= after);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.syncope.common.lib.report.ReportletConf;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+public class AbstractReportletTest {
+
+    private static final String DOMAIN = "Two";
+
+    private static class TestReportlet extends AbstractReportlet {
+
+        @Override
+        protected void doExtract(
+                final ReportletConf conf, final ContentHandler handler, final AtomicReference<String> status) {
+
+            // not used
+        }
+    }
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final TestReportlet reportlet = new TestReportlet();
+
+    private final Set<String> domains = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    public void setup() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("adminUser", "admin");
+        ApplicationContextProvider.setBeanFactory(beanFactory);
+
+        ReportPageRenderer pageRenderer = new ReportPageRenderer();
+        ReflectionTestUtils.setField(pageRenderer, "executor", executor);
+        reportlet.pageRenderer = pageRenderer;
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdownNow();
+        ApplicationContextProvider.setBeanFactory(null);
+    }
+
+    private void page(final ContentHandler handler, final int page) throws SAXException {
+        domains.add(AuthContextUtils.getDomain());
+        try {
+            // earlier pages take longer to render
+            Thread.sleep((5 - page) * 10L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        AttributesImpl atts = new AttributesImpl();
+        atts.addAttribute("", "", "number", ReportXMLConst.XSD_STRING, String.valueOf(page));
+        handler.startElement("", "", "page", atts);
+        handler.endElement("", "", "page");
+    }
+
+    private void extractPages(
+            final ContentHandler handler,
+            final int pages,
+            final ReportPageRenderer.PageExtractor extractor,
+            final List<Integer> sent) {
+
+        AuthContextUtils.callAsAdmin(DOMAIN, () -> {
+            reportlet.extractPages(handler, pages, extractor, sent::add);
+            return null;
+        });
+    }
+
+    @Test
+    public void pageOrder() {
+        RecordingHandler handler = new RecordingHandler();
+        List<Integer> sent = Collections.synchronizedList(new ArrayList<>());
+
+        extractPages(handler, 4, this::page, sent);
+
+        assertEquals(List.of(1, 2, 3, 4), sent);
+        assertEquals(List.of(
+                "<page number=\"1\">", "</page>",
+                "<page number=\"2\">", "</page>",
+                "<page number=\"3\">", "</page>",
+                "<page number=\"4\">", "</page>"), handler.events);
+
+        // pages are rendered within the caller's domain
+        assertEquals(Set.of(DOMAIN), domains);
+    }
+
+    @Test
+    public void noPages() {
+        RecordingHandler handler = new RecordingHandler();
+        List<Integer> sent = new ArrayList<>();
+
+        extractPages(handler, 0, this::page, sent);
+
+        assertTrue(sent.isEmpty());
+        assertTrue(handler.events.isEmpty());
+    }
+
+    @Test
+    public void unwrapSAXException() {
+        SAXException failure = new SAXException("boom");
+        List<Integer> sent = new ArrayList<>();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> extractPages(
+                new RecordingHandler(), 4, (handler, page) -> {
+                    if (page == 2) {
+                        throw failure;
+                    }
+                    page(handler, page);
+                }, sent));
+
+        // AuthContextUtils wraps the checked exception raised by extractPages
+        assertSame(failure, e.getCause());
+        assertEquals(List.of(1), sent);
+    }
+
+    @Test
+    public void keepRuntimeException() {
+        IllegalStateException failure = new IllegalStateException("boom", new IOException("cause"));
+        List<Integer> sent = new ArrayList<>();
+
+        ReportException e = assertThrows(ReportException.class, () -> extractPages(
+                new RecordingHandler(), 4, (handler, page) -> {
+                    if (page == 3) {
+                        throw failure;
+                    }
+                    page(handler, page);
+                }, sent));
+
+        assertSame(failure, e.getCause());
+        assertEquals(List.of(1, 2), sent);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.syncope.common.lib.types.ImplementationEngine;
+import org.apache.syncope.common.lib.types.ReportExecStatus;
+import org.apache.syncope.core.persistence.api.entity.Implementation;
+import org.apache.syncope.core.persistence.api.entity.Report;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class DefaultReportJobDelegateTest {
+
+    private static final String FAILING = "failing";
+
+    /**
+     * Writes a section containing only the reportlet key; later reportlets complete first.
+     */
+    private static class TestReportJobDelegate extends DefaultReportJobDelegate {
+
+        private final List<String> keys;
+
+        private final List<Path> written = Collections.synchronizedList(new ArrayList<>());
+
+        TestReportJobDelegate(final List<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        protected Path writeSection(final Implementation implementation) throws Exception {
+            Thread.sleep((keys.size() - keys.indexOf(implementation.getKey())) * 20L);
+            if (FAILING.equals(implementation.getKey())) {
+                throw new IllegalStateException("boom");
+            }
+
+            Path section = Files.createTempFile("reportlet-" + implementation.getKey(), ".xml");
+            Files.write(section, ("<section key=\"" + implementation.getKey() + "\"/>").
+                    getBytes(StandardCharsets.UTF_8));
+            written.add(section);
+            return section;
+        }
+    }
+
+    private static Implementation reportlet(final String key) {
+        return (Implementation) Proxy.newProxyInstance(
+                Implementation.class.getClassLoader(),
+                new Class<?>[] { Implementation.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getKey":
+                            return key;
+
+                        case "getEngine":
+                            return ImplementationEngine.GROOVY;
+
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static Report report(final List<String> keys) {
+        List<Implementation> reportlets = keys.stream().
+                map(DefaultReportJobDelegateTest::reportlet).collect(Collectors.toList());
+
+        return (Report) Proxy.newProxyInstance(
+                Report.class.getClassLoader(),
+                new Class<?>[] { Report.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getKey":
+                            return "report";
+
+                        case "getReportlets":
+                            return reportlets;
+
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private final List<ReportExecStatus> statuses = new ArrayList<>();
+
+    private final ReportExec execution = (ReportExec) Proxy.newProxyInstance(
+            ReportExec.class.getClassLoader(),
+            new Class<?>[] { ReportExec.class },
+            (proxy, method, args) -> {
+                if ("setStatus".equals(method.getName()) && args[0] instanceof ReportExecStatus) {
+                    statuses.add((ReportExecStatus) args[0]);
+                    return null;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+    private final ThreadPoolTaskExecutor reportletExecutor = new ThreadPoolTaskExecutor();
+
+    @BeforeEach
+    public void setup() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("adminUser", "admin");
+        ApplicationContextProvider.setBeanFactory(beanFactory);
+
+        reportletExecutor.setCorePoolSize(4);
+        reportletExecutor.setMaxPoolSize(4);
+        reportletExecutor.initialize();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reportletExecutor.shutdown();
+        ApplicationContextProvider.setBeanFactory(null);
+    }
+
+    private List<String> extract(
+            final TestReportJobDelegate delegate,
+            final List<String> keys,
+            final StringBuilder message) throws Exception {
+
+        ReflectionTestUtils.setField(delegate, "reportletExecutor", reportletExecutor);
+
+        RecordingHandler handler = new RecordingHandler();
+        delegate.extractConcurrently(report(keys), handler, execution, message);
+        return handler.events;
+    }
+
+    @Test
+    public void definitionOrder() throws Exception {
+        List<String> keys = List.of("first", "second", "third", "fourth");
+        TestReportJobDelegate delegate = new TestReportJobDelegate(keys);
+        StringBuilder message = new StringBuilder();
+
+        List<String> events = extract(delegate, keys, message);
+
+        assertEquals(keys.stream().
+                flatMap(key -> Stream.of("<section key=\"" + key + "\">", "</section>")).
+                collect(Collectors.toList()), events);
+        assertTrue(statuses.isEmpty());
+        assertEquals(0, message.length());
+
+        // sections are removed once sent
+        assertEquals(keys.size(), delegate.written.size());
+        delegate.written.forEach(section -> assertFalse(Files.exists(section)));
+    }
+
+    @Test
+    public void dropFailed() throws Exception {
+        List<String> keys = List.of("first", FAILING, "third");
+        TestReportJobDelegate delegate = new TestReportJobDelegate(keys);
+        StringBuilder message = new StringBuilder();
+
+        List<String> events = extract(delegate, keys, message);
+
+        assertEquals(List.of(
+                "<section key=\"first\">", "</section>",
+                "<section key=\"third\">", "</section>"), events);
+        assertEquals(List.of(ReportExecStatus.FAILURE), statuses);
+        assertTrue(message.toString().contains("boom"));
+        delegate.written.forEach(section -> assertFalse(Files.exists(section)));
+    }
+}
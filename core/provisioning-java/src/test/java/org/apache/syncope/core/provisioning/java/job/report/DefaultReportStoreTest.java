@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class DefaultReportStoreTest {
+
+    private static final byte[] RESULT = "report result".getBytes(StandardCharsets.UTF_8);
+
+    private static ReportExec execution() {
+        String key = UUID.randomUUID().toString();
+        byte[][] execResult = new byte[1][];
+
+        return (ReportExec) Proxy.newProxyInstance(
+                ReportExec.class.getClassLoader(),
+                new Class<?>[] { ReportExec.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getKey":
+                            return key;
+
+                        case "getExecResult":
+                            return execResult[0];
+
+                        case "setExecResult":
+                            execResult[0] = (byte[]) args[0];
+                            return null;
+
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static DefaultReportStore store(final Path directory) {
+        DefaultReportStore store = new DefaultReportStore();
+        store.setDirectory(directory == null ? "" : directory.toString());
+        return store;
+    }
+
+    private static void write(final DefaultReportStore store, final ReportExec execution, final byte[] result)
+            throws IOException {
+
+        try (OutputStream out = store.openForWrite(execution)) {
+            out.write(result);
+        }
+    }
+
+    private static byte[] read(final DefaultReportStore store, final ReportExec execution) throws IOException {
+        try (InputStream in = store.openForRead(execution)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Path path(final Path directory, final ReportExec execution) {
+        return directory.resolve(SyncopeConstants.MASTER_DOMAIN).resolve(execution.getKey() + ".zip");
+    }
+
+    @Test
+    public void roundTripOnFiles(final @TempDir Path directory) throws IOException {
+        DefaultReportStore store = store(directory);
+        ReportExec execution = execution();
+        assertFalse(store.exists(execution));
+
+        write(store, execution, RESULT);
+
+        assertTrue(store.exists(execution));
+        assertTrue(Files.exists(path(directory, execution)));
+        assertNull(execution.getExecResult());
+        assertArrayEquals(RESULT, read(store, execution));
+    }
+
+    @Test
+    public void roundTripOnDatabase() throws IOException {
+        DefaultReportStore store = store(null);
+        ReportExec execution = execution();
+        assertFalse(store.exists(execution));
+        assertThrows(FileNotFoundException.class, () -> store.openForRead(execution));
+
+        write(store, execution, RESULT);
+
+        assertTrue(store.exists(execution));
+        assertArrayEquals(RESULT, execution.getExecResult());
+        assertArrayEquals(RESULT, read(store, execution));
+    }
+
+    @Test
+    public void readFromDatabaseWhenNoFile(final @TempDir Path directory) throws IOException {
+        ReportExec execution = execution();
+        write(store(null), execution, RESULT);
+
+        DefaultReportStore store = store(directory);
+        assertTrue(store.exists(execution));
+        assertArrayEquals(RESULT, read(store, execution));
+    }
+
+    @Test
+    public void atomicMove(final @TempDir Path directory) throws IOException {
+        DefaultReportStore store = store(directory);
+        ReportExec execution = execution();
+        Path target = path(directory, execution);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        OutputStream out = store.openForWrite(execution);
+        out.write(RESULT);
+        out.flush();
+
+        // nothing is visible until the stream is closed
+        assertTrue(Files.exists(tmp));
+        assertFalse(Files.exists(target));
+        assertFalse(store.exists(execution));
+
+        out.close();
+        assertFalse(Files.exists(tmp));
+        assertArrayEquals(RESULT, Files.readAllBytes(target));
+
+        // a new result replaces the existing one
+        byte[] other = "other result".getBytes(StandardCharsets.UTF_8);
+        write(store, execution, other);
+        assertFalse(Files.exists(tmp));
+        assertArrayEquals(other, read(store, execution));
+    }
+
+    @Test
+    public void delete(final @TempDir Path directory) throws IOException {
+        DefaultReportStore store = store(directory);
+        ReportExec execution = execution();
+        write(store, execution, RESULT);
+
+        store.delete(execution);
+
+        assertFalse(Files.exists(path(directory, execution)));
+        assertFalse(store.exists(execution));
+    }
+
+    @Test
+    public void deleteAfterCommit(final @TempDir Path directory) throws IOException {
+        DefaultReportStore store = store(directory);
+        ReportExec execution = execution();
+        write(store, execution, RESULT);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.delete(execution);
+
+            // the result is still available until commit
+            assertTrue(store.exists(execution));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertFalse(store.exists(execution));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Records the document, element and character events it receives as strings.
+ */
+class RecordingHandler extends DefaultHandler {
+
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void startDocument() {
+        events.add("startDocument");
+    }
+
+    @Override
+    public void endDocument() {
+        events.add("endDocument");
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String qName, final Attributes atts) {
+        StringBuilder event = new StringBuilder("<").append(qName);
+        for (int i = 0; i < atts.getLength(); i++) {
+            event.append(' ').append(atts.getQName(i)).append("=\"").append(atts.getValue(i)).append('"');
+        }
+        events.add(event.append('>').toString());
+    }
+
+    @Override
+    public void endElement(final String uri, final String localName, final String qName) {
+        events.add("</" + qName + '>');
+    }
+
+    @Override
+    public void characters(final char[] ch, final int start, final int length) {
+        events.add(new String(ch, start, length));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+public class SAXBufferTest {
+
+    @Test
+    public void replay() throws SAXException {
+        SAXBuffer buffer = new SAXBuffer();
+        buffer.startDocument();
+
+        AttributesImpl atts = new AttributesImpl();
+        atts.addAttribute("", "", "name", ReportXMLConst.XSD_STRING, "first");
+        buffer.startElement("", "", "user", atts);
+
+        char[] ch = "xxrossinixx".toCharArray();
+        buffer.characters(ch, 2, 7);
+        buffer.endElement("", "", "user");
+
+        // attributes and characters are reused by the producer, as SAX parsers do
+        atts.setValue(0, "second");
+        atts.addAttribute("", "", "other", ReportXMLConst.XSD_STRING, "value");
+        buffer.startElement("", "", "user", atts);
+        "xxverdixxxx".getChars(0, 11, ch, 0);
+        buffer.characters(ch, 2, 5);
+        buffer.endElement("", "", "user");
+
+        buffer.endDocument();
+
+        RecordingHandler handler = new RecordingHandler();
+        buffer.replay(handler);
+        assertEquals(List.of(
+                "<user name=\"first\">", "rossini", "</user>",
+                "<user name=\"second\" other=\"value\">", "verdi", "</user>"), handler.events);
+
+        // can be replayed more than once
+        RecordingHandler other = new RecordingHandler();
+        buffer.replay(other);
+        assertEquals(handler.events, other.events);
+    }
+
+    @Test
+    public void documentEventsIgnored() throws SAXException {
+        SAXBuffer buffer = new SAXBuffer();
+        buffer.startDocument();
+        buffer.endDocument();
+
+        RecordingHandler handler = new RecordingHandler();
+        buffer.replay(handler);
+        assertTrue(handler.events.isEmpty());
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ConnectorCapability;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.entity.ConnInstance;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.ConnectorFactory;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.provisioning.java.MappingPlans;
+import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.exceptions.AlreadyExistsException;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class LeanPropagationTest extends AbstractTest {
+
+    private static final String RESOURCE = "resource-testdb";
+
+    private static final String USER = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    /**
+     * Records remote object reads, returning the configured remote object.
+     */
+    private static class TestPropagationTaskExecutor extends AbstractPropagationTaskExecutor {
+
+        private final List<String> reads = new ArrayList<>();
+
+        private ConnectorObject remote;
+
+        @Override
+        protected ConnectorObject getRemoteObject(
+                final PropagationTask task,
+                final Connector connector,
+                final Provision provision,
+                final boolean latest) {
+
+            reads.add(latest ? "after" : "before");
+            return remote;
+        }
+
+        @Override
+        protected void doExecute(
+                final Collection<PropagationTaskInfo> taskInfos,
+                final PropagationReporter reporter,
+                final boolean nullPriorityAsync) {
+
+            // not used
+        }
+    }
+
+    /**
+     * Records create and update operations, failing them with the configured exception.
+     */
+    private static class TestConnector {
+
+        private final List<String> operations = new ArrayList<>();
+
+        private final List<Uid> updated = new ArrayList<>();
+
+        private final List<Set<Attribute>> attributes = new ArrayList<>();
+
+        private RuntimeException createFailure;
+
+        private RuntimeException updateFailure;
+
+        @SuppressWarnings("unchecked")
+        private Connector connector() {
+            ConnInstance connInstance = (ConnInstance) Proxy.newProxyInstance(
+                    ConnInstance.class.getClassLoader(),
+                    new Class<?>[] { ConnInstance.class },
+                    (proxy, method, args) -> {
+                        if ("getCapabilities".equals(method.getName())) {
+                            return EnumSet.of(ConnectorCapability.CREATE, ConnectorCapability.UPDATE);
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+
+            return (Connector) Proxy.newProxyInstance(
+                    Connector.class.getClassLoader(),
+                    new Class<?>[] { Connector.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getConnInstance":
+                                return connInstance;
+
+                            case "create":
+                                operations.add("create");
+                                attributes.add((Set<Attribute>) args[1]);
+                                if (createFailure != null) {
+                                    RuntimeException failure = createFailure;
+                                    createFailure = null;
+                                    throw failure;
+                                }
+                                ((AtomicReference<Boolean>) args[3]).set(true);
+                                return new Uid(USER);
+
+                            case "update":
+                                operations.add("update");
+                                updated.add((Uid) args[1]);
+                                attributes.add((Set<Attribute>) args[2]);
+                                if (updateFailure != null) {
+                                    RuntimeException failure = updateFailure;
+                                    updateFailure = null;
+                                    throw failure;
+                                }
+                                ((AtomicReference<Boolean>) args[4]).set(true);
+                                return (Uid) args[1];
+
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+
+    private static PropagationTaskInfo taskInfo(
+            final ResourceOperation operation,
+            final String connObjectKey,
+            final String oldConnObjectKey,
+            final Attribute... attributes) {
+
+        PropagationTaskInfo taskInfo = new PropagationTaskInfo();
+        taskInfo.setResource(RESOURCE);
+        taskInfo.setOperation(operation);
+        taskInfo.setAnyTypeKind(AnyTypeKind.USER);
+        taskInfo.setAnyType(AnyTypeKind.USER.name());
+        taskInfo.setEntityKey(USER);
+        taskInfo.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+        taskInfo.setConnObjectKey(connObjectKey);
+        taskInfo.setOldConnObjectKey(oldConnObjectKey);
+        taskInfo.setAttributes(POJOHelper.serialize(List.of(attributes)));
+        return taskInfo;
+    }
+
+    @Autowired
+    private ConfigurableApplicationContext ctx;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private MappingPlans mappingPlans;
+
+    private final TestConnector connector = new TestConnector();
+
+    private TestPropagationTaskExecutor executor;
+
+    @BeforeEach
+    public void setup() {
+        ExternalResource resource = resourceDAO.find(RESOURCE);
+        resource.setLeanPropagation(true);
+        resource.setCreateTraceLevel(TraceLevel.NONE);
+        resource.setUpdateTraceLevel(TraceLevel.NONE);
+        MappingUtils.getConnObjectKeyItem(resource.getProvision(ObjectClass.ACCOUNT).get()).get().
+                setExtAttrName(Uid.NAME);
+
+        executor = new TestPropagationTaskExecutor();
+        ctx.getAutowireCapableBeanFactory().autowireBean(executor);
+        ConnectorFactory connFactory = (ConnectorFactory) Proxy.newProxyInstance(
+                ConnectorFactory.class.getClassLoader(),
+                new Class<?>[] { ConnectorFactory.class },
+                (proxy, method, args) -> {
+                    if ("getConnector".equals(method.getName())) {
+                        return connector.connector();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ReflectionTestUtils.setField(executor, "connFactory", connFactory);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        mappingPlans.invalidate();
+    }
+
+    private long avoidedRemoteReads() {
+        return executor.getAvoidedRemoteReads().getOrDefault(AuthContextUtils.getDomain() + '/' + RESOURCE, 0L);
+    }
+
+    @Test
+    public void leanCreate() {
+        TaskExec exec = executor.execute(taskInfo(ResourceOperation.CREATE, USER, null,
+                new Name(USER), AttributeBuilder.build("surname", "Rossini")));
+
+        assertEquals(ExecStatus.SUCCESS.name(), exec.getStatus());
+        assertEquals(List.of("create"), connector.operations);
+        assertTrue(executor.reads.isEmpty());
+        assertEquals(2, avoidedRemoteReads());
+    }
+
+    @Test
+    public void leanUpdate() {
+        Attribute surname = AttributeBuilder.build("surname", "Rossini");
+        TaskExec exec = executor.execute(taskInfo(ResourceOperation.UPDATE, USER, null,
+                new Uid(USER), new Name(USER), surname));
+
+        assertEquals(ExecStatus.SUCCESS.name(), exec.getStatus());
+        assertEquals(List.of("update"), connector.operations);
+        assertEquals(List.of(new Uid(USER)), connector.updated);
+
+        // neither Uid nor the unchanged Name are sent
+        assertEquals(List.of(Set.of(surname)), connector.attributes);
+        assertTrue(executor.reads.isEmpty());
+        assertEquals(2, avoidedRemoteReads());
+    }
+
+    @Test
+    public void leanUpdateWithName() {
+        Name name = new Name("cn=" + USER);
+        Attribute surname = AttributeBuilder.build("surname", "Rossini");
+        executor.execute(taskInfo(ResourceOperation.UPDATE, USER, null, new Uid(USER), name, surname));
+
+        assertEquals(List.of(Set.of(name, surname)), connector.attributes);
+    }
+
+    @Test
+    public void updateWhenMissing() {
+        connector.updateFailure = new UnknownUidException();
+
+        TaskExec exec = executor.execute(taskInfo(ResourceOperation.UPDATE, USER, null,
+                new Uid(USER), new Name(USER), AttributeBuilder.build("surname", "Rossini")));
+
+        // the remote object was read and, as not found, created
+        assertEquals(ExecStatus.SUCCESS.name(), exec.getStatus());
+        assertEquals(List.of("update", "create"), connector.operations);
+        assertEquals(List.of("before"), executor.reads);
+        assertEquals(2, avoidedRemoteReads());
+    }
+
+    @Test
+    public void createWhenExisting() {
+        connector.createFailure = new AlreadyExistsException();
+        executor.remote = new ConnectorObjectBuilder().
+                setObjectClass(ObjectClass.ACCOUNT).
+                setUid(USER).
+                setName(USER).
+                addAttribute("surname", "Verdi").
+                build();
+
+        TaskExec exec = executor.execute(taskInfo(ResourceOperation.CREATE, USER, null,
+                new Uid(USER), new Name(USER), AttributeBuilder.build("surname", "Rossini")));
+
+        // the remote object was read and, as found, updated
+        assertEquals(ExecStatus.SUCCESS.name(), exec.getStatus());
+        assertEquals(List.of("create", "update"), connector.operations);
+        assertEquals(List.of(new Uid(USER)), connector.updated);
+        assertEquals(Set.of(AttributeBuilder.build("surname", "Rossini")), connector.attributes.get(1));
+        assertEquals(List.of("before"), executor.reads);
+    }
+
+    @Test
+    public void readWhenRenaming() {
+        executor.execute(taskInfo(ResourceOperation.UPDATE, USER, "old" + USER,
+                new Uid(USER), new Name(USER), AttributeBuilder.build("surname", "Rossini")));
+
+        // the remote object was read before, not after
+        assertEquals(List.of("before"), executor.reads);
+        assertEquals(1, avoidedRemoteReads());
+    }
+
+    @Test
+    public void readWhenNotLean() {
+        resourceDAO.find(RESOURCE).setLeanPropagation(false);
+
+        executor.execute(taskInfo(ResourceOperation.UPDATE, USER, null,
+                new Uid(USER), new Name(USER), AttributeBuilder.build("surname", "Rossini")));
+
+        assertEquals(List.of("before", "after"), executor.reads);
+        assertEquals(Map.of(), executor.getAvoidedRemoteReads());
+    }
+}
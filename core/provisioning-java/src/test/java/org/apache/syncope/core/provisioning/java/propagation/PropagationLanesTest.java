@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskCallable;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Test;
+
+public class PropagationLanesTest {
+
+    private static PropagationTaskInfo task(
+            final ResourceOperation operation,
+            final String entityKey,
+            final String connObjectKey,
+            final Attribute... attributes) {
+
+        PropagationTaskInfo task = new PropagationTaskInfo();
+        task.setOperation(operation);
+        task.setAnyTypeKind(AnyTypeKind.USER);
+        task.setEntityKey(entityKey);
+        task.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+        task.setConnObjectKey(connObjectKey);
+        task.setAttributes(POJOHelper.serialize(List.of(attributes)));
+        return task;
+    }
+
+    private static Map<String, List<Object>> values(final PropagationTaskInfo task) {
+        return Stream.of(PropagationLanes.attributes(task)).
+                collect(Collectors.toMap(Attribute::getName, Attribute::getValue));
+    }
+
+    @Test
+    public void mergeUpdates() {
+        PropagationTaskInfo queued = task(ResourceOperation.UPDATE, "user1", "rossini",
+                AttributeBuilder.build("surname", "Rossini"), AttributeBuilder.build("email", "old@syncope.org"));
+        PropagationTaskInfo next = task(ResourceOperation.UPDATE, "user1", "rossini",
+                AttributeBuilder.build("email", "new@syncope.org"));
+
+        assertTrue(PropagationLanes.merge(queued, next));
+        assertEquals(ResourceOperation.UPDATE, queued.getOperation());
+
+        Map<String, List<Object>> values = values(queued);
+        assertEquals(List.of("Rossini"), values.get("surname"));
+        assertEquals(List.of("new@syncope.org"), values.get("email"));
+        assertNull(queued.getOldConnObjectKey());
+    }
+
+    @Test
+    public void mergeUpdateIntoCreate() {
+        PropagationTaskInfo queued = task(ResourceOperation.CREATE, "user1", "rossini",
+                AttributeBuilder.build("surname", "Rossini"));
+        PropagationTaskInfo next = task(ResourceOperation.UPDATE, "user1", "rossini",
+                AttributeBuilder.build("surname", "Verdi"));
+
+        assertTrue(PropagationLanes.merge(queued, next));
+        assertEquals(ResourceOperation.CREATE, queued.getOperation());
+        assertEquals(List.of("Verdi"), values(queued).get("surname"));
+    }
+
+    @Test
+    public void mergeDelete() {
+        PropagationTaskInfo queued = task(ResourceOperation.UPDATE, "user1", "rossini",
+                AttributeBuilder.build("surname", "Rossini"));
+        PropagationTaskInfo next = task(ResourceOperation.DELETE, "user1", "rossini");
+
+        assertTrue(PropagationLanes.merge(queued, next));
+        assertEquals(ResourceOperation.DELETE, queued.getOperation());
+        assertTrue(values(queued).isEmpty());
+
+        // nothing can be merged into a deletion
+        assertFalse(PropagationLanes.merge(queued, task(ResourceOperation.UPDATE, "user1", "rossini")));
+    }
+
+    @Test
+    public void mergeRename() {
+        PropagationTaskInfo queued = task(ResourceOperation.UPDATE, "user1", "rossini");
+        PropagationTaskInfo next = task(ResourceOperation.UPDATE, "user1", "verdi");
+
+        assertTrue(PropagationLanes.merge(queued, next));
+        assertEquals("verdi", queued.getConnObjectKey());
+        assertEquals("rossini", queued.getOldConnObjectKey());
+
+        // the original key is kept across further renames
+        assertTrue(PropagationLanes.merge(queued, task(ResourceOperation.UPDATE, "user1", "puccini")));
+        assertEquals("puccini", queued.getConnObjectKey());
+        assertEquals("rossini", queued.getOldConnObjectKey());
+    }
+
+    @Test
+    public void noMerge() {
+        PropagationTaskInfo queued = task(ResourceOperation.UPDATE, "user1", "rossini");
+
+        assertFalse(PropagationLanes.merge(queued, task(ResourceOperation.UPDATE, "user2", "rossini")));
+
+        PropagationTaskInfo persisted = task(ResourceOperation.UPDATE, "user1", "rossini");
+        persisted.setKey("d6ed4f5a-a2d5-4ab0-a3b8-8ccd45b4e6e8");
+        assertFalse(PropagationLanes.merge(queued, persisted));
+        assertFalse(PropagationLanes.merge(persisted, task(ResourceOperation.UPDATE, "user1", "rossini")));
+    }
+
+    @Test
+    public void buildCallableOnlyWhenRunning() throws Exception {
+        ExternalResource resource = (ExternalResource) Proxy.newProxyInstance(
+                ExternalResource.class.getClassLoader(),
+                new Class<?>[] { ExternalResource.class },
+                (proxy, method, args) -> "getKey".equals(method.getName()) ? "resource" : null);
+        TaskExec success = (TaskExec) Proxy.newProxyInstance(
+                TaskExec.class.getClassLoader(),
+                new Class<?>[] { TaskExec.class },
+                (proxy, method, args) -> "getStatus".equals(method.getName()) ? ExecStatus.SUCCESS.name() : null);
+
+        List<ExecStatus> reported = new ArrayList<>();
+        PropagationReporter reporter = (PropagationReporter) Proxy.newProxyInstance(
+                PropagationReporter.class.getClassLoader(),
+                new Class<?>[] { PropagationReporter.class },
+                (proxy, method, args) -> {
+                    if ("onSuccessOrNonPriorityResourceFailures".equals(method.getName())) {
+                        reported.add((ExecStatus) args[1]);
+                    }
+                    return null;
+                });
+
+        List<PropagationTaskInfo> called = new ArrayList<>();
+        AtomicInteger built = new AtomicInteger();
+        PropagationTaskCallable callable = new PropagationTaskCallable() {
+
+            private PropagationTaskInfo taskInfo;
+
+            @Override
+            public void setTaskInfo(final PropagationTaskInfo taskInfo) {
+                this.taskInfo = taskInfo;
+            }
+
+            @Override
+            public void setReporter(final PropagationReporter reporter) {
+                // nothing to report
+            }
+
+            @Override
+            public TaskExec call() {
+                called.add(taskInfo);
+                return success;
+            }
+        };
+
+        List<Runnable> drains = new ArrayList<>();
+        PropagationLanes lanes = new PropagationLanes();
+        lanes.setExecutor(drains::add);
+        lanes.setMaxConcurrency(1);
+
+        PropagationTaskInfo first = task(ResourceOperation.UPDATE, "user1", "rossini",
+                AttributeBuilder.build("surname", "Rossini"));
+        PropagationTaskInfo second = task(ResourceOperation.UPDATE, "user1", "rossini",
+                AttributeBuilder.build("email", "rossini@syncope.org"));
+
+        CompletableFuture<TaskExec> future1 = lanes.submit(resource, first, reporter, () -> {
+            built.incrementAndGet();
+            return callable;
+        });
+        CompletableFuture<TaskExec> future2 = lanes.submit(resource, second, reporter, () -> {
+            built.incrementAndGet();
+            return callable;
+        });
+        assertSame(future1, future2);
+        assertEquals(0, built.get());
+        assertEquals(1, drains.size());
+
+        drains.get(0).run();
+
+        assertEquals(1, built.get());
+        assertEquals(List.of(first), called);
+        assertSame(success, future1.get());
+        assertTrue(future2.isDone());
+        assertEquals(List.of(ExecStatus.SUCCESS), reported);
+        assertEquals(2, values(first).size());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentPullResultHandlerTest {
+
+    private static final int DELTAS = 60;
+
+    private static final int WORKERS = 3;
+
+    private static class TestPullExecutor implements SyncopePullExecutor {
+
+        private final List<Integer> tokens = Collections.synchronizedList(new ArrayList<>());
+
+        private final Set<ObjectClass> objectClasses = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+            objectClasses.add(objectClass);
+            tokens.add((Integer) latestSyncToken.getValue());
+        }
+
+        @Override
+        public void reportHandled(final ObjectClass objectClass, final Name name) {
+            // nothing to report
+        }
+
+        @Override
+        public boolean wasInterruptRequested() {
+            return false;
+        }
+
+        @Override
+        public void setInterrupted() {
+            // nothing to do
+        }
+    }
+
+    /**
+     * Records the handled deltas, by Uid value; fails when handling the given token.
+     */
+    private static class TestHandler implements SyncopePullResultHandler {
+
+        private final Map<String, List<Integer>> handled;
+
+        private final Integer failing;
+
+        private final List<Integer> mine = Collections.synchronizedList(new ArrayList<>());
+
+        private SyncopePullExecutor executor;
+
+        private ProvisioningProfile<PullTask, PullActions> profile;
+
+        TestHandler(final Map<String, List<Integer>> handled, final Integer failing) {
+            this.handled = handled;
+            this.failing = failing;
+        }
+
+        @Override
+        public void setPullExecutor(final SyncopePullExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public ProvisioningProfile<PullTask, PullActions> getProfile() {
+            return profile;
+        }
+
+        @Override
+        public void setProfile(final ProvisioningProfile<PullTask, PullActions> profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public boolean handle(final SyncDelta delta) {
+            Integer token = (Integer) delta.getToken().getValue();
+            if (token.equals(failing)) {
+                return false;
+            }
+
+            try {
+                // vary handling times, so that workers complete out of order
+                Thread.sleep((DELTAS - token) % 3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            handled.computeIfAbsent(delta.getUid().getUidValue(), k -> Collections.synchronizedList(new ArrayList<>())).
+                    add(token);
+            mine.add(token);
+            executor.setLatestSyncToken(delta.getObjectClass(), delta.getToken());
+            return true;
+        }
+    }
+
+    private static SyncDelta delta(final int token) {
+        String uid = "uid" + token % 7;
+        return new SyncDeltaBuilder().
+                setToken(new SyncToken(token)).
+                setDeltaType(SyncDeltaType.CREATE_OR_UPDATE).
+                setObject(new ConnectorObjectBuilder().
+                        setObjectClass(ObjectClass.ACCOUNT).setUid(uid).setName(uid).build()).
+                build();
+    }
+
+    private final TestPullExecutor executor = new TestPullExecutor();
+
+    private final Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+
+    private List<TestHandler> handlers(final Integer failing) {
+        return IntStream.range(0, WORKERS).
+                mapToObj(i -> new TestHandler(handled, failing)).
+                collect(Collectors.toList());
+    }
+
+    @Test
+    public void pull() {
+        List<TestHandler> handlers = handlers(null);
+        ConcurrentPullResultHandler concurrentHandler =
+                new ConcurrentPullResultHandler(executor, ObjectClass.ACCOUNT, handlers, WORKERS, "test-");
+        for (int i = 0; i < DELTAS; i++) {
+            assertTrue(concurrentHandler.handle(delta(i)));
+        }
+        concurrentHandler.shutdown();
+
+        // all deltas were handled, in order for each remote object, by more than one worker
+        assertEquals(DELTAS, handled.values().stream().mapToInt(List::size).sum());
+        handled.values().forEach(tokens -> assertEquals(tokens.stream().sorted().collect(Collectors.toList()), tokens));
+        assertTrue(handlers.stream().filter(handler -> !handler.mine.isEmpty()).count() > 1);
+
+        // the sync token was only advanced in order, up to the latest delta
+        assertEquals(Set.of(ObjectClass.ACCOUNT), executor.objectClasses);
+        assertEquals(executor.tokens.stream().sorted().collect(Collectors.toList()), executor.tokens);
+        assertEquals(DELTAS - 1, executor.tokens.get(executor.tokens.size() - 1).intValue());
+    }
+
+    @Test
+    public void stopOnFailure() {
+        int failing = 10;
+
+        ConcurrentPullResultHandler concurrentHandler = new ConcurrentPullResultHandler(
+                executor, ObjectClass.ACCOUNT, handlers(failing), WORKERS, "test-");
+        int dispatched = 0;
+        while (dispatched < DELTAS && concurrentHandler.handle(delta(dispatched))) {
+            dispatched++;
+        }
+        concurrentHandler.shutdown();
+
+        assertTrue(dispatched < DELTAS);
+        handled.values().forEach(tokens -> assertEquals(tokens.stream().sorted().collect(Collectors.toList()), tokens));
+
+        // the sync token was never advanced past the failing delta
+        assertEquals(executor.tokens.stream().sorted().collect(Collectors.toList()), executor.tokens);
+        assertTrue(executor.tokens.stream().allMatch(token -> token < failing));
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+public class PushJobDelegateTest {
+
+    private static final int USERS = 20;
+
+    private static final int WORKERS = 4;
+
+    private static User user(final int index) {
+        AnyType anyType = (AnyType) Proxy.newProxyInstance(
+                AnyType.class.getClassLoader(),
+                new Class<?>[] { AnyType.class },
+                (proxy, method, args) -> {
+                    if ("getKey".equals(method.getName())) {
+                        return "USER";
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        return (User) Proxy.newProxyInstance(
+                User.class.getClassLoader(),
+                new Class<?>[] { User.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getKey":
+                            return "key" + index;
+
+                        case "getUsername":
+                            return "user" + index;
+
+                        case "getType":
+                            return anyType;
+
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Records the handled keys and the max number of concurrent invocations, failing on the given keys.
+     */
+    private static class TestHandler {
+
+        private final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private final Set<String> failing;
+
+        private final long sleepMillis;
+
+        TestHandler(final Set<String> failing, final long sleepMillis) {
+            this.failing = failing;
+            this.sleepMillis = sleepMillis;
+        }
+
+        private SyncopePushResultHandler handler() {
+            return (SyncopePushResultHandler) Proxy.newProxyInstance(
+                    SyncopePushResultHandler.class.getClassLoader(),
+                    new Class<?>[] { SyncopePushResultHandler.class },
+                    (proxy, method, args) -> {
+                        if (!"handle".equals(method.getName())) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(sleepMillis);
+                            if (failing.contains((String) args[0])) {
+                                throw new IllegalStateException("boom");
+                            }
+                            handled.add((String) args[0]);
+                            return true;
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+        }
+    }
+
+    private final List<User> users = IntStream.range(0, USERS).
+            mapToObj(PushJobDelegateTest::user).collect(Collectors.toList());
+
+    private PushJobDelegate delegate;
+
+    private ThreadPoolTaskExecutor tpte;
+
+    @BeforeEach
+    public void setup() {
+        delegate = new PushJobDelegate();
+        delegate.resourceThrottles = new ResourceThrottles();
+        delegate.profile = new ProvisioningProfile<>(null, null);
+
+        tpte = new ThreadPoolTaskExecutor();
+        tpte.setCorePoolSize(WORKERS);
+        tpte.setMaxPoolSize(WORKERS);
+        tpte.initialize();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        tpte.shutdown();
+    }
+
+    private int reportedHandled() {
+        return delegate.handled.containsKey("USER") ? delegate.handled.get("USER").getLeft() : 0;
+    }
+
+    @Test
+    public void maxInFlight() {
+        TestHandler handler = new TestHandler(Set.of(), 20);
+
+        delegate.doHandle(users, handler.handler(), ResourceThrottlesTest.resource("resource", 2, null), tpte);
+
+        assertEquals(USERS, handler.handled.size());
+        assertEquals(USERS, reportedHandled());
+        assertTrue(handler.maxInFlight.get() <= 2);
+        assertTrue(delegate.profile.getResults().isEmpty());
+    }
+
+    @Test
+    public void rateLimit() {
+        TestHandler handler = new TestHandler(Set.of(), 0);
+
+        // the first push is immediately dispatched, then one every 20 ms
+        long start = System.nanoTime();
+        delegate.doHandle(users, handler.handler(), ResourceThrottlesTest.resource("resource", null, 50), tpte);
+
+        assertEquals(USERS, handler.handled.size());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20 * (USERS - 1)));
+    }
+
+    @Test
+    public void collectFailures() {
+        TestHandler handler = new TestHandler(Set.of("key3", "key11"), 0);
+
+        delegate.doHandle(users, handler.handler(), ResourceThrottlesTest.resource("resource", null, null), tpte);
+
+        // failures are reported, and all other users pushed anyway
+        assertEquals(USERS - 2, handler.handled.size());
+        assertEquals(USERS - 2, reportedHandled());
+
+        List<ProvisioningReport> results = delegate.profile.getResults();
+        assertEquals(Set.of("key3", "key11"),
+                results.stream().map(ProvisioningReport::getKey).collect(Collectors.toSet()));
+        assertEquals(Set.of("user3", "user11"),
+                results.stream().map(ProvisioningReport::getName).collect(Collectors.toSet()));
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == ProvisioningReport.Status.FAILURE
+                && "USER".equals(result.getAnyType())
+                && result.getMessage().contains("boom")));
+    }
+
+    @Test
+    public void stopOnInterrupt() throws InterruptedException {
+        TestHandler handler = new TestHandler(Set.of(), 100);
+
+        Thread interrupting = new Thread(() -> {
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.interrupt();
+        });
+        interrupting.start();
+
+        long start = System.nanoTime();
+        delegate.doHandle(users, handler.handler(), ResourceThrottlesTest.resource("resource", 1, null), tpte);
+        interrupting.join();
+
+        // pushing all users would take at least 2 seconds
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertTrue(handler.handled.size() < USERS);
+        assertEquals(handler.handled.size(), reportedHandled());
+        assertTrue(delegate.profile.getResults().isEmpty());
+    }
+}
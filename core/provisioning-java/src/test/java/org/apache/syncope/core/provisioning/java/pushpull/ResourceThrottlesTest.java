@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ResourceThrottlesTest {
+
+    static ExternalResource resource(final String key, final Integer maxInFlight, final Integer rateLimit) {
+        return (ExternalResource) Proxy.newProxyInstance(
+                ExternalResource.class.getClassLoader(),
+                new Class<?>[] { ExternalResource.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getKey":
+                            return key;
+
+                        case "getPushMaxInFlight":
+                            return maxInFlight;
+
+                        case "getPushRateLimit":
+                            return rateLimit;
+
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Test
+    public void maxInFlight() throws InterruptedException {
+        ResourceThrottles.Throttle throttle = new ResourceThrottles.Throttle(2, null);
+
+        assertTrue(throttle.tryAcquire(0, TimeUnit.MILLISECONDS));
+        assertTrue(throttle.tryAcquire(0, TimeUnit.MILLISECONDS));
+        assertFalse(throttle.tryAcquire(50, TimeUnit.MILLISECONDS));
+
+        throttle.release();
+        assertTrue(throttle.tryAcquire(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void rateLimit() throws InterruptedException {
+        ResourceThrottles.Throttle throttle = new ResourceThrottles.Throttle(null, 20);
+
+        // the first slot is immediately available, then one every 50 ms
+        long start = System.nanoTime();
+        for (int i = 0; i < 11; i++) {
+            assertTrue(throttle.tryAcquire(0, TimeUnit.MILLISECONDS));
+            throttle.release();
+        }
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(450));
+    }
+
+    @Test
+    public void releaseOnInterrupt() throws InterruptedException {
+        ResourceThrottles.Throttle throttle = new ResourceThrottles.Throttle(1, 1);
+        assertTrue(throttle.tryAcquire(0, TimeUnit.MILLISECONDS));
+        throttle.release();
+
+        // the next slot is one second away: interrupt while waiting for it
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread waiting = new Thread(() -> {
+            try {
+                throttle.tryAcquire(10, TimeUnit.SECONDS);
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        waiting.start();
+        Thread.sleep(100);
+        waiting.interrupt();
+        waiting.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(waiting.isAlive());
+        assertTrue(error.get() instanceof InterruptedException);
+        assertEquals(1, ((Semaphore) ReflectionTestUtils.getField(throttle, "inFlight")).availablePermits());
+    }
+
+    @Test
+    public void get() {
+        ResourceThrottles throttles = new ResourceThrottles();
+
+        ResourceThrottles.Throttle throttle = throttles.get(resource("resource", 2, 10));
+        assertSame(throttle, throttles.get(resource("resource", 2, 10)));
+
+        // shared among resources with the same key only
+        assertNotSame(throttle, throttles.get(resource("another", 2, 10)));
+
+        // replaced as soon as limits are changed
+        ResourceThrottles.Throttle changed = throttles.get(resource("resource", 3, 10));
+        assertNotSame(throttle, changed);
+        assertSame(changed, throttles.get(resource("resource", 3, 10)));
+    }
+}
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Resource;
@@ -91,6 +92,9 @@ public class AuthDataAccessor {
     @Resource(name = "anonymousUser")
     protected String anonymousUser;
 
+    @Resource(name = "jwtIssuer")
+    protected String jwtIssuer;
+
     @Autowired
     protected RealmDAO realmDAO;
 
@@ -124,6 +128,9 @@ public class AuthDataAccessor {
     @Autowired
     protected ImplementationLookup implementationLookup;
 
+    @Autowired
+    protected JWTAuthCache jwtAuthCache;
+
     private Map<String, JWTSSOProvider> jwtSSOProviders;
 
     public JWTSSOProvider getJWTSSOProvider(final String issuer) {
@@ -348,10 +355,54 @@ public class AuthDataAccessor {
         return authorities;
     }
 
+    /**
+     * Checks whether the given cached authentication outcome was resolved from the current access token and owner,
+     * and whether the owner's status still allows to authenticate.
+     *
+     * @param domain domain
+     * @param tokenKey access token key
+     * @param entry cached authentication outcome
+     * @return whether the cached outcome can be used
+     */
+    protected boolean isValid(final String domain, final String tokenKey, final JWTAuthCache.Entry entry) {
+        AccessToken accessToken = accessTokenDAO.find(tokenKey);
+        if (accessToken == null || !accessToken.getBody().equals(entry.getTokenBody())) {
+            return false;
+        }
+        if (entry.getUserKey() == null) {
+            return true;
+        }
+
+        // native query, not served by any cache
+        Date lastChange = userDAO.findLastChange(entry.getUserKey());
+        if (lastChange == null || lastChange.getTime() != entry.getUserLastChange()) {
+            return false;
+        }
+
+        List<String> authStatuses = List.of(confParamOps.get(domain,
+                "authentication.statuses", new String[] {}, String[].class));
+        return authStatuses.contains(entry.getUserStatus());
+    }
+
     @Transactional
     public Pair<String, Set<SyncopeGrantedAuthority>> authenticate(final JWTAuthentication authentication) {
+        String domain = authentication.getDetails().getDomain();
+        String tokenKey = authentication.getClaims().getTokenId();
+
+        // only JWTs issued by Syncope are bound to an Access Token, against which cached entries are checked
+        boolean cacheable = jwtIssuer.equals(authentication.getClaims().getIssuer());
+        if (cacheable) {
+            Optional<JWTAuthCache.Entry> cached = jwtAuthCache.get(
+                    domain, tokenKey, entry -> isValid(domain, tokenKey, entry));
+            if (cached.isPresent()) {
+                LOG.debug("JWT {} resolved from cache to User {}", tokenKey, cached.get().getUsername());
+                return Pair.of(cached.get().getUsername(), cached.get().getAuthorities());
+            }
+        }
+
         String username;
         Set<SyncopeGrantedAuthority> authorities;
+        User user = null;
 
         if (adminUser.equals(authentication.getClaims().getSubject())) {
             AccessToken accessToken = accessTokenDAO.find(authentication.getClaims().getTokenId());
@@ -371,7 +422,7 @@ public class AuthDataAccessor {
                         + " for JWT " + authentication.getClaims().getTokenId());
             }
 
-            User user = resolved.getLeft();
+            user = resolved.getLeft();
             username = user.getUsername();
             authorities = resolved.getRight() == null ? Set.of() : resolved.getRight();
             LOG.debug("JWT {} issued by {} resolved to User {} with authorities {}",
@@ -396,6 +447,21 @@ public class AuthDataAccessor {
             }
         }
 
+        if (cacheable) {
+            AccessToken accessToken = accessTokenDAO.find(tokenKey);
+            // read as when checking, to compare values with the same precision
+            Date lastChange = user == null ? null : userDAO.findLastChange(user.getKey());
+            if (accessToken != null && (user == null || lastChange != null)) {
+                jwtAuthCache.put(domain, tokenKey, authentication.getClaims().getExpiryTime(), new JWTAuthCache.Entry(
+                        username,
+                        authorities,
+                        accessToken.getBody(),
+                        user == null ? null : user.getKey(),
+                        lastChange == null ? 0L : lastChange.getTime(),
+                        user == null ? null : user.getStatus()));
+            }
+        }
+
         return Pair.of(username, authorities);
     }
 
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.apache.syncope.core.provisioning.api.event.AccessTokenChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caches, per domain and access token, the outcome of authentication for JWTs issued by Syncope, so that subsequent
+ * requests bearing the same JWT do not need to load the owner, decrypt the stored authorities and read the
+ * configuration again.
+ *
+ * Each entry records what its outcome was resolved from - the access token body, the owner's last change date and
+ * status - and is only returned if still matching the current values, as checked by the caller on each lookup: this
+ * makes revocations effective immediately on all nodes, as they would be without cache.
+ * Entries are also bounded in number and in time, by the token expiry and by the configured max age.
+ */
+public class JWTAuthCache {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(JWTAuthCache.class);
+
+    /**
+     * Cached authentication outcome, with what it was resolved from.
+     */
+    public static class Entry {
+
+        protected final String username;
+
+        protected final Set<SyncopeGrantedAuthority> authorities;
+
+        protected final String tokenBody;
+
+        protected final String userKey;
+
+        protected final long userLastChange;
+
+        protected final String userStatus;
+
+        protected long expireAt;
+
+        /**
+         * @param username resolved username
+         * @param authorities resolved authorities
+         * @param tokenBody body of the access token, as read when resolving
+         * @param userKey owner key, null for admin
+         * @param userLastChange owner's last change - or creation - time, as read when resolving
+         * @param userStatus owner's status, as read when resolving
+         */
+        public Entry(
+                final String username,
+                final Set<SyncopeGrantedAuthority> authorities,
+                final String tokenBody,
+                final String userKey,
+                final long userLastChange,
+                final String userStatus) {
+
+            this.username = username;
+            this.authorities = authorities;
+            this.tokenBody = tokenBody;
+            this.userKey = userKey;
+            this.userLastChange = userLastChange;
+            this.userStatus = userStatus;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public Set<SyncopeGrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        public String getTokenBody() {
+            return tokenBody;
+        }
+
+        public String getUserKey() {
+            return userKey;
+        }
+
+        public long getUserLastChange() {
+            return userLastChange;
+        }
+
+        public String getUserStatus() {
+            return userStatus;
+        }
+    }
+
+    protected static String key(final String domain, final String tokenKey) {
+        return domain + '/' + tokenKey;
+    }
+
+    protected final int maxSize;
+
+    protected final long maxAgeMillis;
+
+    /**
+     * Entries by domain and token key.
+     */
+    protected final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder misses = new LongAdder();
+
+    protected final LongAdder evictions = new LongAdder();
+
+    public JWTAuthCache(final int maxSize, final long maxAgeSeconds) {
+        this.maxSize = maxSize;
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+    }
+
+    /**
+     * Returns the cached entry for the given token, if not expired and still valid; otherwise, the entry is removed.
+     *
+     * @param domain domain
+     * @param tokenKey access token key
+     * @param valid checks whether the cached entry still matches the current access token and owner
+     * @return cached entry, if available and valid
+     */
+    public Optional<Entry> get(final String domain, final String tokenKey, final Predicate<Entry> valid) {
+        Entry entry = entries.get(key(domain, tokenKey));
+        if (entry != null && (entry.expireAt < System.currentTimeMillis() || !valid.test(entry))) {
+            LOG.debug("Discarding cached authentication for JWT {}", tokenKey);
+            entries.remove(key(domain, tokenKey), entry);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Caches the given authentication outcome.
+     *
+     * @param domain domain
+     * @param tokenKey access token key
+     * @param tokenExpiry token expiry time, in seconds as per JWT
+     * @param entry authentication outcome
+     */
+    public void put(final String domain, final String tokenKey, final Long tokenExpiry, final Entry entry) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        entry.expireAt = System.currentTimeMillis() + maxAgeMillis;
+        if (tokenExpiry != null) {
+            entry.expireAt = Math.min(entry.expireAt, TimeUnit.SECONDS.toMillis(tokenExpiry));
+        }
+
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+
+        entries.put(key(domain, tokenKey), entry);
+    }
+
+    public void remove(final String domain, final String tokenKey) {
+        entries.remove(key(domain, tokenKey));
+    }
+
+    /**
+     * Removes expired entries, and arbitrary entries until at least one tenth of the capacity is available.
+     */
+    protected void evict() {
+        long now = System.currentTimeMillis();
+        int target = maxSize - Math.max(1, maxSize / 10);
+
+        for (Iterator<Map.Entry<String, Entry>> itor = entries.entrySet().iterator(); itor.hasNext();) {
+            Map.Entry<String, Entry> entry = itor.next();
+            if (entry.getValue().expireAt < now || entries.size() > target) {
+                itor.remove();
+                evictions.increment();
+            }
+        }
+
+        LOG.debug("Evicted JWT authentication entries: {}", this);
+    }
+
+    /**
+     * Removes the entry for the changed access token as soon as possible on this node; on other nodes, the entry
+     * is discarded upon next lookup.
+     *
+     * @param event access token change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void after(final AccessTokenChangedEvent event) {
+        remove(event.getDomain(), event.getTokenKey());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size()
+                + ", hits=" + getHits()
+                + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions()
+                + ", hitRatio=" + getHitRatio() + ']';
+    }
+}
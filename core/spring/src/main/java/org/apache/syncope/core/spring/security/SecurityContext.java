@@ -107,6 +107,13 @@ public class SecurityContext implements EnvironmentAware {
         return new DefaultPasswordGenerator();
     }
 
+    @Bean
+    public JWTAuthCache jwtAuthCache() {
+        return new JWTAuthCache(
+                env.getProperty("jwtAuthCache.maxSize", Integer.class, 10000),
+                env.getProperty("jwtAuthCache.maxAgeSeconds", Long.class, 300L));
+    }
+
     @Bean
     public GrantedAuthorityDefaults grantedAuthorityDefaults() {
         return new GrantedAuthorityDefaults(""); // Remove the ROLE_ prefix
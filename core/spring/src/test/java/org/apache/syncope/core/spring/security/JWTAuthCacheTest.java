@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.types.IdRepoEntitlement;
+import org.apache.syncope.core.provisioning.api.event.AccessTokenChangedEvent;
+import org.junit.jupiter.api.Test;
+
+public class JWTAuthCacheTest {
+
+    private static final String DOMAIN = "Master";
+
+    private static JWTAuthCache.Entry entry(final String tokenBody, final long userLastChange) {
+        return new JWTAuthCache.Entry(
+                "rossini",
+                Set.of(new SyncopeGrantedAuthority(IdRepoEntitlement.USER_READ)),
+                tokenBody,
+                "1417acbe-cbf6-4277-9372-e75e04f97000",
+                userLastChange,
+                "active");
+    }
+
+    private static Long inSeconds(final long millis) {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() + millis);
+    }
+
+    @Test
+    public void hit() {
+        JWTAuthCache cache = new JWTAuthCache(10, 300);
+        cache.put(DOMAIN, "token1", inSeconds(60000), entry("body1", 1000L));
+
+        Optional<JWTAuthCache.Entry> cached = cache.get(DOMAIN, "token1", entry -> true);
+        assertTrue(cached.isPresent());
+        assertEquals("rossini", cached.get().getUsername());
+        assertEquals(1, cache.getHits());
+
+        // tokens are cached per domain
+        assertFalse(cache.get("Two", "token1", entry -> true).isPresent());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void invalidation() {
+        JWTAuthCache cache = new JWTAuthCache(10, 300);
+
+        // access token replaced, or owner updated on any node
+        cache.put(DOMAIN, "token1", inSeconds(60000), entry("body1", 1000L));
+        assertFalse(cache.get(DOMAIN, "token1",
+                entry -> "body2".equals(entry.getTokenBody()) && entry.getUserLastChange() == 1000L).isPresent());
+        assertEquals(0, cache.size());
+
+        cache.put(DOMAIN, "token1", inSeconds(60000), entry("body1", 1000L));
+        assertFalse(cache.get(DOMAIN, "token1",
+                entry -> "body1".equals(entry.getTokenBody()) && entry.getUserLastChange() == 2000L).isPresent());
+        assertEquals(0, cache.size());
+
+        // access token removed on this node
+        cache.put(DOMAIN, "token1", inSeconds(60000), entry("body1", 1000L));
+        cache.after(new AccessTokenChangedEvent(this, "token1", "rossini", DOMAIN));
+        assertFalse(cache.get(DOMAIN, "token1", entry -> true).isPresent());
+    }
+
+    @Test
+    public void expiry() throws InterruptedException {
+        // token expiry
+        JWTAuthCache cache = new JWTAuthCache(10, 300);
+        cache.put(DOMAIN, "token1", inSeconds(-1000), entry("body1", 1000L));
+        assertFalse(cache.get(DOMAIN, "token1", entry -> true).isPresent());
+
+        // max age
+        cache = new JWTAuthCache(10, 0);
+        cache.put(DOMAIN, "token1", inSeconds(60000), entry("body1", 1000L));
+        Thread.sleep(10);
+        assertFalse(cache.get(DOMAIN, "token1", entry -> true).isPresent());
+    }
+
+    @Test
+    public void eviction() {
+        JWTAuthCache cache = new JWTAuthCache(10, 300);
+        for (int i = 0; i < 20; i++) {
+            cache.put(DOMAIN, "token" + i, inSeconds(60000), entry("body" + i, 1000L));
+        }
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.getEvictions() > 0);
+
+        // caching disabled
+        cache = new JWTAuthCache(0, 300);
+        cache.put(DOMAIN, "token1", inSeconds(60000), entry("body1", 1000L));
+        assertEquals(0, cache.size());
+    }
+}
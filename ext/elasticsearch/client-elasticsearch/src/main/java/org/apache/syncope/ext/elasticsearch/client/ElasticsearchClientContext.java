@@ -41,6 +41,18 @@ public class ElasticsearchClientContext {
         return new ElasticsearchIndexManager();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public ElasticsearchIndexQueue elasticsearchIndexQueue() {
+        ElasticsearchIndexQueue queue = new ElasticsearchIndexQueue();
+        queue.setBatchSize(1000);
+        queue.setFlushIntervalMillis(1000);
+        queue.setRetryBackoffMillis(500);
+        queue.setMaxRetryBackoffMillis(60000);
+        queue.setGiveUpAfterMillis(86400000);
+        return queue;
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public ElasticsearchUtils elasticsearchUtils() {
@@ -49,6 +61,9 @@ public class ElasticsearchClientContext {
         utils.setRetryOnConflict(5);
         utils.setNumberOfShards(1);
         utils.setNumberOfReplicas(1);
+        utils.setBulkActions(1000);
+        utils.setBulkConcurrentRequests(2);
+        utils.setReindexLoaders(4);
         return utils;
     }
 }
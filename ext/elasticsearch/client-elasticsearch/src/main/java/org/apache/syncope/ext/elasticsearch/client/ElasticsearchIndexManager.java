@@ -19,27 +19,28 @@
 package org.apache.syncope.ext.elasticsearch.client;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
-import org.elasticsearch.action.delete.DeleteRequest;
-import org.elasticsearch.action.delete.DeleteResponse;
-import org.elasticsearch.action.get.GetRequest;
-import org.elasticsearch.action.get.GetResponse;
-import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
-import org.elasticsearch.action.update.UpdateRequest;
-import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.slf4j.Logger;
@@ -49,6 +50,8 @@ import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Listen to any create / update and delete in order to keep the Elasticsearch indexes consistent.
+ *
+ * Changes are not sent on commit, but enqueued to {@link ElasticsearchIndexQueue} for asynchronous bulk indexing.
  */
 public class ElasticsearchIndexManager {
 
@@ -60,14 +63,65 @@ public class ElasticsearchIndexManager {
     @Autowired
     private ElasticsearchUtils elasticsearchUtils;
 
+    @Autowired
+    private ElasticsearchIndexQueue indexQueue;
+
     public boolean existsIndex(final String domain, final AnyTypeKind kind) throws IOException {
         return client.indices().exists(
                 new GetIndexRequest(ElasticsearchUtils.getContextDomainName(domain, kind)), RequestOptions.DEFAULT);
     }
 
+    /**
+     * Returns the concrete indexes currently behind the alias for the given domain and kind; a concrete index named
+     * as the alias - as created by previous releases - is also returned.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return concrete indexes for the given domain and kind
+     * @throws IOException in case of errors
+     */
+    public Set<String> getIndexes(final String domain, final AnyTypeKind kind) throws IOException {
+        String alias = ElasticsearchUtils.getContextDomainName(domain, kind);
+
+        GetAliasesResponse response = client.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT);
+        Set<String> indexes = new HashSet<>(response.getAliases().keySet());
+        if (indexes.isEmpty() && existsIndex(domain, kind)) {
+            indexes.add(alias);
+        }
+        return indexes;
+    }
+
+    /**
+     * Creates a new versioned index for the given domain and kind, and points the alias to it.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @throws InterruptedException in case of errors
+     * @throws ExecutionException in case of errors
+     * @throws IOException in case of errors
+     */
     public void createIndex(final String domain, final AnyTypeKind kind)
             throws InterruptedException, ExecutionException, IOException {
 
+        String index = createIndex(domain, kind, false);
+        swapAlias(domain, kind, index);
+    }
+
+    /**
+     * Creates a new versioned index for the given domain and kind, not yet pointed by the alias.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param bulkLoad whether the index is about to be bulk loaded, hence without refresh and replicas until
+     * {@link #completeBulkLoad(String)} is invoked
+     * @return name of the new index
+     * @throws IOException in case of errors
+     */
+    public String createIndex(final String domain, final AnyTypeKind kind, final boolean bulkLoad)
+            throws IOException {
+
+        String index = ElasticsearchUtils.getContextDomainName(domain, kind) + '_' + System.currentTimeMillis();
+
         XContentBuilder settings = XContentFactory.jsonBuilder().
                 startObject().
                 startObject("analysis").
@@ -84,7 +138,8 @@ public class ElasticsearchIndexManager {
                 endObject().
                 startObject("index").
                 field("number_of_shards", elasticsearchUtils.getNumberOfShards()).
-                field("number_of_replicas", elasticsearchUtils.getNumberOfReplicas()).
+                field("number_of_replicas", bulkLoad ? 0 : elasticsearchUtils.getNumberOfReplicas()).
+                field("refresh_interval", bulkLoad ? "-1" : "1s").
                 endObject().
                 endObject();
 
@@ -104,60 +159,92 @@ public class ElasticsearchIndexManager {
                 endObject();
 
         CreateIndexResponse response = client.indices().create(
-                new CreateIndexRequest(ElasticsearchUtils.getContextDomainName(domain, kind)).
+                new CreateIndexRequest(index).
                         settings(settings).
                         mapping(mapping), RequestOptions.DEFAULT);
-        LOG.debug("Successfully created {} for {}: {}",
-                ElasticsearchUtils.getContextDomainName(domain, kind), kind.name(), response);
+        LOG.debug("Successfully created {} for {}: {}", index, kind.name(), response);
+
+        return index;
     }
 
-    public void removeIndex(final String domain, final AnyTypeKind kind) throws IOException {
+    /**
+     * Restores refresh and replicas on the given bulk loaded index, then refreshes it.
+     *
+     * @param index index name
+     * @throws IOException in case of errors
+     */
+    public void completeBulkLoad(final String index) throws IOException {
+        client.indices().putSettings(new UpdateSettingsRequest(index).settings(Settings.builder().
+                put("index.refresh_interval", "1s").
+                put("index.number_of_replicas", elasticsearchUtils.getNumberOfReplicas())), RequestOptions.DEFAULT);
+        client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Atomically points the alias for the given domain and kind to the given index, removing the indexes it was
+     * pointing to so far.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param index index name
+     * @throws IOException in case of errors
+     */
+    public void swapAlias(final String domain, final AnyTypeKind kind, final String index) throws IOException {
+        String alias = ElasticsearchUtils.getContextDomainName(domain, kind);
+
+        IndicesAliasesRequest request = new IndicesAliasesRequest();
+        getIndexes(domain, kind).stream().filter(previous -> !previous.equals(index)).
+                forEach(previous -> request.addAliasAction(AliasActions.removeIndex().index(previous)));
+        request.addAliasAction(AliasActions.add().index(index).alias(alias));
+
+        AcknowledgedResponse response = updateAliases(request);
+        LOG.debug("Successfully pointed {} to {}: {}", alias, index, response);
+    }
+
+    protected AcknowledgedResponse updateAliases(final IndicesAliasesRequest request) throws IOException {
+        return client.indices().updateAliases(request, RequestOptions.DEFAULT);
+    }
+
+    public void removeIndex(final String index) throws IOException {
         AcknowledgedResponse acknowledgedResponse = client.indices().delete(
-                new DeleteIndexRequest(ElasticsearchUtils.getContextDomainName(domain, kind)), RequestOptions.DEFAULT);
-        LOG.debug("Successfully removed {}: {}",
-                ElasticsearchUtils.getContextDomainName(domain, kind), acknowledgedResponse);
+                new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+        LOG.debug("Successfully removed {}: {}", index, acknowledgedResponse);
     }
 
-    @TransactionalEventListener
-    public void after(final AnyCreatedUpdatedEvent<Any<?>> event) throws IOException {
-        GetRequest getRequest = new GetRequest(
-                ElasticsearchUtils.getContextDomainName(
-                        AuthContextUtils.getDomain(), event.getAny().getType().getKind()),
-                event.getAny().getKey());
-        GetResponse getResponse = client.get(getRequest, RequestOptions.DEFAULT);
-        if (getResponse.isExists()) {
-            LOG.debug("About to update index for {}", event.getAny());
-
-            UpdateRequest request = new UpdateRequest(
-                    ElasticsearchUtils.getContextDomainName(
-                            AuthContextUtils.getDomain(), event.getAny().getType().getKind()),
-                    event.getAny().getKey()).
-                    retryOnConflict(elasticsearchUtils.getRetryOnConflict()).
-                    doc(elasticsearchUtils.builder(event.getAny()));
-            UpdateResponse response = client.update(request, RequestOptions.DEFAULT);
-            LOG.debug("Index successfully updated for {}: {}", event.getAny(), response);
-        } else {
-            LOG.debug("About to create index for {}", event.getAny());
-
-            IndexRequest request = new IndexRequest(
-                    ElasticsearchUtils.getContextDomainName(
-                            AuthContextUtils.getDomain(), event.getAny().getType().getKind())).
-                    id(event.getAny().getKey()).
-                    source(elasticsearchUtils.builder(event.getAny()));
-            IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-            LOG.debug("Index successfully created for {}: {}", event.getAny(), response);
+    public void removeIndex(final String domain, final AnyTypeKind kind) throws IOException {
+        for (String index : getIndexes(domain, kind)) {
+            removeIndex(index);
         }
     }
 
+    /**
+     * Registers the given index as being rebuilt for the given domain and kind: until
+     * {@link #stopRebuild(String, AnyTypeKind)} is invoked, changes are also sent to such index.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param index index being rebuilt
+     */
+    public void startRebuild(final String domain, final AnyTypeKind kind, final String index) {
+        indexQueue.startRebuild(domain, kind, index);
+    }
+
+    public void stopRebuild(final String domain, final AnyTypeKind kind) {
+        indexQueue.stopRebuild(domain, kind);
+    }
+
     @TransactionalEventListener
-    public void after(final AnyDeletedEvent event) throws IOException {
-        LOG.debug("About to delete index for {}[{}]", event.getAnyTypeKind(), event.getAnyKey());
-
-        DeleteRequest request = new DeleteRequest(
-                ElasticsearchUtils.getContextDomainName(AuthContextUtils.getDomain(), event.getAnyTypeKind()),
-                event.getAnyKey());
-        DeleteResponse response = client.delete(request, RequestOptions.DEFAULT);
-        LOG.debug("Index successfully deleted for {}[{}]: {}",
-                event.getAnyTypeKind(), event.getAnyKey(), response);
+    public void after(final AnyCreatedUpdatedEvent<Any<?>> event) {
+        LOG.debug("About to enqueue index update for {}", event.getAny());
+
+        indexQueue.enqueue(
+                AuthContextUtils.getDomain(), event.getAny().getType().getKind(), event.getAny().getKey(), false);
+    }
+
+    @TransactionalEventListener
+    public void after(final AnyDeletedEvent event) {
+        LOG.debug("About to enqueue index deletion for {}[{}]", event.getAnyTypeKind(), event.getAnyKey());
+
+        indexQueue.enqueue(AuthContextUtils.getDomain(), event.getAnyTypeKind(), event.getAnyKey(), true);
     }
 }
@@ -0,0 +1,525 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.VersionType;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Asynchronous queue of Elasticsearch index changes.
+ *
+ * Changes are coalesced by document, so that only the latest one for each user, group or any object is kept; a single
+ * flusher thread sends them by bulk requests, every flush interval or as soon as a full batch is available. Documents
+ * are built when flushing, from the current content of the database.
+ * Failed changes are retried with exponential backoff, capped to a maximum interval, unless a newer change for the
+ * same document was queued meanwhile; changes still failing after the configured time are given up.
+ */
+public class ElasticsearchIndexQueue implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ElasticsearchIndexQueue.class);
+
+    protected static class Pending {
+
+        protected final String domain;
+
+        protected final AnyTypeKind kind;
+
+        protected final String key;
+
+        protected final long enqueued;
+
+        protected boolean delete;
+
+        protected long version;
+
+        protected int attempts;
+
+        protected long firstFailed;
+
+        protected long notBefore;
+
+        /**
+         * Whether deletion is to be sent without external version, after a version conflict.
+         */
+        protected boolean unversioned;
+
+        protected Pending(
+                final String domain,
+                final AnyTypeKind kind,
+                final String key,
+                final boolean delete,
+                final long enqueued) {
+
+            this.domain = domain;
+            this.kind = kind;
+            this.key = key;
+            this.delete = delete;
+            this.enqueued = enqueued;
+            this.version = enqueued;
+        }
+
+        protected String alias() {
+            return ElasticsearchUtils.getContextDomainName(domain, kind);
+        }
+
+        protected String id() {
+            return alias() + '/' + key;
+        }
+
+        @Override
+        public String toString() {
+            return (delete ? "DELETE " : "INDEX ") + kind + '[' + key + "]@" + domain;
+        }
+    }
+
+    @Autowired
+    protected RestHighLevelClient client;
+
+    @Autowired
+    protected ElasticsearchUtils elasticsearchUtils;
+
+    protected int batchSize = 1000;
+
+    protected long flushIntervalMillis = 1000;
+
+    protected long retryBackoffMillis = 500;
+
+    protected long maxRetryBackoffMillis = 60000;
+
+    protected long giveUpAfterMillis = 86400000;
+
+    protected ThreadPoolTaskScheduler scheduler;
+
+    protected volatile boolean running;
+
+    /**
+     * Indexes being rebuilt, by alias.
+     */
+    protected final Map<String, String> rebuilding = new ConcurrentHashMap<>();
+
+    /**
+     * Changes not yet sent, in enqueue order; guarded by this queue.
+     */
+    protected final Map<String, Pending> pending = new LinkedHashMap<>();
+
+    /**
+     * Failed changes waiting for their next attempt; guarded by this queue.
+     */
+    protected final Map<String, Pending> retrying = new LinkedHashMap<>();
+
+    protected final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    protected final LongAdder queued = new LongAdder();
+
+    protected final LongAdder coalesced = new LongAdder();
+
+    protected final LongAdder flushed = new LongAdder();
+
+    protected final LongAdder retried = new LongAdder();
+
+    protected final LongAdder failed = new LongAdder();
+
+    protected volatile long lastFlushLatency;
+
+    protected volatile long lastFlushLag;
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setFlushIntervalMillis(final long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public void setRetryBackoffMillis(final long retryBackoffMillis) {
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    public void setMaxRetryBackoffMillis(final long maxRetryBackoffMillis) {
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+
+    /**
+     * @param giveUpAfterMillis milliseconds after the first failure of a change before giving it up; changes are
+     * retried until sent if not positive
+     */
+    public void setGiveUpAfterMillis(final long giveUpAfterMillis) {
+        this.giveUpAfterMillis = giveUpAfterMillis;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("ElasticsearchIndexQueue-");
+        scheduler.initialize();
+
+        running = true;
+        scheduler.scheduleWithFixedDelay(this::flush, Math.max(1, flushIntervalMillis));
+    }
+
+    /**
+     * Stops the flusher thread, then sends the changes still queued.
+     */
+    @Override
+    public void destroy() {
+        running = false;
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.shutdown();
+
+        synchronized (this) {
+            retrying.values().forEach(p -> p.notBefore = 0);
+        }
+        flush();
+
+        int lost = getQueueSize();
+        if (lost > 0) {
+            LOG.error("{} index changes could not be sent before shutdown", lost);
+        }
+    }
+
+    /**
+     * Registers the given index as being rebuilt for the given domain and kind: until
+     * {@link #stopRebuild(String, AnyTypeKind)} is invoked, changes are also sent to such index.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param index index being rebuilt
+     */
+    public void startRebuild(final String domain, final AnyTypeKind kind, final String index) {
+        rebuilding.put(ElasticsearchUtils.getContextDomainName(domain, kind), index);
+    }
+
+    public void stopRebuild(final String domain, final AnyTypeKind kind) {
+        rebuilding.remove(ElasticsearchUtils.getContextDomainName(domain, kind));
+    }
+
+    /**
+     * Enqueues the indexing or deletion of the given user, group or any object, replacing any change for the same
+     * document not sent yet.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param key user, group or any object key
+     * @param delete whether the document is to be deleted
+     */
+    public void enqueue(final String domain, final AnyTypeKind kind, final String key, final boolean delete) {
+        long now = System.currentTimeMillis();
+        Pending next = new Pending(domain, kind, key, delete, now);
+
+        int size;
+        synchronized (this) {
+            retrying.remove(next.id());
+
+            Pending previous = pending.get(next.id());
+            if (previous == null) {
+                pending.put(next.id(), next);
+            } else {
+                previous.delete = delete;
+                previous.version = now;
+                coalesced.increment();
+            }
+            size = pending.size();
+        }
+        queued.increment();
+
+        if (!running) {
+            LOG.debug("Queue stopped, sending {} in the current thread", next);
+            flush();
+        } else if (size >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    protected synchronized List<Pending> poll(final int max) {
+        long now = System.currentTimeMillis();
+        List<Pending> batch = new ArrayList<>();
+
+        for (Iterator<Pending> itor = retrying.values().iterator(); itor.hasNext() && batch.size() < max;) {
+            Pending p = itor.next();
+            if (p.notBefore <= now) {
+                batch.add(p);
+                itor.remove();
+            }
+        }
+        for (Iterator<Pending> itor = pending.values().iterator(); itor.hasNext() && batch.size() < max;) {
+            batch.add(itor.next());
+            itor.remove();
+        }
+
+        return batch;
+    }
+
+    /**
+     * Sends all changes ready to be sent, in batches.
+     */
+    protected void flush() {
+        flushRequested.set(false);
+
+        int max = Math.max(1, batchSize);
+        List<Pending> batch;
+        do {
+            batch = poll(max);
+            if (!batch.isEmpty()) {
+                try {
+                    send(batch);
+                } catch (Exception e) {
+                    LOG.error("While sending {} index changes", batch.size(), e);
+                    batch.forEach(this::retry);
+                }
+            }
+        } while (batch.size() == max);
+    }
+
+    protected void retry(final Pending p) {
+        long now = System.currentTimeMillis();
+        p.attempts++;
+        if (p.firstFailed == 0) {
+            p.firstFailed = now;
+        } else if (giveUpAfterMillis > 0 && now - p.firstFailed >= giveUpAfterMillis) {
+            LOG.error("Giving up {} after {} attempts in {} ms", p, p.attempts, now - p.firstFailed);
+            failed.increment();
+            return;
+        }
+
+        p.notBefore = now + Math.min(retryBackoffMillis << Math.min(p.attempts - 1, 16), maxRetryBackoffMillis);
+        synchronized (this) {
+            // a newer change for the same document supersedes the failed one
+            if (!pending.containsKey(p.id())) {
+                retrying.putIfAbsent(p.id(), p);
+            }
+        }
+        retried.increment();
+    }
+
+    protected void send(final List<Pending> batch) throws Exception {
+        BulkRequest request = new BulkRequest();
+        // changes for each request item
+        List<Pending> owners = new ArrayList<>();
+        // request items sent to indexes being rebuilt
+        BitSet rebuiltItems = new BitSet();
+
+        Map<String, List<Pending>> byAlias = batch.stream().
+                collect(Collectors.groupingBy(Pending::alias, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<String, List<Pending>> entry : byAlias.entrySet()) {
+            String alias = entry.getKey();
+            Pending first = entry.getValue().get(0);
+
+            List<String> toIndex = entry.getValue().stream().
+                    filter(p -> !p.delete).map(p -> p.key).collect(Collectors.toList());
+            Map<String, IndexRequest> indexRequests = toIndex.isEmpty()
+                    ? Map.of()
+                    : indexRequests(first.domain, alias, first.kind, toIndex).stream().
+                            collect(Collectors.toMap(IndexRequest::id, Function.identity()));
+
+            String rebuilt = rebuilding.get(alias);
+            for (Pending p : entry.getValue()) {
+                DocWriteRequest<?> item;
+                DocWriteRequest<?> rebuiltItem = null;
+                if (p.delete) {
+                    item = deleteRequest(alias, p);
+                    if (rebuilt != null) {
+                        rebuiltItem = deleteRequest(rebuilt, p);
+                    }
+                } else {
+                    IndexRequest indexRequest = indexRequests.get(p.key);
+                    if (indexRequest == null) {
+                        LOG.debug("{} not found, a deletion is expected to follow", p);
+                        continue;
+                    }
+
+                    item = indexRequest;
+                    if (rebuilt != null) {
+                        rebuiltItem = new IndexRequest(rebuilt).id(p.key).
+                                source(indexRequest.source(), indexRequest.getContentType()).
+                                versionType(indexRequest.versionType()).version(indexRequest.version());
+                    }
+                }
+
+                request.add(item);
+                owners.add(p);
+                if (rebuiltItem != null) {
+                    rebuiltItems.set(owners.size());
+                    request.add(rebuiltItem);
+                    owners.add(p);
+                }
+            }
+        }
+
+        if (request.numberOfActions() == 0) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        BulkResponse response = bulk(request);
+        lastFlushLatency = System.currentTimeMillis() - start;
+        lastFlushLag = start - batch.stream().mapToLong(p -> p.enqueued).min().orElse(start);
+        LOG.debug("Sent {} index changes in {} ms", request.numberOfActions(), lastFlushLatency);
+
+        Set<Pending> sent = new LinkedHashSet<>();
+        Set<Pending> toRetry = new LinkedHashSet<>();
+        for (BulkItemResponse item : response) {
+            Pending owner = owners.get(item.getItemId());
+            boolean rebuiltItem = rebuiltItems.get(item.getItemId());
+
+            if (!item.isFailed()) {
+                if (!rebuiltItem) {
+                    sent.add(owner);
+                }
+            } else if (item.getFailure().getStatus() == RestStatus.CONFLICT) {
+                if (item.getOpType() == DocWriteRequest.OpType.DELETE) {
+                    // the document was versioned after a clock ahead of the one used for deletion: as the deletion
+                    // was committed, send it again without version
+                    LOG.warn("Version conflict while deleting {} from {}, retrying without version",
+                            owner, item.getIndex());
+                    owner.unversioned = true;
+                    toRetry.add(owner);
+                } else if (!rebuiltItem) {
+                    // index version conflicts mean that a newer document was indexed meanwhile
+                    sent.add(owner);
+                }
+            } else if (rebuiltItem) {
+                LOG.error("Could not update rebuilt index {} for {}: {}",
+                        item.getIndex(), item.getId(), item.getFailureMessage());
+            } else {
+                LOG.warn("Could not send {}: {}", owner, item.getFailureMessage());
+                toRetry.add(owner);
+            }
+        }
+
+        sent.removeAll(toRetry);
+        flushed.add(sent.size());
+        toRetry.forEach(this::retry);
+    }
+
+    protected DeleteRequest deleteRequest(final String index, final Pending p) {
+        DeleteRequest request = new DeleteRequest(index, p.key);
+        if (!p.unversioned) {
+            // external version, to prevent documents read before deletion from being indexed again
+            request.versionType(VersionType.EXTERNAL_GTE).version(p.version);
+        }
+        return request;
+    }
+
+    protected List<IndexRequest> indexRequests(
+            final String domain, final String alias, final AnyTypeKind kind, final List<String> keys) {
+
+        return AuthContextUtils.callAsAdmin(domain, () -> elasticsearchUtils.indexRequests(alias, kind, keys));
+    }
+
+    protected BulkResponse bulk(final BulkRequest request) throws IOException {
+        return client.bulk(request, RequestOptions.DEFAULT);
+    }
+
+    public synchronized int getQueueSize() {
+        return pending.size() + retrying.size();
+    }
+
+    /**
+     * @return milliseconds since the oldest change still queued was enqueued, 0 if none
+     */
+    public long getLag() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            long oldest = pending.values().stream().findFirst().map(p -> p.enqueued).orElse(now);
+            for (Pending p : retrying.values()) {
+                oldest = Math.min(oldest, p.enqueued);
+            }
+            return now - oldest;
+        }
+    }
+
+    public long getQueued() {
+        return queued.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public long getFlushed() {
+        return flushed.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return duration in milliseconds of the last bulk request
+     */
+    public long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    /**
+     * @return milliseconds between enqueuing the oldest change of the last bulk request and sending it
+     */
+    public long getLastFlushLag() {
+        return lastFlushLag;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[queueSize=" + getQueueSize()
+                + ", lag=" + getLag()
+                + ", queued=" + getQueued()
+                + ", coalesced=" + getCoalesced()
+                + ", flushed=" + getFlushed()
+                + ", retried=" + getRetried()
+                + ", failed=" + getFailed()
+                + ", lastFlushLatency=" + getLastFlushLatency()
+                + ", lastFlushLag=" + getLastFlushLag() + ']';
+    }
+}
@@ -20,11 +20,15 @@ package org.apache.syncope.ext.elasticsearch.client;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
@@ -35,8 +39,10 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.index.VersionType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -62,6 +68,12 @@ public class ElasticsearchUtils {
 
     private int numberOfReplicas = 1;
 
+    private int bulkActions = 1000;
+
+    private int bulkConcurrentRequests = 2;
+
+    private int reindexLoaders = 4;
+
     public void setIndexMaxResultWindow(final int indexMaxResultWindow) {
         this.indexMaxResultWindow = indexMaxResultWindow;
     }
@@ -94,6 +106,78 @@ public class ElasticsearchUtils {
         this.numberOfReplicas = numberOfReplicas;
     }
 
+    public int getBulkActions() {
+        return bulkActions;
+    }
+
+    public void setBulkActions(final int bulkActions) {
+        this.bulkActions = bulkActions;
+    }
+
+    public int getBulkConcurrentRequests() {
+        return bulkConcurrentRequests;
+    }
+
+    public void setBulkConcurrentRequests(final int bulkConcurrentRequests) {
+        this.bulkConcurrentRequests = bulkConcurrentRequests;
+    }
+
+    public int getReindexLoaders() {
+        return reindexLoaders;
+    }
+
+    public void setReindexLoaders(final int reindexLoaders) {
+        this.reindexLoaders = reindexLoaders;
+    }
+
+    /**
+     * Returns the request for indexing the provided any into the given index, versioned after the last change date,
+     * so that documents built from outdated reads cannot replace newer ones.
+     *
+     * @param index index name
+     * @param any user, group or any object to index
+     * @return request for indexing the provided any
+     * @throws IOException in case of errors
+     */
+    @Transactional
+    public IndexRequest indexRequest(final String index, final Any<?> any) throws IOException {
+        IndexRequest request = new IndexRequest(index).id(any.getKey()).source(builder(any));
+
+        Date version = Optional.ofNullable(any.getLastChangeDate()).orElse(any.getCreationDate());
+        if (version != null) {
+            request.versionType(VersionType.EXTERNAL_GTE).version(version.getTime());
+        }
+
+        return request;
+    }
+
+    /**
+     * Returns the requests for indexing the users, groups or any objects with given keys into the given index,
+     * reading all of them within the same transaction.
+     *
+     * @param index index name
+     * @param kind any type kind
+     * @param keys keys of the users, groups or any objects to index
+     * @return requests for indexing the users, groups or any objects with given keys
+     * @throws IOException in case of errors
+     */
+    @Transactional(readOnly = true)
+    public List<IndexRequest> indexRequests(
+            final String index, final AnyTypeKind kind, final Collection<String> keys) throws IOException {
+
+        AnyDAO<?> anyDAO = kind == AnyTypeKind.USER
+                ? userDAO
+                : kind == AnyTypeKind.GROUP
+                        ? groupDAO
+                        : anyObjectDAO;
+
+        List<IndexRequest> requests = new ArrayList<>(keys.size());
+        for (Any<?> any : anyDAO.findByKeys(keys)) {
+            requests.add(indexRequest(index, any));
+        }
+        return requests;
+    }
+
     /**
      * Returns the builder specialized with content from the provided any.
      *
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.junit.jupiter.api.Test;
+
+public class ElasticsearchIndexManagerTest {
+
+    private static final String ALIAS =
+            ElasticsearchUtils.getContextDomainName(SyncopeConstants.MASTER_DOMAIN, AnyTypeKind.USER);
+
+    private static class TestIndexManager extends ElasticsearchIndexManager {
+
+        private final Set<String> indexes;
+
+        private IndicesAliasesRequest request;
+
+        TestIndexManager(final Set<String> indexes) {
+            this.indexes = indexes;
+        }
+
+        @Override
+        public Set<String> getIndexes(final String domain, final AnyTypeKind kind) {
+            return indexes;
+        }
+
+        @Override
+        protected AcknowledgedResponse updateAliases(final IndicesAliasesRequest request) {
+            this.request = request;
+            return new AcknowledgedResponse(true);
+        }
+    }
+
+    private static List<AliasActions> swapAlias(final Set<String> indexes, final String index) throws Exception {
+        TestIndexManager indexManager = new TestIndexManager(indexes);
+        indexManager.swapAlias(SyncopeConstants.MASTER_DOMAIN, AnyTypeKind.USER, index);
+        return indexManager.request.getAliasActions();
+    }
+
+    private static void assertAdd(final AliasActions action, final String index) {
+        assertEquals(AliasActions.Type.ADD, action.actionType());
+        assertArrayEquals(new String[] { index }, action.indices());
+        assertArrayEquals(new String[] { ALIAS }, action.aliases());
+    }
+
+    @Test
+    public void firstIndex() throws Exception {
+        List<AliasActions> actions = swapAlias(Set.of(), ALIAS + "_2");
+        assertEquals(1, actions.size());
+        assertAdd(actions.get(0), ALIAS + "_2");
+    }
+
+    @Test
+    public void swap() throws Exception {
+        List<AliasActions> actions = swapAlias(Set.of(ALIAS + "_1", ALIAS + "_2"), ALIAS + "_2");
+        assertEquals(2, actions.size());
+
+        assertEquals(AliasActions.Type.REMOVE_INDEX, actions.get(0).actionType());
+        assertArrayEquals(new String[] { ALIAS + "_1" }, actions.get(0).indices());
+        assertAdd(actions.get(1), ALIAS + "_2");
+    }
+
+    @Test
+    public void removeLegacyIndex() throws Exception {
+        // concrete index named as the alias, as created by previous releases
+        List<AliasActions> actions = swapAlias(Set.of(ALIAS), ALIAS + "_2");
+        assertEquals(2, actions.size());
+
+        assertEquals(AliasActions.Type.REMOVE_INDEX, actions.get(0).actionType());
+        assertArrayEquals(new String[] { ALIAS }, actions.get(0).indices());
+        assertAdd(actions.get(1), ALIAS + "_2");
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.index.VersionType;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.Test;
+
+public class ElasticsearchIndexQueueTest {
+
+    private static final String DOMAIN = SyncopeConstants.MASTER_DOMAIN;
+
+    /**
+     * Queue sending to an in-memory recorder, failing items as instructed.
+     */
+    private static class TestQueue extends ElasticsearchIndexQueue {
+
+        private final List<BulkRequest> requests = new CopyOnWriteArrayList<>();
+
+        private Function<DocWriteRequest<?>, RestStatus> failure = request -> null;
+
+        private Runnable onBulk = () -> {
+        };
+
+        TestQueue() {
+            setRetryBackoffMillis(0);
+        }
+
+        @Override
+        protected List<IndexRequest> indexRequests(
+                final String domain, final String alias, final AnyTypeKind kind, final List<String> keys) {
+
+            return keys.stream().map(key -> new IndexRequest(alias).id(key).source(Map.of("key", key)).
+                    versionType(VersionType.EXTERNAL_GTE).version(1)).collect(Collectors.toList());
+        }
+
+        @Override
+        protected BulkResponse bulk(final BulkRequest request) {
+            requests.add(request);
+            onBulk.run();
+
+            BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+            for (int i = 0; i < items.length; i++) {
+                DocWriteRequest<?> item = request.requests().get(i);
+                RestStatus status = failure.apply(item);
+                if (status == null) {
+                    ShardId shardId = new ShardId(item.index(), item.index(), 0);
+                    DocWriteResponse response = item.opType() == DocWriteRequest.OpType.DELETE
+                            ? new DeleteResponse(shardId, "_doc", item.id(), 1, 1, 1, true)
+                            : new IndexResponse(shardId, "_doc", item.id(), 1, 1, 1, true);
+                    items[i] = new BulkItemResponse(i, item.opType(), response);
+                } else {
+                    items[i] = new BulkItemResponse(i, item.opType(), new BulkItemResponse.Failure(
+                            item.index(), "_doc", item.id(), new ElasticsearchStatusException("failure", status)));
+                }
+            }
+            return new BulkResponse(items, 1);
+        }
+
+        private BulkRequest last() {
+            return requests.get(requests.size() - 1);
+        }
+    }
+
+    private static TestQueue running() {
+        TestQueue queue = new TestQueue();
+        // flushes are triggered by tests
+        queue.running = true;
+        return queue;
+    }
+
+    @Test
+    public void coalesce() {
+        TestQueue queue = running();
+
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "a", false);
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "a", false);
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "b", false);
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "a", true);
+        queue.enqueue(DOMAIN, AnyTypeKind.GROUP, "a", false);
+        assertEquals(3, queue.getQueueSize());
+        assertEquals(5, queue.getQueued());
+        assertEquals(2, queue.getCoalesced());
+
+        queue.flush();
+
+        assertEquals(1, queue.requests.size());
+        List<DocWriteRequest<?>> sent = queue.last().requests();
+        assertEquals(3, sent.size());
+        assertEquals(DocWriteRequest.OpType.DELETE, sent.get(0).opType());
+        assertEquals("a", sent.get(0).id());
+        assertEquals(VersionType.EXTERNAL_GTE, sent.get(0).versionType());
+        assertEquals("b", sent.get(1).id());
+        assertEquals(DocWriteRequest.OpType.INDEX, sent.get(1).opType());
+        assertEquals(ElasticsearchUtils.getContextDomainName(DOMAIN, AnyTypeKind.GROUP), sent.get(2).index());
+
+        assertEquals(0, queue.getQueueSize());
+        assertEquals(3, queue.getFlushed());
+    }
+
+    @Test
+    public void supersedeOnRetry() {
+        TestQueue queue = running();
+        queue.failure = request -> "a".equals(request.id()) ? RestStatus.SERVICE_UNAVAILABLE : null;
+
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "a", false);
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "b", false);
+        queue.flush();
+        assertEquals(1, queue.getRetried());
+        assertEquals(1, queue.getFlushed());
+        assertEquals(1, queue.getQueueSize());
+
+        // a newer change replaces the one waiting to be retried
+        queue.failure = request -> null;
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "a", true);
+        assertEquals(1, queue.getQueueSize());
+        queue.flush();
+
+        assertEquals(1, queue.last().numberOfActions());
+        assertEquals(DocWriteRequest.OpType.DELETE, queue.last().requests().get(0).opType());
+        assertEquals(0, queue.getQueueSize());
+
+        // a newer change queued while sending prevents the failed one from being retried
+        queue.failure = request -> RestStatus.SERVICE_UNAVAILABLE;
+        queue.onBulk = () -> queue.enqueue(DOMAIN, AnyTypeKind.USER, "c", true);
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "c", false);
+        queue.flush();
+        assertEquals(1, queue.getQueueSize());
+        assertTrue(queue.retrying.isEmpty());
+
+        queue.failure = request -> null;
+        queue.onBulk = () -> {
+        };
+        queue.flush();
+        assertEquals(1, queue.last().numberOfActions());
+        assertEquals(DocWriteRequest.OpType.DELETE, queue.last().requests().get(0).opType());
+        assertEquals(0, queue.getQueueSize());
+        assertEquals(0, queue.getFailed());
+    }
+
+    @Test
+    public void deleteConflict() {
+        TestQueue queue = running();
+        queue.failure = request -> request.versionType() == VersionType.EXTERNAL_GTE ? RestStatus.CONFLICT : null;
+
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "a", true);
+        queue.flush();
+        assertEquals(0, queue.getFlushed());
+        assertEquals(1, queue.getRetried());
+        assertEquals(1, queue.getQueueSize());
+
+        queue.flush();
+        assertEquals(VersionType.INTERNAL, queue.last().requests().get(0).versionType());
+        assertEquals(1, queue.getFlushed());
+        assertEquals(0, queue.getQueueSize());
+
+        // index conflicts mean that a newer document is already there
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "b", false);
+        queue.flush();
+        assertEquals(2, queue.getFlushed());
+        assertEquals(1, queue.getRetried());
+
+        // conflicts on the index being rebuilt are handled likewise
+        queue.startRebuild(DOMAIN, AnyTypeKind.USER, "rebuilt");
+        queue.failure = request -> "rebuilt".equals(request.index())
+                && request.versionType() == VersionType.EXTERNAL_GTE ? RestStatus.CONFLICT : null;
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "c", true);
+        queue.flush();
+        assertEquals(2, queue.last().numberOfActions());
+        assertEquals(2, queue.getFlushed());
+        assertEquals(1, queue.getQueueSize());
+
+        queue.flush();
+        assertEquals("rebuilt", queue.last().requests().get(1).index());
+        assertEquals(VersionType.INTERNAL, queue.last().requests().get(1).versionType());
+        assertEquals(3, queue.getFlushed());
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    public void retryWithCappedBackoff() throws InterruptedException {
+        TestQueue queue = running();
+        queue.setRetryBackoffMillis(1);
+        queue.setMaxRetryBackoffMillis(5);
+        queue.setGiveUpAfterMillis(0);
+        queue.failure = request -> RestStatus.SERVICE_UNAVAILABLE;
+
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "a", false);
+        for (int i = 0; i < 30; i++) {
+            queue.flush();
+            synchronized (queue) {
+                assertTrue(queue.retrying.values().iterator().next().notBefore
+                        <= System.currentTimeMillis() + 5);
+            }
+            Thread.sleep(6);
+        }
+        assertEquals(30, queue.requests.size());
+        assertEquals(30, queue.getRetried());
+        assertEquals(0, queue.getFailed());
+        assertEquals(1, queue.getQueueSize());
+
+        queue.setGiveUpAfterMillis(1);
+        queue.flush();
+        assertEquals(1, queue.getFailed());
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    public void flushOnShutdown() {
+        TestQueue queue = new TestQueue();
+        queue.setFlushIntervalMillis(3600000);
+        queue.afterPropertiesSet();
+
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(DOMAIN, AnyTypeKind.USER, "key" + i, false);
+        }
+        queue.destroy();
+
+        Set<String> sent = queue.requests.stream().flatMap(request -> request.requests().stream()).
+                map(DocWriteRequest::id).collect(Collectors.toSet());
+        assertEquals(10, sent.size());
+        assertEquals(10, queue.getFlushed());
+        assertEquals(0, queue.getQueueSize());
+
+        // once stopped, changes are sent in the current thread
+        queue.enqueue(DOMAIN, AnyTypeKind.USER, "late", true);
+        assertEquals("late", queue.last().requests().get(0).id());
+        assertEquals(0, queue.getQueueSize());
+    }
+}
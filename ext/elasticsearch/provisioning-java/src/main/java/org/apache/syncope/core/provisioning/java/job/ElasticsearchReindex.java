@@ -18,6 +18,16 @@
  */
 package org.apache.syncope.core.provisioning.java.job;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -27,18 +37,67 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.ext.elasticsearch.client.ElasticsearchIndexManager;
 import org.apache.syncope.ext.elasticsearch.client.ElasticsearchUtils;
-import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
- * Remove and rebuild all Elasticsearch indexes with information from existing users, groups and any objects.
+ * Rebuild all Elasticsearch indexes with information from existing users, groups and any objects.
+ *
+ * Each index is built from scratch as a new versioned index, by bulk requests fed by parallel page loaders; once
+ * complete, the index alias is atomically moved to it, so that searches keep working during the rebuild.
+ * Changes occurring meanwhile are sent to both indexes.
  */
 public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate {
 
+    /**
+     * Outcome of bulk requests for an index being rebuilt.
+     */
+    protected static class BulkListener implements BulkProcessor.Listener {
+
+        protected final String index;
+
+        protected final AtomicLong indexed = new AtomicLong();
+
+        protected final AtomicLong failed = new AtomicLong();
+
+        protected BulkListener(final String index) {
+            this.index = index;
+        }
+
+        @Override
+        public void beforeBulk(final long executionId, final BulkRequest request) {
+            LOG.debug("Sending bulk request #{} for {} with {} documents",
+                    executionId, index, request.numberOfActions());
+        }
+
+        @Override
+        public void afterBulk(final long executionId, final BulkRequest request, final BulkResponse response) {
+            for (BulkItemResponse item : response) {
+                // version conflicts mean that a newer document was indexed meanwhile
+                if (item.isFailed() && item.getFailure().getStatus() != RestStatus.CONFLICT) {
+                    LOG.error("Could not index {} into {}: {}", item.getId(), index, item.getFailureMessage());
+                    failed.incrementAndGet();
+                } else {
+                    indexed.incrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public void afterBulk(final long executionId, final BulkRequest request, final Throwable failure) {
+            LOG.error("Bulk request #{} for {} failed", executionId, index, failure);
+            failed.addAndGet(request.numberOfActions());
+        }
+    }
+
     @Autowired
     private RestHighLevelClient client;
 
@@ -57,69 +116,137 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate {
     @Autowired
     private AnyObjectDAO anyObjectDAO;
 
-    @Override
-    protected String doExecute(final boolean dryRun) throws JobExecutionException {
-        if (!dryRun) {
-            LOG.debug("Start rebuilding indexes");
+    protected AnyDAO<?> anyDAO(final AnyTypeKind kind) {
+        return kind == AnyTypeKind.USER
+                ? userDAO
+                : kind == AnyTypeKind.GROUP
+                        ? groupDAO
+                        : anyObjectDAO;
+    }
 
-            try {
-                if (indexManager.existsIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER)) {
-                    indexManager.removeIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER);
-                }
-                indexManager.createIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER);
+    /**
+     * Loads all users, groups or any objects into the given index: keys are read page by page, while pages are
+     * loaded and sent to the bulk processor by parallel loaders; the first loader failure stops the whole load.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param index index name
+     * @param processor bulk processor for the given index
+     * @throws InterruptedException if interrupted while waiting for loaders
+     * @throws ExecutionException if any loader failed
+     */
+    protected void load(
+            final String domain,
+            final AnyTypeKind kind,
+            final String index,
+            final BulkProcessor processor) throws InterruptedException, ExecutionException {
 
-                if (indexManager.existsIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP)) {
-                    indexManager.removeIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP);
+        int loaders = elasticsearchUtils.getReindexLoaders();
+        ExecutorService executor = Executors.newFixedThreadPool(loaders);
+        // limits the pages read ahead of loaders
+        Semaphore pages = new Semaphore(loaders * 2);
+        List<Future<?>> loaded = new ArrayList<>();
+        try {
+            String last = null;
+            List<String> keys;
+            do {
+                // stops listing keys as soon as any loader failed
+                for (Iterator<Future<?>> itor = loaded.iterator(); itor.hasNext();) {
+                    Future<?> future = itor.next();
+                    if (future.isDone()) {
+                        future.get();
+                        itor.remove();
+                    }
                 }
-                indexManager.createIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP);
 
-                if (indexManager.existsIndex(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT)) {
-                    indexManager.removeIndex(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT);
-                }
-                indexManager.createIndex(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT);
-
-                LOG.debug("Indexing users...");
-                for (int page = 1; page <= (userDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String user : userDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexRequest request = new IndexRequest(
-                                ElasticsearchUtils.getContextDomainName(
-                                        AuthContextUtils.getDomain(), AnyTypeKind.USER)).
-                                id(user).
-                                source(elasticsearchUtils.builder(userDAO.find(user)));
-                        IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-                        LOG.debug("Index successfully created for {}: {}", user, response);
-                    }
+                keys = anyDAO(kind).findAllKeys(last, AnyDAO.DEFAULT_PAGE_SIZE);
+                if (!keys.isEmpty()) {
+                    List<String> page = keys;
+                    pages.acquire();
+                    loaded.add(executor.submit(() -> AuthContextUtils.callAsAdmin(domain, () -> {
+                        try {
+                            elasticsearchUtils.indexRequests(index, kind, page).forEach(processor::add);
+                        } finally {
+                            pages.release();
+                        }
+                        return null;
+                    })));
+
+                    last = keys.get(keys.size() - 1);
                 }
+            } while (keys.size() == AnyDAO.DEFAULT_PAGE_SIZE && !interrupt);
 
-                LOG.debug("Indexing groups...");
-                for (int page = 1; page <= (groupDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String group : groupDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexRequest request = new IndexRequest(
-                                ElasticsearchUtils.getContextDomainName(
-                                        AuthContextUtils.getDomain(), AnyTypeKind.GROUP)).
-                                id(group).
-                                source(elasticsearchUtils.builder(groupDAO.find(group)));
-                        IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-                        LOG.debug("Index successfully created for {}: {}", group, response);
-                    }
+            for (Future<?> future : loaded) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected String reindex(final String domain, final AnyTypeKind kind) throws Exception {
+        LOG.debug("Rebuilding index for {} in domain {}", kind, domain);
+        status.set("Rebuilding index for " + kind);
+
+        String index = indexManager.createIndex(domain, kind, true);
+        indexManager.startRebuild(domain, kind, index);
+
+        BulkListener listener = new BulkListener(index);
+        BulkProcessor processor = BulkProcessor.builder(
+                (request, bulkListener) -> client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener),
+                listener).
+                setBulkActions(elasticsearchUtils.getBulkActions()).
+                setConcurrentRequests(elasticsearchUtils.getBulkConcurrentRequests()).
+                setBackoffPolicy(BackoffPolicy.exponentialBackoff()).
+                build();
+        try {
+            try {
+                load(domain, kind, index, processor);
+            } finally {
+                if (!processor.awaitClose(10, TimeUnit.MINUTES)) {
+                    listener.failed.incrementAndGet();
+                    LOG.error("Timeout while waiting for bulk requests for {}", index);
                 }
+            }
 
-                LOG.debug("Indexing any objects...");
-                for (int page = 1; page <= (anyObjectDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String anyObject : anyObjectDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexRequest request = new IndexRequest(
-                                ElasticsearchUtils.getContextDomainName(
-                                        AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT)).
-                                id(anyObject).
-                                source(elasticsearchUtils.builder(anyObjectDAO.find(anyObject)));
-                        IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-                        LOG.debug("Index successfully created for {}: {}", anyObject, response);
-                    }
+            if (interrupt) {
+                interrupted = true;
+                throw new IllegalStateException("Interrupted while rebuilding " + index);
+            }
+            if (listener.failed.get() > 0) {
+                throw new IllegalStateException(listener.failed.get() + " documents could not be indexed into "
+                        + index + ", check logs for details");
+            }
+
+            indexManager.completeBulkLoad(index);
+            indexManager.swapAlias(domain, kind, index);
+        } catch (Exception e) {
+            indexManager.removeIndex(index);
+            throw e;
+        } finally {
+            indexManager.stopRebuild(domain, kind);
+        }
+
+        LOG.debug("Index {} rebuilt with {} documents for {}", index, listener.indexed.get(), kind);
+        return kind + ": " + listener.indexed.get();
+    }
+
+    @Override
+    protected String doExecute(final boolean dryRun) throws JobExecutionException {
+        if (!dryRun) {
+            String domain = AuthContextUtils.getDomain();
+            LOG.debug("Start rebuilding indexes");
+
+            try {
+                List<String> result = new ArrayList<>();
+                for (AnyTypeKind kind : List.of(AnyTypeKind.USER, AnyTypeKind.GROUP, AnyTypeKind.ANY_OBJECT)) {
+                    result.add(reindex(domain, kind));
                 }
 
-                LOG.debug("Rebuild indexes for domain {} successfully completed", AuthContextUtils.getDomain());
+                LOG.debug("Rebuild indexes for domain {} successfully completed", domain);
+                return "SUCCESS " + result;
             } catch (Exception e) {
-                throw new JobExecutionException("While rebuilding index for domain " + AuthContextUtils.getDomain(), e);
+                throw new JobExecutionException("While rebuilding index for domain " + domain, e);
             }
         }
 
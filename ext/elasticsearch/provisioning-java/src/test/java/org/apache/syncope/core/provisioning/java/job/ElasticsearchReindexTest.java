@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.ext.elasticsearch.client.ElasticsearchIndexManager;
+import org.apache.syncope.ext.elasticsearch.client.ElasticsearchUtils;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ElasticsearchReindexTest {
+
+    private static final String DOMAIN = SyncopeConstants.MASTER_DOMAIN;
+
+    private static final String INDEX = "master_user_1";
+
+    private static class RecordingIndexManager extends ElasticsearchIndexManager {
+
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+
+        private IOException swapFailure;
+
+        @Override
+        public String createIndex(final String domain, final AnyTypeKind kind, final boolean bulkLoad) {
+            calls.add("create " + kind);
+            return INDEX;
+        }
+
+        @Override
+        public void startRebuild(final String domain, final AnyTypeKind kind, final String index) {
+            calls.add("startRebuild " + index);
+        }
+
+        @Override
+        public void completeBulkLoad(final String index) {
+            calls.add("complete " + index);
+        }
+
+        @Override
+        public void swapAlias(final String domain, final AnyTypeKind kind, final String index) throws IOException {
+            if (swapFailure != null) {
+                throw swapFailure;
+            }
+            calls.add("swap " + index);
+        }
+
+        @Override
+        public void removeIndex(final String index) {
+            calls.add("remove " + index);
+        }
+
+        @Override
+        public void stopRebuild(final String domain, final AnyTypeKind kind) {
+            calls.add("stopRebuild " + kind);
+        }
+    }
+
+    private static class TestReindex extends ElasticsearchReindex {
+
+        private Exception loadFailure;
+
+        private AnyDAO<?> anyDAO;
+
+        @Override
+        protected AnyDAO<?> anyDAO(final AnyTypeKind kind) {
+            return anyDAO;
+        }
+
+        @Override
+        protected void load(
+                final String domain,
+                final AnyTypeKind kind,
+                final String index,
+                final BulkProcessor processor) throws InterruptedException, ExecutionException {
+
+            if (loadFailure != null) {
+                throw new ExecutionException(loadFailure);
+            }
+            if (anyDAO != null) {
+                super.load(domain, kind, index, processor);
+            }
+        }
+    }
+
+    private final RecordingIndexManager indexManager = new RecordingIndexManager();
+
+    private TestReindex reindex(final ElasticsearchUtils elasticsearchUtils) {
+        TestReindex reindex = new TestReindex();
+        ReflectionTestUtils.setField(reindex, "indexManager", indexManager);
+        ReflectionTestUtils.setField(reindex, "elasticsearchUtils", elasticsearchUtils);
+        return reindex;
+    }
+
+    private TestReindex reindex() {
+        ElasticsearchUtils elasticsearchUtils = new ElasticsearchUtils();
+        elasticsearchUtils.setBulkActions(1000);
+        elasticsearchUtils.setBulkConcurrentRequests(1);
+        elasticsearchUtils.setReindexLoaders(1);
+        return reindex(elasticsearchUtils);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ApplicationContextProvider.setBeanFactory(null);
+    }
+
+    @Test
+    public void swapAlias() throws Exception {
+        assertEquals("USER: 0", reindex().reindex(DOMAIN, AnyTypeKind.USER));
+
+        assertEquals(List.of(
+                "create USER",
+                "startRebuild " + INDEX,
+                "complete " + INDEX,
+                "swap " + INDEX,
+                "stopRebuild USER"), indexManager.calls);
+    }
+
+    @Test
+    public void removeIndexOnLoadFailure() {
+        TestReindex reindex = reindex();
+        reindex.loadFailure = new IOException("boom");
+
+        assertThrows(ExecutionException.class, () -> reindex.reindex(DOMAIN, AnyTypeKind.USER));
+
+        assertEquals(List.of(
+                "create USER",
+                "startRebuild " + INDEX,
+                "remove " + INDEX,
+                "stopRebuild USER"), indexManager.calls);
+    }
+
+    @Test
+    public void removeIndexOnSwapFailure() {
+        indexManager.swapFailure = new IOException("boom");
+
+        assertThrows(IOException.class, () -> reindex().reindex(DOMAIN, AnyTypeKind.USER));
+
+        assertEquals(List.of(
+                "create USER",
+                "startRebuild " + INDEX,
+                "complete " + INDEX,
+                "remove " + INDEX,
+                "stopRebuild USER"), indexManager.calls);
+    }
+
+    @Test
+    public void removeIndexOnInterrupt() {
+        TestReindex reindex = reindex();
+        reindex.interrupt = true;
+
+        assertThrows(IllegalStateException.class, () -> reindex.reindex(DOMAIN, AnyTypeKind.USER));
+
+        assertTrue(indexManager.calls.contains("remove " + INDEX));
+        assertTrue(indexManager.calls.stream().noneMatch(call -> call.startsWith("swap")));
+    }
+
+    @Test
+    public void stopListingOnLoaderFailure() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("adminUser", "admin");
+        ApplicationContextProvider.setBeanFactory(beanFactory);
+
+        ElasticsearchUtils elasticsearchUtils = new ElasticsearchUtils() {
+
+            @Override
+            public List<IndexRequest> indexRequests(
+                    final String index, final AnyTypeKind kind, final Collection<String> keys) throws IOException {
+
+                throw new IOException("boom");
+            }
+        };
+        elasticsearchUtils.setBulkActions(1000);
+        elasticsearchUtils.setBulkConcurrentRequests(1);
+        elasticsearchUtils.setReindexLoaders(1);
+
+        int total = 1000;
+        AtomicInteger listed = new AtomicInteger();
+        TestReindex reindex = reindex(elasticsearchUtils);
+        reindex.anyDAO = (AnyDAO<?>) Proxy.newProxyInstance(
+                UserDAO.class.getClassLoader(),
+                new Class<?>[] { UserDAO.class },
+                (proxy, method, args) -> {
+                    if ("findAllKeys".equals(method.getName()) && method.getParameterTypes()[0] == String.class) {
+                        int page = listed.incrementAndGet();
+                        if (page > total) {
+                            return List.of();
+                        }
+                        Thread.sleep(1);
+                        return IntStream.range(0, AnyDAO.DEFAULT_PAGE_SIZE).
+                                mapToObj(i -> page + "_" + i).collect(Collectors.toList());
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> reindex.reindex(DOMAIN, AnyTypeKind.USER));
+        assertTrue(e.getCause().getCause() instanceof IOException);
+        assertTrue(listed.get() < total / 10, "listed " + listed.get() + " pages after failure");
+
+        assertTrue(indexManager.calls.contains("remove " + INDEX));
+    }
+}
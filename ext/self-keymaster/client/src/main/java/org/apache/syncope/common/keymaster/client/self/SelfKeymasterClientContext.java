@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.apache.cxf.ext.logging.LoggingFeature;
 import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.ServiceOps;
@@ -48,6 +49,9 @@ public class SelfKeymasterClientContext {
     @Value("${keymaster.password}")
     private String password;
 
+    @Value("${keymaster.confParamMaxStalenessSeconds:60}")
+    private Long confParamMaxStalenessSeconds;
+
     @ConditionalOnExpression("#{'${keymaster.address}' matches '^http.+'}")
     @Bean
     @ConditionalOnMissingBean(name = "selfKeymasterRESTClientFactoryBean")
@@ -68,7 +72,8 @@ public class SelfKeymasterClientContext {
     @Bean
     @ConditionalOnMissingBean(name = "selfConfParamOps")
     public ConfParamOps selfConfParamOps() {
-        return new SelfKeymasterConfParamOps(selfKeymasterRESTClientFactoryBean());
+        return new CachingConfParamOps(
+                new SelfKeymasterConfParamOps(selfKeymasterRESTClientFactoryBean()), confParamMaxStalenessSeconds);
     }
 
     @ConditionalOnExpression("#{'${keymaster.address}' matches '^http.+'}")